@@ -1,15 +1,22 @@
 package seedu.address;
 
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.DoubleConsumer;
 import java.util.logging.Logger;
 
 import com.google.common.eventbus.Subscribe;
 
 import javafx.application.Application;
 import javafx.application.Platform;
+import javafx.application.Preloader;
 import javafx.stage.Stage;
+import seedu.address.calendar.CalendarOutbox;
+import seedu.address.calendar.GoogleCalendarManager;
+import seedu.address.calendar.OutboxGoogleCalendar;
 import seedu.address.commons.core.Config;
 import seedu.address.commons.core.EventsCenter;
 import seedu.address.commons.core.LogsCenter;
@@ -26,12 +33,17 @@ import seedu.address.model.ModelManager;
 import seedu.address.model.ReadOnlyHealthBook;
 import seedu.address.model.UserPrefs;
 import seedu.address.model.util.SampleDataUtil;
+import seedu.address.storage.BinaryHealthBookStorage;
+import seedu.address.storage.CommandJournal;
 import seedu.address.storage.HealthBookStorage;
+import seedu.address.storage.IncrementalHealthBookStorage;
+import seedu.address.storage.IndexedHealthBookStorage;
 import seedu.address.storage.JsonUserPrefsStorage;
+import seedu.address.storage.StaxHealthBookStorage;
 import seedu.address.storage.Storage;
 import seedu.address.storage.StorageManager;
 import seedu.address.storage.UserPrefsStorage;
-import seedu.address.storage.XmlHealthBookStorage;
+import seedu.address.ui.LoadingPreloader;
 import seedu.address.ui.Ui;
 import seedu.address.ui.UiManager;
 
@@ -42,10 +54,13 @@ public class MainApp extends Application {
 
     public static final Version VERSION = new Version(1, 3, 0, true);
 
+    private static final String PRELOADER_PROPERTY = "javafx.preloader";
+
     private static final Logger logger = LogsCenter.getLogger(MainApp.class);
 
     protected Ui ui;
     protected Logic logic;
+    protected OutboxGoogleCalendar calendar;
     protected Storage storage;
     protected Model model;
     protected Config config;
@@ -62,34 +77,62 @@ public class MainApp extends Application {
 
         UserPrefsStorage userPrefsStorage = new JsonUserPrefsStorage(config.getUserPrefsFilePath());
         userPrefs = initPrefs(userPrefsStorage);
-        HealthBookStorage healthBookStorage = new XmlHealthBookStorage(userPrefs.getHealthBookFilePath());
-        storage = new StorageManager(healthBookStorage, userPrefsStorage);
+        HealthBookStorage healthBookStorage = initHealthBookStorage(userPrefs);
+        if (config.isIncrementalSavingEnabled()) {
+            healthBookStorage = new IncrementalHealthBookStorage(healthBookStorage);
+        }
+        CommandJournal commandJournal = config.isCommandJournalEnabled()
+                ? new CommandJournal(userPrefs.getHealthBookFilePath())
+                : null;
+        storage = new StorageManager(healthBookStorage, userPrefsStorage, config.getSaveDebounceMillis(),
+                commandJournal);
 
         initLogging(config);
 
         model = initModelManager(storage, userPrefs);
 
-        logic = new LogicManager(model);
+        calendar = new OutboxGoogleCalendar(new GoogleCalendarManager(), initCalendarOutbox(userPrefs));
+        logic = new LogicManager(model, calendar);
 
         ui = new UiManager(logic, config, userPrefs);
 
         initEventsCenter();
     }
 
+    /**
+     * Returns a {@code HealthBookStorage} for the data file format in {@code userPrefs}, which reports its loading
+     * progress to the preloader.
+     */
+    private HealthBookStorage initHealthBookStorage(UserPrefs userPrefs) {
+        DoubleConsumer progressListener = progress -> notifyPreloader(new Preloader.ProgressNotification(progress));
+        switch (userPrefs.getHealthBookFileFormat()) {
+        case BINARY:
+            return new BinaryHealthBookStorage(userPrefs.getHealthBookFilePath(), progressListener);
+        case INDEXED:
+            return new IndexedHealthBookStorage(userPrefs.getHealthBookFilePath(), progressListener);
+        case XML:
+        default:
+            return new StaxHealthBookStorage(userPrefs.getHealthBookFilePath(), progressListener);
+        }
+    }
+
     /**
      * Returns a {@code ModelManager} with the data from {@code storage}'s health book and {@code userPrefs}. <br>
      * The data from the sample health book will be used instead if {@code storage}'s health book is not found,
      * or an empty health book will be used instead if errors occur when reading {@code storage}'s health book.
+     * Commands journaled since {@code storage}'s health book was last saved are replayed on it.
      */
     private Model initModelManager(Storage storage, UserPrefs userPrefs) {
         Optional<ReadOnlyHealthBook> healthBookOptional;
         ReadOnlyHealthBook initialData;
+        boolean isDataFileRead = false;
         try {
             healthBookOptional = storage.readAddressBook();
             if (!healthBookOptional.isPresent()) {
                 logger.info("Data file not found. Will be starting with a sample HealthBook");
             }
             initialData = healthBookOptional.orElseGet(SampleDataUtil::getSampleHealthBook);
+            isDataFileRead = healthBookOptional.isPresent();
         } catch (DataConversionException e) {
             logger.warning("Data file not in the correct format. Will be starting with an empty HealthBook");
             initialData = new HealthBook();
@@ -98,7 +141,40 @@ public class MainApp extends Application {
             initialData = new HealthBook();
         }
 
-        return new ModelManager(initialData, userPrefs);
+        Model initialModel = new ModelManager(initialData, userPrefs);
+        if (isDataFileRead) {
+            replayCommandJournal(storage, initialModel);
+        }
+
+        // a data file that could not be read is not overwritten until the user changes the data
+        if (isDataFileRead || !Files.exists(storage.getAddressBookFilePath())) {
+            try {
+                storage.startCommandJournal(initialModel.getAddressBook());
+            } catch (IOException e) {
+                logger.warning("Failed to start command journal : " + StringUtil.getDetails(e));
+            }
+        }
+        return initialModel;
+    }
+
+    /**
+     * Executes the commands journaled in {@code storage} on {@code model}, in the order they were first executed.
+     * Changes to Google Calendar are not made again.
+     */
+    private void replayCommandJournal(Storage storage, Model model) {
+        List<String> commands;
+        try {
+            commands = storage.readCommandJournal();
+        } catch (IOException e) {
+            logger.warning("Problem while reading the command journal. Unsaved commands will be lost");
+            return;
+        }
+        if (commands.isEmpty()) {
+            return;
+        }
+
+        logger.info("Replaying " + commands.size() + " commands from the command journal");
+        LogicManager.replay(model, commands);
     }
 
     private void initLogging(Config config) {
@@ -173,6 +249,19 @@ public class MainApp extends Application {
         return initializedPrefs;
     }
 
+    /**
+     * Returns the outbox of calendar operations kept next to the data file in {@code userPrefs}, or an outbox that is
+     * only kept in memory if it cannot be read.
+     */
+    private CalendarOutbox initCalendarOutbox(UserPrefs userPrefs) {
+        try {
+            return CalendarOutbox.forDataFile(userPrefs.getHealthBookFilePath());
+        } catch (IOException e) {
+            logger.warning("Problem while reading the calendar outbox. Calendar changes not sent yet will be lost");
+            return new CalendarOutbox();
+        }
+    }
+
     private void initEventsCenter() {
         EventsCenter.getInstance().registerHandler(this);
     }
@@ -187,6 +276,9 @@ public class MainApp extends Application {
     public void stop() {
         logger.info("============================ [ Stopping Address Book ] =============================");
         ui.stop();
+        logic.stop();
+        calendar.stop();
+        storage.stop();
         try {
             storage.saveUserPrefs(userPrefs);
         } catch (IOException e) {
@@ -199,10 +291,15 @@ public class MainApp extends Application {
     @Subscribe
     public void handleExitAppRequestEvent(ExitAppRequestEvent event) {
         logger.info(LogsCenter.getEventHandlingLogMessage(event));
-        stop();
+        // the exit command raises the event on the command thread, which stop() waits for
+        Platform.runLater(this::stop);
     }
 
+    /**
+     * Launches the app, showing the loading progress in a {@link LoadingPreloader} until the main window is shown.
+     */
     public static void main(String[] args) {
+        System.setProperty(PRELOADER_PROPERTY, LoadingPreloader.class.getName());
         launch(args);
     }
 }
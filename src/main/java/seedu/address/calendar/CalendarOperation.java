@@ -0,0 +1,217 @@
+package seedu.address.calendar;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import seedu.address.model.appointment.Appointment;
+import seedu.address.model.appointment.AppointmentId;
+import seedu.address.model.appointment.Status;
+
+/**
+ * A change to the Google Calendar of a doctor that is waiting to be sent, see {@link CalendarOutbox}.
+ * The operation holds a copy of the appointment's details as they were when the change was made, so that it can be
+ * kept in a file and sent after the app is restarted.
+ * Guarantees: immutable.
+ */
+public class CalendarOperation {
+
+    /**
+     * The kinds of changes to a calendar.
+     */
+    public enum Kind {
+        /** Adds the appointment's event, or updates it if it is on the calendar already. */
+        ADD,
+        /** Deletes the appointment's event, if it is on the calendar. */
+        DELETE
+    }
+
+    private static final char FIELD_SEPARATOR = '\t';
+    private static final char ESCAPE = '\\';
+    private static final int FIELD_COUNT = 7;
+
+    private final Kind kind;
+    private final String userName;
+    private final int appointmentId;
+    private final String doctor;
+    private final String patient;
+    private final LocalDateTime dateTime;
+    private final String comments;
+
+    private CalendarOperation(Kind kind, String userName, int appointmentId, String doctor, String patient,
+                              LocalDateTime dateTime, String comments) {
+        this.kind = kind;
+        this.userName = userName;
+        this.appointmentId = appointmentId;
+        this.doctor = doctor;
+        this.patient = patient;
+        this.dateTime = dateTime;
+        this.comments = comments;
+    }
+
+    /**
+     * Returns an operation of {@code kind} on {@code appointment} in the calendar of the doctor {@code userName}.
+     */
+    public static CalendarOperation of(Kind kind, String userName, Appointment appointment) {
+        requireNonNull(kind);
+        requireNonNull(userName);
+        requireNonNull(appointment);
+        return new CalendarOperation(kind, userName, appointment.getAppointmentId(), appointment.getDoctor(),
+                appointment.getPatient(), appointment.getDateTime(), appointment.getComments());
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public String getUserName() {
+        return userName;
+    }
+
+    public int getAppointmentId() {
+        return appointmentId;
+    }
+
+    /**
+     * Returns the appointment as it was when the operation was made.
+     */
+    public Appointment getAppointment() {
+        return new Appointment(new AppointmentId(appointmentId), doctor, patient, dateTime, Status.UPCOMING,
+                comments, null);
+    }
+
+    /**
+     * Returns true if {@code other} changes the event of the same appointment in the same calendar.
+     */
+    public boolean isOnSameEvent(CalendarOperation other) {
+        return other.userName.equals(userName) && other.appointmentId == appointmentId;
+    }
+
+    /**
+     * Returns the operation as a single line, which {@link #decode(String)} turns back into the operation.
+     */
+    public String encode() {
+        StringBuilder line = new StringBuilder();
+        appendField(line, kind.name());
+        appendField(line, userName);
+        appendField(line, Integer.toString(appointmentId));
+        appendField(line, doctor);
+        appendField(line, patient);
+        appendField(line, dateTime.toString());
+        appendField(line, comments == null ? "" : comments);
+        return line.substring(1);
+    }
+
+    /**
+     * Returns the operation encoded as {@code line} by {@link #encode()}.
+     * @throws IllegalArgumentException if {@code line} is not an encoded operation.
+     */
+    public static CalendarOperation decode(String line) {
+        requireNonNull(line);
+        List<String> fields = splitFields(line);
+        if (fields.size() != FIELD_COUNT) {
+            throw new IllegalArgumentException("Not a calendar operation: " + line);
+        }
+        try {
+            return new CalendarOperation(Kind.valueOf(fields.get(0)), fields.get(1), Integer.parseInt(fields.get(2)),
+                    fields.get(3), fields.get(4), LocalDateTime.parse(fields.get(5)),
+                    fields.get(6).isEmpty() ? null : fields.get(6));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Not a calendar operation: " + line, e);
+        }
+    }
+
+    /**
+     * Appends {@code field} to {@code line} after a separator, escaping separators and line breaks in it.
+     */
+    private static void appendField(StringBuilder line, String field) {
+        line.append(FIELD_SEPARATOR);
+        for (char c : field.toCharArray()) {
+            switch (c) {
+            case ESCAPE:
+                line.append(ESCAPE).append(ESCAPE);
+                break;
+            case FIELD_SEPARATOR:
+                line.append(ESCAPE).append('t');
+                break;
+            case '\n':
+                line.append(ESCAPE).append('n');
+                break;
+            case '\r':
+                line.append(ESCAPE).append('r');
+                break;
+            default:
+                line.append(c);
+            }
+        }
+    }
+
+    /**
+     * Returns the unescaped fields of {@code line}.
+     */
+    private static List<String> splitFields(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == FIELD_SEPARATOR) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == ESCAPE && i + 1 < line.length()) {
+                i++;
+                field.append(unescape(line.charAt(i)));
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Returns the character escaped as {@code escaped} following {@link #ESCAPE}.
+     */
+    private static char unescape(char escaped) {
+        switch (escaped) {
+        case 't':
+            return FIELD_SEPARATOR;
+        case 'n':
+            return '\n';
+        case 'r':
+            return '\r';
+        default:
+            return escaped;
+        }
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other == this) {
+            return true;
+        }
+        if (!(other instanceof CalendarOperation)) {
+            return false;
+        }
+        CalendarOperation otherOperation = (CalendarOperation) other;
+        return kind == otherOperation.kind
+                && userName.equals(otherOperation.userName)
+                && appointmentId == otherOperation.appointmentId
+                && doctor.equals(otherOperation.doctor)
+                && patient.equals(otherOperation.patient)
+                && dateTime.equals(otherOperation.dateTime)
+                && Objects.equals(comments, otherOperation.comments);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(kind, userName, appointmentId, doctor, patient, dateTime, comments);
+    }
+
+    @Override
+    public String toString() {
+        return kind + " appointment " + appointmentId + " on the calendar of " + userName;
+    }
+}
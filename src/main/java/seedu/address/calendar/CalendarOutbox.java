@@ -0,0 +1,237 @@
+package seedu.address.calendar;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import seedu.address.commons.core.LogsCenter;
+import seedu.address.commons.util.FileUtil;
+
+/**
+ * The calendar operations that are waiting to be sent to Google Calendar, oldest first, kept in a file so that they
+ * are still sent if the app is closed before it could send them.
+ * Operations are sent in batches taken from the front of the outbox. Operations that are not being sent are
+ * collapsed as they are added: an appointment that is deleted before it was added to the calendar is not sent at all.
+ * That relies on each appointment being added to a calendar once, as appointment ids are never reused.
+ * Operations that can never be sent are moved to a dead-letter file next to the outbox file, in the same format, so
+ * that they can be looked into and put back in an outbox.
+ */
+public class CalendarOutbox {
+
+    public static final String OUTBOX_FILE_SUFFIX = ".calendar-outbox";
+    public static final String DEAD_LETTER_FILE_SUFFIX = ".dead-letters";
+
+    private static final Logger logger = LogsCenter.getLogger(CalendarOutbox.class);
+
+    private final Path file;
+    private final List<Entry> entries = new ArrayList<>();
+    /** The operations moved to the dead-letter file since the outbox was opened, oldest first. */
+    private final List<CalendarOperation> deadLetters = new ArrayList<>();
+
+    /**
+     * An operation in the outbox, with whether it is in the batch being sent.
+     */
+    private static class Entry {
+        private final CalendarOperation operation;
+        private boolean isSending;
+
+        Entry(CalendarOperation operation) {
+            this.operation = operation;
+        }
+    }
+
+    /**
+     * Creates an empty outbox that is only kept in memory.
+     */
+    public CalendarOutbox() {
+        this.file = null;
+    }
+
+    private CalendarOutbox(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Returns the outbox kept next to {@code dataFile}, with the operations that were left in it.
+     */
+    public static CalendarOutbox forDataFile(Path dataFile) throws IOException {
+        requireNonNull(dataFile);
+        return open(Paths.get(dataFile.toString() + OUTBOX_FILE_SUFFIX));
+    }
+
+    /**
+     * Returns the outbox kept in {@code file}, with the operations that were left in it.
+     * Lines of the file that are not operations are left out.
+     */
+    public static CalendarOutbox open(Path file) throws IOException {
+        requireNonNull(file);
+        CalendarOutbox outbox = new CalendarOutbox(file);
+        if (!Files.exists(file)) {
+            return outbox;
+        }
+        for (String line : Files.readAllLines(file)) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            try {
+                outbox.entries.add(new Entry(CalendarOperation.decode(line)));
+            } catch (IllegalArgumentException e) {
+                logger.warning("Leaving out unreadable calendar operation: " + line);
+            }
+        }
+        return outbox;
+    }
+
+    /**
+     * Adds {@code operation} to the back of the outbox, collapsing it with the operations on the same event that
+     * are not being sent, and saves the outbox.
+     */
+    public synchronized void add(CalendarOperation operation) throws IOException {
+        requireNonNull(operation);
+
+        boolean isCancelled = false;
+        Iterator<Entry> iterator = entries.iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.isSending || !entry.operation.isOnSameEvent(operation)) {
+                continue;
+            }
+            if (entry.operation.getKind() == CalendarOperation.Kind.ADD) {
+                // a later addition replaces an unsent one, and a deletion cancels it
+                iterator.remove();
+                isCancelled = operation.getKind() == CalendarOperation.Kind.DELETE;
+            } else if (operation.getKind() == CalendarOperation.Kind.DELETE) {
+                // the event is deleted already
+                return;
+            }
+        }
+        if (!isCancelled) {
+            entries.add(new Entry(operation));
+        }
+        save();
+    }
+
+    /**
+     * Returns up to {@code maxSize} operations from the front of the outbox to be sent, oldest first, and marks them
+     * as being sent. The batch ends before the first operation on an event that is in the batch already, so that
+     * the operations in it can be sent in any order.
+     * Returns an empty list if a batch is being sent already or if the outbox is empty. The batch is left in the
+     * outbox until {@link #completeBatch()} is called.
+     */
+    public synchronized List<CalendarOperation> takeBatch(int maxSize) {
+        List<CalendarOperation> batch = new ArrayList<>();
+        if (!entries.isEmpty() && entries.get(0).isSending) {
+            return batch;
+        }
+        for (Entry entry : entries) {
+            if (batch.size() >= maxSize || batch.stream().anyMatch(entry.operation::isOnSameEvent)) {
+                break;
+            }
+            entry.isSending = true;
+            batch.add(entry.operation);
+        }
+        return batch;
+    }
+
+    /**
+     * Removes the batch being sent from the outbox, as it has been sent, and saves the outbox.
+     */
+    public synchronized void completeBatch() throws IOException {
+        completeBatch(Collections.emptyList(), Collections.emptyList());
+    }
+
+    /**
+     * Removes the batch being sent from the outbox, except for the operations in {@code unsent}, which could not be
+     * sent yet and are kept to be sent again. The operations in {@code deadLetters}, which can never be sent, are
+     * moved to the dead-letter file. Saves the outbox.
+     * The outbox is updated even if it cannot be saved, in which case operations may be sent again.
+     */
+    public synchronized void completeBatch(Collection<CalendarOperation> unsent,
+            Collection<CalendarOperation> deadLetters) throws IOException {
+        requireNonNull(unsent);
+        requireNonNull(deadLetters);
+        List<CalendarOperation> movedOperations = new ArrayList<>();
+        Iterator<Entry> iterator = entries.iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (!entry.isSending) {
+                continue;
+            }
+            if (unsent.contains(entry.operation)) {
+                entry.isSending = false;
+                continue;
+            }
+            if (deadLetters.contains(entry.operation)) {
+                movedOperations.add(entry.operation);
+            }
+            iterator.remove();
+        }
+        this.deadLetters.addAll(movedOperations);
+        appendDeadLetters(movedOperations);
+        save();
+    }
+
+    /**
+     * Keeps the batch being sent in the outbox to be sent again, as it could not be sent.
+     */
+    public synchronized void releaseBatch() {
+        entries.forEach(entry -> entry.isSending = false);
+    }
+
+    /**
+     * Returns the operations in the outbox, oldest first.
+     */
+    public synchronized List<CalendarOperation> getOperations() {
+        return entries.stream().map(entry -> entry.operation).collect(Collectors.toList());
+    }
+
+    public synchronized boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    /**
+     * Returns the operations moved to the dead-letter file since the outbox was opened, oldest first.
+     */
+    public synchronized List<CalendarOperation> getDeadLetters() {
+        return new ArrayList<>(deadLetters);
+    }
+
+    /**
+     * Appends {@code operations} to the dead-letter file of the outbox, if it has a file.
+     */
+    private void appendDeadLetters(List<CalendarOperation> operations) throws IOException {
+        if (file == null || operations.isEmpty()) {
+            return;
+        }
+        Path deadLetterFile = Paths.get(file.toString() + DEAD_LETTER_FILE_SUFFIX);
+        List<String> lines = operations.stream().map(CalendarOperation::encode).collect(Collectors.toList());
+        FileUtil.createParentDirsOfFile(deadLetterFile);
+        Files.write(deadLetterFile, lines, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Writes the operations in the outbox to its file, if it has one.
+     */
+    private void save() throws IOException {
+        if (file == null) {
+            return;
+        }
+        StringBuilder content = new StringBuilder();
+        for (Entry entry : entries) {
+            content.append(entry.operation.encode()).append('\n');
+        }
+        FileUtil.createParentDirsOfFile(file);
+        FileUtil.writeToFile(file, content.toString());
+    }
+}
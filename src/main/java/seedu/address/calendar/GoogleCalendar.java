@@ -2,10 +2,13 @@ package seedu.address.calendar;
 
 import java.io.IOException;
 import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.List;
 
 import com.google.api.client.auth.oauth2.Credential;
 import com.google.api.client.http.javanet.NetHttpTransport;
 
+import seedu.address.calendar.exceptions.CalendarOperationsException;
 import seedu.address.model.appointment.Appointment;
 
 /**
@@ -39,4 +42,49 @@ public interface GoogleCalendar {
      */
     public void deleteAppointment(String userName, Appointment appointment) throws IOException,
             GeneralSecurityException;
+
+    /**
+     * Applies {@code operations} to the primary calendar of the doctor {@code userName}.
+     * No two of the operations may be on the same appointment, so that they can be applied in any order.
+     * Calendars that can send several operations at once should override this, which applies them one by one.
+     *
+     * @throws CalendarOperationsException If some of the operations failed, with those that may succeed if applied
+     *     again told apart from those that may not.
+     */
+    public default void applyOperations(String userName, List<CalendarOperation> operations)
+            throws IOException, GeneralSecurityException {
+        List<CalendarOperation> transientFailures = new ArrayList<>();
+        List<CalendarOperation> permanentFailures = new ArrayList<>();
+        List<String> failures = new ArrayList<>();
+        for (CalendarOperation operation : operations) {
+            if (!transientFailures.isEmpty()) {
+                // the calendar is likely unavailable, so the operations left are not tried until later
+                transientFailures.add(operation);
+                continue;
+            }
+            try {
+                switch (operation.getKind()) {
+                case ADD:
+                    addAppointment(userName, operation.getAppointment());
+                    break;
+                case DELETE:
+                    deleteAppointment(userName, operation.getAppointment());
+                    break;
+                default:
+                    throw new AssertionError("Unknown calendar operation " + operation.getKind());
+                }
+            } catch (IOException | GeneralSecurityException | RuntimeException e) {
+                if (CalendarOperationsException.isTransient(e)) {
+                    transientFailures.add(operation);
+                } else {
+                    permanentFailures.add(operation);
+                }
+                failures.add(operation + ": " + e.getMessage());
+            }
+        }
+        if (!failures.isEmpty()) {
+            throw new CalendarOperationsException("Failed calendar operations: " + String.join("; ", failures),
+                    transientFailures, permanentFailures);
+        }
+    }
 }
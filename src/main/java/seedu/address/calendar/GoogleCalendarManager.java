@@ -7,17 +7,27 @@ import java.security.GeneralSecurityException;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
 
 import com.google.api.client.auth.oauth2.Credential;
+import com.google.api.client.auth.oauth2.TokenResponseException;
 import com.google.api.client.extensions.java6.auth.oauth2.AuthorizationCodeInstalledApp;
 import com.google.api.client.extensions.jetty.auth.oauth2.LocalServerReceiver;
 import com.google.api.client.googleapis.auth.oauth2.GoogleAuthorizationCodeFlow;
 import com.google.api.client.googleapis.auth.oauth2.GoogleClientSecrets;
+import com.google.api.client.googleapis.batch.BatchRequest;
+import com.google.api.client.googleapis.batch.json.JsonBatchCallback;
 import com.google.api.client.googleapis.javanet.GoogleNetHttpTransport;
+import com.google.api.client.googleapis.json.GoogleJsonError;
 import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.client.http.HttpHeaders;
 import com.google.api.client.http.javanet.NetHttpTransport;
 import com.google.api.client.json.JsonFactory;
 import com.google.api.client.json.jackson2.JacksonFactory;
@@ -30,12 +40,21 @@ import com.google.api.services.calendar.model.EventDateTime;
 import com.google.common.base.Charsets;
 import com.google.common.io.BaseEncoding;
 
+import seedu.address.calendar.exceptions.CalendarOperationsException;
+import seedu.address.commons.core.LogsCenter;
 import seedu.address.model.appointment.Appointment;
 
 /**
  * Manages all information transaction between doctor's google calendar and HealthBook.
+ * One HTTP transport is shared by the whole app, and the authorization flow and the authorized calendar client of
+ * the doctors most recently used are kept, so that appointments are not slowed down by setting up connections and
+ * loading credentials each time.
  */
 public class GoogleCalendarManager implements GoogleCalendar {
+    /** The number of doctors whose calendar clients are kept. */
+    public static final int MAX_CACHED_CALENDARS = 16;
+
+    private static final Logger logger = LogsCenter.getLogger(GoogleCalendarManager.class);
     private static final String APPLICATION_NAME = "HealthBook";
     private static final JsonFactory JSON_FACTORY = JacksonFactory.getDefaultInstance();
     private static final String TOKENS_DIRECTORY_PATH = "tokens";
@@ -47,60 +66,170 @@ public class GoogleCalendarManager implements GoogleCalendar {
     private static final List<String> SCOPES = Collections.singletonList(CalendarScopes.CALENDAR_EVENTS);
     private static final String CREDENTIALS_FILE_PATH = "credentials.json";
 
+    private static final int HTTP_NOT_FOUND = 404;
+    private static final int HTTP_CONFLICT = 409;
+    private static final int HTTP_GONE = 410;
+
+    /** The seconds before its access token expires that a credential is refreshed. */
+    private static final long TOKEN_REFRESH_MARGIN_SECONDS = 60;
+
+    private static NetHttpTransport sharedTransport;
+
+    private GoogleAuthorizationCodeFlow flow;
+
+    /** The calendar clients of the doctors, least recently used first. */
+    private final Map<String, AuthorizedCalendar> calendars =
+            new LinkedHashMap<String, AuthorizedCalendar>(MAX_CACHED_CALENDARS, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, AuthorizedCalendar> eldest) {
+                    return size() > MAX_CACHED_CALENDARS;
+                }
+            };
+
+    /**
+     * A calendar client authorized for a doctor, with the credential it is authorized by.
+     */
+    private static class AuthorizedCalendar {
+        private final Credential credential;
+        private final Calendar service;
+
+        AuthorizedCalendar(Credential credential, Calendar service) {
+            this.credential = credential;
+            this.service = service;
+        }
+    }
+
+    /**
+     * Returns the HTTP transport shared by all calendar clients of the app, creating it on first use.
+     */
+    private static synchronized NetHttpTransport getSharedTransport() throws IOException, GeneralSecurityException {
+        if (sharedTransport == null) {
+            sharedTransport = GoogleNetHttpTransport.newTrustedTransport();
+        }
+        return sharedTransport;
+    }
+
     @Override
-    public Credential getCredentials(final NetHttpTransport httpTransport, String userName) throws IOException {
+    public synchronized Credential getCredentials(final NetHttpTransport httpTransport, String userName)
+            throws IOException {
+        GoogleAuthorizationCodeFlow authorizationFlow;
+        if (httpTransport == sharedTransport) {
+            if (flow == null) {
+                flow = createFlow(httpTransport);
+            }
+            authorizationFlow = flow;
+        } else {
+            authorizationFlow = createFlow(httpTransport);
+        }
+
+        // Trigger user authorization request, unless the user's tokens are stored already.
+        LocalServerReceiver receiver = new LocalServerReceiver.Builder().setPort(8888).build();
+        return new AuthorizationCodeInstalledApp(authorizationFlow, receiver).authorize(userName);
+    }
+
+    /**
+     * Creates the authorization flow that sends its requests through {@code httpTransport} and keeps the tokens of
+     * each user in {@link #TOKENS_DIRECTORY_PATH}.
+     */
+    private GoogleAuthorizationCodeFlow createFlow(NetHttpTransport httpTransport) throws IOException {
         /// Load client secrets.
         InputStream in = getClass().getClassLoader().getResourceAsStream(CREDENTIALS_FILE_PATH);
         InputStreamReader inStreamReader = new InputStreamReader(in);
         GoogleClientSecrets clientSecrets = GoogleClientSecrets.load(JSON_FACTORY, inStreamReader);
 
-        // Build flow and trigger user authorization request.
-        GoogleAuthorizationCodeFlow flow = new GoogleAuthorizationCodeFlow.Builder(
+        // Build flow, which stores the tokens of each user and the tokens they are refreshed to.
+        return new GoogleAuthorizationCodeFlow.Builder(
             httpTransport, JSON_FACTORY, clientSecrets, SCOPES)
             .setDataStoreFactory(new FileDataStoreFactory(new java.io.File(TOKENS_DIRECTORY_PATH)))
             .setAccessType("offline")
             .build();
+    }
 
-        LocalServerReceiver receiver = new LocalServerReceiver.Builder().setPort(8888).build();
-        return new AuthorizationCodeInstalledApp(flow, receiver).authorize(userName);
+    /**
+     * Returns the calendar client authorized for {@code userName}, reusing the one created before if it is still
+     * cached. The access token of a reused client is refreshed if it has expired or is about to, and the client is
+     * authorized again if it cannot be refreshed.
+     */
+    private synchronized Calendar getCalendar(String userName) throws IOException, GeneralSecurityException {
+        AuthorizedCalendar calendar = calendars.get(userName);
+        if (calendar != null) {
+            try {
+                if (!isUsable(calendar.credential)) {
+                    calendars.remove(userName);
+                    calendar = null;
+                }
+            } catch (TokenResponseException e) {
+                forgetCredential(userName, e);
+                calendar = null;
+            }
+        }
+        if (calendar == null) {
+            NetHttpTransport httpTransport = getSharedTransport();
+            Credential credential = getCredentials(httpTransport, userName);
+            try {
+                // a stored credential is refreshed now if needed, to find out whether it can still be refreshed
+                isUsable(credential);
+            } catch (TokenResponseException e) {
+                forgetCredential(userName, e);
+                credential = getCredentials(httpTransport, userName);
+            }
+            Calendar service = new Calendar.Builder(httpTransport, JSON_FACTORY, credential)
+                    .setApplicationName(APPLICATION_NAME)
+                    .build();
+            calendar = new AuthorizedCalendar(credential, service);
+            calendars.put(userName, calendar);
+        }
+        return calendar.service;
+    }
+
+    /**
+     * Returns true if {@code credential} has an access token that does not expire within
+     * {@link #TOKEN_REFRESH_MARGIN_SECONDS}, refreshing it if needed.
+     *
+     * @throws TokenResponseException if Google refuses to refresh the credential, as its refresh token was revoked
+     *     or has expired.
+     */
+    private static boolean isUsable(Credential credential) throws IOException {
+        Long expiresInSeconds = credential.getExpiresInSeconds();
+        if (credential.getAccessToken() != null
+                && (expiresInSeconds == null || expiresInSeconds > TOKEN_REFRESH_MARGIN_SECONDS)) {
+            return true;
+        }
+        return credential.refreshToken();
+    }
+
+    /**
+     * Drops the calendar client and the stored credential of {@code userName}, which Google refused to refresh with
+     * {@code error}, so that the doctor is asked to authorize the app again instead of the credential being loaded
+     * again for every authorization.
+     */
+    private void forgetCredential(String userName, TokenResponseException error) throws IOException {
+        logger.warning("Authorizing " + userName + " again as the stored credential cannot be refreshed: "
+                + error.getMessage());
+        calendars.remove(userName);
+        deleteStoredCredential(userName);
+    }
+
+    /**
+     * Deletes the stored credential of {@code userName}.
+     */
+    void deleteStoredCredential(String userName) throws IOException {
+        if (flow != null) {
+            flow.getCredentialDataStore().delete(userName);
+        }
     }
 
     @Override
     public void registerDoctor(String userName) throws IOException, GeneralSecurityException {
-        final NetHttpTransport httpTransport = GoogleNetHttpTransport.newTrustedTransport();
-        Calendar service = new Calendar.Builder(httpTransport, JSON_FACTORY, getCredentials(httpTransport, userName))
-                .setApplicationName(APPLICATION_NAME)
-                .build();
+        // authorizes the doctor now, so that the first appointment does not wait for it
+        getCalendar(userName);
     }
 
     @Override
     public void addAppointment(String userName, Appointment appointment) throws IOException, GeneralSecurityException {
-        final NetHttpTransport httpTransport = GoogleNetHttpTransport.newTrustedTransport();
-        Calendar service = new Calendar.Builder(httpTransport, JSON_FACTORY, getCredentials(httpTransport, userName))
-                .setApplicationName(APPLICATION_NAME)
-                .build();
-
-        // Configure Start Date and Time
-        LocalDateTime appointmentDateTime = appointment.getDateTime();
-        ZonedDateTime zdt = appointmentDateTime.atZone(ZoneId.systemDefault());
-        Date startOutput = Date.from(zdt.toInstant());
-        Date endOutput = new Date(startOutput.getTime() + 3600 * 1000);
-        EventDateTime startDateTime = new EventDateTime();
-        startDateTime.setDateTime(new DateTime(startOutput));
-        EventDateTime endDateTime = new EventDateTime();
-        endDateTime.setDateTime(new DateTime(endOutput));
-
-        // Configure Event Id
-        String eventId = "healthbook" + Integer.toString(appointment.getAppointmentId());
-        String eventIdEncoded = BaseEncoding.base32Hex().encode(eventId.getBytes(Charsets.US_ASCII)).toLowerCase();
-
-        // Configure Event
-        Event appointmentToAdd = new Event();
-        appointmentToAdd.setStart(startDateTime);
-        appointmentToAdd.setEnd(endDateTime);
-        appointmentToAdd.setId(eventIdEncoded);
-        appointmentToAdd.setDescription("Comments: " + appointment.getComments());
-        appointmentToAdd.setSummary("Appointment with " + appointment.getPatient());
+        Calendar service = getCalendar(userName);
+        String eventIdEncoded = eventIdOf(appointment);
+        Event appointmentToAdd = eventOf(appointment);
 
         // Find existing event with same eventId. Deleted eventId is not deleted entirely but cancelled and hidden
         Event event = null;
@@ -123,14 +252,8 @@ public class GoogleCalendarManager implements GoogleCalendar {
     @Override
     public void deleteAppointment(String userName, Appointment appointment)
             throws IOException, GeneralSecurityException {
-        final NetHttpTransport httpTransport = GoogleNetHttpTransport.newTrustedTransport();
-        Calendar service = new Calendar.Builder(httpTransport, JSON_FACTORY, getCredentials(httpTransport, userName))
-                .setApplicationName(APPLICATION_NAME)
-                .build();
-
-        // Configure Event Id
-        String eventId = "healthbook" + Integer.toString(appointment.getAppointmentId());
-        String eventIdEncoded = BaseEncoding.base32Hex().encode(eventId.getBytes(Charsets.US_ASCII)).toLowerCase();
+        Calendar service = getCalendar(userName);
+        String eventIdEncoded = eventIdOf(appointment);
 
         try {
             // Delete Event
@@ -143,4 +266,144 @@ public class GoogleCalendarManager implements GoogleCalendar {
 
 
     }
+
+    /**
+     * Applies {@code operations} to the primary calendar of {@code userName} with as few requests as possible: one
+     * batch request with all the operations, and a second one updating the added events that were on the calendar
+     * already, as deleted events are only hidden and keep their id.
+     * Deleting an event that is not on the calendar succeeds. Operations that fail are told apart by whether their
+     * error may go away, such as a server error or too many requests, in the {@link CalendarOperationsException}
+     * thrown.
+     */
+    @Override
+    public void applyOperations(String userName, List<CalendarOperation> operations)
+            throws IOException, GeneralSecurityException {
+        if (operations.isEmpty()) {
+            return;
+        }
+        Calendar service = getCalendar(userName);
+        BatchFailures failures = new BatchFailures();
+        List<CalendarOperation> existingAppointmentAdditions = new ArrayList<>();
+
+        BatchRequest batch = service.batch();
+        for (CalendarOperation operation : operations) {
+            Appointment appointment = operation.getAppointment();
+            if (operation.getKind() == CalendarOperation.Kind.ADD) {
+                service.events().insert("primary", eventOf(appointment))
+                        .queue(batch, new FailureCallback<>(operation, failures, error -> {
+                            if (error.getCode() != HTTP_CONFLICT) {
+                                return false;
+                            }
+                            existingAppointmentAdditions.add(operation);
+                            return true;
+                        }));
+            } else {
+                service.events().delete("primary", eventIdOf(appointment)).queue(batch,
+                        new FailureCallback<>(operation, failures, error -> error.getCode() == HTTP_NOT_FOUND
+                                || error.getCode() == HTTP_GONE));
+            }
+        }
+        batch.execute();
+
+        if (!existingAppointmentAdditions.isEmpty()) {
+            BatchRequest updates = service.batch();
+            for (CalendarOperation operation : existingAppointmentAdditions) {
+                Appointment appointment = operation.getAppointment();
+                service.events().update("primary", eventIdOf(appointment), eventOf(appointment))
+                        .queue(updates, new FailureCallback<>(operation, failures, error -> false));
+            }
+            updates.execute();
+        }
+
+        failures.throwIfAny();
+    }
+
+    /**
+     * The operations of a batch request that failed, with whether each may succeed if sent again.
+     */
+    private static class BatchFailures {
+        private final List<CalendarOperation> transientFailures = new ArrayList<>();
+        private final List<CalendarOperation> permanentFailures = new ArrayList<>();
+        private final List<String> messages = new ArrayList<>();
+
+        /**
+         * Records that {@code operation} failed with {@code error}.
+         */
+        void add(CalendarOperation operation, GoogleJsonError error) {
+            if (CalendarOperationsException.isTransientStatus(error.getCode())) {
+                transientFailures.add(operation);
+            } else {
+                permanentFailures.add(operation);
+            }
+            messages.add(operation + ": " + error.getCode() + " " + error.getMessage());
+        }
+
+        /**
+         * Throws a {@code CalendarOperationsException} with the failed operations, if any operation failed.
+         */
+        void throwIfAny() throws CalendarOperationsException {
+            if (!messages.isEmpty()) {
+                throw new CalendarOperationsException("Failed calendar operations: " + String.join("; ", messages),
+                        transientFailures, permanentFailures);
+            }
+        }
+    }
+
+    /**
+     * A batch callback that records the error of {@code operation} in {@code failures} if its request fails, except
+     * for the errors that {@code isExpected} handles and returns true for.
+     */
+    private static class FailureCallback<T> extends JsonBatchCallback<T> {
+        private final CalendarOperation operation;
+        private final BatchFailures failures;
+        private final Predicate<GoogleJsonError> isExpected;
+
+        FailureCallback(CalendarOperation operation, BatchFailures failures, Predicate<GoogleJsonError> isExpected) {
+            this.operation = operation;
+            this.failures = failures;
+            this.isExpected = isExpected;
+        }
+
+        @Override
+        public void onSuccess(T result, HttpHeaders responseHeaders) {}
+
+        @Override
+        public void onFailure(GoogleJsonError error, HttpHeaders responseHeaders) {
+            if (!isExpected.test(error)) {
+                failures.add(operation, error);
+            }
+        }
+    }
+
+    /**
+     * Returns the id of the calendar event of {@code appointment}, which is based on the appointment's id.
+     */
+    private static String eventIdOf(Appointment appointment) {
+        String eventId = "healthbook" + Integer.toString(appointment.getAppointmentId());
+        return BaseEncoding.base32Hex().encode(eventId.getBytes(Charsets.US_ASCII)).toLowerCase();
+    }
+
+    /**
+     * Returns the calendar event of {@code appointment}.
+     */
+    private static Event eventOf(Appointment appointment) {
+        // Configure Start Date and Time
+        LocalDateTime appointmentDateTime = appointment.getDateTime();
+        ZonedDateTime zdt = appointmentDateTime.atZone(ZoneId.systemDefault());
+        Date startOutput = Date.from(zdt.toInstant());
+        Date endOutput = new Date(startOutput.getTime() + 3600 * 1000);
+        EventDateTime startDateTime = new EventDateTime();
+        startDateTime.setDateTime(new DateTime(startOutput));
+        EventDateTime endDateTime = new EventDateTime();
+        endDateTime.setDateTime(new DateTime(endOutput));
+
+        // Configure Event
+        Event event = new Event();
+        event.setStart(startDateTime);
+        event.setEnd(endDateTime);
+        event.setId(eventIdOf(appointment));
+        event.setDescription("Comments: " + appointment.getComments());
+        event.setSummary("Appointment with " + appointment.getPatient());
+        return event;
+    }
 }
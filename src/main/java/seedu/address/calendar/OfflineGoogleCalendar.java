@@ -0,0 +1,27 @@
+package seedu.address.calendar;
+
+import com.google.api.client.auth.oauth2.Credential;
+import com.google.api.client.http.javanet.NetHttpTransport;
+
+import seedu.address.model.appointment.Appointment;
+
+/**
+ * A {@code GoogleCalendar} that does not connect to Google Calendar.
+ * Used when replaying commands whose calendar changes were already made when the commands were first executed.
+ */
+public class OfflineGoogleCalendar implements GoogleCalendar {
+
+    @Override
+    public Credential getCredentials(final NetHttpTransport httpTransport, String userName) {
+        return null;
+    }
+
+    @Override
+    public void registerDoctor(String userName) {}
+
+    @Override
+    public void addAppointment(String userName, Appointment appointment) {}
+
+    @Override
+    public void deleteAppointment(String userName, Appointment appointment) {}
+}
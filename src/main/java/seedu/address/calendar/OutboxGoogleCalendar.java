@@ -0,0 +1,225 @@
+package seedu.address.calendar;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import com.google.api.client.auth.oauth2.Credential;
+import com.google.api.client.http.javanet.NetHttpTransport;
+
+import seedu.address.calendar.exceptions.CalendarOperationsException;
+import seedu.address.commons.core.LogsCenter;
+import seedu.address.commons.util.StringUtil;
+import seedu.address.model.appointment.Appointment;
+
+/**
+ * A {@code GoogleCalendar} that puts the appointments added and deleted in a {@link CalendarOutbox} and returns at
+ * once, while a background thread sends them on to another {@code GoogleCalendar}, in batches of the operations on
+ * each doctor's calendar. Operations that fail for a reason that may go away, such as a server error, are sent again
+ * after a delay that doubles with each failure, while those that would fail again are moved to the dead letters of
+ * the outbox.
+ * Doctors are still registered with the other calendar directly, as registering asks the doctor to sign in.
+ */
+public class OutboxGoogleCalendar implements GoogleCalendar {
+
+    /** The most operations sent at once, which is the most calls a Google Calendar batch request can hold. */
+    public static final int MAX_BATCH_SIZE = 50;
+
+    public static final long DEFAULT_INITIAL_RETRY_DELAY_MILLIS = TimeUnit.SECONDS.toMillis(1);
+    public static final long MAX_RETRY_DELAY_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    private static final Logger logger = LogsCenter.getLogger(OutboxGoogleCalendar.class);
+
+    private final GoogleCalendar calendar;
+    private final CalendarOutbox outbox;
+    private final long initialRetryDelayMillis;
+    private final ScheduledThreadPoolExecutor sender;
+
+    /** The delay before the batch that failed last is sent again, or 0 if the last batch was sent. */
+    private long retryDelayMillis;
+    /** True from when a batch is scheduled to be sent until it has been sent or has failed. */
+    private boolean isSendScheduled;
+
+    public OutboxGoogleCalendar(GoogleCalendar calendar, CalendarOutbox outbox) {
+        this(calendar, outbox, DEFAULT_INITIAL_RETRY_DELAY_MILLIS);
+    }
+
+    /**
+     * Creates an {@code OutboxGoogleCalendar} that sends the operations in {@code outbox} to {@code calendar}, waiting
+     * {@code initialRetryDelayMillis} before sending a batch again the first time it fails.
+     * The operations left in {@code outbox} are sent right away.
+     */
+    public OutboxGoogleCalendar(GoogleCalendar calendar, CalendarOutbox outbox, long initialRetryDelayMillis) {
+        requireNonNull(calendar);
+        requireNonNull(outbox);
+        this.calendar = calendar;
+        this.outbox = outbox;
+        this.initialRetryDelayMillis = initialRetryDelayMillis;
+        sender = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread senderThread = new Thread(runnable, "HealthBook calendar sender");
+            senderThread.setDaemon(true);
+            return senderThread;
+        });
+        // operations not sent yet are kept in the outbox for the next run of the app
+        sender.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        scheduleSend(0);
+    }
+
+    public CalendarOutbox getOutbox() {
+        return outbox;
+    }
+
+    @Override
+    public Credential getCredentials(NetHttpTransport httpTransport, String userName) throws IOException {
+        return calendar.getCredentials(httpTransport, userName);
+    }
+
+    @Override
+    public void registerDoctor(String userName) throws IOException, GeneralSecurityException {
+        calendar.registerDoctor(userName);
+    }
+
+    @Override
+    public void addAppointment(String userName, Appointment appointment) throws IOException {
+        outbox.add(CalendarOperation.of(CalendarOperation.Kind.ADD, userName, appointment));
+        scheduleSend(0);
+    }
+
+    @Override
+    public void deleteAppointment(String userName, Appointment appointment) throws IOException {
+        outbox.add(CalendarOperation.of(CalendarOperation.Kind.DELETE, userName, appointment));
+        scheduleSend(0);
+    }
+
+    /**
+     * Stops sending operations once the batch being sent, if any, is done. The operations that are not sent yet are
+     * left in the outbox.
+     */
+    public void stop() {
+        synchronized (this) {
+            sender.shutdown();
+        }
+        try {
+            sender.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Sends the next batch after {@code delayMillis}, unless a batch is scheduled or being sent already. Operations
+     * added in the meantime are sent after that batch, so they do not cut short the delay before a failed batch is
+     * sent again.
+     */
+    private synchronized void scheduleSend(long delayMillis) {
+        if (isSendScheduled || sender.isShutdown() || outbox.isEmpty()) {
+            return;
+        }
+        isSendScheduled = true;
+        sender.schedule(this::sendBatch, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Sends the next batch of operations in the outbox, and schedules the batch after it or, if some of it failed for
+     * a reason that may go away, schedules sending those operations again. Operations that would fail again are
+     * moved to the dead-letter file of the outbox instead.
+     */
+    private void sendBatch() {
+        List<CalendarOperation> batch = outbox.takeBatch(MAX_BATCH_SIZE);
+        if (batch.isEmpty()) {
+            finishSend(0);
+            return;
+        }
+
+        List<CalendarOperation> unsent = new ArrayList<>();
+        List<CalendarOperation> deadLetters = new ArrayList<>();
+        for (Map.Entry<String, List<CalendarOperation>> operations : groupByUserName(batch).entrySet()) {
+            try {
+                calendar.applyOperations(operations.getKey(), operations.getValue());
+            } catch (CalendarOperationsException e) {
+                unsent.addAll(e.getTransientFailures());
+                deadLetters.addAll(e.getPermanentFailures());
+                logFailure(e, e.getTransientFailures(), e.getPermanentFailures());
+            } catch (IOException | GeneralSecurityException | RuntimeException e) {
+                // operations sent before the failure are sent again, which leaves their events the same
+                if (CalendarOperationsException.isTransient(e)) {
+                    unsent.addAll(operations.getValue());
+                    logFailure(e, operations.getValue(), Collections.emptyList());
+                } else {
+                    deadLetters.addAll(operations.getValue());
+                    logFailure(e, Collections.emptyList(), operations.getValue());
+                }
+            }
+        }
+
+        try {
+            outbox.completeBatch(unsent, deadLetters);
+        } catch (IOException e) {
+            logger.warning("Failed to save the calendar outbox, sent operations may be sent again: "
+                    + StringUtil.getDetails(e));
+        }
+        if (unsent.isEmpty()) {
+            synchronized (this) {
+                retryDelayMillis = 0;
+            }
+            finishSend(0);
+            return;
+        }
+        long delayMillis = nextRetryDelayMillis();
+        logger.info("Sending " + unsent.size() + " calendar operations again in " + delayMillis + " ms");
+        finishSend(delayMillis);
+    }
+
+    /**
+     * Logs that {@code error} kept operations from being sent, of which {@code unsent} are sent again later and
+     * {@code deadLetters} are moved to the dead-letter file.
+     */
+    private static void logFailure(Exception error, List<CalendarOperation> unsent,
+            List<CalendarOperation> deadLetters) {
+        if (!unsent.isEmpty()) {
+            logger.warning("Failed to send " + unsent.size() + " calendar operations: " + StringUtil.getDetails(error));
+        }
+        if (!deadLetters.isEmpty()) {
+            logger.severe("Moved " + deadLetters.size() + " calendar operations that cannot be sent to the dead"
+                    + " letters of the calendar outbox " + deadLetters + ": " + StringUtil.getDetails(error));
+        }
+    }
+
+    /**
+     * Marks the batch as done and schedules the next one after {@code delayMillis}.
+     */
+    private synchronized void finishSend(long delayMillis) {
+        isSendScheduled = false;
+        scheduleSend(delayMillis);
+    }
+
+    /**
+     * Returns the delay before sending a failed batch again, which doubles with each failure in a row.
+     */
+    private synchronized long nextRetryDelayMillis() {
+        retryDelayMillis = retryDelayMillis == 0
+                ? initialRetryDelayMillis
+                : Math.min(retryDelayMillis * 2, MAX_RETRY_DELAY_MILLIS);
+        return retryDelayMillis;
+    }
+
+    /**
+     * Returns the operations in {@code batch} grouped by the doctor whose calendar they are on, keeping their order.
+     */
+    private static Map<String, List<CalendarOperation>> groupByUserName(List<CalendarOperation> batch) {
+        Map<String, List<CalendarOperation>> groups = new LinkedHashMap<>();
+        for (CalendarOperation operation : batch) {
+            groups.computeIfAbsent(operation.getUserName(), unused -> new ArrayList<>()).add(operation);
+        }
+        return groups;
+    }
+}
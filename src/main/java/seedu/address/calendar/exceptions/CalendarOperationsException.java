@@ -0,0 +1,66 @@
+package seedu.address.calendar.exceptions;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.google.api.client.http.HttpResponseException;
+
+import seedu.address.calendar.CalendarOperation;
+
+/**
+ * Signals that some of the calendar operations applied together failed. The operations that failed for a reason
+ * that may go away, such as the calendar being unavailable, are told apart from those that would fail again.
+ */
+public class CalendarOperationsException extends IOException {
+
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+    private static final int HTTP_INTERNAL_ERROR = 500;
+
+    private final List<CalendarOperation> transientFailures;
+    private final List<CalendarOperation> permanentFailures;
+
+    /**
+     * Creates an exception for operations of which {@code transientFailures} may succeed if applied again and
+     * {@code permanentFailures} may not.
+     */
+    public CalendarOperationsException(String message, List<CalendarOperation> transientFailures,
+            List<CalendarOperation> permanentFailures) {
+        super(message);
+        requireNonNull(transientFailures);
+        requireNonNull(permanentFailures);
+        this.transientFailures = Collections.unmodifiableList(new ArrayList<>(transientFailures));
+        this.permanentFailures = Collections.unmodifiableList(new ArrayList<>(permanentFailures));
+    }
+
+    public List<CalendarOperation> getTransientFailures() {
+        return transientFailures;
+    }
+
+    public List<CalendarOperation> getPermanentFailures() {
+        return permanentFailures;
+    }
+
+    /**
+     * Returns true if a request that failed with the HTTP status {@code statusCode} may succeed if sent again, which
+     * is so for server errors and for requests turned away as too many.
+     */
+    public static boolean isTransientStatus(int statusCode) {
+        return statusCode == HTTP_TOO_MANY_REQUESTS || statusCode >= HTTP_INTERNAL_ERROR;
+    }
+
+    /**
+     * Returns true if operations that failed with {@code error} may succeed if applied again. Failed HTTP requests
+     * are classified by their status, and other I/O errors, such as the network being down, are transient.
+     * Any other error, such as missing credentials, is permanent.
+     */
+    public static boolean isTransient(Throwable error) {
+        if (error instanceof HttpResponseException) {
+            return isTransientStatus(((HttpResponseException) error).getStatusCode());
+        }
+        return error instanceof IOException;
+    }
+}
@@ -1,5 +1,7 @@
 package seedu.address.commons.core;
 
+import java.util.concurrent.Executor;
+
 import seedu.address.commons.events.BaseEvent;
 
 /**
@@ -22,6 +24,14 @@ public abstract class ComponentManager {
         eventsCenter.registerHandler(this);
     }
 
+    /**
+     * Registers the class' event handlers to be called by {@code handlerExecutor}
+     */
+    public ComponentManager(EventsCenter eventsCenter, Executor handlerExecutor) {
+        this.eventsCenter = eventsCenter;
+        eventsCenter.registerHandler(this, handlerExecutor);
+    }
+
     protected void raise(BaseEvent event) {
         eventsCenter.post(event);
     }
@@ -16,6 +16,9 @@ public class Config {
     private String appTitle = "Health Book";
     private Level logLevel = Level.INFO;
     private Path userPrefsFilePath = Paths.get("preferences.json");
+    private int saveDebounceMillis = 500;
+    private boolean commandJournalEnabled = false;
+    private boolean incrementalSavingEnabled = false;
 
     public String getAppTitle() {
         return appTitle;
@@ -41,6 +44,42 @@ public class Config {
         this.userPrefsFilePath = userPrefsFilePath;
     }
 
+    /**
+     * Returns how long changes to the health book are collected before they are saved together.
+     * A value of 0 or less saves every change immediately.
+     */
+    public int getSaveDebounceMillis() {
+        return saveDebounceMillis;
+    }
+
+    public void setSaveDebounceMillis(int saveDebounceMillis) {
+        this.saveDebounceMillis = saveDebounceMillis;
+    }
+
+    /**
+     * Returns true if commands should be appended to a journal next to the data file, with the whole health book
+     * only saved from time to time, instead of saving the whole health book after every change.
+     */
+    public boolean isCommandJournalEnabled() {
+        return commandJournalEnabled;
+    }
+
+    public void setCommandJournalEnabled(boolean commandJournalEnabled) {
+        this.commandJournalEnabled = commandJournalEnabled;
+    }
+
+    /**
+     * Returns true if only the records changed since the health book was last saved should be appended to a journal
+     * next to the data file, instead of saving the whole health book after every change.
+     */
+    public boolean isIncrementalSavingEnabled() {
+        return incrementalSavingEnabled;
+    }
+
+    public void setIncrementalSavingEnabled(boolean incrementalSavingEnabled) {
+        this.incrementalSavingEnabled = incrementalSavingEnabled;
+    }
+
     @Override
     public boolean equals(Object other) {
         if (other == this) {
@@ -54,12 +93,16 @@ public class Config {
 
         return Objects.equals(appTitle, o.appTitle)
                 && Objects.equals(logLevel, o.logLevel)
-                && Objects.equals(userPrefsFilePath, o.userPrefsFilePath);
+                && Objects.equals(userPrefsFilePath, o.userPrefsFilePath)
+                && saveDebounceMillis == o.saveDebounceMillis
+                && commandJournalEnabled == o.commandJournalEnabled
+                && incrementalSavingEnabled == o.incrementalSavingEnabled;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(appTitle, logLevel, userPrefsFilePath);
+        return Objects.hash(appTitle, logLevel, userPrefsFilePath, saveDebounceMillis, commandJournalEnabled,
+                incrementalSavingEnabled);
     }
 
     @Override
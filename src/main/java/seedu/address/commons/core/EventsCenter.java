@@ -1,31 +1,62 @@
 package seedu.address.commons.core;
 
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.logging.Logger;
 
+import com.google.common.eventbus.AsyncEventBus;
 import com.google.common.eventbus.EventBus;
 
 import seedu.address.commons.events.BaseEvent;
 
 /**
  * Manages the event dispatching of the app.
+ * Handlers are called on the thread that posts the event, unless they are registered with an executor, in which
+ * case they are called by that executor, so that a slow handler does not hold up the thread that posted the event.
+ * Handlers registered with the same executor are called in the order the events were posted.
  */
 public class EventsCenter {
     private static final Logger logger = LogsCenter.getLogger(EventsCenter.class);
-    private static EventsCenter instance;
+    private static volatile EventsCenter instance;
     private final EventBus eventBus;
+    private final Map<Executor, EventBus> asyncEventBusesByExecutor = new IdentityHashMap<>();
+    private final List<EventBus> asyncEventBuses = new CopyOnWriteArrayList<>();
 
     private EventsCenter() {
         eventBus = new EventBus();
     }
 
+    /**
+     * Returns the events center of the app, creating it if there is none. Safe to call from any thread.
+     */
     public static EventsCenter getInstance() {
-        if (instance == null) {
-            instance = new EventsCenter();
+        EventsCenter eventsCenter = instance;
+        if (eventsCenter == null) {
+            synchronized (EventsCenter.class) {
+                eventsCenter = instance;
+                if (eventsCenter == null) {
+                    eventsCenter = new EventsCenter();
+                    instance = eventsCenter;
+                }
+            }
         }
-        return instance;
+        return eventsCenter;
     }
 
-    public static void clearSubscribers() {
+    /**
+     * Drops the events center and the handlers registered with it. The executor services that handlers were
+     * registered with are shut down, so that their threads do not outlive the events center; the events passed to
+     * them already are still handled.
+     */
+    public static synchronized void clearSubscribers() {
+        if (instance != null) {
+            instance.shutDownExecutors();
+        }
         instance = null;
     }
 
@@ -33,13 +64,61 @@ public class EventsCenter {
         eventBus.register(handler);
     }
 
+    /**
+     * Registers {@code handler} to be called by {@code executor}. Events that {@code executor} rejects, for example
+     * because it is shut down, are handled on the thread that posts them instead.
+     */
+    public void registerHandler(Object handler, Executor executor) {
+        EventBus asyncEventBus;
+        synchronized (asyncEventBusesByExecutor) {
+            asyncEventBus = asyncEventBusesByExecutor.get(executor);
+            if (asyncEventBus == null) {
+                asyncEventBus = new AsyncEventBus(runOnCallerIfRejected(executor));
+                asyncEventBusesByExecutor.put(executor, asyncEventBus);
+                asyncEventBuses.add(asyncEventBus);
+            }
+        }
+        asyncEventBus.register(handler);
+    }
+
     /**
      * Posts an event to the event bus.
      */
     public <E extends BaseEvent> EventsCenter post(E event) {
         logger.info("------[Event Posted] " + event.getClass().getCanonicalName() + ": " + event.toString());
         eventBus.post(event);
+        for (EventBus asyncEventBus : asyncEventBuses) {
+            asyncEventBus.post(event);
+        }
         return this;
     }
 
+    /**
+     * Shuts down the executor services that handlers were registered with, and drops their event buses.
+     */
+    private void shutDownExecutors() {
+        synchronized (asyncEventBusesByExecutor) {
+            for (Executor executor : asyncEventBusesByExecutor.keySet()) {
+                if (executor instanceof ExecutorService) {
+                    ((ExecutorService) executor).shutdown();
+                }
+            }
+            asyncEventBusesByExecutor.clear();
+            asyncEventBuses.clear();
+        }
+    }
+
+    /**
+     * Returns an executor that executes tasks with {@code executor}, or on the calling thread if it rejects them.
+     */
+    private static Executor runOnCallerIfRejected(Executor executor) {
+        return task -> {
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                task.run();
+            }
+        };
+    }
+
 }
@@ -0,0 +1,24 @@
+package seedu.address.commons.events.logic;
+
+import seedu.address.commons.events.BaseEvent;
+
+/** Indicates a command entered by the user was executed, whether or not it succeeded */
+public class CommandExecutedEvent extends BaseEvent {
+
+    public final String commandText;
+    /**
+     * False if executing {@code commandText} again on the same data may not give the same result, e.g. undo, a command
+     * executed on a filtered person list or a command that failed.
+     */
+    public final boolean isReplayable;
+
+    public CommandExecutedEvent(String commandText, boolean isReplayable) {
+        this.commandText = commandText;
+        this.isReplayable = isReplayable;
+    }
+
+    @Override
+    public String toString() {
+        return "command executed: " + commandText;
+    }
+}
@@ -1,19 +1,47 @@
 package seedu.address.commons.events.model;
 
+import static java.util.Objects.requireNonNull;
+
 import seedu.address.commons.events.BaseEvent;
+import seedu.address.model.HealthBookChanges;
 import seedu.address.model.ReadOnlyHealthBook;
 
 /** Indicates the HealthBook in the model has changed*/
 public class HealthBookChangedEvent extends BaseEvent {
 
+    /**
+     * The health book as it was when the event was raised, which is not changed afterwards, or null if only the
+     * edits are known, in which case they are to be applied to the health book of the previous event.
+     */
     public final ReadOnlyHealthBook data;
+    /** The edits made since the previous event, or null if they are not known. */
+    public final HealthBookChanges changes;
 
     public HealthBookChangedEvent(ReadOnlyHealthBook data) {
+        this(data, null);
+    }
+
+    /**
+     * Creates an event holding only the edits made since the previous event, whose records are not changed
+     * afterwards.
+     */
+    public HealthBookChangedEvent(HealthBookChanges changes) {
+        requireNonNull(changes);
+        this.data = null;
+        this.changes = changes;
+    }
+
+    public HealthBookChangedEvent(ReadOnlyHealthBook data, HealthBookChanges changes) {
+        requireNonNull(data);
         this.data = data;
+        this.changes = changes;
     }
 
     @Override
     public String toString() {
+        if (data == null) {
+            return "number of records edited " + changes.getEditedRecordCount();
+        }
         return "number of persons " + data.getPersonList().size();
     }
 }
@@ -1,10 +1,16 @@
 package seedu.address.commons.util;
 
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 
 /**
  * Writes and reads files
@@ -72,12 +78,65 @@ public class FileUtil {
         return new String(Files.readAllBytes(file), CHARSET);
     }
 
+    /**
+     * Reads the contents of {@code file} into a buffer on the heap. Unlike a mapping of the file, the buffer does not
+     * keep the file in use, which on some platforms keeps it from being replaced.
+     * Assumes file exists.
+     * @throws IOException if the file cannot be read or is too large to be read into a buffer.
+     */
+    public static ByteBuffer readIntoBuffer(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("File too large to be read : " + file.toAbsolutePath());
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    throw new IOException("File shortened while being read : " + file.toAbsolutePath());
+                }
+            }
+            buffer.flip();
+            return buffer;
+        }
+    }
+
     /**
      * Writes given string to a file.
      * Will create the file if it does not exist yet.
+     * The file is replaced atomically, see {@link #replaceAtomically(Path, Path)}.
      */
     public static void writeToFile(Path file, String content) throws IOException {
-        Files.write(file, content.getBytes(CHARSET));
+        Path tempFile = createTempFileNextTo(file);
+        try {
+            try (FileOutputStream out = new FileOutputStream(tempFile.toFile())) {
+                out.write(content.getBytes(CHARSET));
+                out.getFD().sync();
+            }
+            replaceAtomically(tempFile, file);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Creates an empty temporary file in the same directory as {@code file}, so that it can be moved over
+     * {@code file} with {@link #replaceAtomically(Path, Path)} once fully written.
+     */
+    public static Path createTempFileNextTo(Path file) throws IOException {
+        return Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+    }
+
+    /**
+     * Moves {@code source} over {@code target} in a single step where the file system supports it, so that a crash
+     * leaves either the old or the new {@code target} but never a partially written one.
+     * {@code source} should already be flushed to disk.
+     */
+    public static void replaceAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
     }
 
 }
@@ -0,0 +1,67 @@
+package seedu.address.commons.util;
+
+import static java.util.Objects.requireNonNull;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Function;
+
+/**
+ * Hands out a single canonical instance of an immutable value class per string it is created from, so that values
+ * repeated across many records share one instance and can be compared by identity first.
+ * Instances are only held weakly, so values no longer used anywhere else are dropped from the pool. For that, the
+ * value created from a string must keep a reference to that same string, which is the key of its pool entry.
+ *
+ * @param <T> the type of the values
+ */
+public class InternPool<T> {
+
+    private final Function<String, T> factory;
+    private final Map<String, WeakReference<T>> pool = new WeakHashMap<>();
+
+    /**
+     * Creates a pool that creates missing values from their string with {@code factory}.
+     */
+    public InternPool(Function<String, T> factory) {
+        requireNonNull(factory);
+        this.factory = factory;
+    }
+
+    /**
+     * Returns the canonical value created from {@code value}, creating it if there is none yet.
+     * Strings are matched exactly, even for values that compare equal regardless of case.
+     */
+    public synchronized T intern(String value) {
+        requireNonNull(value);
+
+        WeakReference<T> reference = pool.get(value);
+        T canonical = reference == null ? null : reference.get();
+        if (canonical == null) {
+            canonical = factory.apply(value);
+            pool.put(value, new WeakReference<>(canonical));
+        }
+        return canonical;
+    }
+
+    /**
+     * Makes {@code canonical} the value for {@code value}, which {@code canonical} must keep a reference to, unless
+     * there is a value for it already.
+     */
+    public synchronized void add(String value, T canonical) {
+        requireNonNull(value);
+        requireNonNull(canonical);
+
+        WeakReference<T> reference = pool.get(value);
+        if (reference == null || reference.get() == null) {
+            pool.put(value, new WeakReference<>(canonical));
+        }
+    }
+
+    /**
+     * Returns the number of values in the pool, including values that have been dropped but not removed yet.
+     */
+    public synchronized int size() {
+        return pool.size();
+    }
+}
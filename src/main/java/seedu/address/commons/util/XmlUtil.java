@@ -3,19 +3,33 @@ package seedu.address.commons.util;
 import static java.util.Objects.requireNonNull;
 
 import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
 import javax.xml.bind.Unmarshaller;
+import javax.xml.stream.XMLStreamReader;
 
 /**
  * Helps with reading from and writing to XML files.
+ * Creating a {@code JAXBContext} is far more expensive than the reading or writing itself, so one context is kept per
+ * class. Marshallers and unmarshallers are not thread-safe, so each thread keeps its own.
  */
 public class XmlUtil {
 
+    private static final ConcurrentMap<Class<?>, JAXBContext> contexts = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Map<Class<?>, Marshaller>> marshallers = ThreadLocal.withInitial(HashMap::new);
+    private static final ThreadLocal<Map<Class<?>, Unmarshaller>> unmarshallers =
+            ThreadLocal.withInitial(HashMap::new);
+
     /**
      * Returns the xml data in the file as an object of the specified type.
      *
@@ -37,22 +51,40 @@ public class XmlUtil {
             throw new FileNotFoundException("File not found : " + file.toAbsolutePath());
         }
 
-        JAXBContext context = JAXBContext.newInstance(classToConvert);
-        Unmarshaller um = context.createUnmarshaller();
+        return ((T) getUnmarshaller(classToConvert).unmarshal(file.toFile()));
+    }
+
+    /**
+     * Returns the xml element at the current position of {@code reader} as an object of the specified type.
+     * The reader is left at the event following the end of the element.
+     *
+     * @param reader         Positioned at the start of an element containing data that match the
+     *                       {@code classToConvert}. Cannot be null.
+     * @param classToConvert The class corresponding to the xml element.
+     *                       Cannot be null.
+     * @throws JAXBException Thrown if the element does not have the correct format.
+     */
+    public static <T> T getDataFromReader(XMLStreamReader reader, Class<T> classToConvert) throws JAXBException {
 
-        return ((T) um.unmarshal(file.toFile()));
+        requireNonNull(reader);
+        requireNonNull(classToConvert);
+
+        return getUnmarshaller(classToConvert).unmarshal(reader, classToConvert).getValue();
     }
 
     /**
      * Saves the data in the file in xml format.
+     * The data is written to a temporary file first, which is flushed to disk and then moved over {@code file}, so
+     * that a crash while saving never leaves {@code file} partially written.
      *
      * @param file Points to a valid xml file containing data that match the {@code classToConvert}.
      *             Cannot be null.
      * @throws FileNotFoundException Thrown if the file is missing.
+     * @throws IOException           Thrown if there is an error writing the temporary file or replacing the file.
      * @throws JAXBException         Thrown if there is an error during converting the data
      *                               into xml and writing to the file.
      */
-    public static <T> void saveDataToFile(Path file, T data) throws FileNotFoundException, JAXBException {
+    public static <T> void saveDataToFile(Path file, T data) throws IOException, JAXBException {
 
         requireNonNull(file);
         requireNonNull(data);
@@ -61,11 +93,60 @@ public class XmlUtil {
             throw new FileNotFoundException("File not found : " + file.toAbsolutePath());
         }
 
-        JAXBContext context = JAXBContext.newInstance(data.getClass());
-        Marshaller m = context.createMarshaller();
-        m.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
+        Marshaller m = getMarshaller(data.getClass());
+
+        Path tempFile = FileUtil.createTempFileNextTo(file);
+        try {
+            try (FileOutputStream out = new FileOutputStream(tempFile.toFile())) {
+                m.marshal(data, out);
+                out.getFD().sync();
+            }
+            FileUtil.replaceAtomically(tempFile, file);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
 
-        m.marshal(data, file.toFile());
+    /**
+     * Returns the {@code JAXBContext} for {@code type}, creating it on first use.
+     */
+    private static JAXBContext getContext(Class<?> type) throws JAXBException {
+        JAXBContext context = contexts.get(type);
+        if (context == null) {
+            JAXBContext newContext = JAXBContext.newInstance(type);
+            context = contexts.putIfAbsent(type, newContext);
+            if (context == null) {
+                context = newContext;
+            }
+        }
+        return context;
+    }
+
+    /**
+     * Returns this thread's {@code Marshaller} for {@code type}, which writes formatted output.
+     */
+    private static Marshaller getMarshaller(Class<?> type) throws JAXBException {
+        Map<Class<?>, Marshaller> threadMarshallers = marshallers.get();
+        Marshaller marshaller = threadMarshallers.get(type);
+        if (marshaller == null) {
+            marshaller = getContext(type).createMarshaller();
+            marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
+            threadMarshallers.put(type, marshaller);
+        }
+        return marshaller;
+    }
+
+    /**
+     * Returns this thread's {@code Unmarshaller} for {@code type}.
+     */
+    private static Unmarshaller getUnmarshaller(Class<?> type) throws JAXBException {
+        Map<Class<?>, Unmarshaller> threadUnmarshallers = unmarshallers.get();
+        Unmarshaller unmarshaller = threadUnmarshallers.get(type);
+        if (unmarshaller == null) {
+            unmarshaller = getContext(type).createUnmarshaller();
+            threadUnmarshallers.put(type, unmarshaller);
+        }
+        return unmarshaller;
     }
 
 }
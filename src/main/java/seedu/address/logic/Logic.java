@@ -1,9 +1,15 @@
 package seedu.address.logic;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 import javafx.collections.ObservableList;
 import seedu.address.logic.commands.CommandResult;
 import seedu.address.logic.commands.exceptions.CommandException;
 import seedu.address.logic.parser.exceptions.ParseException;
+import seedu.address.model.appointment.Appointment;
+import seedu.address.model.patient.Patient;
+import seedu.address.model.patient.PatientHistory;
 import seedu.address.model.person.Person;
 
 /**
@@ -11,7 +17,7 @@ import seedu.address.model.person.Person;
  */
 public interface Logic {
     /**
-     * Executes the command and returns the result.
+     * Executes the command and returns the result, waiting for the commands entered before it to be executed first.
      * @param commandText The command as entered by the user.
      * @return the result of the command execution.
      * @throws CommandException If an error occurs during command execution.
@@ -19,9 +25,42 @@ public interface Logic {
      */
     CommandResult execute(String commandText) throws CommandException, ParseException;
 
+    /**
+     * Executes the command in the background, after the commands entered before it, without waiting for it.
+     * @param commandText The command as entered by the user.
+     * @return the future result of the command execution, completed on the JavaFX application thread, or completed
+     *     exceptionally with a {@code CommandException} or {@code ParseException} if the command fails.
+     */
+    CompletableFuture<CommandResult> executeAsync(String commandText);
+
+    /**
+     * Stops executing commands once the commands already entered have been executed.
+     */
+    void stop();
+
     /** Returns an unmodifiable view of the filtered list of persons */
     ObservableList<Person> getFilteredPersonList();
 
     /** Returns the list of input entered by the user, encapsulated in a {@code ListElementPointer} object */
     ListElementPointer getHistorySnapshot();
+
+    /**
+     * Returns the future names of the persons best matching {@code partialWord}, the word being typed in a search,
+     * for suggesting them as it is typed. The future is completed on the JavaFX application thread.
+     */
+    CompletableFuture<List<String>> getNameSuggestions(String partialWord);
+
+    /**
+     * Returns the future copy of the history of {@code patient}, taken after the commands entered before it have been
+     * executed, for showing it while commands keep changing the patient. The future is completed on the JavaFX
+     * application thread.
+     */
+    CompletableFuture<PatientHistory> getPatientHistory(Patient patient);
+
+    /**
+     * Returns the future unmodifiable copy of the upcoming appointments of {@code person}, a patient or a doctor,
+     * taken after the commands entered before it have been executed, for showing them while commands keep changing
+     * the person. The copy is empty for other persons. The future is completed on the JavaFX application thread.
+     */
+    CompletableFuture<List<Appointment>> getUpcomingAppointments(Person person);
 }
@@ -1,46 +1,212 @@
 package seedu.address.logic;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
 
+import javafx.application.Platform;
 import javafx.collections.ObservableList;
 import seedu.address.calendar.GoogleCalendar;
 import seedu.address.calendar.GoogleCalendarManager;
+import seedu.address.calendar.OfflineGoogleCalendar;
 import seedu.address.commons.core.ComponentManager;
 import seedu.address.commons.core.LogsCenter;
+import seedu.address.commons.events.logic.CommandExecutedEvent;
 import seedu.address.logic.commands.Command;
 import seedu.address.logic.commands.CommandResult;
+import seedu.address.logic.commands.RedoCommand;
+import seedu.address.logic.commands.UndoCommand;
 import seedu.address.logic.commands.exceptions.CommandException;
 import seedu.address.logic.parser.HealthBookParser;
 import seedu.address.logic.parser.exceptions.ParseException;
 import seedu.address.model.Model;
+import seedu.address.model.appointment.Appointment;
+import seedu.address.model.doctor.Doctor;
+import seedu.address.model.patient.Patient;
+import seedu.address.model.patient.PatientHistory;
 import seedu.address.model.person.Person;
 
 /**
  * The main LogicManager of the app.
+ * Commands are executed one at a time on a background thread, the only thread that changes the model, so that
+ * the thread the app's UI runs on never waits for the calendar or the data file.
  */
 public class LogicManager extends ComponentManager implements Logic {
+    /** The most names suggested for a word being typed. */
+    public static final int MAX_NAME_SUGGESTIONS = 8;
+
+    /** The seconds the command thread is kept alive when no commands are executed. */
+    private static final long COMMAND_THREAD_KEEP_ALIVE_SECONDS = 60;
+
     private final Logger logger = LogsCenter.getLogger(LogicManager.class);
 
     private final Model model;
     private final CommandHistory history;
     private final HealthBookParser healthBookParser;
     private final GoogleCalendar googleCalendar;
+    private final ThreadPoolExecutor commandExecutor;
+    private final Executor resultExecutor;
 
     public LogicManager(Model model) {
+        this(model, new GoogleCalendarManager());
+    }
+
+    public LogicManager(Model model, GoogleCalendar googleCalendar) {
+        this(model, googleCalendar, Platform::runLater);
+    }
+
+    /**
+     * Creates a {@code LogicManager} that completes the futures returned by {@link #executeAsync(String)} with
+     * {@code resultExecutor}, the JavaFX application thread unless given otherwise.
+     */
+    public LogicManager(Model model, GoogleCalendar googleCalendar, Executor resultExecutor) {
         this.model = model;
+        this.googleCalendar = googleCalendar;
+        this.resultExecutor = resultExecutor;
         history = new CommandHistory();
         healthBookParser = new HealthBookParser();
-        googleCalendar = new GoogleCalendarManager();
+        commandExecutor = new ThreadPoolExecutor(1, 1, COMMAND_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread commandThread = new Thread(runnable, "HealthBook command executor");
+                    commandThread.setDaemon(true);
+                    return commandThread;
+                });
+        commandExecutor.allowCoreThreadTimeOut(true);
     }
 
     @Override
     public CommandResult execute(String commandText) throws CommandException, ParseException {
+        try {
+            return submit(commandText).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CommandException("Interrupted while executing " + commandText);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof CommandException) {
+                throw (CommandException) cause;
+            } else if (cause instanceof ParseException) {
+                throw (ParseException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw (Error) cause;
+        }
+    }
+
+    @Override
+    public CompletableFuture<CommandResult> executeAsync(String commandText) {
+        CompletableFuture<CommandResult> result = new CompletableFuture<>();
+        submit(commandText).whenComplete((commandResult, error) -> resultExecutor.execute(() -> {
+            if (error == null) {
+                result.complete(commandResult);
+            } else {
+                result.completeExceptionally(error);
+            }
+        }));
+        return result;
+    }
+
+    @Override
+    public void stop() {
+        commandExecutor.shutdown();
+        try {
+            // lets the commands already entered finish, so that their changes are saved
+            commandExecutor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Queues {@code commandText} to be executed after the commands before it, and returns the future result of
+     * executing it, which is completed on the command thread.
+     */
+    private CompletableFuture<CommandResult> submit(String commandText) {
+        CompletableFuture<CommandResult> result = new CompletableFuture<>();
+        commandExecutor.execute(() -> {
+            try {
+                result.complete(executeNow(commandText));
+            } catch (CommandException | ParseException | RuntimeException | Error e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Parses and executes {@code commandText} on the calling thread, which must be the command thread.
+     * The changes the command makes to the model raise a single event once it is done, even if it fails.
+     */
+    private CommandResult executeNow(String commandText) throws CommandException, ParseException {
         logger.info("----------------[USER COMMAND][" + commandText + "]");
         try {
             Command command = healthBookParser.parseCommand(commandText);
-            return command.execute(model, history, googleCalendar);
+            boolean isReplayable = isReplayable(command) && isShowingAllPersons();
+            boolean hasSucceeded = false;
+            model.beginChangeBatch();
+            try {
+                CommandResult result = command.execute(model, history, googleCalendar);
+                hasSucceeded = true;
+                return result;
+            } finally {
+                model.commitChangeBatch();
+                // a command that failed may have made part of its changes, which executing it again would not make
+                raise(new CommandExecutedEvent(commandText, isReplayable && hasSucceeded));
+            }
         } finally {
-            history.add(commandText);
+            synchronized (history) {
+                history.add(commandText);
+            }
+        }
+    }
+
+    /**
+     * Returns true if executing {@code command} again on the same health book gives the same health book.
+     * Undo and redo depend on the command history, which is not kept across runs of the app.
+     */
+    private static boolean isReplayable(Command command) {
+        return !(command instanceof UndoCommand || command instanceof RedoCommand);
+    }
+
+    /**
+     * Returns true if the filtered person list shows every person, which is the list commands are replayed on.
+     * Commands pick the persons they change by their index in the filtered list, and the commands that filter it
+     * are not journaled, as they do not change the health book.
+     */
+    private boolean isShowingAllPersons() {
+        // the filtered list keeps the order of the person list, so it is the same list if it is as long
+        return model.getFilteredPersonList().size() == model.getAddressBook().getPersonList().size();
+    }
+
+    /**
+     * Executes {@code commandTexts}, read from a command journal, on {@code model} in the order they were first
+     * executed. Each command is executed on the whole person list, as the journaled commands were. Changes to Google
+     * Calendar are not made again.
+     */
+    public static void replay(Model model, List<String> commandTexts) {
+        Logic replayLogic = new LogicManager(model, new OfflineGoogleCalendar());
+        try {
+            for (String commandText : commandTexts) {
+                model.updateFilteredPersonList(Model.PREDICATE_SHOW_ALL_PERSONS);
+                try {
+                    replayLogic.execute(commandText);
+                } catch (CommandException | ParseException e) {
+                    LogsCenter.getLogger(LogicManager.class)
+                            .warning("Failed to replay command " + commandText + " : " + e.getMessage());
+                }
+            }
+        } finally {
+            replayLogic.stop();
         }
     }
 
@@ -51,6 +217,58 @@ public class LogicManager extends ComponentManager implements Logic {
 
     @Override
     public ListElementPointer getHistorySnapshot() {
-        return new ListElementPointer(history.getHistory());
+        synchronized (history) {
+            return new ListElementPointer(history.getHistory());
+        }
+    }
+
+    @Override
+    public CompletableFuture<List<String>> getNameSuggestions(String partialWord) {
+        CompletableFuture<List<String>> suggestions = new CompletableFuture<>();
+        // looked up on the command thread, as commands change the search index while they run
+        commandExecutor.execute(() -> {
+            List<String> names = model.suggestPersonsByName(partialWord, MAX_NAME_SUGGESTIONS).stream()
+                    .map(person -> person.getName().fullName)
+                    .distinct()
+                    .collect(Collectors.toList());
+            resultExecutor.execute(() -> suggestions.complete(names));
+        });
+        return suggestions;
+    }
+
+    @Override
+    public CompletableFuture<PatientHistory> getPatientHistory(Patient patient) {
+        // copied on the command thread, as loading the history of a patient may unload the history of another
+        return copyOnCommandThread(patient::copyHistory);
+    }
+
+    @Override
+    public CompletableFuture<List<Appointment>> getUpcomingAppointments(Person person) {
+        return copyOnCommandThread(() -> {
+            List<Appointment> appointments = new ArrayList<>();
+            if (person instanceof Patient) {
+                appointments.addAll(((Patient) person).getUpcomingAppointments());
+            } else if (person instanceof Doctor) {
+                appointments.addAll(((Doctor) person).getUpcomingAppointments());
+            }
+            return Collections.unmodifiableList(appointments);
+        });
+    }
+
+    /**
+     * Returns the future result of {@code copier}, which copies a part of the model on the command thread, as
+     * commands change the model while they run. The future is completed through the result executor.
+     */
+    private <T> CompletableFuture<T> copyOnCommandThread(Supplier<T> copier) {
+        CompletableFuture<T> copy = new CompletableFuture<>();
+        commandExecutor.execute(() -> {
+            try {
+                T result = copier.get();
+                resultExecutor.execute(() -> copy.complete(result));
+            } catch (RuntimeException e) {
+                resultExecutor.execute(() -> copy.completeExceptionally(e));
+            }
+        });
+        return copy;
     }
 }
@@ -12,7 +12,6 @@ import static seedu.address.logic.parser.CliSyntax.PREFIX_PATIENT_PHONE;
 import java.io.IOException;
 import java.security.GeneralSecurityException;
 import java.time.LocalDateTime;
-import java.util.List;
 
 import seedu.address.calendar.GoogleCalendar;
 import seedu.address.commons.core.EventsCenter;
@@ -26,7 +25,6 @@ import seedu.address.model.appointment.exceptions.InvalidSecurityAccessException
 import seedu.address.model.doctor.Doctor;
 import seedu.address.model.patient.Patient;
 import seedu.address.model.person.Name;
-import seedu.address.model.person.Person;
 import seedu.address.model.person.Phone;
 
 /**
@@ -97,40 +95,44 @@ public class AddAppointmentCommand extends Command {
     public CommandResult execute(Model model, CommandHistory history, GoogleCalendar googleCalendar)
             throws CommandException {
         requireNonNull(model);
-        List<Person> lastShownList = model.getFilteredPersonList();
         Patient patient = null;
         Doctor doctor = null;
 
-        for (Person person : lastShownList) {
-            if (person.getName().equals(patientName) && person instanceof Patient) {
+        for (Patient person : model.getFilteredPatientList()) {
+            if (person.getName().equals(patientName)) {
                 if (patientPhoneNumber != null) {
                     if (person.getPhone().equals(patientPhoneNumber)) {
-                        patient = (Patient) person; // Name and Phone number unique
+                        patient = person; // Name and Phone number unique
                     }
                 } else {
-                    if ((patient != null && patient.getName().equals(patientName))
-                            || (doctor != null && doctor.getName().equals(patientName))) {
+                    if (patient != null && patient.getName().equals(patientName)) {
                         throw new CommandException(MESSAGE_DUPLICATE_PATIENT);
                     } else {
-                        patient = (Patient) person;
+                        patient = person;
                     }
                 }
             }
-            if (person.getName().equals(doctorName) && person instanceof Doctor) {
+        }
+        for (Doctor person : model.getFilteredDoctorList()) {
+            if (person.getName().equals(doctorName)) {
                 if (doctorPhoneNumber != null) {
                     if (person.getPhone().equals(doctorPhoneNumber)) {
-                        doctor = (Doctor) person; // Name and Phone number unique
+                        doctor = person; // Name and Phone number unique
                     }
                 } else {
                     if ((patient != null && patient.getName().equals(doctorName))
                             || (doctor != null && doctor.getName().equals(doctorName))) {
                         throw new CommandException(MESSAGE_DUPLICATE_DOCTOR);
                     } else {
-                        doctor = (Doctor) person;
+                        doctor = person;
                     }
                 }
             }
         }
+        // a doctor with the patient's name makes the patient ambiguous too, as when both were looked up in one list
+        if (patientPhoneNumber == null && doctor != null && doctor.getName().equals(patientName)) {
+            throw new CommandException(MESSAGE_DUPLICATE_PATIENT);
+        }
 
         if (patient == null) {
             throw new CommandException(MESSAGE_INVALID_PATIENT);
@@ -142,6 +144,13 @@ public class AddAppointmentCommand extends Command {
         Appointment appointment = new Appointment(model.getAppointmentCounter(), doctor.getName().toString(),
                 patient.getName().toString(), dateTime);
 
+        if (doctor.hasClashForAppointment(appointment)) {
+            throw new CommandException(MESSAGE_DOCTOR_CLASH_APPOINTMENT);
+        }
+        if (patient.hasClashForAppointment(appointment)) {
+            throw new CommandException(MESSAGE_PATIENT_CLASH_APPOINTMENT);
+        }
+
         try {
             googleCalendar.addAppointment(doctor.getName().toString() + doctor.getPhone().toString(),
                     appointment);
@@ -151,17 +160,8 @@ public class AddAppointmentCommand extends Command {
             throw new InvalidInputOutputException();
         }
 
-        if (doctor.hasClashForAppointment(appointment)) {
-            throw new CommandException(MESSAGE_DOCTOR_CLASH_APPOINTMENT);
-        }
-        if (patient.hasClashForAppointment(appointment)) {
-            throw new CommandException(MESSAGE_PATIENT_CLASH_APPOINTMENT);
-        }
-
-        doctor.addUpcomingAppointment(appointment);
-        patient.addUpcomingAppointment(appointment);
         model.incrementAppointmentCounter();
-        model.addAppointment(appointment);
+        model.addAppointment(appointment, patient, doctor);
         model.commitAddressBook();
 
         EventsCenter.getInstance().post(new PersonPanelSelectionChangedEvent(patient));
@@ -9,7 +9,6 @@ import static seedu.address.model.Model.PREDICATE_SHOW_ALL_APPOINTMENTS;
 import static seedu.address.model.Model.PREDICATE_SHOW_ALL_PERSONS;
 
 import java.util.ArrayList;
-import java.util.List;
 
 import seedu.address.calendar.GoogleCalendar;
 import seedu.address.commons.core.EventsCenter;
@@ -23,7 +22,6 @@ import seedu.address.model.appointment.Prescription;
 import seedu.address.model.doctor.Doctor;
 import seedu.address.model.patient.Allergy;
 import seedu.address.model.patient.Patient;
-import seedu.address.model.person.Person;
 
 /**
  * Adds a prescription to an appointment
@@ -66,16 +64,9 @@ public class AddPrescriptionCommand extends Command {
     public CommandResult execute(Model model, CommandHistory history, GoogleCalendar googleCalendar)
             throws CommandException {
         requireNonNull(model);
-        List<Appointment> appointmentList = model.getFilteredAppointmentList();
 
         // check if appointment exists
-        Appointment appointmentToEdit = null;
-        for (Appointment appointment : appointmentList) {
-            if (appointment.getAppointmentId() == id) {
-                appointmentToEdit = appointment;
-                break;
-            }
-        }
+        Appointment appointmentToEdit = model.findAppointmentById(id).orElse(null);
 
         // if appointment does not exist
         if (appointmentToEdit == null) {
@@ -101,28 +92,8 @@ public class AddPrescriptionCommand extends Command {
         model.setAppointment(appointmentToEdit, editedAppointment);
 
         // checking for patient and doctor
-        List<Person> personList = model.getFilteredPersonList();
-        Doctor doctorToEdit = null;
-        Patient patientToEdit = null;
-        for (Person person : personList) {
-            if (person instanceof Doctor) {
-                if (appointmentToEdit.getDoctor().equals(person.getName().toString())) {
-                    if ((((Doctor) person).hasAppointment(id))) {
-                        doctorToEdit = (Doctor) person;
-                    }
-                }
-            }
-            if (person instanceof Patient) {
-                if (appointmentToEdit.getPatient().equals(person.getName().toString())) {
-                    if (((Patient) person).hasAppointment(id)) {
-                        patientToEdit = (Patient) person;
-                    }
-                }
-            }
-            if (doctorToEdit != null && patientToEdit != null) {
-                break;
-            }
-        }
+        Doctor doctorToEdit = model.findDoctorOfAppointment(id).orElse(null);
+        Patient patientToEdit = model.findPatientOfAppointment(id).orElse(null);
 
         // Doctor only stores upcoming appts while patients store both upcoming and past appt
         if (appointmentToEdit.getStatus().equals("UPCOMING")) {
@@ -6,8 +6,6 @@ import static seedu.address.commons.util.CollectionUtil.requireAllNonNull;
 import java.io.IOException;
 import java.security.GeneralSecurityException;
 import java.time.LocalDateTime;
-import java.util.Iterator;
-import java.util.List;
 
 import seedu.address.calendar.GoogleCalendar;
 import seedu.address.commons.core.EventsCenter;
@@ -20,7 +18,6 @@ import seedu.address.model.appointment.exceptions.InvalidInputOutputException;
 import seedu.address.model.appointment.exceptions.InvalidSecurityAccessException;
 import seedu.address.model.doctor.Doctor;
 import seedu.address.model.patient.Patient;
-import seedu.address.model.person.Person;
 
 /**
  * Completes an appointment in the health book.
@@ -54,15 +51,7 @@ public class CompleteAppointmentCommand extends Command {
     public CommandResult execute(Model model, CommandHistory history, GoogleCalendar googleCalendar)
             throws CommandException {
         requireNonNull(model);
-        List<Appointment> appointmentList = model.getFilteredAppointmentList();
-        List<Person> personList = model.getFilteredPersonList();
-        Patient patient = null;
-        Doctor doctor = null;
-
-        Appointment appointment = appointmentList.stream()
-                .filter(appt -> appt.getAppointmentId() == appointmentId)
-                .findFirst()
-                .orElse(null);
+        Appointment appointment = model.findAppointmentById(appointmentId).orElse(null);
 
         if (appointment == null) {
             throw new CommandException(MESSAGE_INVALID_APPOINTMENT_INDEX);
@@ -72,27 +61,8 @@ public class CompleteAppointmentCommand extends Command {
             throw new CommandException(MESSAGE_APPOINTMENT_IN_FUTURE);
         }
 
-        for (Person person : personList) {
-            if (person instanceof Patient) {
-                Iterator<Appointment> iterator = ((Patient) person).getUpcomingAppointments().iterator();
-                while (iterator.hasNext()) {
-                    if (iterator.next().getAppointmentId() == appointmentId) {
-                        patient = (Patient) person;
-                    }
-                }
-            }
-            if (person instanceof Doctor) {
-                Iterator<Appointment> itr = ((Doctor) person).getUpcomingAppointments().iterator();
-                while (itr.hasNext()) {
-                    if (itr.next().getAppointmentId() == appointmentId) {
-                        doctor = (Doctor) person;
-                    }
-                }
-            }
-            if (patient != null && doctor != null) {
-                break;
-            }
-        }
+        Patient patient = model.findPatientOfAppointment(appointmentId).orElse(null);
+        Doctor doctor = model.findDoctorOfAppointment(appointmentId).orElse(null);
 
         if (patient == null || doctor == null) {
             throw new CommandException(MESSAGE_INVALID_APPOINTMENT_INDEX);
@@ -5,7 +5,7 @@ import static seedu.address.logic.parser.CliSyntax.PREFIX_PHONE;
 
 import seedu.address.model.person.Name;
 import seedu.address.model.person.Phone;
-import seedu.address.model.tag.Tag;
+import seedu.address.model.person.Role;
 
 /**
  * Deletes a doctor from health book.
@@ -26,6 +26,6 @@ public class DeleteDoctorCommand extends DeletePersonCommand {
      * Creates an DeleteDoctorCommand to add the specified {@code Doctor}
      */
     public DeleteDoctorCommand(Name name, Phone phone) {
-        super(name, phone, new Tag("Doctor"));
+        super(name, phone, Role.DOCTOR);
     }
 }
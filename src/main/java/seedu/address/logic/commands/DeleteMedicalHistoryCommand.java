@@ -23,7 +23,7 @@ import seedu.address.model.patient.Patient;
 import seedu.address.model.person.Name;
 import seedu.address.model.person.Person;
 import seedu.address.model.person.Phone;
-import seedu.address.model.tag.Tag;
+import seedu.address.model.person.Role;
 
 /**
  * delete medical history for a patient specified by index in healthbook
@@ -100,7 +100,7 @@ public class DeleteMedicalHistoryCommand extends Command {
             throw new CommandException(MESSAGE_INVALID_DELETE_MEDICAL_HISTORY_NO_MATCH_NAME);
         }
 
-        if (!(personToEdit.getTags().contains(new Tag("Patient")))) {
+        if (personToEdit.getRole() != Role.PATIENT) {
             throw new CommandException(MESSAGE_INVALID_DELETE_MEDICAL_HISTORY_WRONG_TYPE);
         }
         Patient patientToEdit = (Patient) personToEdit;
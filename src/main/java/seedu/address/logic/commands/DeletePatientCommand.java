@@ -5,7 +5,7 @@ import static seedu.address.logic.parser.CliSyntax.PREFIX_PHONE;
 
 import seedu.address.model.person.Name;
 import seedu.address.model.person.Phone;
-import seedu.address.model.tag.Tag;
+import seedu.address.model.person.Role;
 
 /**
  * Deletes a patient from health book.
@@ -26,6 +26,6 @@ public class DeletePatientCommand extends DeletePersonCommand {
      * Creates an DeletePatientCommand to add the specified {@code Patient}
      */
     public DeletePatientCommand(Name name, Phone phone) {
-        super(name, phone, new Tag("Patient"));
+        super(name, phone, Role.PATIENT);
     }
 }
@@ -13,7 +13,7 @@ import seedu.address.model.Model;
 import seedu.address.model.person.Name;
 import seedu.address.model.person.Person;
 import seedu.address.model.person.Phone;
-import seedu.address.model.tag.Tag;
+import seedu.address.model.person.Role;
 
 /**
  * Deletes a patient from health book.
@@ -28,11 +28,11 @@ public class DeletePersonCommand extends Command {
 
     private final Name name;
     private final Phone phone;
-    private final Tag tag;
+    private final Role role;
 
-    public DeletePersonCommand(Name name, Phone phone, Tag tag) {
+    public DeletePersonCommand(Name name, Phone phone, Role role) {
         this.name = name;
-        this.tag = tag;
+        this.role = role;
         this.phone = phone;
     }
 
@@ -44,19 +44,18 @@ public class DeletePersonCommand extends Command {
         return phone;
     }
 
-    public Tag getTag() {
-        return tag;
+    public Role getRole() {
+        return role;
     }
 
     @Override
     public CommandResult execute(Model model, CommandHistory history, GoogleCalendar googleCalendar)
             throws CommandException {
         requireNonNull(model);
-        List<Person> lastShownList = model.getFilteredPersonList();
         Person personToDelete = null;
 
-        for (Person person : lastShownList) {
-            if (person.getName().equals(name) && person.getTags().contains(tag)) {
+        for (Person person : shownPersonsOf(model)) {
+            if (person.getName().equals(name) && person.getRole() == role) {
                 if (phone != null) {
                     if (person.getPhone().equals(phone)) {
                         personToDelete = person;
@@ -64,7 +63,7 @@ public class DeletePersonCommand extends Command {
                 } else {
                     if (personToDelete != null && personToDelete.getName().equals(name)) {
                         throw new CommandException(String.format(MESSAGE_DUPLICATE_DELETE_PERSON,
-                                tag.tagName, tag.tagName, tag.tagName));
+                                role, role, role));
                     } else {
                         personToDelete = person;
                     }
@@ -72,7 +71,7 @@ public class DeletePersonCommand extends Command {
             }
         }
         if (personToDelete == null) {
-            throw new CommandException(String.format(MESSAGE_INVALID_DELETE_PERSON, tag.tagName));
+            throw new CommandException(String.format(MESSAGE_INVALID_DELETE_PERSON, role));
         }
 
         model.deletePerson(personToDelete);
@@ -82,11 +81,26 @@ public class DeletePersonCommand extends Command {
         return new CommandResult(String.format(MESSAGE_DELETE_PERSON_SUCCESS, personToDelete));
     }
 
+    /**
+     * Returns the persons with {@code role} that are shown in {@code model}, along with other persons if there is no
+     * list of persons with that role.
+     */
+    private List<? extends Person> shownPersonsOf(Model model) {
+        switch (role) {
+        case PATIENT:
+            return model.getFilteredPatientList();
+        case DOCTOR:
+            return model.getFilteredDoctorList();
+        default:
+            return model.getFilteredPersonList();
+        }
+    }
+
     @Override
     public boolean equals(Object other) {
         return other == this // short circuit if same object
                 || (other instanceof DeletePersonCommand // instanceof handles nulls
                 && name.equals(((DeletePersonCommand) other).name)
-                && tag.equals(((DeletePersonCommand) other).tag)); // state check
+                && role == ((DeletePersonCommand) other).role); // state check
     }
 }
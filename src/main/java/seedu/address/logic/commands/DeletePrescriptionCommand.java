@@ -5,7 +5,6 @@ import static seedu.address.logic.parser.CliSyntax.PREFIX_MEDICINE_NAME;
 import static seedu.address.model.Model.PREDICATE_SHOW_ALL_PERSONS;
 
 import java.util.ArrayList;
-import java.util.List;
 
 import seedu.address.calendar.GoogleCalendar;
 import seedu.address.commons.core.EventsCenter;
@@ -19,7 +18,6 @@ import seedu.address.model.appointment.MedicineName;
 import seedu.address.model.appointment.Prescription;
 import seedu.address.model.doctor.Doctor;
 import seedu.address.model.patient.Patient;
-import seedu.address.model.person.Person;
 
 /**
  * Deletes a prescription from health book
@@ -53,16 +51,9 @@ public class DeletePrescriptionCommand extends Command {
     public CommandResult execute(Model model, CommandHistory history, GoogleCalendar googleCalendar)
             throws CommandException {
         requireNonNull(model);
-        List<Appointment> appointmentList = model.getFilteredAppointmentList();
 
         // check if appointment exists
-        Appointment appointmentToEdit = null;
-        for (Appointment appointment : appointmentList) {
-            if (appointment.getAppointmentId() == id) {
-                appointmentToEdit = appointment;
-                break;
-            }
-        }
+        Appointment appointmentToEdit = model.findAppointmentById(id).orElse(null);
 
         // appointment does not exist
         if (appointmentToEdit == null) {
@@ -99,29 +90,8 @@ public class DeletePrescriptionCommand extends Command {
         model.setAppointment(appointmentToEdit, editedAppointment);
 
         //editing persons
-        List<Person> personList = model.getFilteredPersonList();
-        Doctor doctorToEdit = null;
-        Patient patientToEdit = null;
-
-        for (Person person : personList) {
-            if (person instanceof Doctor) {
-                if (appointmentToEdit.getDoctor().equals(person.getName().toString())) {
-                    if (((Doctor) person).hasAppointment(id)) {
-                        doctorToEdit = (Doctor) person;
-                    }
-                }
-            }
-            if (person instanceof Patient) {
-                if (appointmentToEdit.getPatient().equals(person.getName().toString())) {
-                    if (((Patient) person).hasAppointment(id)) {
-                        patientToEdit = (Patient) person;
-                    }
-                }
-            }
-            if (doctorToEdit != null && patientToEdit != null) {
-                break;
-            }
-        }
+        Doctor doctorToEdit = model.findDoctorOfAppointment(id).orElse(null);
+        Patient patientToEdit = model.findPatientOfAppointment(id).orElse(null);
 
         // Doctor only stores upcoming appts while patients store both upcoming and past appt
         if (appointmentToEdit.getStatus().equals("UPCOMING")) {
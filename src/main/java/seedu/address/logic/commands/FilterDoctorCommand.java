@@ -8,7 +8,7 @@ import seedu.address.commons.core.Messages;
 import seedu.address.commons.events.ui.PersonPanelSelectionChangedEvent;
 import seedu.address.logic.CommandHistory;
 import seedu.address.model.Model;
-import seedu.address.model.tag.TagContainsDoctorPredicate;
+import seedu.address.model.person.Role;
 
 
 /**
@@ -20,12 +20,10 @@ public class FilterDoctorCommand extends Command {
     public static final String MESSAGE_USAGE = COMMAND_WORD + ": Finds all persons who are tagged as Doctor. \n"
             + "Example: " + COMMAND_WORD;
 
-    private final TagContainsDoctorPredicate predicate = new TagContainsDoctorPredicate();
-
     @Override
     public CommandResult execute(Model model, CommandHistory history, GoogleCalendar googleCalendar) {
         requireNonNull(model);
-        model.updateFilteredPersonList(predicate);
+        model.updateFilteredPersonList(Role.DOCTOR);
         EventsCenter.getInstance().post(new PersonPanelSelectionChangedEvent());
         return new CommandResult(
                 String.format(Messages.MESSAGE_PERSONS_LISTED_OVERVIEW, model.getFilteredPersonList().size()));
@@ -33,8 +31,7 @@ public class FilterDoctorCommand extends Command {
     @Override
     public boolean equals(Object other) {
         return other == this // short circuit if same object
-                || (other instanceof FilterDoctorCommand // instanceof handles nulls
-                && predicate.equals(((FilterDoctorCommand) other).predicate)); // state check
+                || other instanceof FilterDoctorCommand; // instanceof handles nulls
     }
 
 }
@@ -2,11 +2,14 @@ package seedu.address.logic.commands;
 
 import static java.util.Objects.requireNonNull;
 
+import java.util.Set;
+
 import seedu.address.calendar.GoogleCalendar;
 import seedu.address.commons.core.Messages;
 import seedu.address.logic.CommandHistory;
 import seedu.address.model.Model;
 import seedu.address.model.person.NameContainsKeywordsPredicate;
+import seedu.address.model.person.Person;
 
 /**
  * Finds and lists all persons in address book whose name contains any of the argument keywords.
@@ -30,7 +33,9 @@ public class FindCommand extends Command {
     @Override
     public CommandResult execute(Model model, CommandHistory history, GoogleCalendar googleCalendar) {
         requireNonNull(model);
-        model.updateFilteredPersonList(predicate);
+        // the same persons as those matching the predicate, found in the search index instead of testing each person
+        Set<Person> matchingPersons = model.findPersonsByName(predicate.getKeywords());
+        model.updateFilteredPersonList(matchingPersons::contains);
         return new CommandResult(
                 String.format(Messages.MESSAGE_PERSONS_LISTED_OVERVIEW, model.getFilteredPersonList().size()));
     }
@@ -0,0 +1,68 @@
+package seedu.address.logic.commands;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import seedu.address.calendar.GoogleCalendar;
+import seedu.address.commons.core.Messages;
+import seedu.address.logic.CommandHistory;
+import seedu.address.model.Model;
+import seedu.address.model.person.Person;
+
+/**
+ * Lists all persons in the health book whose name has a word that is, starts with or is close to any of the argument
+ * keywords, so that persons can be found by a partial or misspelled name.
+ * Keyword matching is case insensitive.
+ */
+public class SearchCommand extends Command {
+
+    public static final String COMMAND_WORD = "search";
+
+    public static final String MESSAGE_USAGE = COMMAND_WORD + ": Searches for all persons whose names contain any of "
+            + "the specified keywords, the start of a word or a slightly misspelled word (case-insensitive), and "
+            + "displays them as a list with index numbers.\n"
+            + "Parameters: KEYWORD [MORE_KEYWORDS]...\n"
+            + "Example: " + COMMAND_WORD + " alic bensn";
+
+    public static final String MESSAGE_BEST_MATCHES = "Best matches: %1$s";
+
+    /** The number of best matching names listed in the result. */
+    public static final int BEST_MATCHES_SHOWN = 5;
+
+    private final List<String> keywords;
+
+    public SearchCommand(List<String> keywords) {
+        requireNonNull(keywords);
+        this.keywords = Collections.unmodifiableList(keywords);
+    }
+
+    @Override
+    public CommandResult execute(Model model, CommandHistory history, GoogleCalendar googleCalendar) {
+        requireNonNull(model);
+        List<Person> matchingPersons = model.searchPersonsByName(keywords);
+        Set<Person> matchingSet = Collections.newSetFromMap(new IdentityHashMap<>());
+        matchingSet.addAll(matchingPersons);
+        model.updateFilteredPersonList(matchingSet::contains);
+
+        String feedback = String.format(Messages.MESSAGE_PERSONS_LISTED_OVERVIEW, model.getFilteredPersonList().size());
+        if (!matchingPersons.isEmpty()) {
+            feedback += "\n" + String.format(MESSAGE_BEST_MATCHES, matchingPersons.stream()
+                    .limit(BEST_MATCHES_SHOWN)
+                    .map(person -> person.getName().fullName)
+                    .collect(Collectors.joining(", ")));
+        }
+        return new CommandResult(feedback);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other == this // short circuit if same object
+                || (other instanceof SearchCommand // instanceof handles nulls
+                && keywords.equals(((SearchCommand) other).keywords)); // state check
+    }
+}
@@ -4,8 +4,6 @@ import static java.util.Objects.requireNonNull;
 import static seedu.address.logic.parser.CliSyntax.PREFIX_NAME;
 import static seedu.address.logic.parser.CliSyntax.PREFIX_PHONE;
 
-import java.util.List;
-
 import seedu.address.calendar.GoogleCalendar;
 import seedu.address.commons.core.EventsCenter;
 import seedu.address.commons.events.ui.PersonPanelSelectionChangedEvent;
@@ -14,7 +12,6 @@ import seedu.address.logic.commands.exceptions.CommandException;
 import seedu.address.model.Model;
 import seedu.address.model.patient.Patient;
 import seedu.address.model.person.Name;
-import seedu.address.model.person.Person;
 import seedu.address.model.person.Phone;
 
 /**
@@ -49,19 +46,18 @@ public class ViewPatientCommand extends Command {
     public CommandResult execute(Model model, CommandHistory history, GoogleCalendar googleCalendar)
             throws CommandException {
         requireNonNull(model);
-        List<Person> personList = model.getFilteredPersonList();
         Patient patientToView = null;
-        for (Person person : personList) {
-            if (person.getName().equals(name) && person instanceof Patient) {
+        for (Patient person : model.getFilteredPatientList()) {
+            if (person.getName().equals(name)) {
                 if (phone != null) {
                     if (person.getPhone().equals(phone)) {
-                        patientToView = (Patient) person;
+                        patientToView = person;
                     }
                 } else {
                     if (patientToView != null && patientToView.getName().equals(name)) {
                         throw new CommandException(MESSAGE_DUPLICATE_VIEW_PATIENT);
                     } else {
-                        patientToView = (Patient) person;
+                        patientToView = person;
                     }
                 }
             }
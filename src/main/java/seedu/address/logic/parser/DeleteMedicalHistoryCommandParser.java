@@ -55,7 +55,7 @@ public class DeleteMedicalHistoryCommandParser implements Parser<DeleteMedicalHi
                 if (!isValidAllergy(stringAllergies.get(i).trim())) {
                     throw new ParseException(MESSAGE_ALLERGY_CONSTRAINTS);
                 }
-                Allergy allergy = new Allergy(stringAllergies.get(i).trim());
+                Allergy allergy = Allergy.of(stringAllergies.get(i).trim());
                 allergies.add(allergy);
             }
         }
@@ -66,7 +66,7 @@ public class DeleteMedicalHistoryCommandParser implements Parser<DeleteMedicalHi
                 if (!isValidCondition(stringConditions.get(i).trim())) {
                     throw new ParseException(MESSAGE_CONDITION_CONSTRAINTS);
                 }
-                Condition condition = new Condition(stringConditions.get(i).trim());
+                Condition condition = Condition.of(stringConditions.get(i).trim());
                 conditions.add(condition);
             }
         }
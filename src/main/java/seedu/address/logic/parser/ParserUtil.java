@@ -117,7 +117,7 @@ public class ParserUtil {
         if (!Tag.isValidTagName(trimmedTag)) {
             throw new ParseException(Tag.MESSAGE_TAG_CONSTRAINTS);
         }
-        return new Tag(trimmedTag);
+        return Tag.of(trimmedTag);
     }
 
     /**
@@ -188,7 +188,7 @@ public class ParserUtil {
         if (!MedicineName.isValidMedicineName(trimmedMedicineName)) {
             throw new ParseException(MedicineName.MESSAGE_MEDICINE_NAME_CONSTRAINTS);
         }
-        return new MedicineName(trimmedMedicineName);
+        return MedicineName.of(trimmedMedicineName);
     }
 
     /**
@@ -46,7 +46,7 @@ public class RegisterDoctorCommandParser implements Parser<RegisterDoctorCommand
         Address address = ParserUtil.parseAddress(argMultimap.getValue(PREFIX_ADDRESS).get());
         Remark remark = new Remark(""); //register doctor currently doesn't support register remark
         Set<Tag> tagList = ParserUtil.parseTags(argMultimap.getAllValues(PREFIX_TAG));
-        tagList.add(new Tag("Doctor"));
+        tagList.add(Tag.DOCTOR);
 
         Doctor doctor = new Doctor(name, phone, email, address, remark, tagList);
 
@@ -46,7 +46,7 @@ public class RegisterPatientCommandParser implements Parser<RegisterPatientComma
         Address address = ParserUtil.parseAddress(argMultimap.getValue(PREFIX_ADDRESS).get());
         Remark remark = new Remark(""); //register patient currently doesn't support register remark
         Set<Tag> tagList = ParserUtil.parseTags(argMultimap.getAllValues(PREFIX_TAG));
-        tagList.add(new Tag("Patient"));
+        tagList.add(Tag.PATIENT);
         String telegramId = "123123";
 
         Patient person = new Patient(name, phone, email, address, remark, tagList, telegramId);
@@ -2,21 +2,35 @@ package seedu.address.model;
 
 import static java.util.Objects.requireNonNull;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 
 import javafx.collections.ObservableList;
 
 import seedu.address.model.appointment.Appointment;
+import seedu.address.model.appointment.AppointmentId;
 import seedu.address.model.appointment.UniqueAppointmentList;
 import seedu.address.model.doctor.Doctor;
+import seedu.address.model.patient.MedicalHistory;
 import seedu.address.model.patient.Patient;
+import seedu.address.model.patient.PatientHistory;
+import seedu.address.model.patient.PatientHistoryLoader;
 import seedu.address.model.person.Person;
 import seedu.address.model.person.UniquePersonList;
-import seedu.address.model.tag.Tag;
 
 /**
  * Wraps all data at the address-book level
  * Duplicates are not allowed (by .isSamePerson comparison)
+ * There is a single {@code Appointment} instance per appointment id, held by the appointment list as well as by the
+ * patient and doctor it belongs to.
  */
 public class HealthBook implements ReadOnlyHealthBook {
 
@@ -24,6 +38,20 @@ public class HealthBook implements ReadOnlyHealthBook {
     private final UniqueAppointmentList appointments;
     private int appointmentCounter;
 
+    /*
+     * Ownership index from appointment id to the patient and doctor holding that appointment, mirroring the
+     * appointment lists of the persons in {@code persons}: a patient owns its upcoming and past appointments while a
+     * doctor owns only its upcoming appointments. Appointments that leave {@code appointments} lose their owners until
+     * they are put back.
+     */
+    private final Map<Integer, Patient> appointmentPatients = new HashMap<>();
+    private final Map<Integer, Doctor> appointmentDoctors = new HashMap<>();
+    // owners of the appointments that left the appointment list while it was restored, kept for when they are put back
+    private final Map<Integer, Patient> unlistedAppointmentPatients = new HashMap<>();
+    private final Map<Integer, Doctor> unlistedAppointmentDoctors = new HashMap<>();
+    // patients whose past appointments are not in the index yet, as their history has not been loaded
+    private final Set<Patient> patientsWithUnindexedHistory = Collections.newSetFromMap(new IdentityHashMap<>());
+
     /*
      * The 'unusual' code block below is an non-static initialization block, sometimes used to avoid duplication
      * between constructors. See https://docs.oracle.com/javase/tutorial/java/javaOO/initial.html
@@ -56,6 +84,12 @@ public class HealthBook implements ReadOnlyHealthBook {
      */
     public void setPersons(List<Person> persons) {
         this.persons.setPersons(persons);
+        appointmentPatients.clear();
+        appointmentDoctors.clear();
+        unlistedAppointmentPatients.clear();
+        unlistedAppointmentDoctors.clear();
+        patientsWithUnindexedHistory.clear();
+        persons.forEach(this::indexAppointmentsOf);
     }
 
     /**
@@ -84,6 +118,180 @@ public class HealthBook implements ReadOnlyHealthBook {
         setAppointmentCounter(newData.getAppointmentCounter());
     }
 
+    /**
+     * Applies {@code changes}, which were made to a health book with the same contents as this one.
+     * Used to bring a saved health book up to date, so duplicates are not checked.
+     */
+    public void applyChanges(HealthBookChanges changes) {
+        requireNonNull(changes);
+
+        for (HealthBookChanges.RecordEdit<Person> edit : changes.getPersonEdits()) {
+            replacePersons(edit.getFrom(), edit.getFrom() + edit.getRemovedCount(), edit.getAdded());
+        }
+        for (HealthBookChanges.RecordEdit<Appointment> edit : changes.getAppointmentEdits()) {
+            replaceAppointments(edit.getFrom(), edit.getFrom() + edit.getRemovedCount(), edit.getAdded());
+        }
+        setAppointmentCounter(changes.getAppointmentCounter());
+    }
+
+    /**
+     * Applies {@code changes}, copied with {@link #snapshotOf(HealthBookChanges)} from the edits made to a health
+     * book with the same contents as this one, to keep this health book a copy of it.
+     * As each set of changes is copied on its own, the persons added are then made to share the appointments in the
+     * appointment list that are equal to theirs, as they do in the health book the changes were made to.
+     */
+    public void applyCopiedChanges(HealthBookChanges changes) {
+        applyChanges(changes);
+
+        Map<Appointment, Appointment> listedAppointments = new IdentityHashMap<>();
+        Set<Person> addedPersons = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (HealthBookChanges.RecordEdit<Person> edit : changes.getPersonEdits()) {
+            for (Person person : edit.getAdded()) {
+                for (Appointment appointment : loadedAppointmentsOf(person)) {
+                    Appointment listed = appointments.findById(appointment.getAppointmentId())
+                            .filter(appointment::equals)
+                            .orElse(appointment);
+                    if (listed != appointment) {
+                        addedPersons.add(person);
+                    }
+                    listedAppointments.put(appointment, listed);
+                }
+            }
+        }
+        if (addedPersons.isEmpty()) {
+            return;
+        }
+
+        List<Person> personList = persons.asUnmodifiableObservableList();
+        for (int i = 0; i < personList.size(); i++) {
+            Person person = personList.get(i);
+            if (addedPersons.contains(person)) {
+                replacePersons(i, i + 1, Collections.singletonList(copyOf(person, listedAppointments)));
+            }
+        }
+    }
+
+    /**
+     * Returns the appointments held by {@code person}, leaving out the history of a patient that is not loaded.
+     */
+    private static List<Appointment> loadedAppointmentsOf(Person person) {
+        List<Appointment> held = new ArrayList<>();
+        if (person instanceof Patient) {
+            Patient patient = (Patient) person;
+            held.addAll(patient.getUpcomingAppointments());
+            if (patient.isHistoryLoaded()) {
+                held.addAll(patient.getPastAppointments());
+            }
+        } else if (person instanceof Doctor) {
+            held.addAll(((Doctor) person).getUpcomingAppointments());
+        }
+        return held;
+    }
+
+    /**
+     * Returns a copy of {@code toBeCopied} that shares no mutable state with it, so that the copy can be read on
+     * another thread while {@code toBeCopied} keeps changing.
+     */
+    public static HealthBook snapshotOf(ReadOnlyHealthBook toBeCopied) {
+        requireNonNull(toBeCopied);
+
+        // persons and the appointment list share appointment instances, and so do their copies
+        Map<Appointment, Appointment> appointmentCopies = new IdentityHashMap<>();
+        List<Appointment> appointments = new ArrayList<>();
+        for (Appointment appointment : toBeCopied.getAppointmentList()) {
+            appointments.add(copyOf(appointment, appointmentCopies));
+        }
+
+        List<Person> persons = new ArrayList<>();
+        for (Person person : toBeCopied.getPersonList()) {
+            persons.add(copyOf(person, appointmentCopies));
+        }
+
+        HealthBook snapshot = new HealthBook();
+        snapshot.setPersons(persons);
+        snapshot.setAppointments(appointments);
+        snapshot.setAppointmentCounter(toBeCopied.getAppointmentCounter());
+        return snapshot;
+    }
+
+    /**
+     * Returns a copy of {@code changes} whose records share no mutable state with the records of the health book
+     * they were made to, or null if {@code changes} is null.
+     */
+    public static HealthBookChanges snapshotOf(HealthBookChanges changes) {
+        if (changes == null) {
+            return null;
+        }
+
+        Map<Appointment, Appointment> appointmentCopies = new IdentityHashMap<>();
+        List<HealthBookChanges.RecordEdit<Person>> personEdits = new ArrayList<>();
+        for (HealthBookChanges.RecordEdit<Person> edit : changes.getPersonEdits()) {
+            List<Person> added = new ArrayList<>();
+            for (Person person : edit.getAdded()) {
+                added.add(copyOf(person, appointmentCopies));
+            }
+            personEdits.add(new HealthBookChanges.RecordEdit<>(edit.getFrom(), edit.getRemovedCount(), added));
+        }
+        List<HealthBookChanges.RecordEdit<Appointment>> appointmentEdits = new ArrayList<>();
+        for (HealthBookChanges.RecordEdit<Appointment> edit : changes.getAppointmentEdits()) {
+            appointmentEdits.add(new HealthBookChanges.RecordEdit<>(edit.getFrom(), edit.getRemovedCount(),
+                    copyOf(edit.getAdded(), appointmentCopies)));
+        }
+        return new HealthBookChanges(personEdits, appointmentEdits, changes.getAppointmentCounter());
+    }
+
+    /**
+     * Returns a copy of {@code person} that shares no mutable state with it, using the copies of its appointments
+     * in {@code appointmentCopies}, where the copies of appointments not in it yet are put.
+     */
+    private static Person copyOf(Person person, Map<Appointment, Appointment> appointmentCopies) {
+        if (person instanceof Patient && !((Patient) person).isHistoryLoaded()) {
+            // the history is still as stored, so the copy loads it while being saved instead of now
+            Patient patient = (Patient) person;
+            PatientHistoryLoader historyLoader = patient.getHistoryLoader().get();
+            return new Patient(patient.getName(), patient.getPhone(), patient.getEmail(),
+                    patient.getAddress(), patient.getRemark(), patient.getTags(), patient.getTelegramId(),
+                    copyOf(patient.getUpcomingAppointments(), appointmentCopies),
+                    new CopyingHistoryLoader(historyLoader, appointmentCopies));
+        } else if (person instanceof Patient) {
+            Patient patient = (Patient) person;
+            return new Patient(patient.getName(), patient.getPhone(), patient.getEmail(),
+                    patient.getAddress(), patient.getRemark(), patient.getTags(), patient.getTelegramId(),
+                    copyOf(patient.getUpcomingAppointments(), appointmentCopies),
+                    copyOf(patient.getPastAppointments(), appointmentCopies),
+                    new MedicalHistory(patient.getMedicalHistory()));
+        } else if (person instanceof Doctor) {
+            Doctor doctor = (Doctor) person;
+            return new Doctor(doctor.getName(), doctor.getPhone(), doctor.getEmail(), doctor.getAddress(),
+                    doctor.getRemark(), doctor.getTags(),
+                    copyOf(doctor.getUpcomingAppointments(), appointmentCopies));
+        }
+        return person;
+    }
+
+    /**
+     * Returns copies of {@code appointments}, taken from {@code appointmentCopies} or put in it.
+     */
+    private static List<Appointment> copyOf(List<Appointment> appointments,
+                                            Map<Appointment, Appointment> appointmentCopies) {
+        List<Appointment> copies = new ArrayList<>();
+        for (Appointment appointment : appointments) {
+            copies.add(copyOf(appointment, appointmentCopies));
+        }
+        return copies;
+    }
+
+    /**
+     * Returns the copy of {@code appointment} in {@code appointmentCopies}, making and putting it there if there is
+     * none yet, so that an appointment shared by several records is copied once.
+     */
+    private static Appointment copyOf(Appointment appointment, Map<Appointment, Appointment> appointmentCopies) {
+        return appointmentCopies.computeIfAbsent(appointment, original -> new Appointment(
+                new AppointmentId(original.getAppointmentId()), original.getDoctor(), original.getPatient(),
+                original.getDateTime(), original.getStatus(), original.getComments(),
+                new ArrayList<>(original.getPrescriptions())));
+    }
+
     //// person-level operations
 
     /**
@@ -94,12 +302,40 @@ public class HealthBook implements ReadOnlyHealthBook {
         return persons.contains(person);
     }
 
+    /**
+     * Returns the persons having any of {@code keywords} as a whole word in their name, ignoring case, looked up in
+     * the search index of the person list instead of going through every person.
+     * The returned set compares persons by identity.
+     */
+    public Set<Person> findPersonsByName(Collection<String> keywords) {
+        requireNonNull(keywords);
+        return persons.getSearchIndex().findByName(keywords);
+    }
+
+    /**
+     * Returns the persons with a name word that is, starts with or is a few edits away from any of {@code keywords},
+     * ignoring case, best matches first.
+     */
+    public List<Person> searchPersonsByName(Collection<String> keywords) {
+        requireNonNull(keywords);
+        return persons.getSearchIndex().searchNames(keywords);
+    }
+
+    /**
+     * Returns at most {@code limit} persons with a name word matching {@code partialWord}, best matches first.
+     */
+    public List<Person> suggestPersonsByName(String partialWord, int limit) {
+        requireNonNull(partialWord);
+        return persons.getSearchIndex().suggestNames(partialWord, limit);
+    }
+
     /**
      * Adds a person to the address book.
      * The person must not already exist in the address book.
      */
     public void addPerson(Person p) {
         persons.add(p);
+        indexAppointmentsOf(p);
     }
 
     /**
@@ -108,6 +344,7 @@ public class HealthBook implements ReadOnlyHealthBook {
      */
     public void addPatient(Patient p) {
         persons.add(p);
+        indexAppointmentsOf(p);
     }
 
     /**
@@ -116,6 +353,7 @@ public class HealthBook implements ReadOnlyHealthBook {
      */
     public void addDoctor(Doctor d) {
         persons.add(d);
+        indexAppointmentsOf(d);
     }
 
     /**
@@ -127,6 +365,8 @@ public class HealthBook implements ReadOnlyHealthBook {
         requireNonNull(editedPerson);
 
         persons.setPerson(target, editedPerson);
+        unindexAppointmentsOf(target);
+        indexAppointmentsOf(editedPerson);
     }
 
     /**
@@ -144,52 +384,82 @@ public class HealthBook implements ReadOnlyHealthBook {
     /**
      * Removes {@code key} from this {@code HealthBook}.
      * {@code key} must exist in the address book.
+     * Upcoming appointments of {@code key} are also removed, together with the other party's copy of them.
      */
     public void removePerson(Person key) {
-        if (key.getTags().contains(new Tag("Patient"))) {
+        if (key instanceof Patient) {
             for (Appointment patientApp : ((Patient) key).getUpcomingAppointments()) {
-                outerloop:
-                for (Person person : persons) {
-                    if (person.getTags().contains(new Tag("Doctor"))) {
-                        Doctor doctor = ((Doctor) person);
-                        for (Appointment doctorApp : doctor.getUpcomingAppointments()) {
-                            if (patientApp.getAppointmentId() == doctorApp.getAppointmentId()) {
-                                doctor.deleteAppointment(patientApp);
-                                appointments.remove(patientApp);
-                                break outerloop;
-                            }
-                        }
-                    }
+                Doctor doctor = appointmentDoctors.remove(patientApp.getAppointmentId());
+                if (doctor != null) {
+                    doctor.deleteAppointment(patientApp);
+                    persons.setPerson(doctor, doctor);
+                    appointments.remove(patientApp);
                 }
             }
-        } else if (key.getTags().contains(new Tag("Doctor"))) {
+        } else if (key instanceof Doctor) {
             for (Appointment doctorApp : ((Doctor) key).getUpcomingAppointments()) {
-                outerloop:
-                for (Person person : persons) {
-                    if (person.getTags().contains(new Tag("Patient"))) {
-                        Patient patient = ((Patient) person);
-                        for (Appointment patientApp : patient.getUpcomingAppointments()) {
-                            if (patientApp.getAppointmentId() == doctorApp.getAppointmentId()) {
-                                patient.deleteAppointment(doctorApp);
-                                appointments.remove(doctorApp);
-                                break outerloop;
-                            }
-                        }
-                    }
+                Patient patient = appointmentPatients.remove(doctorApp.getAppointmentId());
+                if (patient != null) {
+                    patient.deleteAppointment(doctorApp);
+                    persons.setPerson(patient, patient);
+                    appointments.remove(doctorApp);
                 }
             }
         }
         persons.remove(key);
+        unindexAppointmentsOf(key);
     }
 
     /**
      * Adds appointment to patient {@code patient, appointment} to this {@code HealthBook}.
-     * {@code patient} must exist in the health book.
+     * The patient and doctor of the appointment must already hold {@code appointment} in their upcoming appointments.
      */
     public void addAppointment(Appointment appointment) {
         appointments.add(appointment);
     }
 
+    /**
+     * Adds {@code appointment} to this {@code HealthBook} and to the upcoming appointments of {@code patient} and
+     * {@code doctor}.
+     * {@code patient} and {@code doctor} must exist in the health book.
+     */
+    public void addAppointment(Appointment appointment, Patient patient, Doctor doctor) {
+        Patient targetPatient = persons.findPatient(patient);
+        Doctor targetDoctor = persons.findDoctor(doctor);
+        appointments.add(appointment);
+        targetPatient.addUpcomingAppointment(appointment);
+        targetDoctor.addUpcomingAppointment(appointment);
+        // setting the changed persons again tells the listeners of the person list about the change
+        persons.setPerson(targetPatient, targetPatient);
+        persons.setPerson(targetDoctor, targetDoctor);
+        appointmentPatients.put(appointment.getAppointmentId(), targetPatient);
+        appointmentDoctors.put(appointment.getAppointmentId(), targetDoctor);
+    }
+
+    /**
+     * Returns the appointment with the given {@code appointmentId} in this {@code HealthBook}, if any.
+     */
+    public Optional<Appointment> findAppointmentById(int appointmentId) {
+        return appointments.findById(appointmentId);
+    }
+
+    /**
+     * Returns the patient holding the appointment with the given {@code appointmentId}, if any.
+     */
+    public Optional<Patient> findPatientOfAppointment(int appointmentId) {
+        if (!appointmentPatients.containsKey(appointmentId)) {
+            findAppointmentById(appointmentId).ifPresent(this::indexHistoryOfPatientsOf);
+        }
+        return Optional.ofNullable(appointmentPatients.get(appointmentId));
+    }
+
+    /**
+     * Returns the doctor holding the upcoming appointment with the given {@code appointmentId}, if any.
+     */
+    public Optional<Doctor> findDoctorOfAppointment(int appointmentId) {
+        return Optional.ofNullable(appointmentDoctors.get(appointmentId));
+    }
+
     /**
      * Deletes a patient's {@code appointment} from this {@code HealthBook}.
      */
@@ -198,9 +468,11 @@ public class HealthBook implements ReadOnlyHealthBook {
         Doctor targetDoctor = persons.findDoctor(doctor);
         patient.deleteAppointment(appointment);
         doctor.deleteAppointment(appointment);
-        persons.setPerson(targetPatient, patient);
-        persons.setPerson(targetDoctor, doctor);
+        updatePerson(targetPatient, patient);
+        updatePerson(targetDoctor, doctor);
         appointments.remove(appointment);
+        appointmentPatients.remove(appointment.getAppointmentId());
+        appointmentDoctors.remove(appointment.getAppointmentId());
     }
 
     /**
@@ -211,9 +483,131 @@ public class HealthBook implements ReadOnlyHealthBook {
         Doctor targetDoctor = persons.findDoctor(doctor);
         patient.completeUpcomingAppointment(appointment);
         doctor.completeUpcomingAppointment(appointment);
-        persons.setPerson(targetPatient, patient);
-        persons.setPerson(targetDoctor, doctor);
+        updatePerson(targetPatient, patient);
+        updatePerson(targetDoctor, doctor);
         appointments.setToComplete(appointment);
+        appointmentDoctors.remove(appointment.getAppointmentId());
+    }
+
+    //// history replay operations
+
+    /**
+     * Replaces the persons from index {@code from} (inclusive) to {@code to} (exclusive) of the person list with
+     * {@code replacement}. Used to restore an earlier state of this {@code HealthBook}, so duplicates are not checked.
+     */
+    protected void replacePersons(int from, int to, List<Person> replacement) {
+        List<Person> replaced = new ArrayList<>(persons.asUnmodifiableObservableList().subList(from, to));
+        persons.replaceRange(from, to, replacement);
+        replaced.forEach(this::unindexAppointmentsOf);
+        replacement.forEach(this::indexAppointmentsOf);
+    }
+
+    /**
+     * Replaces the appointments from index {@code from} (inclusive) to {@code to} (exclusive) of the appointment
+     * list with {@code replacement}. Used to restore an earlier state of this {@code HealthBook}, so duplicates are
+     * not checked.
+     */
+    protected void replaceAppointments(int from, int to, List<Appointment> replacement) {
+        List<Appointment> replaced = new ArrayList<>(appointments.asUnmodifiableObservableList().subList(from, to));
+        appointments.replaceRange(from, to, replacement);
+        for (Appointment appt : replaced) {
+            int appointmentId = appt.getAppointmentId();
+            if (!appointments.findById(appointmentId).isPresent()) {
+                moveEntry(appointmentPatients, unlistedAppointmentPatients, appointmentId);
+                moveEntry(appointmentDoctors, unlistedAppointmentDoctors, appointmentId);
+            }
+        }
+        for (Appointment appt : replacement) {
+            // owners indexed since the appointment left the list take the place of its earlier owners
+            int appointmentId = appt.getAppointmentId();
+            Patient patient = unlistedAppointmentPatients.remove(appointmentId);
+            if (patient != null) {
+                appointmentPatients.putIfAbsent(appointmentId, patient);
+            }
+            Doctor doctor = unlistedAppointmentDoctors.remove(appointmentId);
+            if (doctor != null) {
+                appointmentDoctors.putIfAbsent(appointmentId, doctor);
+            }
+        }
+    }
+
+    /**
+     * Moves the entry of {@code key}, if any, from {@code source} to {@code target}.
+     */
+    private static <V> void moveEntry(Map<Integer, V> source, Map<Integer, V> target, int key) {
+        V value = source.remove(key);
+        if (value != null) {
+            target.put(key, value);
+        }
+    }
+
+    /**
+     * Records {@code person} as the owner of the appointments it holds.
+     */
+    private void indexAppointmentsOf(Person person) {
+        if (person instanceof Patient) {
+            Patient patient = (Patient) person;
+            for (Appointment appt : patient.getUpcomingAppointments()) {
+                appointmentPatients.put(appt.getAppointmentId(), patient);
+            }
+            if (patient.isHistoryLoaded()) {
+                indexPastAppointmentsOf(patient);
+            } else {
+                patientsWithUnindexedHistory.add(patient);
+            }
+        } else if (person instanceof Doctor) {
+            Doctor doctor = (Doctor) person;
+            for (Appointment appt : doctor.getUpcomingAppointments()) {
+                appointmentDoctors.put(appt.getAppointmentId(), doctor);
+            }
+        }
+    }
+
+    private void indexPastAppointmentsOf(Patient patient) {
+        for (Appointment appt : patient.getPastAppointments()) {
+            appointmentPatients.put(appt.getAppointmentId(), patient);
+        }
+    }
+
+    /**
+     * Loads and indexes the past appointments of the patients that could hold {@code appointment}, going by the
+     * patient name recorded in the appointment, so that only those histories are loaded.
+     */
+    private void indexHistoryOfPatientsOf(Appointment appointment) {
+        Iterator<Patient> patients = patientsWithUnindexedHistory.iterator();
+        while (patients.hasNext()) {
+            Patient patient = patients.next();
+            if (patient.getName().toString().equals(appointment.getPatient())) {
+                patients.remove();
+                indexPastAppointmentsOf(patient);
+            }
+        }
+    }
+
+    /**
+     * Removes the ownership records of the appointments held by {@code person}.
+     * Records that have since been claimed by another person are left untouched.
+     */
+    private void unindexAppointmentsOf(Person person) {
+        if (person instanceof Patient) {
+            Patient patient = (Patient) person;
+            for (Appointment appt : patient.getUpcomingAppointments()) {
+                appointmentPatients.remove(appt.getAppointmentId(), patient);
+                unlistedAppointmentPatients.remove(appt.getAppointmentId(), patient);
+            }
+            if (!patientsWithUnindexedHistory.remove(patient)) {
+                for (Appointment appt : patient.getPastAppointments()) {
+                    appointmentPatients.remove(appt.getAppointmentId(), patient);
+                    unlistedAppointmentPatients.remove(appt.getAppointmentId(), patient);
+                }
+            }
+        } else if (person instanceof Doctor) {
+            Doctor doctor = (Doctor) person;
+            for (Appointment appt : doctor.getUpcomingAppointments()) {
+                appointmentDoctors.remove(appt.getAppointmentId(), doctor);
+                unlistedAppointmentDoctors.remove(appt.getAppointmentId(), doctor);
+            }
+        }
     }
 
     //// util methods
@@ -254,4 +648,30 @@ public class HealthBook implements ReadOnlyHealthBook {
     public int hashCode() {
         return persons.hashCode();
     }
+
+    /**
+     * Loads the history of a copied patient through the loader of the original patient, and copies the appointments
+     * in it the same way as the other appointments of the copy.
+     */
+    private static class CopyingHistoryLoader implements PatientHistoryLoader {
+        private final PatientHistoryLoader originalLoader;
+        private final Map<Appointment, Appointment> appointmentCopies;
+
+        CopyingHistoryLoader(PatientHistoryLoader originalLoader, Map<Appointment, Appointment> appointmentCopies) {
+            this.originalLoader = originalLoader;
+            this.appointmentCopies = appointmentCopies;
+        }
+
+        @Override
+        public PatientHistory load() {
+            PatientHistory history = originalLoader.load();
+            return new PatientHistory(copyOf(history.getPastAppointments(), appointmentCopies),
+                    history.getMedicalHistory());
+        }
+
+        @Override
+        public PatientHistoryLoader getStoredLoader() {
+            return originalLoader.getStoredLoader();
+        }
+    }
 }
@@ -0,0 +1,105 @@
+package seedu.address.model;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import seedu.address.model.appointment.Appointment;
+import seedu.address.model.person.Person;
+
+/**
+ * The edits made to the person and appointment lists of a health book over some time, in the order they were made.
+ * Applying the edits in order to a health book with the contents the edited health book had at the start of that
+ * time brings it up to date, see {@link HealthBook#applyChanges(HealthBookChanges)}. This lets storage save only the
+ * records that changed.
+ */
+public class HealthBookChanges {
+
+    private final List<RecordEdit<Person>> personEdits;
+    private final List<RecordEdit<Appointment>> appointmentEdits;
+    private final int appointmentCounter;
+
+    public HealthBookChanges(List<RecordEdit<Person>> personEdits, List<RecordEdit<Appointment>> appointmentEdits,
+                             int appointmentCounter) {
+        requireNonNull(personEdits);
+        requireNonNull(appointmentEdits);
+        this.personEdits = Collections.unmodifiableList(new ArrayList<>(personEdits));
+        this.appointmentEdits = Collections.unmodifiableList(new ArrayList<>(appointmentEdits));
+        this.appointmentCounter = appointmentCounter;
+    }
+
+    public List<RecordEdit<Person>> getPersonEdits() {
+        return personEdits;
+    }
+
+    public List<RecordEdit<Appointment>> getAppointmentEdits() {
+        return appointmentEdits;
+    }
+
+    /**
+     * Returns the appointment counter at the end of the edits.
+     */
+    public int getAppointmentCounter() {
+        return appointmentCounter;
+    }
+
+    /**
+     * Returns the edits of these changes followed by those of {@code later}, which were made after them.
+     */
+    public HealthBookChanges followedBy(HealthBookChanges later) {
+        requireNonNull(later);
+        List<RecordEdit<Person>> allPersonEdits = new ArrayList<>(personEdits);
+        allPersonEdits.addAll(later.personEdits);
+        List<RecordEdit<Appointment>> allAppointmentEdits = new ArrayList<>(appointmentEdits);
+        allAppointmentEdits.addAll(later.appointmentEdits);
+        return new HealthBookChanges(allPersonEdits, allAppointmentEdits, later.appointmentCounter);
+    }
+
+    /**
+     * Returns the number of records added or replaced by the edits.
+     */
+    public int getEditedRecordCount() {
+        int count = 0;
+        for (RecordEdit<Person> edit : personEdits) {
+            count += edit.getAdded().size();
+        }
+        for (RecordEdit<Appointment> edit : appointmentEdits) {
+            count += edit.getAdded().size();
+        }
+        return count;
+    }
+
+    /**
+     * A single edit to a list: {@code removedCount} elements starting at index {@code from} were replaced by
+     * {@code added}.
+     */
+    public static class RecordEdit<T> {
+        private final int from;
+        private final int removedCount;
+        private final List<T> added;
+
+        public RecordEdit(int from, int removedCount, List<T> added) {
+            requireNonNull(added);
+            if (from < 0 || removedCount < 0) {
+                throw new IllegalArgumentException("Edit position and size must not be negative");
+            }
+            this.from = from;
+            this.removedCount = removedCount;
+            this.added = Collections.unmodifiableList(new ArrayList<>(added));
+        }
+
+        public int getFrom() {
+            return from;
+        }
+
+        public int getRemovedCount() {
+            return removedCount;
+        }
+
+        public List<T> getAdded() {
+            return added;
+        }
+    }
+}
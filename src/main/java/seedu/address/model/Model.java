@@ -1,5 +1,8 @@
 package seedu.address.model;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.Predicate;
 
 import javafx.collections.ObservableList;
@@ -8,6 +11,7 @@ import seedu.address.model.appointment.Appointment;
 import seedu.address.model.doctor.Doctor;
 import seedu.address.model.patient.Patient;
 import seedu.address.model.person.Person;
+import seedu.address.model.person.Role;
 
 /**
  * The API of the Model component.
@@ -74,6 +78,40 @@ public interface Model {
      */
     void setAppointment(Appointment target, Appointment editedAppointment);
 
+    /**
+     * Returns the appointment with the given {@code appointmentId} in the health book, if any.
+     */
+    Optional<Appointment> findAppointmentById(int appointmentId);
+
+    /**
+     * Returns the patient holding the appointment with the given {@code appointmentId}, if any.
+     */
+    Optional<Patient> findPatientOfAppointment(int appointmentId);
+
+    /**
+     * Returns the doctor holding the upcoming appointment with the given {@code appointmentId}, if any.
+     */
+    Optional<Doctor> findDoctorOfAppointment(int appointmentId);
+
+    /**
+     * Returns the persons in the health book having any of {@code keywords} as a whole word in their name, ignoring
+     * case. Persons are looked up in an index rather than tested one by one.
+     * The returned set compares persons by identity.
+     */
+    Set<Person> findPersonsByName(List<String> keywords);
+
+    /**
+     * Returns the persons in the health book with a name word that is, starts with or is a few edits away from any
+     * of {@code keywords}, ignoring case, ranked with exact matches first, then prefix matches, then fuzzy matches.
+     */
+    List<Person> searchPersonsByName(List<String> keywords);
+
+    /**
+     * Returns at most {@code limit} persons in the health book with a name word matching {@code partialWord} as in
+     * {@link #searchPersonsByName(List)}, for suggesting names while a search is typed.
+     */
+    List<Person> suggestPersonsByName(String partialWord, int limit);
+
     /**
      * Returns an unmodifiable view of the filtered person list
      */
@@ -86,6 +124,29 @@ public interface Model {
      */
     void updateFilteredPersonList(Predicate<Person> predicate);
 
+    /**
+     * Updates the filtered person list to show only the persons with {@code role}.
+     * The patients and doctors are kept apart as the health book changes, so showing them takes time in proportion
+     * to the number of persons with that role rather than the number of persons.
+     *
+     * @throws NullPointerException if {@code role} is null.
+     */
+    void updateFilteredPersonList(Role role);
+
+    /**
+     * Returns an unmodifiable view of the patients in the filtered person list, in the same order.
+     * The view follows the filtered person list as it changes, so going through it takes time in proportion to the
+     * number of patients shown rather than the number of persons.
+     */
+    ObservableList<Patient> getFilteredPatientList();
+
+    /**
+     * Returns an unmodifiable view of the doctors in the filtered person list, in the same order.
+     * The view follows the filtered person list as it changes, so going through it takes time in proportion to the
+     * number of doctors shown rather than the number of persons.
+     */
+    ObservableList<Doctor> getFilteredDoctorList();
+
     /**
      * Returns an unmodifiable view of the filtered appointment list
      */
@@ -133,6 +194,11 @@ public interface Model {
      */
     void addAppointment(Appointment appointment);
 
+    /**
+     * Adds appointment and books it for the given patient and doctor.
+     */
+    void addAppointment(Appointment appointment, Patient patient, Doctor doctor);
+
     /**
      * Deletes appointment.
      */
@@ -147,4 +213,16 @@ public interface Model {
      * Saves the current address book state for undo/redo.
      */
     void commitAddressBook();
+
+    /**
+     * Starts a batch of changes, during which changes to the health book do not raise an event each.
+     * Batches can be nested, and must each be ended by {@link #commitChangeBatch()}.
+     */
+    void beginChangeBatch();
+
+    /**
+     * Ends the batch of changes started last. Ending the outermost batch raises a single event for all the changes
+     * made during it, if there were any.
+     */
+    void commitChangeBatch();
 }
@@ -3,6 +3,9 @@ package seedu.address.model;
 import static java.util.Objects.requireNonNull;
 import static seedu.address.commons.util.CollectionUtil.requireAllNonNull;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.Predicate;
 import java.util.logging.Logger;
 
@@ -18,6 +21,7 @@ import seedu.address.model.appointment.Appointment;
 import seedu.address.model.doctor.Doctor;
 import seedu.address.model.patient.Patient;
 import seedu.address.model.person.Person;
+import seedu.address.model.person.Role;
 
 /**
  * Represents the in-memory model of the address book data.
@@ -27,8 +31,21 @@ public class ModelManager extends ComponentManager implements Model {
 
     private final VersionedHealthBook versionedAddressBook;
     private final FilteredList<Person> filteredPersons;
+    // the patients and doctors of the health book, kept up to date with it as it changes
+    private final FilteredList<Person> patients;
+    private final FilteredList<Person> doctors;
+    // the persons shown, which are either filteredPersons or the persons with one role
+    private final SwitchablePersonList shownPersons;
+    // the patients and doctors of shownPersons, kept up to date with it as it changes
+    private final ObservableList<Patient> filteredPatients;
+    private final ObservableList<Doctor> filteredDoctors;
     private final FilteredList<Appointment> filteredAppointment;
     private int appointmentCounter;
+    // the number of change batches begun and not committed yet, see beginChangeBatch()
+    private int changeBatchDepth;
+    private boolean hasChangesInBatch;
+    // whether an event holding a snapshot of the whole health book has been raised
+    private boolean hasRaisedSnapshot;
 
     /**
      * Initializes a ModelManager with the given addressBook and userPrefs.
@@ -38,8 +55,15 @@ public class ModelManager extends ComponentManager implements Model {
         requireAllNonNull(addressBook, userPrefs);
 
         logger.fine("Initializing with address book: " + addressBook + " and user prefs " + userPrefs);
-        versionedAddressBook = new VersionedHealthBook(addressBook);
+        versionedAddressBook = new VersionedHealthBook(addressBook, userPrefs.getUndoHistoryLimit());
         filteredPersons = new FilteredList<>(versionedAddressBook.getPersonList());
+        patients = new FilteredList<>(versionedAddressBook.getPersonList(), person -> person instanceof Patient);
+        doctors = new FilteredList<>(versionedAddressBook.getPersonList(), person -> person instanceof Doctor);
+        shownPersons = new SwitchablePersonList(filteredPersons);
+        filteredPatients = new TypedPersonList<>(new FilteredList<>(shownPersons,
+                person -> person instanceof Patient), Patient.class);
+        filteredDoctors = new TypedPersonList<>(new FilteredList<>(shownPersons,
+                person -> person instanceof Doctor), Doctor.class);
         filteredAppointment = new FilteredList<>(versionedAddressBook.getAppointmentList());
         appointmentCounter = versionedAddressBook.getAppointmentCounter();
     }
@@ -60,10 +84,23 @@ public class ModelManager extends ComponentManager implements Model {
     }
 
     /**
-     * Raises an event to indicate the model has changed
+     * Raises an event to indicate the model has changed, together with the edits made since the last event.
+     * The event holds a snapshot of the edits, as it may be handled on another thread while the model keeps changing.
+     * Only the first event holds a snapshot of the whole health book, which handlers keep up to date with the edits.
+     * During a change batch, the event is raised when the batch is committed instead.
      */
     private void indicateAddressBookChanged() {
-        raise(new HealthBookChangedEvent(versionedAddressBook));
+        if (changeBatchDepth > 0) {
+            hasChangesInBatch = true;
+            return;
+        }
+        HealthBookChanges changes = HealthBook.snapshotOf(versionedAddressBook.takeChanges());
+        if (hasRaisedSnapshot) {
+            raise(new HealthBookChangedEvent(changes));
+            return;
+        }
+        hasRaisedSnapshot = true;
+        raise(new HealthBookChangedEvent(HealthBook.snapshotOf(versionedAddressBook), changes));
     }
 
     @Override
@@ -115,6 +152,21 @@ public class ModelManager extends ComponentManager implements Model {
         indicateAddressBookChanged();
     }
 
+    @Override
+    public Optional<Appointment> findAppointmentById(int appointmentId) {
+        return versionedAddressBook.findAppointmentById(appointmentId);
+    }
+
+    @Override
+    public Optional<Patient> findPatientOfAppointment(int appointmentId) {
+        return versionedAddressBook.findPatientOfAppointment(appointmentId);
+    }
+
+    @Override
+    public Optional<Doctor> findDoctorOfAppointment(int appointmentId) {
+        return versionedAddressBook.findDoctorOfAppointment(appointmentId);
+    }
+
     @Override
     public void addAppointment(Appointment appointment) {
         requireAllNonNull(appointment);
@@ -122,6 +174,13 @@ public class ModelManager extends ComponentManager implements Model {
         indicateAddressBookChanged();
     }
 
+    @Override
+    public void addAppointment(Appointment appointment, Patient patient, Doctor doctor) {
+        requireAllNonNull(appointment, patient, doctor);
+        versionedAddressBook.addAppointment(appointment, patient, doctor);
+        indicateAddressBookChanged();
+    }
+
     @Override
     public void deleteAppointment(Appointment appointment, Patient patient, Doctor doctor) {
         requireAllNonNull(appointment);
@@ -141,6 +200,24 @@ public class ModelManager extends ComponentManager implements Model {
     }
 
 
+    @Override
+    public Set<Person> findPersonsByName(List<String> keywords) {
+        requireNonNull(keywords);
+        return versionedAddressBook.findPersonsByName(keywords);
+    }
+
+    @Override
+    public List<Person> searchPersonsByName(List<String> keywords) {
+        requireNonNull(keywords);
+        return versionedAddressBook.searchPersonsByName(keywords);
+    }
+
+    @Override
+    public List<Person> suggestPersonsByName(String partialWord, int limit) {
+        requireNonNull(partialWord);
+        return versionedAddressBook.suggestPersonsByName(partialWord, limit);
+    }
+
     //=========== Filtered Person List Accessors =============================================================
 
     /**
@@ -149,13 +226,39 @@ public class ModelManager extends ComponentManager implements Model {
      */
     @Override
     public ObservableList<Person> getFilteredPersonList() {
-        return FXCollections.unmodifiableObservableList(filteredPersons);
+        return FXCollections.unmodifiableObservableList(shownPersons);
     }
 
     @Override
     public void updateFilteredPersonList(Predicate<Person> predicate) {
         requireNonNull(predicate);
         filteredPersons.setPredicate(predicate);
+        shownPersons.setSource(filteredPersons);
+    }
+
+    @Override
+    public void updateFilteredPersonList(Role role) {
+        requireNonNull(role);
+        switch (role) {
+        case PATIENT:
+            shownPersons.setSource(patients);
+            break;
+        case DOCTOR:
+            shownPersons.setSource(doctors);
+            break;
+        default:
+            updateFilteredPersonList(person -> person.getRole() == role);
+        }
+    }
+
+    @Override
+    public ObservableList<Patient> getFilteredPatientList() {
+        return FXCollections.unmodifiableObservableList(filteredPatients);
+    }
+
+    @Override
+    public ObservableList<Doctor> getFilteredDoctorList() {
+        return FXCollections.unmodifiableObservableList(filteredDoctors);
     }
 
     //=========== Filtered Appointment List Accessors ========================================================
@@ -222,6 +325,23 @@ public class ModelManager extends ComponentManager implements Model {
         versionedAddressBook.commit();
     }
 
+    @Override
+    public void beginChangeBatch() {
+        changeBatchDepth++;
+    }
+
+    @Override
+    public void commitChangeBatch() {
+        if (changeBatchDepth == 0) {
+            throw new IllegalStateException("No change batch to commit");
+        }
+        changeBatchDepth--;
+        if (changeBatchDepth == 0 && hasChangesInBatch) {
+            hasChangesInBatch = false;
+            indicateAddressBookChanged();
+        }
+    }
+
     @Override
     public boolean equals(Object obj) {
         // short circuit if same object
@@ -237,7 +357,7 @@ public class ModelManager extends ComponentManager implements Model {
         // state check
         ModelManager other = (ModelManager) obj;
         return versionedAddressBook.equals(other.versionedAddressBook)
-                && filteredPersons.equals(other.filteredPersons);
+                && shownPersons.equals(other.shownPersons);
     }
 
 }
@@ -0,0 +1,86 @@
+package seedu.address.model;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.ObservableListBase;
+
+import seedu.address.model.person.Person;
+
+/**
+ * An unmodifiable view of one of several lists of persons, such as the filtered person list or the patients of the
+ * health book, that can be switched to another list without the listeners of the view having to be moved over.
+ * The view follows its current list as it changes.
+ */
+class SwitchablePersonList extends ObservableListBase<Person> {
+
+    private final ListChangeListener<Person> sourceListener = this::sourceChanged;
+    private ObservableList<? extends Person> source;
+
+    SwitchablePersonList(ObservableList<? extends Person> source) {
+        requireNonNull(source);
+        this.source = source;
+        source.addListener(sourceListener);
+    }
+
+    /**
+     * Makes this view show {@code newSource}, telling the listeners of this view that every person was replaced.
+     */
+    void setSource(ObservableList<? extends Person> newSource) {
+        requireNonNull(newSource);
+        if (newSource == source) {
+            return;
+        }
+        List<Person> removed = new ArrayList<>(source);
+        source.removeListener(sourceListener);
+        source = newSource;
+        source.addListener(sourceListener);
+        if (removed.isEmpty() && source.isEmpty()) {
+            return;
+        }
+        beginChange();
+        nextReplace(0, source.size(), removed);
+        endChange();
+    }
+
+    @Override
+    public Person get(int index) {
+        return source.get(index);
+    }
+
+    @Override
+    public int size() {
+        return source.size();
+    }
+
+    /**
+     * Tells the listeners of this view of {@code change} to its current list.
+     */
+    private void sourceChanged(ListChangeListener.Change<? extends Person> change) {
+        beginChange();
+        while (change.next()) {
+            if (change.wasPermutated()) {
+                int[] permutation = new int[change.getTo() - change.getFrom()];
+                for (int i = 0; i < permutation.length; i++) {
+                    permutation[i] = change.getPermutation(change.getFrom() + i);
+                }
+                nextPermutation(change.getFrom(), change.getTo(), permutation);
+            } else if (change.wasUpdated()) {
+                for (int i = change.getFrom(); i < change.getTo(); i++) {
+                    nextUpdate(i);
+                }
+            } else if (change.wasReplaced()) {
+                nextReplace(change.getFrom(), change.getTo(), new ArrayList<>(change.getRemoved()));
+            } else if (change.wasRemoved()) {
+                nextRemove(change.getFrom(), new ArrayList<>(change.getRemoved()));
+            } else if (change.wasAdded()) {
+                nextAdd(change.getFrom(), change.getTo());
+            }
+        }
+        endChange();
+    }
+}
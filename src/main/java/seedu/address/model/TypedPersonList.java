@@ -0,0 +1,86 @@
+package seedu.address.model;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.TransformationList;
+
+import seedu.address.model.person.Person;
+
+/**
+ * An unmodifiable view of a list of persons that are all of type {@code T}, such as the patients filtered out of the
+ * person list, as a list of {@code T}. The view follows the source list as it changes.
+ */
+class TypedPersonList<T extends Person> extends TransformationList<T, Person> {
+
+    private final Class<T> type;
+
+    /**
+     * Creates a view of {@code source}, which must only ever hold persons of {@code type}.
+     */
+    TypedPersonList(ObservableList<? extends Person> source, Class<T> type) {
+        super(source);
+        requireNonNull(type);
+        this.type = type;
+    }
+
+    @Override
+    public T get(int index) {
+        return type.cast(getSource().get(index));
+    }
+
+    @Override
+    public int size() {
+        return getSource().size();
+    }
+
+    @Override
+    public int getSourceIndex(int index) {
+        return index;
+    }
+
+    @Override
+    public int getViewIndex(int index) {
+        return index;
+    }
+
+    @Override
+    protected void sourceChanged(ListChangeListener.Change<? extends Person> change) {
+        beginChange();
+        while (change.next()) {
+            if (change.wasPermutated()) {
+                int[] permutation = new int[change.getTo() - change.getFrom()];
+                for (int i = 0; i < permutation.length; i++) {
+                    permutation[i] = change.getPermutation(change.getFrom() + i);
+                }
+                nextPermutation(change.getFrom(), change.getTo(), permutation);
+            } else if (change.wasUpdated()) {
+                for (int i = change.getFrom(); i < change.getTo(); i++) {
+                    nextUpdate(i);
+                }
+            } else if (change.wasReplaced()) {
+                nextReplace(change.getFrom(), change.getTo(), removedOf(change));
+            } else if (change.wasRemoved()) {
+                nextRemove(change.getFrom(), removedOf(change));
+            } else if (change.wasAdded()) {
+                nextAdd(change.getFrom(), change.getTo());
+            }
+        }
+        endChange();
+    }
+
+    /**
+     * Returns the persons removed by the current step of {@code change}, as persons of this view's type.
+     */
+    private List<T> removedOf(ListChangeListener.Change<? extends Person> change) {
+        List<T> removed = new ArrayList<>();
+        for (Person person : change.getRemoved()) {
+            removed.add(type.cast(person));
+        }
+        return removed;
+    }
+}
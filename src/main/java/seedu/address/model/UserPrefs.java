@@ -11,8 +11,17 @@ import seedu.address.commons.core.GuiSettings;
  */
 public class UserPrefs {
 
+    /**
+     * The formats the health book can be stored in.
+     */
+    public enum DataFileFormat {
+        XML, BINARY, INDEXED
+    }
+
     private GuiSettings guiSettings;
     private Path healthBookFilePath = Paths.get("data" , "healthbook.xml");
+    private DataFileFormat healthBookFileFormat = DataFileFormat.XML;
+    private int undoHistoryLimit = VersionedHealthBook.DEFAULT_HISTORY_LIMIT;
 
     public UserPrefs() {
         setGuiSettings(500, 500, 0, 0);
@@ -38,6 +47,25 @@ public class UserPrefs {
         this.healthBookFilePath = healthBookFilePath;
     }
 
+    public DataFileFormat getHealthBookFileFormat() {
+        return healthBookFileFormat;
+    }
+
+    public void setHealthBookFileFormat(DataFileFormat healthBookFileFormat) {
+        this.healthBookFileFormat = healthBookFileFormat;
+    }
+
+    /**
+     * Returns the number of commands that can be undone, falling back to the default if the stored limit is invalid.
+     */
+    public int getUndoHistoryLimit() {
+        return undoHistoryLimit > 0 ? undoHistoryLimit : VersionedHealthBook.DEFAULT_HISTORY_LIMIT;
+    }
+
+    public void setUndoHistoryLimit(int undoHistoryLimit) {
+        this.undoHistoryLimit = undoHistoryLimit;
+    }
+
     @Override
     public boolean equals(Object other) {
         if (other == this) {
@@ -50,12 +78,14 @@ public class UserPrefs {
         UserPrefs o = (UserPrefs) other;
 
         return Objects.equals(guiSettings, o.guiSettings)
-                && Objects.equals(healthBookFilePath, o.healthBookFilePath);
+                && Objects.equals(healthBookFilePath, o.healthBookFilePath)
+                && healthBookFileFormat == o.healthBookFileFormat
+                && undoHistoryLimit == o.undoHistoryLimit;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(guiSettings, healthBookFilePath);
+        return Objects.hash(guiSettings, healthBookFilePath, healthBookFileFormat, undoHistoryLimit);
     }
 
     @Override
@@ -63,6 +93,8 @@ public class UserPrefs {
         StringBuilder sb = new StringBuilder();
         sb.append("Gui Settings : " + guiSettings.toString());
         sb.append("\nLocal data file location : " + healthBookFilePath);
+        sb.append("\nLocal data file format : " + healthBookFileFormat);
+        sb.append("\nUndo history limit : " + undoHistoryLimit);
         return sb.toString();
     }
 
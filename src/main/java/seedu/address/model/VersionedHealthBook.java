@@ -1,36 +1,96 @@
 package seedu.address.model;
 
+import static seedu.address.commons.util.AppUtil.checkArgument;
+
 import java.util.ArrayList;
 import java.util.List;
 
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+
+import seedu.address.model.appointment.Appointment;
+import seedu.address.model.person.Person;
+
 /**
  * {@code HealthBook} that keeps track of its own history.
+ * Instead of keeping a copy of the whole health book per commit, it records the edits made to its person and
+ * appointment lists since the last commit. Undo and redo replay those edits backwards and forwards, so each commit
+ * costs and keeps only as much as it changed. At most {@code historyLimit} commits are kept.
  */
 public class VersionedHealthBook extends HealthBook {
 
-    private final List<ReadOnlyHealthBook> addressBookStateList;
+    public static final int DEFAULT_HISTORY_LIMIT = 100;
+    public static final String MESSAGE_HISTORY_LIMIT_CONSTRAINTS = "History limit should be a positive number";
+
+    private final List<StateChange> stateChangeList;
+    private final int historyLimit;
+    /** Number of changes in {@code stateChangeList} that are currently applied. */
     private int currentStatePointer;
 
+    // The list views are kept so that they, and the listeners registered on them, stay reachable.
+    private final ObservableList<Person> observedPersons;
+    private final ObservableList<Appointment> observedAppointments;
+    private List<ListEdit<Person>> uncommittedPersonEdits;
+    private List<ListEdit<Appointment>> uncommittedAppointmentEdits;
+    private int committedAppointmentCounter;
+    private boolean isReplaying;
+    // edits since the changes were last taken, including those made by undo and redo
+    private List<HealthBookChanges.RecordEdit<Person>> untakenPersonEdits = new ArrayList<>();
+    private List<HealthBookChanges.RecordEdit<Appointment>> untakenAppointmentEdits = new ArrayList<>();
+
     public VersionedHealthBook(ReadOnlyHealthBook initialState) {
+        this(initialState, DEFAULT_HISTORY_LIMIT);
+    }
+
+    public VersionedHealthBook(ReadOnlyHealthBook initialState, int historyLimit) {
         super(initialState);
+        checkArgument(historyLimit > 0, MESSAGE_HISTORY_LIMIT_CONSTRAINTS);
 
-        addressBookStateList = new ArrayList<>();
-        addressBookStateList.add(new HealthBook(initialState));
+        this.historyLimit = historyLimit;
+        stateChangeList = new ArrayList<>();
         currentStatePointer = 0;
+        startNewChange();
+
+        observedPersons = getPersonList();
+        observedAppointments = getAppointmentList();
+        observedPersons.addListener((ListChangeListener<Person>) change ->
+                recordEdits(change, uncommittedPersonEdits, untakenPersonEdits));
+        observedAppointments.addListener((ListChangeListener<Appointment>) change ->
+                recordEdits(change, uncommittedAppointmentEdits, untakenAppointmentEdits));
     }
 
     /**
-     * Saves a copy of the current {@code HealthBook} state at the end of the state list.
-     * Undone states are removed from the state list.
+     * Returns the edits made to this address book since this method was last called, or since it was created.
+     * Unlike the commits, these include the edits made by undo and redo, so that they can be used to save the
+     * address book without writing all of it.
+     */
+    public HealthBookChanges takeChanges() {
+        HealthBookChanges changes = new HealthBookChanges(untakenPersonEdits, untakenAppointmentEdits,
+                getAppointmentCounter());
+        untakenPersonEdits = new ArrayList<>();
+        untakenAppointmentEdits = new ArrayList<>();
+        return changes;
+    }
+
+    /**
+     * Saves the changes made since the last commit as the newest state.
+     * Undone states are removed, and the oldest state is dropped if there are more than {@code historyLimit}.
      */
     public void commit() {
         removeStatesAfterCurrentPointer();
-        addressBookStateList.add(new HealthBook(this));
+        stateChangeList.add(new StateChange(uncommittedPersonEdits, uncommittedAppointmentEdits,
+                committedAppointmentCounter, getAppointmentCounter()));
         currentStatePointer++;
+        startNewChange();
+
+        if (stateChangeList.size() > historyLimit) {
+            stateChangeList.remove(0);
+            currentStatePointer--;
+        }
     }
 
     private void removeStatesAfterCurrentPointer() {
-        addressBookStateList.subList(currentStatePointer + 1, addressBookStateList.size()).clear();
+        stateChangeList.subList(currentStatePointer, stateChangeList.size()).clear();
     }
 
     /**
@@ -40,8 +100,9 @@ public class VersionedHealthBook extends HealthBook {
         if (!canUndo()) {
             throw new NoUndoableStateException();
         }
+        discardUncommittedChanges();
         currentStatePointer--;
-        resetData(addressBookStateList.get(currentStatePointer));
+        replay(() -> stateChangeList.get(currentStatePointer).revert(this));
     }
 
     /**
@@ -51,8 +112,9 @@ public class VersionedHealthBook extends HealthBook {
         if (!canRedo()) {
             throw new NoRedoableStateException();
         }
+        discardUncommittedChanges();
+        replay(() -> stateChangeList.get(currentStatePointer).apply(this));
         currentStatePointer++;
-        resetData(addressBookStateList.get(currentStatePointer));
     }
 
     /**
@@ -66,7 +128,53 @@ public class VersionedHealthBook extends HealthBook {
      * Returns true if {@code redo()} has address book states to redo.
      */
     public boolean canRedo() {
-        return currentStatePointer < addressBookStateList.size() - 1;
+        return currentStatePointer < stateChangeList.size();
+    }
+
+    /**
+     * Reverts the edits made since the last commit, bringing the address book back to its current state.
+     */
+    private void discardUncommittedChanges() {
+        StateChange uncommitted = new StateChange(uncommittedPersonEdits, uncommittedAppointmentEdits,
+                committedAppointmentCounter, getAppointmentCounter());
+        replay(() -> uncommitted.revert(this));
+        startNewChange();
+    }
+
+    private void startNewChange() {
+        uncommittedPersonEdits = new ArrayList<>();
+        uncommittedAppointmentEdits = new ArrayList<>();
+        committedAppointmentCounter = getAppointmentCounter();
+    }
+
+    /**
+     * Runs {@code replayAction} without recording the edits it makes.
+     */
+    private void replay(Runnable replayAction) {
+        isReplaying = true;
+        try {
+            replayAction.run();
+        } finally {
+            isReplaying = false;
+        }
+    }
+
+    /**
+     * Adds the edits in {@code change} to the edits waiting to be taken, and to {@code edits} unless they are
+     * made while replaying recorded edits. Updates of an element in place are not edits of the list.
+     */
+    private <T> void recordEdits(ListChangeListener.Change<? extends T> change, List<ListEdit<T>> edits,
+                                 List<HealthBookChanges.RecordEdit<T>> untakenEdits) {
+        while (change.next()) {
+            if (change.wasUpdated()) {
+                continue;
+            }
+            ListEdit<T> edit = ListEdit.of(change);
+            untakenEdits.add(new HealthBookChanges.RecordEdit<>(edit.from, edit.removed.size(), edit.added));
+            if (!isReplaying) {
+                edits.add(edit);
+            }
+        }
     }
 
     @Override
@@ -85,10 +193,117 @@ public class VersionedHealthBook extends HealthBook {
 
         // state check
         return super.equals(otherVersionedAddressBook)
-                && addressBookStateList.equals(otherVersionedAddressBook.addressBookStateList)
+                && getStates().equals(otherVersionedAddressBook.getStates())
                 && currentStatePointer == otherVersionedAddressBook.currentStatePointer;
     }
 
+    /**
+     * Returns every committed state that can be reached by undo and redo, oldest first.
+     * The states are rebuilt by replaying the recorded changes on copies of the current state, so this is only meant
+     * for comparisons.
+     */
+    private List<ReadOnlyHealthBook> getStates() {
+        HealthBook committedState = new HealthBook(this);
+        new StateChange(uncommittedPersonEdits, uncommittedAppointmentEdits,
+                committedAppointmentCounter, getAppointmentCounter()).revert(committedState);
+
+        List<ReadOnlyHealthBook> states = new ArrayList<>();
+        states.add(new HealthBook(committedState));
+
+        HealthBook earlierState = new HealthBook(committedState);
+        for (int i = currentStatePointer - 1; i >= 0; i--) {
+            stateChangeList.get(i).revert(earlierState);
+            states.add(0, new HealthBook(earlierState));
+        }
+
+        HealthBook laterState = committedState;
+        for (int i = currentStatePointer; i < stateChangeList.size(); i++) {
+            stateChangeList.get(i).apply(laterState);
+            states.add(new HealthBook(laterState));
+        }
+        return states;
+    }
+
+    /**
+     * The edits made to the address book between two commits.
+     */
+    private static class StateChange {
+        private final List<ListEdit<Person>> personEdits;
+        private final List<ListEdit<Appointment>> appointmentEdits;
+        private final int appointmentCounterBefore;
+        private final int appointmentCounterAfter;
+
+        StateChange(List<ListEdit<Person>> personEdits, List<ListEdit<Appointment>> appointmentEdits,
+                    int appointmentCounterBefore, int appointmentCounterAfter) {
+            this.personEdits = personEdits;
+            this.appointmentEdits = appointmentEdits;
+            this.appointmentCounterBefore = appointmentCounterBefore;
+            this.appointmentCounterAfter = appointmentCounterAfter;
+        }
+
+        /**
+         * Makes the edits to {@code healthBook}, which must be in the state the edits were made to.
+         */
+        void apply(HealthBook healthBook) {
+            for (ListEdit<Person> edit : personEdits) {
+                healthBook.replacePersons(edit.from, edit.from + edit.removed.size(), edit.added);
+            }
+            for (ListEdit<Appointment> edit : appointmentEdits) {
+                healthBook.replaceAppointments(edit.from, edit.from + edit.removed.size(), edit.added);
+            }
+            healthBook.setAppointmentCounter(appointmentCounterAfter);
+        }
+
+        /**
+         * Undoes the edits to {@code healthBook}, which must be in the state the edits left it in.
+         */
+        void revert(HealthBook healthBook) {
+            // appointments are replayed after persons, as in apply, so that the appointments left in the health
+            // book decide which appointments have owners
+            for (int i = personEdits.size() - 1; i >= 0; i--) {
+                ListEdit<Person> edit = personEdits.get(i);
+                healthBook.replacePersons(edit.from, edit.from + edit.added.size(), edit.removed);
+            }
+            for (int i = appointmentEdits.size() - 1; i >= 0; i--) {
+                ListEdit<Appointment> edit = appointmentEdits.get(i);
+                healthBook.replaceAppointments(edit.from, edit.from + edit.added.size(), edit.removed);
+            }
+            healthBook.setAppointmentCounter(appointmentCounterBefore);
+        }
+    }
+
+    /**
+     * A single edit to a list: the elements {@code removed} starting at index {@code from} were replaced by
+     * {@code added}.
+     */
+    private static class ListEdit<T> {
+        private final int from;
+        private final List<T> removed;
+        private final List<T> added;
+
+        private ListEdit(int from, List<T> removed, List<T> added) {
+            this.from = from;
+            this.removed = removed;
+            this.added = added;
+        }
+
+        /**
+         * Creates the edit described by the current step of {@code change}.
+         */
+        static <T> ListEdit<T> of(ListChangeListener.Change<? extends T> change) {
+            int from = change.getFrom();
+            List<T> added = new ArrayList<>(change.getList().subList(from, change.getTo()));
+            if (change.wasPermutated()) {
+                List<T> previousOrder = new ArrayList<>(added);
+                for (int i = from; i < change.getTo(); i++) {
+                    previousOrder.set(i - from, change.getList().get(change.getPermutation(i)));
+                }
+                return new ListEdit<>(from, previousOrder, added);
+            }
+            return new ListEdit<>(from, new ArrayList<>(change.getRemoved()), added);
+        }
+    }
+
     /**
      * Thrown when trying to {@code undo()} but can't.
      */
@@ -10,6 +10,8 @@ import java.util.List;
  */
 public class Appointment implements Comparable<Appointment> {
 
+    public static final int DURATION_IN_MINUTES = 30;
+
     private AppointmentId appointmentId;
     private String doctor;
     private String patient;
@@ -83,7 +85,7 @@ public class Appointment implements Comparable<Appointment> {
     public void deletePrescription(String medicineName) {
         Prescription toRemove = null;
         for (Prescription p : prescriptions) {
-            if (p.getMedicineName().equals(new MedicineName(medicineName))) {
+            if (p.getMedicineName().equals(MedicineName.of(medicineName))) {
                 toRemove = p;
             }
         }
@@ -114,9 +116,9 @@ public class Appointment implements Comparable<Appointment> {
      */
     public boolean hasClashAppointment(Appointment toCheck) {
         LocalDateTime lowerBound = this.dateTime;
-        LocalDateTime upperBound = this.dateTime.plusMinutes(30);
+        LocalDateTime upperBound = this.dateTime.plusMinutes(DURATION_IN_MINUTES);
         LocalDateTime timeToCheckStart = toCheck.getDateTime();
-        LocalDateTime timeToCheckEnd = toCheck.getDateTime().plusMinutes(30);
+        LocalDateTime timeToCheckEnd = toCheck.getDateTime().plusMinutes(DURATION_IN_MINUTES);
 
         // Check if start of appointment toCheck is between current appointment.
         if (timeToCheckStart.equals(lowerBound)
@@ -0,0 +1,114 @@
+package seedu.address.model.appointment;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * A time-ordered view of a person's appointments that answers clash queries in logarithmic time.
+ * Every appointment lasts {@code Appointment.DURATION_IN_MINUTES}, so two appointments clash exactly when
+ * their start times are less than one duration apart. It is therefore enough to look at the latest
+ * appointment starting before the end of the slot being checked.
+ */
+public class AppointmentSchedule {
+
+    private final TreeMap<LocalDateTime, List<Appointment>> appointmentsByStart = new TreeMap<>();
+    private int size = 0;
+
+    public AppointmentSchedule() {}
+
+    /**
+     * Creates a schedule containing all of {@code appointments}.
+     */
+    public AppointmentSchedule(List<Appointment> appointments) {
+        requireNonNull(appointments);
+        for (Appointment appointment : appointments) {
+            add(appointment);
+        }
+    }
+
+    /**
+     * Returns the number of appointments in the schedule.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Adds {@code appointment} to the schedule.
+     */
+    public void add(Appointment appointment) {
+        requireNonNull(appointment);
+        appointmentsByStart.computeIfAbsent(appointment.getDateTime(), key -> new ArrayList<>(1)).add(appointment);
+        size++;
+    }
+
+    /**
+     * Removes the appointment with the same appointment id and start time as {@code appointment}.
+     * Does nothing if there is no such appointment.
+     */
+    public void remove(Appointment appointment) {
+        requireNonNull(appointment);
+        List<Appointment> startingTogether = appointmentsByStart.get(appointment.getDateTime());
+        if (startingTogether == null) {
+            return;
+        }
+        for (int i = 0; i < startingTogether.size(); i++) {
+            if (startingTogether.get(i).isSameAppointment(appointment)) {
+                startingTogether.remove(i);
+                size--;
+                break;
+            }
+        }
+        if (startingTogether.isEmpty()) {
+            appointmentsByStart.remove(appointment.getDateTime());
+        }
+    }
+
+    /**
+     * Returns true if {@code toCheck} clashes with any appointment in the schedule.
+     */
+    public boolean hasClash(Appointment toCheck) {
+        requireNonNull(toCheck);
+        return isTaken(toCheck.getDateTime());
+    }
+
+    /**
+     * Returns the earliest start time at or after {@code from} at which a new appointment would not clash
+     * with any appointment in the schedule.
+     */
+    public LocalDateTime findNextFreeSlot(LocalDateTime from) {
+        requireNonNull(from);
+        LocalDateTime candidate = from;
+        LocalDateTime blockingStart = latestStartBefore(candidate.plusMinutes(Appointment.DURATION_IN_MINUTES));
+        while (blockingStart != null && isWithinOneDuration(blockingStart, candidate)) {
+            // skip to the end of the appointment in the way and try again from there
+            candidate = blockingStart.plusMinutes(Appointment.DURATION_IN_MINUTES);
+            blockingStart = latestStartBefore(candidate.plusMinutes(Appointment.DURATION_IN_MINUTES));
+        }
+        return candidate;
+    }
+
+    /**
+     * Returns true if an appointment starting at {@code start} would clash with the schedule.
+     */
+    private boolean isTaken(LocalDateTime start) {
+        LocalDateTime blockingStart = latestStartBefore(start.plusMinutes(Appointment.DURATION_IN_MINUTES));
+        return blockingStart != null && isWithinOneDuration(blockingStart, start);
+    }
+
+    private LocalDateTime latestStartBefore(LocalDateTime time) {
+        return appointmentsByStart.lowerKey(time);
+    }
+
+    /**
+     * Returns true if {@code earlierStart} is less than one appointment duration before {@code start}.
+     * Callers guarantee that {@code earlierStart} is strictly before the end of a slot starting at {@code start}.
+     */
+    private static boolean isWithinOneDuration(LocalDateTime earlierStart, LocalDateTime start) {
+        return earlierStart.plusMinutes(Appointment.DURATION_IN_MINUTES).isAfter(start);
+    }
+}
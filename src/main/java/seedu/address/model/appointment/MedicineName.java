@@ -3,6 +3,8 @@ package seedu.address.model.appointment;
 import static java.util.Objects.requireNonNull;
 import static seedu.address.commons.util.AppUtil.checkArgument;
 
+import seedu.address.commons.util.InternPool;
+
 /**
  * Represents a Medicine Name in prescription
  */
@@ -17,6 +19,8 @@ public class MedicineName {
      */
     public static final String MEDICINE_NAME_VALIDATION_REGEX = "[\\p{Alnum}][\\p{Alnum} ]*";
 
+    private static final InternPool<MedicineName> POOL = new InternPool<>(MedicineName::new);
+
     private final String fullMedicineName;
 
     /**
@@ -34,6 +38,17 @@ public class MedicineName {
         fullMedicineName = "";
     }
 
+    /**
+     * Returns the {@code MedicineName} for {@code medicineName}, which is the same instance for every call with the
+     * same string.
+     *
+     * @param medicineName A valid name.
+     * @throws IllegalArgumentException if {@code medicineName} is not valid.
+     */
+    public static MedicineName of(String medicineName) {
+        return POOL.intern(medicineName);
+    }
+
     public String getFullMedicineName() {
         return fullMedicineName;
     }
@@ -3,8 +3,12 @@ package seedu.address.model.appointment;
 import static java.util.Objects.requireNonNull;
 import static seedu.address.commons.util.CollectionUtil.requireAllNonNull;
 
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -19,6 +23,11 @@ import seedu.address.model.appointment.exceptions.DuplicateAppointmentException;
  * However, the removal of a appointment uses Appointment#equals(Object) so as to ensure that the appointment with
  * exactly the same fields will be removed.
  * <p>
+ * Appointments are additionally indexed by their appointment id, so that membership checks and lookups by id do not
+ * need to scan the list. The position of each appointment in the backing list is kept in a map from the appointment
+ * instance, so that an appointment found by its id is also found in the list without a scan; removing an appointment
+ * shifts the positions of the appointments after it along with the appointments themselves.
+ * <p>
  * Supports a minimal set of list operations.
  *
  * @see Appointment#isSameAppointment(Appointment)
@@ -26,13 +35,22 @@ import seedu.address.model.appointment.exceptions.DuplicateAppointmentException;
 public class UniqueAppointmentList implements Iterable<Appointment> {
 
     private final ObservableList<Appointment> internalList = FXCollections.observableArrayList();
+    private final Map<Integer, Appointment> idIndex = new HashMap<>();
+    private final Map<Appointment, Integer> positions = new IdentityHashMap<>();
 
     /**
      * Returns true if the list contains an equivalent appointment as the given argument.
      */
     public boolean contains(Appointment toCheck) {
         requireNonNull(toCheck);
-        return internalList.stream().anyMatch(toCheck::isSameAppointment);
+        return idIndex.containsKey(toCheck.getAppointmentId());
+    }
+
+    /**
+     * Returns the appointment in the list with the given {@code appointmentId}, if any.
+     */
+    public Optional<Appointment> findById(int appointmentId) {
+        return Optional.ofNullable(idIndex.get(appointmentId));
     }
 
     /**
@@ -44,7 +62,9 @@ public class UniqueAppointmentList implements Iterable<Appointment> {
         if (contains(toAdd)) {
             throw new DuplicateAppointmentException();
         }
+        positions.put(toAdd, internalList.size());
         internalList.add(toAdd);
+        idIndex.put(toAdd.getAppointmentId(), toAdd);
     }
 
     /**
@@ -53,12 +73,15 @@ public class UniqueAppointmentList implements Iterable<Appointment> {
      */
     public void setToComplete(Appointment toComplete) {
         requireNonNull(toComplete);
-        int index = internalList.indexOf(toComplete);
-        if (index == -1) {
+        Appointment existing = getEqualAppointment(toComplete);
+        if (existing == null) {
             throw new AppointmentNotFoundException();
         }
         toComplete.completeAppointment();
-        internalList.set(index, toComplete);
+        int position = positions.remove(existing);
+        internalList.set(position, toComplete);
+        positions.put(toComplete, position);
+        idIndex.put(toComplete.getAppointmentId(), toComplete);
     }
 
     /**
@@ -70,15 +93,19 @@ public class UniqueAppointmentList implements Iterable<Appointment> {
     public void setAppointment(Appointment target, Appointment editedAppointment) {
         requireAllNonNull(target, editedAppointment);
 
-        int index = internalList.indexOf(target);
-        if (index == -1) {
+        Appointment existing = getEqualAppointment(target);
+        if (existing == null) {
             throw new AppointmentNotFoundException();
         }
 
         if (!target.isSameAppointment(editedAppointment) && contains(editedAppointment)) {
             throw new DuplicateAppointmentException();
         }
-        internalList.set(index, editedAppointment);
+        int position = positions.remove(existing);
+        internalList.set(position, editedAppointment);
+        positions.put(editedAppointment, position);
+        idIndex.remove(existing.getAppointmentId());
+        idIndex.put(editedAppointment.getAppointmentId(), editedAppointment);
     }
 
     /**
@@ -87,22 +114,23 @@ public class UniqueAppointmentList implements Iterable<Appointment> {
      */
     public void remove(Appointment toRemove) {
         requireNonNull(toRemove);
-        Appointment appointmentToBeDeletedInList = null;
-        for (Appointment appt : internalList) {
-            if (appt.getAppointmentId() == toRemove.getAppointmentId()) {
-                appointmentToBeDeletedInList = appt;
-            }
-        }
+        Appointment appointmentToBeDeletedInList = idIndex.remove(toRemove.getAppointmentId());
         if (appointmentToBeDeletedInList == null) {
             throw new AppointmentNotFoundException();
         }
 
-        internalList.remove(appointmentToBeDeletedInList);
+        int position = positions.remove(appointmentToBeDeletedInList);
+        internalList.remove(position);
+        updatePositions(position, internalList.size());
     }
 
     public void setAppointments(UniqueAppointmentList replacement) {
         requireNonNull(replacement);
         internalList.setAll(replacement.internalList);
+        idIndex.clear();
+        idIndex.putAll(replacement.idIndex);
+        positions.clear();
+        positions.putAll(replacement.positions);
     }
 
     /**
@@ -111,11 +139,37 @@ public class UniqueAppointmentList implements Iterable<Appointment> {
      */
     public void setAppointments(List<Appointment> appointments) {
         requireAllNonNull(appointments);
-        if (!appointmentsAreUnique(appointments)) {
+        Map<Integer, Appointment> replacementIndex = indexAppointments(appointments);
+        if (replacementIndex == null) {
             throw new DuplicateAppointmentException();
         }
 
         internalList.setAll(appointments);
+        idIndex.clear();
+        idIndex.putAll(replacementIndex);
+        positions.clear();
+        updatePositions(0, internalList.size());
+    }
+
+    /**
+     * Replaces the appointments from index {@code from} (inclusive) to {@code to} (exclusive) with
+     * {@code replacement}.
+     * Duplicates are not checked for, as this is only meant for restoring an earlier state of the list.
+     */
+    public void replaceRange(int from, int to, List<Appointment> replacement) {
+        requireAllNonNull(replacement);
+        List<Appointment> replaced = internalList.subList(from, to);
+        for (Appointment appointment : replaced) {
+            idIndex.remove(appointment.getAppointmentId(), appointment);
+            positions.remove(appointment);
+        }
+        replaced.clear();
+        internalList.addAll(from, replacement);
+        // the appointments after the range only move if the range changes in size
+        updatePositions(from, replacement.size() == to - from ? to : internalList.size());
+        for (Appointment appointment : replacement) {
+            idIndex.put(appointment.getAppointmentId(), appointment);
+        }
     }
 
     /**
@@ -143,16 +197,34 @@ public class UniqueAppointmentList implements Iterable<Appointment> {
     }
 
     /**
-     * Returns true if {@code appointments} contains only unique appointments.
+     * Returns the appointment in the list that is equal to {@code appointment} by Appointment#equals(Object),
+     * or null if there is no such appointment.
+     */
+    private Appointment getEqualAppointment(Appointment appointment) {
+        Appointment existing = idIndex.get(appointment.getAppointmentId());
+        return appointment.equals(existing) ? existing : null;
+    }
+
+    /**
+     * Records the positions of the appointments in the backing list from index {@code from} (inclusive) to {@code to}
+     * (exclusive), after the appointments there have been shifted or replaced.
+     */
+    private void updatePositions(int from, int to) {
+        for (int i = from; i < to; i++) {
+            positions.put(internalList.get(i), i);
+        }
+    }
+
+    /**
+     * Returns an id index of {@code appointments}, or null if {@code appointments} contains duplicate appointments.
      */
-    private boolean appointmentsAreUnique(List<Appointment> appointments) {
-        for (int i = 0; i < appointments.size() - 1; i++) {
-            for (int j = i + 1; j < appointments.size(); j++) {
-                if (appointments.get(i).isSameAppointment(appointments.get(j))) {
-                    return false;
-                }
+    private Map<Integer, Appointment> indexAppointments(List<Appointment> appointments) {
+        Map<Integer, Appointment> index = new HashMap<>();
+        for (Appointment appointment : appointments) {
+            if (index.put(appointment.getAppointmentId(), appointment) != null) {
+                return null;
             }
         }
-        return true;
+        return index;
     }
 }
@@ -1,16 +1,19 @@
 package seedu.address.model.doctor;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
 import seedu.address.model.appointment.Appointment;
+import seedu.address.model.appointment.AppointmentSchedule;
 import seedu.address.model.person.Address;
 import seedu.address.model.person.Email;
 import seedu.address.model.person.Name;
 import seedu.address.model.person.Person;
 import seedu.address.model.person.Phone;
 import seedu.address.model.person.Remark;
+import seedu.address.model.person.Role;
 import seedu.address.model.tag.Tag;
 
 /**
@@ -19,19 +22,22 @@ import seedu.address.model.tag.Tag;
  */
 public class Doctor extends Person {
     // Variables
+    // a copy of the list the doctor is created with, so that only the methods of this doctor change it
     private List<Appointment> upcomingAppointments;
+    // built when first needed, then changed along with upcomingAppointments by those methods
+    private AppointmentSchedule upcomingSchedule;
 
     // Constructor
     public Doctor(Name name, Phone phone, Email email, Address address, Remark remark,
                   Set<Tag> tags) {
-        super(name, phone, email, address, remark, tags);
+        super(name, phone, email, address, remark, tags, Role.DOCTOR);
         upcomingAppointments = new ArrayList<>();
     }
 
     public Doctor(Name name, Phone phone, Email email, Address address, Remark remark,
                   Set<Tag> tags, List<Appointment> upcomingAppointments) {
-        super(name, phone, email, address, remark, tags);
-        this.upcomingAppointments = upcomingAppointments;
+        super(name, phone, email, address, remark, tags, Role.DOCTOR);
+        this.upcomingAppointments = new ArrayList<>(upcomingAppointments);
     }
 
     public List<Appointment> getUpcomingAppointments() {
@@ -43,6 +49,7 @@ public class Doctor extends Person {
      * The appointment is also added into Doctor's google calendar
      */
     public void addUpcomingAppointment(Appointment appointment) {
+        getUpcomingSchedule().add(appointment);
         upcomingAppointments.add(appointment);
     }
 
@@ -57,6 +64,9 @@ public class Doctor extends Person {
                 break;
             }
         }
+        if (apptToBeDeleted != null) {
+            getUpcomingSchedule().remove(apptToBeDeleted);
+        }
         upcomingAppointments.remove(apptToBeDeleted);
     }
 
@@ -76,6 +86,9 @@ public class Doctor extends Person {
         }
 
         if (inUpComingAppointments) {
+            AppointmentSchedule schedule = getUpcomingSchedule();
+            schedule.remove(upcomingAppointments.get(indexToBeEdited));
+            schedule.add(editedAppointment);
             upcomingAppointments.set(indexToBeEdited, editedAppointment);
         }
     }
@@ -92,6 +105,7 @@ public class Doctor extends Person {
                 appointmentToRemove = app;
             }
         }
+        getUpcomingSchedule().remove(appointmentToRemove);
         appointmentToRemove.completeAppointment();
         upcomingAppointments.remove(appointmentToRemove);
     }
@@ -112,11 +126,23 @@ public class Doctor extends Person {
      * Check if appointment clash with any upcoming appointments by {@code targetAppointment}
      */
     public boolean hasClashForAppointment(Appointment appointmentToCheck) {
-        for (Appointment app : upcomingAppointments) {
-            if (app.hasClashAppointment(appointmentToCheck)) {
-                return true; // There is a clash in the appointments
-            }
+        return getUpcomingSchedule().hasClash(appointmentToCheck);
+    }
+
+    /**
+     * Returns the earliest time at or after {@code from} at which the doctor is free for a new appointment.
+     */
+    public LocalDateTime findNextFreeSlot(LocalDateTime from) {
+        return getUpcomingSchedule().findNextFreeSlot(from);
+    }
+
+    /**
+     * Returns the schedule of upcoming appointments, building it if this is the first time it is asked for.
+     */
+    private AppointmentSchedule getUpcomingSchedule() {
+        if (upcomingSchedule == null) {
+            upcomingSchedule = new AppointmentSchedule(upcomingAppointments);
         }
-        return false;
+        return upcomingSchedule;
     }
 }
@@ -3,6 +3,8 @@ package seedu.address.model.patient;
 import static java.util.Objects.requireNonNull;
 import static seedu.address.commons.util.AppUtil.checkArgument;
 
+import seedu.address.commons.util.InternPool;
+
 /**
  * Represents an Allergy in Patient's Medical History
  */
@@ -18,6 +20,8 @@ public class Allergy {
      */
     public static final String ALLERGY_VALIDATION_REGEX = "[\\p{Alnum}][\\p{Alnum} ]*";
 
+    private static final InternPool<Allergy> POOL = new InternPool<>(Allergy::new);
+
     public final String allergy;
 
     /**
@@ -31,6 +35,17 @@ public class Allergy {
         this.allergy = allergy;
     }
 
+    /**
+     * Returns the {@code Allergy} for {@code allergy}, which is the same instance for every call with the same
+     * string.
+     *
+     * @param allergy A valid allergy.
+     * @throws IllegalArgumentException if {@code allergy} is not valid.
+     */
+    public static Allergy of(String allergy) {
+        return POOL.intern(allergy);
+    }
+
     public String getAllergy() {
         return allergy;
     }
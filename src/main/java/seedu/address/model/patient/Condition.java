@@ -3,6 +3,8 @@ package seedu.address.model.patient;
 import static java.util.Objects.requireNonNull;
 import static seedu.address.commons.util.AppUtil.checkArgument;
 
+import seedu.address.commons.util.InternPool;
+
 /**
  * Represents Condition of a inside MedicalHistory of a Patient
  * Guarantees:
@@ -17,6 +19,8 @@ public class Condition {
      */
     public static final String CONDITION_VALIDATION_REGEX = "[\\p{Alnum}][\\p{Alnum} ]*";
 
+    private static final InternPool<Condition> POOL = new InternPool<>(Condition::new);
+
     public final String condition;
 
     /**
@@ -30,6 +34,17 @@ public class Condition {
         this.condition = condition;
     }
 
+    /**
+     * Returns the {@code Condition} for {@code condition}, which is the same instance for every call with the same
+     * string.
+     *
+     * @param condition A valid condition.
+     * @throws IllegalArgumentException if {@code condition} is not valid.
+     */
+    public static Condition of(String condition) {
+        return POOL.intern(condition);
+    }
+
     public String getCondition() {
         return condition;
     }
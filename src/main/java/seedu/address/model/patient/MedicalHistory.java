@@ -36,7 +36,7 @@ public class MedicalHistory {
     }
 
     public void addAllergy(String allergy) {
-        allergies.add(new Allergy(allergy));
+        allergies.add(Allergy.of(allergy));
     }
 
     public void addCondition(Condition condition) {
@@ -44,7 +44,7 @@ public class MedicalHistory {
     }
 
     public void addCondition(String condition) {
-        conditions.add(new Condition(condition));
+        conditions.add(Condition.of(condition));
     }
 
     public void setAllergies(ArrayList<Allergy> allergies) {
@@ -1,16 +1,23 @@
 package seedu.address.model.patient;
 
+import static java.util.Objects.requireNonNull;
+
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 import seedu.address.model.appointment.Appointment;
+import seedu.address.model.appointment.AppointmentSchedule;
 import seedu.address.model.person.Address;
 import seedu.address.model.person.Email;
 import seedu.address.model.person.Name;
 import seedu.address.model.person.Person;
 import seedu.address.model.person.Phone;
 import seedu.address.model.person.Remark;
+import seedu.address.model.person.Role;
 import seedu.address.model.tag.Tag;
 
 /**
@@ -21,14 +28,19 @@ public class Patient extends Person {
     // Variables
     private String telegramId;
     private MedicalHistory medicalHistory;
+    // a copy of the list the patient is created with, so that only the methods of this patient change it
     private List<Appointment> upcomingAppointments;
+    // built when first needed, then changed along with upcomingAppointments by those methods
+    private AppointmentSchedule upcomingSchedule;
     private List<Appointment> pastAppointments;
+    // the loader of the past appointments and medical history while they are not changed by this patient
+    private PatientHistoryLoader historyLoader;
 
     // Constructor
 
     public Patient(Name name, Phone phone, Email email, Address address, Remark remark,
                    Set<Tag> tags, String telegramId) {
-        super(name, phone, email, address, remark, tags);
+        super(name, phone, email, address, remark, tags, Role.PATIENT);
         setTelegramId(telegramId);
         upcomingAppointments = new ArrayList<>();
         pastAppointments = new ArrayList<>();
@@ -38,9 +50,9 @@ public class Patient extends Person {
     public Patient(Name name, Phone phone, Email email, Address address, Remark remark,
                    Set<Tag> tags, String telegramId, List<Appointment> upcomingAppointments,
                    List<Appointment> pastAppointments) {
-        super(name, phone, email, address, remark, tags);
+        super(name, phone, email, address, remark, tags, Role.PATIENT);
         setTelegramId(telegramId);
-        this.upcomingAppointments = upcomingAppointments;
+        this.upcomingAppointments = new ArrayList<>(upcomingAppointments);
         this.pastAppointments = pastAppointments;
         this.medicalHistory = new MedicalHistory();
     }
@@ -48,19 +60,34 @@ public class Patient extends Person {
     public Patient(Name name, Phone phone, Email email, Address address, Remark remark,
                    Set<Tag> tags, String telegramId, List<Appointment> upcomingAppointments,
                    List<Appointment> pastAppointments, MedicalHistory medicalHistory) {
-        super(name, phone, email, address, remark, tags);
+        super(name, phone, email, address, remark, tags, Role.PATIENT);
         setTelegramId(telegramId);
-        this.upcomingAppointments = upcomingAppointments;
+        this.upcomingAppointments = new ArrayList<>(upcomingAppointments);
         this.pastAppointments = pastAppointments;
         this.medicalHistory = medicalHistory;
 
     }
 
+    /**
+     * Creates a patient whose past appointments and medical history are loaded by {@code historyLoader} when they
+     * are first needed.
+     */
+    public Patient(Name name, Phone phone, Email email, Address address, Remark remark,
+                   Set<Tag> tags, String telegramId, List<Appointment> upcomingAppointments,
+                   PatientHistoryLoader historyLoader) {
+        super(name, phone, email, address, remark, tags, Role.PATIENT);
+        requireNonNull(historyLoader);
+        setTelegramId(telegramId);
+        this.upcomingAppointments = new ArrayList<>(upcomingAppointments);
+        this.historyLoader = historyLoader;
+    }
+
     public List<Appointment> getUpcomingAppointments() {
         return upcomingAppointments;
     }
 
     public List<Appointment> getPastAppointments() {
+        loadHistory();
         return pastAppointments;
     }
 
@@ -69,14 +96,55 @@ public class Patient extends Person {
     }
 
     public MedicalHistory getMedicalHistory() {
+        loadHistory();
         return medicalHistory;
     }
 
+    /**
+     * Returns true if the past appointments and medical history of this patient are in memory.
+     */
+    public boolean isHistoryLoaded() {
+        return pastAppointments != null;
+    }
+
+    /**
+     * Returns the loader of the past appointments and medical history of this patient, if they have not been loaded.
+     */
+    public Optional<PatientHistoryLoader> getHistoryLoader() {
+        return isHistoryLoaded() ? Optional.empty() : Optional.of(historyLoader);
+    }
+
+    /**
+     * Returns a copy of the past appointments and medical history of this patient that later changes to this patient
+     * leave as they are, for showing the history on another thread.
+     */
+    public PatientHistory copyHistory() {
+        return new PatientHistory(Collections.unmodifiableList(new ArrayList<>(getPastAppointments())),
+                new MedicalHistory(getMedicalHistory()));
+    }
+
+    /**
+     * Drops the past appointments and medical history of this patient, so that they are loaded again when next
+     * needed, if they have not been changed by the methods of this patient since they were loaded.
+     * A history that has changed is kept for good, as it can no longer be loaded again.
+     *
+     * @return true if the history was dropped.
+     */
+    public boolean unloadHistory() {
+        if (!isHistoryLoaded() || historyLoader == null) {
+            return false;
+        }
+        pastAppointments = null;
+        medicalHistory = null;
+        return true;
+    }
+
     public void setTelegramId(String telegramId) {
         this.telegramId = telegramId;
     }
 
     public void setMedicalHistory(MedicalHistory medicalHistory) {
+        changeHistory();
         this.medicalHistory = medicalHistory;
     }
 
@@ -84,20 +152,23 @@ public class Patient extends Person {
      * Adds allergy into the medical history of patient
      */
     public void addAllergy(String allergy) {
-        medicalHistory.addAllergy(new Allergy(allergy));
+        changeHistory();
+        getMedicalHistory().addAllergy(Allergy.of(allergy));
     }
 
     /**
      * Adds condition into the medical history of patient
      */
     public void addCondition(String condition) {
-        medicalHistory.addCondition(new Condition(condition));
+        changeHistory();
+        getMedicalHistory().addCondition(Condition.of(condition));
     }
 
     /**
      * Adds an upcoming appointment to the patient's queue of upcoming appointment.
      */
     public void addUpcomingAppointment(Appointment appointment) {
+        getUpcomingSchedule().add(appointment);
         upcomingAppointments.add(appointment);
     }
 
@@ -112,6 +183,9 @@ public class Patient extends Person {
                 break;
             }
         }
+        if (apptToBeDeleted != null) {
+            getUpcomingSchedule().remove(apptToBeDeleted);
+        }
         upcomingAppointments.remove(apptToBeDeleted);
     }
 
@@ -133,6 +207,7 @@ public class Patient extends Person {
         }
 
         if (indexToBeDeleted == -1 && !inUpComingAppointments) {
+            List<Appointment> pastAppointments = getPastAppointments();
             for (Appointment pastAppt : pastAppointments) {
                 if (pastAppt.getAppointmentId() == target.getAppointmentId()) {
                     indexToBeDeleted = pastAppointments.indexOf(pastAppt);
@@ -143,9 +218,13 @@ public class Patient extends Person {
             }
         }
         if (inUpComingAppointments) {
+            AppointmentSchedule schedule = getUpcomingSchedule();
+            schedule.remove(upcomingAppointments.get(indexToBeDeleted));
+            schedule.add(editedAppointment);
             upcomingAppointments.set(indexToBeDeleted, editedAppointment);
         } else if (inPastAppointments) {
-            pastAppointments.set(indexToBeDeleted, editedAppointment);
+            changeHistory();
+            getPastAppointments().set(indexToBeDeleted, editedAppointment);
         }
     }
 
@@ -161,9 +240,11 @@ public class Patient extends Person {
                 appointmentToRemove = app;
             }
         }
+        getUpcomingSchedule().remove(appointmentToRemove);
         appointmentToRemove.completeAppointment();
         upcomingAppointments.remove(appointmentToRemove);
-        pastAppointments.add(appointmentToRemove);
+        changeHistory();
+        getPastAppointments().add(appointmentToRemove);
     }
 
     /**
@@ -176,7 +257,7 @@ public class Patient extends Person {
             }
         }
 
-        for (Appointment app : pastAppointments) {
+        for (Appointment app : getPastAppointments()) {
             if (app.getAppointmentId() == appointmentId) {
                 return true;
             }
@@ -188,11 +269,46 @@ public class Patient extends Person {
      * Check if appointment clash with any upcoming appointments by {@code targetAppointment}
      */
     public boolean hasClashForAppointment(Appointment appointmentToCheck) {
-        for (Appointment app : upcomingAppointments) {
-            if (app.hasClashAppointment(appointmentToCheck)) {
-                return true; // There is a clash in the appointments
-            }
+        return getUpcomingSchedule().hasClash(appointmentToCheck);
+    }
+
+    /**
+     * Loads the past appointments and medical history of this patient if they are not in memory.
+     * Loading a history may unload the history of another patient, so histories are only loaded on the thread the
+     * model is changed on, and other threads are given copies of them, see {@link #copyHistory()}.
+     */
+    private void loadHistory() {
+        if (isHistoryLoaded()) {
+            return;
         }
-        return false;
+        PatientHistory history = historyLoader.load();
+        pastAppointments = history.getPastAppointments();
+        medicalHistory = history.getMedicalHistory();
+        historyLoader.historyLoaded(this);
+    }
+
+    /**
+     * Loads the history of this patient before it is changed, and keeps it for good, see {@link #unloadHistory()}.
+     */
+    private void changeHistory() {
+        loadHistory();
+        historyLoader = null;
+    }
+
+    /**
+     * Returns the earliest time at or after {@code from} at which the patient is free for a new appointment.
+     */
+    public LocalDateTime findNextFreeSlot(LocalDateTime from) {
+        return getUpcomingSchedule().findNextFreeSlot(from);
+    }
+
+    /**
+     * Returns the schedule of upcoming appointments, building it if this is the first time it is asked for.
+     */
+    private AppointmentSchedule getUpcomingSchedule() {
+        if (upcomingSchedule == null) {
+            upcomingSchedule = new AppointmentSchedule(upcomingAppointments);
+        }
+        return upcomingSchedule;
     }
 }
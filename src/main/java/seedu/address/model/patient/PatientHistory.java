@@ -0,0 +1,30 @@
+package seedu.address.model.patient;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.List;
+
+import seedu.address.model.appointment.Appointment;
+
+/**
+ * The clinical history of a patient: its past appointments and its medical history.
+ */
+public class PatientHistory {
+    private final List<Appointment> pastAppointments;
+    private final MedicalHistory medicalHistory;
+
+    public PatientHistory(List<Appointment> pastAppointments, MedicalHistory medicalHistory) {
+        requireNonNull(pastAppointments);
+        requireNonNull(medicalHistory);
+        this.pastAppointments = pastAppointments;
+        this.medicalHistory = medicalHistory;
+    }
+
+    public List<Appointment> getPastAppointments() {
+        return pastAppointments;
+    }
+
+    public MedicalHistory getMedicalHistory() {
+        return medicalHistory;
+    }
+}
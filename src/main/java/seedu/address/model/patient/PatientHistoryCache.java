@@ -0,0 +1,43 @@
+package seedu.address.model.patient;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the lazily loaded histories of at most {@code capacity} patients in memory.
+ * When another patient loads its history, the patient whose history was loaded longest ago is asked to unload it
+ * again, see {@link Patient#unloadHistory()}.
+ * Not thread-safe: it is only used by the patients of the model, on the thread the model is changed on.
+ */
+public class PatientHistoryCache {
+
+    // keyed by loader rather than patient, as copies of a patient are equal but have their own loader
+    private final Map<PatientHistoryLoader, Patient> loadedPatients;
+
+    public PatientHistoryCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        loadedPatients = new LinkedHashMap<PatientHistoryLoader, Patient>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<PatientHistoryLoader, Patient> eldest) {
+                if (size() <= capacity) {
+                    return false;
+                }
+                eldest.getValue().unloadHistory();
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Records that {@code patient} has loaded its history through {@code loader}.
+     */
+    public void recordLoaded(PatientHistoryLoader loader, Patient patient) {
+        loadedPatients.put(loader, patient);
+    }
+
+    public int size() {
+        return loadedPatients.size();
+    }
+}
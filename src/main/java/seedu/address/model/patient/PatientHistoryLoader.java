@@ -0,0 +1,27 @@
+package seedu.address.model.patient;
+
+/**
+ * Loads the {@code PatientHistory} of a {@code Patient} from storage when it is first needed.
+ */
+@FunctionalInterface
+public interface PatientHistoryLoader {
+
+    /**
+     * Returns a new copy of the history as it is stored.
+     * May be called from any thread, as copies of the patient taken for saving load their history while saving.
+     */
+    PatientHistory load();
+
+    /**
+     * Called after {@code patient} has loaded its history through this loader.
+     */
+    default void historyLoaded(Patient patient) {}
+
+    /**
+     * Returns the loader that reads the history from storage, which is this loader unless it loads the history
+     * through another loader, e.g. to copy it.
+     */
+    default PatientHistoryLoader getStoredLoader() {
+        return this;
+    }
+}
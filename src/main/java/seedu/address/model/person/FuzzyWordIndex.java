@@ -0,0 +1,114 @@
+package seedu.address.model.person;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An index of words by their trigrams, the runs of three characters in them, for finding the words within a small
+ * edit distance of a misspelled word without comparing it with every word.
+ * Words are padded with {@link #BOUNDARY} on both sides, so that short words and the ends of words have trigrams too.
+ */
+class FuzzyWordIndex {
+
+    private static final char BOUNDARY = '$';
+
+    private final Map<String, Set<String>> wordsByTrigram = new HashMap<>();
+
+    void add(String word) {
+        for (String trigram : trigramsOf(word)) {
+            wordsByTrigram.computeIfAbsent(trigram, unused -> new HashSet<>()).add(word);
+        }
+    }
+
+    /**
+     * Removes {@code word} from the index, dropping the trigrams that no word has any more.
+     */
+    void remove(String word) {
+        for (String trigram : trigramsOf(word)) {
+            Set<String> words = wordsByTrigram.get(trigram);
+            if (words != null && words.remove(word) && words.isEmpty()) {
+                wordsByTrigram.remove(trigram);
+            }
+        }
+    }
+
+    /**
+     * Returns the words within {@code maxDistance} edits (insertions, deletions or substitutions of a character) of
+     * {@code word}, with their distance from it.
+     * Only words sharing a trigram with {@code word} are compared with it. As an edit changes at most three of its
+     * trigrams, every word within {@code maxDistance} edits is only found if {@code word} is longer than
+     * {@code 3 * maxDistance} characters.
+     */
+    Map<String, Integer> findWithin(String word, int maxDistance) {
+        Set<String> candidates = new HashSet<>();
+        for (String trigram : trigramsOf(word)) {
+            candidates.addAll(wordsByTrigram.getOrDefault(trigram, new HashSet<>()));
+        }
+
+        Map<String, Integer> found = new HashMap<>();
+        for (String candidate : candidates) {
+            int distance = distanceWithin(word, candidate, maxDistance);
+            if (distance <= maxDistance) {
+                found.put(candidate, distance);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Returns the trigrams of {@code word} padded with {@link #BOUNDARY}, in order.
+     */
+    private static List<String> trigramsOf(String word) {
+        String padded = BOUNDARY + word + BOUNDARY;
+        List<String> trigrams = new ArrayList<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    /**
+     * Returns the Levenshtein distance between {@code a} and {@code b} if it is at most {@code maxDistance}, or
+     * {@code maxDistance + 1} otherwise. Only the band of the distance table within {@code maxDistance} of its
+     * diagonal is computed, as cells outside it are always larger.
+     */
+    static int distanceWithin(String a, String b, int maxDistance) {
+        if (Math.abs(a.length() - b.length()) > maxDistance) {
+            return maxDistance + 1;
+        }
+
+        int outOfReach = maxDistance + 1;
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = Math.min(j, outOfReach);
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            int from = Math.max(1, i - maxDistance);
+            int to = Math.min(b.length(), i + maxDistance);
+            current[from - 1] = from == 1 ? Math.min(i, outOfReach) : outOfReach;
+            int rowMinimum = current[from - 1];
+            for (int j = from; j <= to; j++) {
+                int substitution = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                int deletion = previous[j] + 1;
+                int insertion = current[j - 1] + 1;
+                current[j] = Math.min(outOfReach, Math.min(substitution, Math.min(deletion, insertion)));
+                rowMinimum = Math.min(rowMinimum, current[j]);
+            }
+            if (to < b.length()) {
+                current[to + 1] = outOfReach;
+            }
+            if (rowMinimum > maxDistance) {
+                return outOfReach;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+}
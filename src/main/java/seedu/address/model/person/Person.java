@@ -24,18 +24,29 @@ public class Person {
     private final Address address;
     private final Remark remark;
     private final Set<Tag> tags = new HashSet<>();
+    private final Role role;
 
     /**
      * Every field must be present and not null.
      */
     public Person(Name name, Phone phone, Email email, Address address, Remark remark, Set<Tag> tags) {
-        requireAllNonNull(name, phone, email, address, remark, tags);
+        this(name, phone, email, address, remark, tags, Role.PERSON);
+    }
+
+    /**
+     * Constructs a person with the given {@code role}, for subclasses that keep the records of that role.
+     * Every field must be present and not null.
+     */
+    protected Person(Name name, Phone phone, Email email, Address address, Remark remark, Set<Tag> tags,
+                     Role role) {
+        requireAllNonNull(name, phone, email, address, remark, tags, role);
         this.name = name;
         this.phone = phone;
         this.email = email;
         this.address = address;
         this.remark = remark;
         this.tags.addAll(tags);
+        this.role = role;
     }
 
     public Name getName() {
@@ -58,6 +69,10 @@ public class Person {
         return remark;
     }
 
+    public Role getRole() {
+        return role;
+    }
+
     /**
      * Returns an immutable tag set, which throws {@code UnsupportedOperationException}
      * if modification is attempted.
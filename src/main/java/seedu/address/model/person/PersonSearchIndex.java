@@ -0,0 +1,195 @@
+package seedu.address.model.person;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * An inverted index from the lower-cased words in the names of persons to the persons having them, so that persons
+ * with a given name word can be found without going through every person.
+ * Words are separated by whitespace, as in {@code StringUtil#containsWordIgnoreCase(String, String)}. The words are
+ * kept in order, so that persons can also be found by the start of a word, and are also indexed by their trigrams,
+ * so that persons can be found by a misspelled name.
+ */
+public class PersonSearchIndex {
+
+    /** Ranks of the ways a name word can match a keyword, best first. */
+    private static final int EXACT_MATCH = 0;
+    private static final int PREFIX_MATCH = 1;
+    private static final int FUZZY_MATCH = 2;
+
+    private final TreeMap<String, Set<Person>> nameWords = new TreeMap<>();
+    private final FuzzyWordIndex fuzzyNameWords = new FuzzyWordIndex();
+
+    /**
+     * Adds the name words of {@code person} to the index.
+     */
+    void add(Person person) {
+        for (String word : wordsOf(person.getName().fullName)) {
+            Set<Person> persons = nameWords.get(word);
+            if (persons == null) {
+                persons = Collections.newSetFromMap(new IdentityHashMap<>());
+                nameWords.put(word, persons);
+                fuzzyNameWords.add(word);
+            }
+            persons.add(person);
+        }
+    }
+
+    /**
+     * Removes the name words of {@code person}, the same instance that was added, from the index.
+     */
+    void remove(Person person) {
+        for (String word : wordsOf(person.getName().fullName)) {
+            Set<Person> persons = nameWords.get(word);
+            if (persons != null && persons.remove(person) && persons.isEmpty()) {
+                nameWords.remove(word);
+                fuzzyNameWords.remove(word);
+            }
+        }
+    }
+
+    /**
+     * Returns the persons having any of {@code keywords} as a whole word in their name, ignoring case.
+     * The returned set compares persons by identity.
+     */
+    public Set<Person> findByName(Collection<String> keywords) {
+        requireNonNull(keywords);
+
+        Set<Person> found = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (String keyword : keywords) {
+            Set<Person> persons = nameWords.get(keyword.trim().toLowerCase());
+            if (persons != null) {
+                found.addAll(persons);
+            }
+        }
+        return Collections.unmodifiableSet(found);
+    }
+
+    /**
+     * Returns the persons with a name word matching any of {@code keywords}, ignoring case, best matches first.
+     * A name word matches a keyword if it is the keyword, starts with it, or is a few edits away from it, and persons
+     * are ranked by their best match in that order, then by the distance of a fuzzy match, then by name.
+     */
+    public List<Person> searchNames(Collection<String> keywords) {
+        requireNonNull(keywords);
+
+        Map<Person, Integer> costs = new IdentityHashMap<>();
+        for (String keyword : keywords) {
+            String word = keyword.trim().toLowerCase();
+            if (word.isEmpty()) {
+                continue;
+            }
+            addMatches(costs, nameWords.get(word), EXACT_MATCH);
+            for (Set<Person> persons : wordsStartingWith(word).values()) {
+                addMatches(costs, persons, PREFIX_MATCH);
+            }
+            for (Map.Entry<String, Integer> match : fuzzyMatchesOf(word).entrySet()) {
+                addMatches(costs, nameWords.get(match.getKey()), FUZZY_MATCH + match.getValue());
+            }
+        }
+
+        List<Person> found = new ArrayList<>(costs.keySet());
+        found.sort(Comparator.<Person>comparingInt(costs::get).thenComparing(person -> person.getName().fullName));
+        return found;
+    }
+
+    /**
+     * Returns at most {@code limit} persons with a name word matching {@code partialWord}, for suggesting names while
+     * it is typed. Persons are found as in {@link #searchNames(Collection)}, but the search stops as soon as enough
+     * persons are found, so that persons with exact and prefix matches are found without looking for fuzzy ones.
+     */
+    public List<Person> suggestNames(String partialWord, int limit) {
+        requireNonNull(partialWord);
+
+        String word = partialWord.trim().toLowerCase();
+        Set<Person> suggested = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<Person> suggestions = new ArrayList<>();
+        if (word.isEmpty() || limit <= 0) {
+            return suggestions;
+        }
+
+        addSuggestions(suggestions, suggested, sortedByName(nameWords.get(word)), limit);
+        for (Set<Person> persons : wordsStartingWith(word).values()) {
+            if (suggestions.size() >= limit) {
+                return suggestions;
+            }
+            addSuggestions(suggestions, suggested, sortedByName(persons), limit);
+        }
+        if (suggestions.size() < limit) {
+            List<Map.Entry<String, Integer>> matches = new ArrayList<>(fuzzyMatchesOf(word).entrySet());
+            matches.sort(Map.Entry.<String, Integer>comparingByValue().thenComparing(Map.Entry.comparingByKey()));
+            for (Map.Entry<String, Integer> match : matches) {
+                addSuggestions(suggestions, suggested, sortedByName(nameWords.get(match.getKey())), limit);
+            }
+        }
+        return suggestions;
+    }
+
+    /**
+     * Returns the name words that start with, but are not, {@code prefix}, in order.
+     */
+    private Map<String, Set<Person>> wordsStartingWith(String prefix) {
+        return nameWords.subMap(prefix, false, prefix + Character.MAX_VALUE, false);
+    }
+
+    /**
+     * Returns the name words a few edits away from {@code word}, with their distance from it.
+     * Words of up to three characters are only matched exactly or by prefix, as a single edit already turns them into
+     * too many names. Longer words may be one edit away, and words of seven characters or more two, which keeps the
+     * distance below the third of the length {@link FuzzyWordIndex} needs to find every such name word.
+     */
+    private Map<String, Integer> fuzzyMatchesOf(String word) {
+        if (word.length() < 4) {
+            return Collections.emptyMap();
+        }
+        return fuzzyNameWords.findWithin(word, word.length() < 7 ? 1 : 2);
+    }
+
+    /**
+     * Records that {@code persons}, which may be null, match at {@code cost}, keeping the lowest cost of each person.
+     */
+    private static void addMatches(Map<Person, Integer> costs, Set<Person> persons, int cost) {
+        if (persons == null) {
+            return;
+        }
+        for (Person person : persons) {
+            costs.merge(person, cost, Math::min);
+        }
+    }
+
+    /**
+     * Adds the {@code persons} not in {@code suggested} yet to {@code suggestions}, in order, until there are
+     * {@code limit} suggestions.
+     */
+    private static void addSuggestions(List<Person> suggestions, Set<Person> suggested, List<Person> persons,
+            int limit) {
+        for (Person person : persons) {
+            if (suggestions.size() >= limit) {
+                return;
+            }
+            if (suggested.add(person)) {
+                suggestions.add(person);
+            }
+        }
+    }
+
+    private static List<Person> sortedByName(Set<Person> persons) {
+        List<Person> sorted = new ArrayList<>(persons == null ? Collections.emptySet() : persons);
+        sorted.sort(Comparator.comparing(person -> person.getName().fullName));
+        return sorted;
+    }
+
+    private static String[] wordsOf(String value) {
+        String trimmed = value.trim().toLowerCase();
+        return trimmed.isEmpty() ? new String[0] : trimmed.split("\\s+");
+    }
+}
@@ -0,0 +1,21 @@
+package seedu.address.model.person;
+
+/**
+ * Represents the role of a Person in the health book, which decides the records kept for the person.
+ */
+public enum Role {
+    PATIENT("Patient"),
+    DOCTOR("Doctor"),
+    PERSON("Person");
+
+    private final String displayName;
+
+    Role(String displayName) {
+        this.displayName = displayName;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -3,8 +3,11 @@ package seedu.address.model.person;
 import static java.util.Objects.requireNonNull;
 import static seedu.address.commons.util.CollectionUtil.requireAllNonNull;
 
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -20,6 +23,19 @@ import seedu.address.model.person.exceptions.PersonNotFoundException;
  * unique in terms of identity in the UniquePersonList. However, the removal of a person uses Person#equals(Object) so
  * as to ensure that the person with exactly the same fields will be removed.
  *
+ * Persons are additionally indexed by their identity (name and phone), which is unique within the list, so that
+ * membership checks, duplicate detection and lookups do not need to scan the list. Since a person with the same
+ * identity can appear at most once, a lookup by Person#equals(Object) is an identity lookup followed by a single
+ * equality check.
+ *
+ * The position of each person in the backing list is kept in a map from the person instance, so that a person found
+ * through the identity index is also found in the list without a scan. Editing a person updates a single position;
+ * removing one shifts the persons after it in the backing list, and their positions are shifted along with them.
+ *
+ * The words in the names of persons are also indexed by a {@link PersonSearchIndex}, which is built when it is first
+ * asked for and kept up to date from then on, so that lists that are never searched, such as copies made for saving,
+ * do not pay for it.
+ *
  * Supports a minimal set of list operations.
  *
  * @see Person#isSamePerson(Person)
@@ -27,13 +43,16 @@ import seedu.address.model.person.exceptions.PersonNotFoundException;
 public class UniquePersonList implements Iterable<Person> {
 
     private final ObservableList<Person> internalList = FXCollections.observableArrayList();
+    private final Map<PersonIdentity, Person> identityIndex = new HashMap<>();
+    private final Map<Person, Integer> positions = new IdentityHashMap<>();
+    private PersonSearchIndex searchIndex;
 
     /**
      * Returns true if the list contains an equivalent person as the given argument.
      */
     public boolean contains(Person toCheck) {
         requireNonNull(toCheck);
-        return internalList.stream().anyMatch(toCheck::isSamePerson);
+        return identityIndex.containsKey(new PersonIdentity(toCheck));
     }
 
     /**
@@ -45,7 +64,12 @@ public class UniquePersonList implements Iterable<Person> {
         if (contains(toAdd)) {
             throw new DuplicatePersonException();
         }
+        positions.put(toAdd, internalList.size());
         internalList.add(toAdd);
+        identityIndex.put(new PersonIdentity(toAdd), toAdd);
+        if (searchIndex != null) {
+            searchIndex.add(toAdd);
+        }
     }
 
     /**
@@ -56,8 +80,8 @@ public class UniquePersonList implements Iterable<Person> {
     public void setPerson(Person target, Person editedPerson) {
         requireAllNonNull(target, editedPerson);
 
-        int index = internalList.indexOf(target);
-        if (index == -1) {
+        Person existing = getEqualPerson(target);
+        if (existing == null) {
             throw new PersonNotFoundException();
         }
 
@@ -65,7 +89,15 @@ public class UniquePersonList implements Iterable<Person> {
             throw new DuplicatePersonException();
         }
 
-        internalList.set(index, editedPerson);
+        int position = positions.remove(existing);
+        internalList.set(position, editedPerson);
+        positions.put(editedPerson, position);
+        identityIndex.remove(new PersonIdentity(existing));
+        identityIndex.put(new PersonIdentity(editedPerson), editedPerson);
+        if (searchIndex != null) {
+            searchIndex.remove(existing);
+            searchIndex.add(editedPerson);
+        }
     }
 
     /**
@@ -74,14 +106,27 @@ public class UniquePersonList implements Iterable<Person> {
      */
     public void remove(Person toRemove) {
         requireNonNull(toRemove);
-        if (!internalList.remove(toRemove)) {
+        Person existing = getEqualPerson(toRemove);
+        if (existing == null) {
             throw new PersonNotFoundException();
         }
+        int position = positions.remove(existing);
+        internalList.remove(position);
+        updatePositions(position, internalList.size());
+        identityIndex.remove(new PersonIdentity(existing));
+        if (searchIndex != null) {
+            searchIndex.remove(existing);
+        }
     }
 
     public void setPersons(UniquePersonList replacement) {
         requireNonNull(replacement);
         internalList.setAll(replacement.internalList);
+        identityIndex.clear();
+        identityIndex.putAll(replacement.identityIndex);
+        positions.clear();
+        positions.putAll(replacement.positions);
+        searchIndex = null;
     }
 
     /**
@@ -90,13 +135,55 @@ public class UniquePersonList implements Iterable<Person> {
      */
     public void setPersons(List<Person> persons) {
         requireAllNonNull(persons);
-        if (!personsAreUnique(persons)) {
+        Map<PersonIdentity, Person> replacementIndex = indexPersons(persons);
+        if (replacementIndex == null) {
             throw new DuplicatePersonException();
         }
 
         internalList.setAll(persons);
+        identityIndex.clear();
+        identityIndex.putAll(replacementIndex);
+        positions.clear();
+        updatePositions(0, internalList.size());
+        searchIndex = null;
+    }
+
+    /**
+     * Replaces the persons from index {@code from} (inclusive) to {@code to} (exclusive) with {@code replacement}.
+     * Duplicates are not checked for, as this is only meant for restoring an earlier state of the list.
+     */
+    public void replaceRange(int from, int to, List<Person> replacement) {
+        requireAllNonNull(replacement);
+        List<Person> replaced = internalList.subList(from, to);
+        for (Person person : replaced) {
+            identityIndex.remove(new PersonIdentity(person), person);
+            positions.remove(person);
+            if (searchIndex != null) {
+                searchIndex.remove(person);
+            }
+        }
+        replaced.clear();
+        internalList.addAll(from, replacement);
+        // the persons after the range only move if the range changes in size
+        updatePositions(from, replacement.size() == to - from ? to : internalList.size());
+        for (Person person : replacement) {
+            identityIndex.put(new PersonIdentity(person), person);
+            if (searchIndex != null) {
+                searchIndex.add(person);
+            }
+        }
     }
 
+    /**
+     * Returns the search index of the persons in the list, building it if this is the first time it is asked for.
+     */
+    public PersonSearchIndex getSearchIndex() {
+        if (searchIndex == null) {
+            searchIndex = new PersonSearchIndex();
+            internalList.forEach(searchIndex::add);
+        }
+        return searchIndex;
+    }
 
     /**
      * Finds the patient in the list with {@code persons}.
@@ -104,10 +191,9 @@ public class UniquePersonList implements Iterable<Person> {
      */
     public Patient findPatient(Patient patient) {
         requireNonNull(patient);
-        for (Person p : internalList) {
-            if (p instanceof Patient && p.equals(patient)) {
-                return (Patient) p;
-            }
+        Person p = getEqualPerson(patient);
+        if (p instanceof Patient) {
+            return (Patient) p;
         }
         throw new PersonNotFoundException();
     }
@@ -118,10 +204,9 @@ public class UniquePersonList implements Iterable<Person> {
      */
     public Doctor findDoctor(Doctor doctor) {
         requireNonNull(doctor);
-        for (Person d : internalList) {
-            if (d instanceof Doctor && d.equals(doctor)) {
-                return (Doctor) d;
-            }
+        Person d = getEqualPerson(doctor);
+        if (d instanceof Doctor) {
+            return (Doctor) d;
         }
         throw new PersonNotFoundException();
     }
@@ -151,16 +236,61 @@ public class UniquePersonList implements Iterable<Person> {
     }
 
     /**
-     * Returns true if {@code persons} contains only unique persons.
+     * Returns the person in the list that is equal to {@code person} by Person#equals(Object), or null if there is
+     * no such person.
      */
-    private boolean personsAreUnique(List<Person> persons) {
-        for (int i = 0; i < persons.size() - 1; i++) {
-            for (int j = i + 1; j < persons.size(); j++) {
-                if (persons.get(i).isSamePerson(persons.get(j))) {
-                    return false;
-                }
+    private Person getEqualPerson(Person person) {
+        Person existing = identityIndex.get(new PersonIdentity(person));
+        return person.equals(existing) ? existing : null;
+    }
+
+    /**
+     * Records the positions of the persons in the backing list from index {@code from} (inclusive) to {@code to}
+     * (exclusive), after the persons there have been shifted or replaced.
+     */
+    private void updatePositions(int from, int to) {
+        for (int i = from; i < to; i++) {
+            positions.put(internalList.get(i), i);
+        }
+    }
+
+    /**
+     * Returns an identity index of {@code persons}, or null if {@code persons} contains duplicate persons.
+     */
+    private Map<PersonIdentity, Person> indexPersons(List<Person> persons) {
+        Map<PersonIdentity, Person> index = new HashMap<>();
+        for (Person person : persons) {
+            if (index.put(new PersonIdentity(person), person) != null) {
+                return null;
             }
         }
-        return true;
+        return index;
+    }
+
+    /**
+     * Hash key for the identity fields compared by {@code Person#isSamePerson(Person)}.
+     * Names are compared case-insensitively, so the name is lower-cased before hashing.
+     */
+    private static class PersonIdentity {
+        private final String name;
+        private final String phone;
+
+        PersonIdentity(Person person) {
+            name = person.getName().fullName.toLowerCase();
+            phone = person.getPhone().value;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other == this // short circuit if same object
+                    || (other instanceof PersonIdentity // instanceof handles nulls
+                    && name.equals(((PersonIdentity) other).name)
+                    && phone.equals(((PersonIdentity) other).phone));
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * name.hashCode() + phone.hashCode();
+        }
     }
 }
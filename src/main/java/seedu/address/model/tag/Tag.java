@@ -3,6 +3,8 @@ package seedu.address.model.tag;
 import static java.util.Objects.requireNonNull;
 import static seedu.address.commons.util.AppUtil.checkArgument;
 
+import seedu.address.commons.util.InternPool;
+
 /**
  * Represents a Tag in the address book.
  * Guarantees: immutable; name is valid as declared in {@link #isValidTagName(String)}
@@ -12,6 +14,16 @@ public class Tag {
     public static final String MESSAGE_TAG_CONSTRAINTS = "Tags names should be alphanumeric";
     public static final String TAG_VALIDATION_REGEX = "\\p{Alnum}+";
 
+    public static final Tag PATIENT = new Tag("Patient");
+    public static final Tag DOCTOR = new Tag("Doctor");
+
+    private static final InternPool<Tag> POOL = new InternPool<>(Tag::new);
+
+    static {
+        POOL.add(PATIENT.tagName, PATIENT);
+        POOL.add(DOCTOR.tagName, DOCTOR);
+    }
+
     public final String tagName;
 
     /**
@@ -25,6 +37,17 @@ public class Tag {
         this.tagName = tagName;
     }
 
+    /**
+     * Returns the {@code Tag} for {@code tagName}, which is the same instance for every call with the same
+     * string.
+     *
+     * @param tagName A valid tag name.
+     * @throws IllegalArgumentException if {@code tagName} is not valid.
+     */
+    public static Tag of(String tagName) {
+        return POOL.intern(tagName);
+    }
+
     /**
      * Returns true if a given string is a valid tag name.
      */
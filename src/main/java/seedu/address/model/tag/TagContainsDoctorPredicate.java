@@ -3,15 +3,16 @@ package seedu.address.model.tag;
 import java.util.function.Predicate;
 
 import seedu.address.model.person.Person;
+import seedu.address.model.person.Role;
 
 /**
- * Tests that a {@code Person}'s {@code Tag} contains "Doctor".
+ * Tests that a {@code Person} has the doctor role, which registering a doctor tags with "Doctor".
  */
 public class TagContainsDoctorPredicate implements Predicate<Person> {
 
     @Override
     public boolean test(Person person) {
-        return person.getTags().contains(new Tag("Doctor"));
+        return person.getRole() == Role.DOCTOR;
     }
 
     @Override
@@ -3,14 +3,15 @@ package seedu.address.model.tag;
 import java.util.function.Predicate;
 
 import seedu.address.model.person.Person;
+import seedu.address.model.person.Role;
 /**
- * Tests that a {@code Person}'s {@code Tag} contains "Patient".
+ * Tests that a {@code Person} has the patient role, which registering a patient tags with "Patient".
  */
 public class TagContainsPatientPredicate implements Predicate<Person> {
 
     @Override
     public boolean test(Person person) {
-        return person.getTags().contains(new Tag("Patient"));
+        return person.getRole() == Role.PATIENT;
     }
 
     @Override
@@ -0,0 +1,602 @@
+package seedu.address.storage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.DoubleConsumer;
+import java.util.function.ToIntFunction;
+
+import seedu.address.commons.exceptions.DataConversionException;
+import seedu.address.commons.exceptions.IllegalValueException;
+import seedu.address.model.HealthBook;
+import seedu.address.model.ReadOnlyHealthBook;
+import seedu.address.model.appointment.Appointment;
+import seedu.address.model.appointment.AppointmentId;
+import seedu.address.model.appointment.ConsumptionPerDay;
+import seedu.address.model.appointment.Dosage;
+import seedu.address.model.appointment.MedicineName;
+import seedu.address.model.appointment.Prescription;
+import seedu.address.model.appointment.Status;
+import seedu.address.model.doctor.Doctor;
+import seedu.address.model.patient.Allergy;
+import seedu.address.model.patient.Condition;
+import seedu.address.model.patient.MedicalHistory;
+import seedu.address.model.patient.Patient;
+import seedu.address.model.patient.PatientHistory;
+import seedu.address.model.patient.PatientHistoryCache;
+import seedu.address.model.patient.PatientHistoryLoader;
+import seedu.address.model.person.Address;
+import seedu.address.model.person.Email;
+import seedu.address.model.person.Name;
+import seedu.address.model.person.Person;
+import seedu.address.model.person.Phone;
+import seedu.address.model.person.Remark;
+import seedu.address.model.person.Role;
+import seedu.address.model.tag.Tag;
+
+/**
+ * Converts a health book to and from the binary data file format.
+ *
+ * The file starts with {@link #MAGIC} and the {@link #FORMAT_VERSION} it was written in, followed by a dictionary of
+ * every distinct string in the health book. Records refer to strings by their position in the dictionary, so a name
+ * or medicine that appears many times is only stored once. Next come the appointment counter and the number of
+ * appointments, main list appointments and persons, then one record per distinct appointment, the positions of the
+ * appointments in the main appointment list, and one record per person. Persons refer to their appointments by
+ * position too, so appointments shared between persons and the main list are still shared after reading.
+ *
+ * Each record is prefixed with its length, so that a reader can skip fields added by a later version. Counts,
+ * lengths and positions are written as variable-length integers.
+ *
+ * The past appointments and medical history at the end of a patient record are checked but not kept when reading. They
+ * are decoded from {@code data} when the patient first needs them, and at most {@code historyCacheCapacity} decoded
+ * histories are kept in memory, so the data must not change while the health book is in use.
+ *
+ * Persons can also be written without a health book, see {@link #writePersons}. They then refer to their appointments
+ * by appointment id, which is looked up in the health book the persons are read into.
+ */
+class BinaryHealthBookCodec {
+
+    static final int MAGIC = 0x48424B42;
+    static final int FORMAT_VERSION = 1;
+
+    private static final int NO_STRING = 0;
+    private static final byte PERSON_KIND = 0;
+    private static final byte DOCTOR_KIND = 1;
+    private static final byte PATIENT_KIND = 2;
+
+    private BinaryHealthBookCodec() {}
+
+    /**
+     * Writes {@code healthBook} to {@code out} in the binary format.
+     */
+    static void write(ReadOnlyHealthBook healthBook, OutputStream out) throws IOException {
+        StringDictionary dictionary = new StringDictionary();
+        AppointmentTable appointments = new AppointmentTable();
+        healthBook.getAppointmentList().forEach(appointments::indexOf);
+
+        // persons are encoded first so that every appointment they refer to is in the table
+        ByteArrayOutputStream personRecords = new ByteArrayOutputStream();
+        DataOutputStream personOut = new DataOutputStream(personRecords);
+        for (Person person : healthBook.getPersonList()) {
+            writeRecord(personOut, record -> writePerson(record, person, dictionary, appointments::indexOf));
+        }
+
+        ByteArrayOutputStream appointmentRecords = new ByteArrayOutputStream();
+        DataOutputStream appointmentOut = new DataOutputStream(appointmentRecords);
+        for (Appointment appointment : appointments.appointments) {
+            writeRecord(appointmentOut, record -> writeAppointment(record, appointment, dictionary));
+        }
+
+        DataOutputStream data = new DataOutputStream(out);
+        writeHeader(data, dictionary);
+        data.writeInt(healthBook.getAppointmentCounter());
+        writeVarInt(data, appointments.appointments.size());
+        writeVarInt(data, healthBook.getAppointmentList().size());
+        writeVarInt(data, healthBook.getPersonList().size());
+        appointmentRecords.writeTo(data);
+        for (Appointment appointment : healthBook.getAppointmentList()) {
+            writeVarInt(data, appointments.indexOf(appointment));
+        }
+        personRecords.writeTo(data);
+        data.flush();
+    }
+
+    /**
+     * Reads a health book in the binary format from {@code data}, reporting the fraction of records read so far to
+     * {@code progressListener}. Strings are decoded straight from {@code data}, and the histories of patients from
+     * copies of the parts of {@code data} holding them when they are first needed, so that {@code data} is not kept.
+     *
+     * @throws DataConversionException if the data is not in the binary format, was written by a later version, or
+     *     violates the constraints of the model.
+     */
+    static HealthBook read(ByteBuffer data, int historyCacheCapacity, DoubleConsumer progressListener)
+            throws DataConversionException {
+        try {
+            String[] strings = readHeader(data);
+            int appointmentCounter = data.getInt();
+            Appointment[] appointments = new Appointment[readVarInt(data)];
+            int mainListSize = readVarInt(data);
+            int personCount = readVarInt(data);
+
+            ProgressReporter progress = new ProgressReporter(progressListener, appointments.length + personCount);
+            for (int i = 0; i < appointments.length; i++) {
+                appointments[i] = readAppointment(readSlice(data), strings);
+                progress.recordRead();
+            }
+
+            PatientHistoryCache historyCache = new PatientHistoryCache(historyCacheCapacity);
+            HealthBook healthBook = new HealthBook();
+            for (int i = 0; i < mainListSize; i++) {
+                healthBook.addAppointment(lookUp(appointments, readVarInt(data)));
+            }
+            AppointmentLookup appointmentLookup = reference -> lookUp(appointments, reference);
+            for (int i = 0; i < personCount; i++) {
+                XmlSerializableHealthBook.addPerson(healthBook,
+                        readPerson(readSlice(data), strings, appointmentLookup, historyCache));
+                progress.recordRead();
+            }
+            healthBook.setAppointmentCounter(appointmentCounter);
+            progressListener.accept(1);
+            return healthBook;
+        } catch (BufferUnderflowException | IllegalValueException | IllegalArgumentException | DateTimeException e) {
+            throw new DataConversionException(e);
+        }
+    }
+
+    /**
+     * Writes {@code persons} to {@code out} in the binary format, without the appointments they hold. The persons
+     * refer to their appointments by appointment id instead, for persons whose appointments are saved with the health
+     * book they belong to.
+     */
+    static void writePersons(List<Person> persons, OutputStream out) throws IOException {
+        StringDictionary dictionary = new StringDictionary();
+        ByteArrayOutputStream personRecords = new ByteArrayOutputStream();
+        DataOutputStream personOut = new DataOutputStream(personRecords);
+        for (Person person : persons) {
+            writeRecord(personOut, record -> writePerson(record, person, dictionary, Appointment::getAppointmentId));
+        }
+
+        DataOutputStream data = new DataOutputStream(out);
+        writeHeader(data, dictionary);
+        writeVarInt(data, persons.size());
+        personRecords.writeTo(data);
+        data.flush();
+    }
+
+    /**
+     * Reads the persons written by {@link #writePersons} from {@code data}, with the appointments they refer to
+     * looked up by id in {@code appointmentsById}. The histories of patients are read straight away, as the
+     * appointments may have changed by the time they would be needed.
+     *
+     * @throws DataConversionException if the data is not in the binary format, was written by a later version,
+     *     refers to an appointment that is not in {@code appointmentsById}, or violates the constraints of the model.
+     */
+    static List<Person> readPersons(ByteBuffer data, Map<Integer, Appointment> appointmentsById)
+            throws DataConversionException {
+        try {
+            String[] strings = readHeader(data);
+            AppointmentLookup appointments = appointmentId -> {
+                Appointment appointment = appointmentsById.get(appointmentId);
+                if (appointment == null) {
+                    throw new IllegalValueException("Missing appointment " + appointmentId);
+                }
+                return appointment;
+            };
+            int personCount = readVarInt(data);
+            List<Person> persons = new ArrayList<>(personCount);
+            for (int i = 0; i < personCount; i++) {
+                persons.add(readPerson(readSlice(data), strings, appointments, null));
+            }
+            return persons;
+        } catch (BufferUnderflowException | IllegalValueException | IllegalArgumentException | DateTimeException e) {
+            throw new DataConversionException(e);
+        }
+    }
+
+    /**
+     * Writes {@link #MAGIC}, the {@link #FORMAT_VERSION} and the strings in {@code dictionary}.
+     */
+    private static void writeHeader(DataOutputStream data, StringDictionary dictionary) throws IOException {
+        data.writeInt(MAGIC);
+        data.writeInt(FORMAT_VERSION);
+        writeVarInt(data, dictionary.strings.size());
+        for (String string : dictionary.strings) {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(data, bytes.length);
+            data.write(bytes);
+        }
+    }
+
+    /**
+     * Checks the header written by {@link #writeHeader} and returns the strings in its dictionary.
+     */
+    private static String[] readHeader(ByteBuffer data) throws IllegalValueException {
+        if (data.getInt() != MAGIC) {
+            throw new IllegalValueException("Not a binary health book file");
+        }
+        int version = data.getInt();
+        if (version > FORMAT_VERSION) {
+            throw new IllegalValueException("Unsupported binary health book version " + version);
+        }
+
+        String[] strings = new String[readVarInt(data)];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = StandardCharsets.UTF_8.decode(readSlice(data)).toString();
+        }
+        return strings;
+    }
+
+    // ================ Records ==============================
+
+    /**
+     * Writes the fields of {@code appointment}, with its strings replaced by their positions in {@code dictionary}.
+     */
+    private static void writeAppointment(DataOutputStream out, Appointment appointment,
+                                         StringDictionary dictionary) throws IOException {
+        out.writeInt(appointment.getAppointmentId());
+        writeVarInt(out, dictionary.indexOf(appointment.getDoctor()));
+        writeVarInt(out, dictionary.indexOf(appointment.getPatient()));
+        out.writeLong(appointment.getDateTime().toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(appointment.getDateTime().getNano());
+        out.writeByte(appointment.getStatus().ordinal());
+        writeVarInt(out, dictionary.indexOf(appointment.getComments()));
+        writeVarInt(out, appointment.getPrescriptions().size());
+        for (Prescription prescription : appointment.getPrescriptions()) {
+            out.writeInt(prescription.getId());
+            writeVarInt(out, dictionary.indexOf(prescription.getMedicineName().getFullMedicineName()));
+            writeVarInt(out, dictionary.indexOf(prescription.getDosage().getValue()));
+            writeVarInt(out, dictionary.indexOf(prescription.getConsumptionPerDay().getValue()));
+        }
+    }
+
+    /**
+     * Returns the appointment written by {@link #writeAppointment}, looking up its strings in {@code strings}.
+     */
+    private static Appointment readAppointment(ByteBuffer in, String[] strings) throws IllegalValueException {
+        int appointmentId = in.getInt();
+        String doctor = requireString(in, strings);
+        String patient = requireString(in, strings);
+        LocalDateTime dateTime = LocalDateTime.ofEpochSecond(in.getLong(), in.getInt(), ZoneOffset.UTC);
+        Status status = lookUp(Status.values(), in.get());
+        String comments = readString(in, strings);
+        int prescriptionCount = readVarInt(in);
+        List<Prescription> prescriptions = new ArrayList<>(prescriptionCount);
+        for (int i = 0; i < prescriptionCount; i++) {
+            prescriptions.add(new Prescription(in.getInt(), MedicineName.of(requireString(in, strings)),
+                    new Dosage(requireString(in, strings)), new ConsumptionPerDay(requireString(in, strings))));
+        }
+        return new Appointment(new AppointmentId(appointmentId), doctor, patient, dateTime, status, comments,
+                prescriptions);
+    }
+
+    /**
+     * Writes the fields of {@code person}, with its strings replaced by their positions in {@code dictionary} and its
+     * appointments by the references {@code appointments} gives them. The history of a patient comes last, so that it
+     * can be read later.
+     */
+    private static void writePerson(DataOutputStream out, Person person, StringDictionary dictionary,
+                                    ToIntFunction<Appointment> appointments) throws IOException {
+        out.writeByte(person.getRole() == Role.PATIENT ? PATIENT_KIND
+                : person.getRole() == Role.DOCTOR ? DOCTOR_KIND : PERSON_KIND);
+        writeVarInt(out, dictionary.indexOf(person.getName().fullName));
+        writeVarInt(out, dictionary.indexOf(person.getPhone().value));
+        writeVarInt(out, dictionary.indexOf(person.getEmail().value));
+        writeVarInt(out, dictionary.indexOf(person.getAddress().value));
+        writeVarInt(out, dictionary.indexOf(person.getRemark().value));
+        writeVarInt(out, person.getTags().size());
+        for (Tag tag : person.getTags()) {
+            writeVarInt(out, dictionary.indexOf(tag.tagName));
+        }
+
+        if (person instanceof Doctor) {
+            writeAppointmentReferences(out, ((Doctor) person).getUpcomingAppointments(), appointments);
+        } else if (person instanceof Patient) {
+            Patient patient = (Patient) person;
+            writeVarInt(out, dictionary.indexOf(patient.getTelegramId()));
+            writeAppointmentReferences(out, patient.getUpcomingAppointments(), appointments);
+            writeAppointmentReferences(out, patient.getPastAppointments(), appointments);
+            writeVarInt(out, patient.getMedicalHistory().getAllergies().size());
+            for (Allergy allergy : patient.getMedicalHistory().getAllergies()) {
+                writeVarInt(out, dictionary.indexOf(allergy.getAllergy()));
+            }
+            writeVarInt(out, patient.getMedicalHistory().getConditions().size());
+            for (Condition condition : patient.getMedicalHistory().getConditions()) {
+                writeVarInt(out, dictionary.indexOf(condition.getCondition()));
+            }
+        }
+    }
+
+    /**
+     * Returns the person written by {@link #writePerson}, with the history of a patient left in the record until it
+     * is first used, as a {@code PatientHistoryLoader} that reports it to {@code historyCache}, or read straight away
+     * if there is no {@code historyCache}.
+     */
+    private static Person readPerson(ByteBuffer in, String[] strings, AppointmentLookup appointments,
+                                     PatientHistoryCache historyCache) throws IllegalValueException {
+        byte kind = in.get();
+        Name name = new Name(requireString(in, strings));
+        Phone phone = new Phone(requireString(in, strings));
+        Email email = new Email(requireString(in, strings));
+        Address address = new Address(requireString(in, strings));
+        Remark remark = new Remark(requireString(in, strings));
+        int tagCount = readVarInt(in);
+        Set<Tag> tags = new HashSet<>();
+        for (int i = 0; i < tagCount; i++) {
+            tags.add(Tag.of(requireString(in, strings)));
+        }
+
+        switch (kind) {
+        case DOCTOR_KIND:
+            return new Doctor(name, phone, email, address, remark, tags,
+                    readAppointmentReferences(in, appointments));
+        case PATIENT_KIND:
+            String telegramId = readString(in, strings);
+            List<Appointment> upcomingAppointments = readAppointmentReferences(in, appointments);
+            if (historyCache == null) {
+                PatientHistory storedHistory = readHistory(in, strings, appointments);
+                return new Patient(name, phone, email, address, remark, tags, telegramId, upcomingAppointments,
+                        storedHistory.getPastAppointments(), storedHistory.getMedicalHistory());
+            }
+            // the history is copied so that the patient does not keep the whole buffer it was read from
+            ByteBuffer history = ByteBuffer.allocate(in.remaining()).put(in.slice());
+            history.flip();
+            checkHistory(history.duplicate(), strings, appointments);
+            return new Patient(name, phone, email, address, remark, tags, telegramId, upcomingAppointments,
+                    new StoredHistoryLoader(history, strings, appointments, historyCache));
+        case PERSON_KIND:
+            return new Person(name, phone, email, address, remark, tags);
+        default:
+            throw new IllegalValueException("Unknown person kind " + kind);
+        }
+    }
+
+    /**
+     * Checks that the past appointments and medical history in {@code in} refer to existing appointments and strings
+     * and are valid, without keeping any of them.
+     */
+    private static void checkHistory(ByteBuffer in, String[] strings, AppointmentLookup appointments)
+            throws IllegalValueException {
+        for (int i = readVarInt(in); i > 0; i--) {
+            appointments.lookUp(readVarInt(in));
+        }
+        for (int i = readVarInt(in); i > 0; i--) {
+            if (!Allergy.isValidAllergy(requireString(in, strings))) {
+                throw new IllegalValueException(Allergy.MESSAGE_ALLERGY_CONSTRAINTS);
+            }
+        }
+        for (int i = readVarInt(in); i > 0; i--) {
+            if (!Condition.isValidCondition(requireString(in, strings))) {
+                throw new IllegalValueException(Condition.MESSAGE_CONDITION_CONSTRAINTS);
+            }
+        }
+    }
+
+    /**
+     * Returns the past appointments and medical history at the end of a patient's record.
+     */
+    private static PatientHistory readHistory(ByteBuffer in, String[] strings, AppointmentLookup appointments)
+            throws IllegalValueException {
+        List<Appointment> pastAppointments = readAppointmentReferences(in, appointments);
+        ArrayList<Allergy> allergies = new ArrayList<>();
+        for (int i = readVarInt(in); i > 0; i--) {
+            allergies.add(Allergy.of(requireString(in, strings)));
+        }
+        ArrayList<Condition> conditions = new ArrayList<>();
+        for (int i = readVarInt(in); i > 0; i--) {
+            conditions.add(Condition.of(requireString(in, strings)));
+        }
+        return new PatientHistory(pastAppointments, new MedicalHistory(allergies, conditions));
+    }
+
+    /**
+     * Writes the number of {@code personAppointments}, followed by the reference {@code appointments} gives each.
+     */
+    private static void writeAppointmentReferences(DataOutputStream out, List<Appointment> personAppointments,
+                                                   ToIntFunction<Appointment> appointments) throws IOException {
+        writeVarInt(out, personAppointments.size());
+        for (Appointment appointment : personAppointments) {
+            writeVarInt(out, appointments.applyAsInt(appointment));
+        }
+    }
+
+    /**
+     * Returns the appointments written by {@link #writeAppointmentReferences}, looked up in {@code appointments}.
+     */
+    private static List<Appointment> readAppointmentReferences(ByteBuffer in, AppointmentLookup appointments)
+            throws IllegalValueException {
+        int count = readVarInt(in);
+        List<Appointment> personAppointments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            personAppointments.add(appointments.lookUp(readVarInt(in)));
+        }
+        return personAppointments;
+    }
+
+    // ================ Encoding helpers ==============================
+
+    /**
+     * Writes the bytes written by {@code recordWriter}, prefixed with their length.
+     */
+    private static void writeRecord(DataOutputStream out, RecordWriter recordWriter) throws IOException {
+        ByteArrayOutputStream record = new ByteArrayOutputStream();
+        recordWriter.write(new DataOutputStream(record));
+        writeVarInt(out, record.size());
+        record.writeTo(out);
+    }
+
+    /**
+     * Returns a view of the next length-prefixed record or string and moves {@code in} past it.
+     * Fields at the end of a record that are not read are skipped.
+     */
+    private static ByteBuffer readSlice(ByteBuffer in) throws IllegalValueException {
+        int length = readVarInt(in);
+        if (length > in.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        ByteBuffer slice = in.slice();
+        slice.limit(length);
+        in.position(in.position() + length);
+        return slice;
+    }
+
+    /**
+     * Returns the string at the next position in {@code strings}, or null if there is no string.
+     */
+    private static String readString(ByteBuffer in, String[] strings) throws IllegalValueException {
+        int reference = readVarInt(in);
+        return reference == NO_STRING ? null : lookUp(strings, reference - 1);
+    }
+
+    /**
+     * Returns the string at the next position in {@code strings}.
+     * @throws IllegalValueException if there is no string.
+     */
+    private static String requireString(ByteBuffer in, String[] strings) throws IllegalValueException {
+        String string = readString(in, strings);
+        if (string == null) {
+            throw new IllegalValueException("Missing string in record");
+        }
+        return string;
+    }
+
+    /**
+     * Returns the element of {@code values} at {@code index}.
+     * @throws IllegalValueException if there is no such element.
+     */
+    private static <T> T lookUp(T[] values, int index) throws IllegalValueException {
+        if (index < 0 || index >= values.length) {
+            throw new IllegalValueException("Reference " + index + " out of range");
+        }
+        return values[index];
+    }
+
+    /**
+     * Writes a non-negative {@code value} using 7 bits per byte, so that small values take a single byte.
+     */
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    /**
+     * Returns the non-negative value written by {@link #writeVarInt}.
+     * @throws IllegalValueException if the bytes do not encode such a value.
+     */
+    private static int readVarInt(ByteBuffer in) throws IllegalValueException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = Byte.toUnsignedInt(in.get());
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                if (value < 0) {
+                    break;
+                }
+                return value;
+            }
+        }
+        throw new IllegalValueException("Malformed variable-length integer");
+    }
+
+    /**
+     * Writes the fields of a single record.
+     */
+    private interface RecordWriter {
+        void write(DataOutputStream record) throws IOException;
+    }
+
+    /**
+     * Looks up the appointment a person record refers to by {@code reference}.
+     */
+    private interface AppointmentLookup {
+        Appointment lookUp(int reference) throws IllegalValueException;
+    }
+
+    /**
+     * Decodes the history of a patient from the rest of its record each time it is loaded.
+     */
+    private static class StoredHistoryLoader implements PatientHistoryLoader {
+        private final ByteBuffer history;
+        private final String[] strings;
+        private final AppointmentLookup appointments;
+        private final PatientHistoryCache historyCache;
+
+        StoredHistoryLoader(ByteBuffer history, String[] strings, AppointmentLookup appointments,
+                            PatientHistoryCache historyCache) {
+            this.history = history;
+            this.strings = strings;
+            this.appointments = appointments;
+            this.historyCache = historyCache;
+        }
+
+        @Override
+        public PatientHistory load() {
+            try {
+                // each load reads through its own view, so that loads on different threads do not interfere
+                return readHistory(history.duplicate(), strings, appointments);
+            } catch (IllegalValueException | BufferUnderflowException e) {
+                throw new IllegalStateException("Patient history changed since it was checked", e);
+            }
+        }
+
+        @Override
+        public void historyLoaded(Patient patient) {
+            historyCache.recordLoaded(this, patient);
+        }
+    }
+
+    /**
+     * Assigns each distinct string a position, starting from 1 as 0 stands for a missing string.
+     */
+    private static class StringDictionary {
+        private final Map<String, Integer> references = new HashMap<>();
+        private final List<String> strings = new ArrayList<>();
+
+        /**
+         * Returns the position of {@code string}, assigning it the next one if it has none yet.
+         */
+        int indexOf(String string) {
+            if (string == null) {
+                return NO_STRING;
+            }
+            return references.computeIfAbsent(string, key -> {
+                strings.add(key);
+                return strings.size();
+            });
+        }
+    }
+
+    /**
+     * Assigns each distinct appointment instance a position, in the order they are first seen.
+     */
+    private static class AppointmentTable {
+        private final Map<Appointment, Integer> positions = new IdentityHashMap<>();
+        private final List<Appointment> appointments = new ArrayList<>();
+
+        /**
+         * Returns the position of {@code appointment}, assigning it the next one if it has none yet.
+         */
+        int indexOf(Appointment appointment) {
+            return positions.computeIfAbsent(appointment, key -> {
+                appointments.add(key);
+                return appointments.size() - 1;
+            });
+        }
+    }
+}
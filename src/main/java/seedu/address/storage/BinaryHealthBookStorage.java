@@ -0,0 +1,114 @@
+package seedu.address.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.function.DoubleConsumer;
+import java.util.logging.Logger;
+
+import seedu.address.commons.core.LogsCenter;
+import seedu.address.commons.exceptions.DataConversionException;
+import seedu.address.commons.util.FileUtil;
+import seedu.address.model.ReadOnlyHealthBook;
+
+/**
+ * A class to access HealthBook data stored in the compact binary format on the hard disk.
+ * See {@link BinaryHealthBookCodec} for the layout of the file.
+ * The past appointments and medical history of a patient are read from the file when they are first needed, and the
+ * histories of at most {@link #HISTORY_CACHE_CAPACITY} patients are kept in memory.
+ */
+public class BinaryHealthBookStorage implements HealthBookStorage {
+
+    public static final int HISTORY_CACHE_CAPACITY = 100;
+
+    private static final Logger logger = LogsCenter.getLogger(BinaryHealthBookStorage.class);
+
+    private Path filePath;
+    private final DoubleConsumer progressListener;
+
+    public BinaryHealthBookStorage(Path filePath) {
+        this(filePath, progress -> {});
+    }
+
+    /**
+     * Creates a storage that reports the fraction of the file read so far, between 0 and 1, to
+     * {@code progressListener} while reading.
+     */
+    public BinaryHealthBookStorage(Path filePath, DoubleConsumer progressListener) {
+        requireNonNull(progressListener);
+        this.filePath = filePath;
+        this.progressListener = progressListener;
+    }
+
+    @Override
+    public Path getAddressBookFilePath() {
+        return filePath;
+    }
+
+    @Override
+    public Optional<ReadOnlyHealthBook> readAddressBook() throws DataConversionException, IOException {
+        return readAddressBook(filePath);
+    }
+
+    /**
+     * Similar to {@link #readAddressBook()}
+     * The file is read into memory at once and decoded from there. The patients read from it keep copies of the parts
+     * of it holding their history instead of the whole file, so that the file is not kept in use.
+     * @param filePath location of the data. Cannot be null
+     * @throws DataConversionException if the file is not in the correct format.
+     */
+    @Override
+    public Optional<ReadOnlyHealthBook> readAddressBook(Path filePath) throws DataConversionException,
+                                                                                 IOException {
+        requireNonNull(filePath);
+
+        if (!Files.exists(filePath)) {
+            logger.info("HealthBook file " + filePath + " not found");
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(BinaryHealthBookCodec.read(FileUtil.readIntoBuffer(filePath),
+                    HISTORY_CACHE_CAPACITY, progressListener));
+        } catch (DataConversionException e) {
+            logger.info("Invalid data found in " + filePath + ": " + e.getMessage());
+            throw e;
+        }
+    }
+
+    @Override
+    public void saveAddressBook(ReadOnlyHealthBook addressBook) throws IOException {
+        saveAddressBook(addressBook, filePath);
+    }
+
+    /**
+     * Similar to {@link #saveAddressBook(ReadOnlyHealthBook)}
+     * The file is replaced atomically, see {@link FileUtil#replaceAtomically(Path, Path)}.
+     * @param filePath location of the data. Cannot be null
+     */
+    @Override
+    public void saveAddressBook(ReadOnlyHealthBook addressBook, Path filePath) throws IOException {
+        requireNonNull(addressBook);
+        requireNonNull(filePath);
+
+        FileUtil.createIfMissing(filePath);
+        Path tempFile = FileUtil.createTempFileNextTo(filePath);
+        try {
+            try (FileOutputStream out = new FileOutputStream(tempFile.toFile())) {
+                BufferedOutputStream bufferedOut = new BufferedOutputStream(out);
+                BinaryHealthBookCodec.write(addressBook, bufferedOut);
+                bufferedOut.flush();
+                out.getFD().sync();
+            }
+            FileUtil.replaceAtomically(tempFile, filePath);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+}
@@ -0,0 +1,27 @@
+package seedu.address.storage;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * An append-only log of the commands executed since the data file was last saved.
+ * The commands are only replayed on top of the data file they were executed on, see {@link DataFileJournal}.
+ */
+public class CommandJournal extends DataFileJournal {
+
+    public static final String JOURNAL_FILE_SUFFIX = ".journal";
+
+    public CommandJournal(Path dataFile) {
+        super(dataFile, JOURNAL_FILE_SUFFIX);
+    }
+
+    /**
+     * Returns the commands in the journal, oldest first.
+     * Returns an empty list if there is no journal or if it was not started on the current data file.
+     * A last command that was only partially written is left out.
+     */
+    public List<String> readCommands() throws IOException {
+        return readEntries();
+    }
+}
@@ -0,0 +1,130 @@
+package seedu.address.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import seedu.address.commons.util.FileUtil;
+
+/**
+ * An append-only log of single-line entries kept next to a data file, holding what happened since the data file was
+ * last saved.
+ * The first line of the journal holds the checksum of the data file the entries apply to. The entries are only read
+ * back on top of that exact data file, so a journal that is older than the data file (e.g. because the app stopped
+ * after saving but before starting a new journal) is ignored.
+ */
+public class DataFileJournal {
+
+    private static final String HEADER_PREFIX = "data-checksum ";
+    private static final String LINE_SEPARATOR = "\n";
+
+    private final Path journalFile;
+    private final Path dataFile;
+
+    /**
+     * Creates a journal for {@code dataFile}, kept in the file named like {@code dataFile} followed by
+     * {@code journalFileSuffix}.
+     */
+    public DataFileJournal(Path dataFile, String journalFileSuffix) {
+        requireNonNull(dataFile);
+        requireNonNull(journalFileSuffix);
+        this.dataFile = dataFile;
+        this.journalFile = Paths.get(dataFile.toString() + journalFileSuffix);
+    }
+
+    public Path getJournalFilePath() {
+        return journalFile;
+    }
+
+    /**
+     * Starts a new, empty journal for the current contents of the data file, replacing any existing journal.
+     */
+    public void start() throws IOException {
+        FileUtil.writeToFile(journalFile, HEADER_PREFIX + checksumOf(dataFile) + LINE_SEPARATOR);
+    }
+
+    /**
+     * Appends {@code entry}, which must be a single line, to the journal and forces it to disk before returning.
+     */
+    public void append(String entry) throws IOException {
+        append(Collections.singletonList(entry));
+    }
+
+    /**
+     * Appends {@code entries}, which must each be a single line, to the journal and forces them to disk before
+     * returning.
+     */
+    public void append(List<String> entries) throws IOException {
+        requireNonNull(entries);
+        StringBuilder lines = new StringBuilder();
+        for (String entry : entries) {
+            if (entry.contains(LINE_SEPARATOR)) {
+                throw new IllegalArgumentException("Journal entries must be single lines");
+            }
+            lines.append(entry).append(LINE_SEPARATOR);
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+        try (FileChannel channel = FileChannel.open(journalFile,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Returns the entries in the journal, oldest first.
+     * Returns an empty list if there is no journal or if it was not started on the current data file.
+     * A last entry that was only partially written is left out.
+     */
+    public List<String> readEntries() throws IOException {
+        if (!Files.exists(journalFile) || !Files.exists(dataFile)) {
+            return Collections.emptyList();
+        }
+
+        String content = new String(Files.readAllBytes(journalFile), StandardCharsets.UTF_8);
+        int endOfHeader = content.indexOf(LINE_SEPARATOR);
+        if (endOfHeader == -1
+                || !content.substring(0, endOfHeader).equals(HEADER_PREFIX + checksumOf(dataFile))) {
+            return Collections.emptyList();
+        }
+
+        List<String> entries = new ArrayList<>();
+        int start = endOfHeader + 1;
+        int end = content.indexOf(LINE_SEPARATOR, start);
+        while (end != -1) {
+            entries.add(content.substring(start, end));
+            start = end + 1;
+            end = content.indexOf(LINE_SEPARATOR, start);
+        }
+        return entries;
+    }
+
+    /**
+     * Returns the CRC-32 checksum of the contents of {@code file}.
+     */
+    private static long checksumOf(Path file) throws IOException {
+        CRC32 checksum = new CRC32();
+        byte[] buffer = new byte[8192];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                checksum.update(buffer, 0, read);
+            }
+        }
+        return checksum.getValue();
+    }
+}
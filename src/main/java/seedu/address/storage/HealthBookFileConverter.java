@@ -0,0 +1,86 @@
+package seedu.address.storage;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import seedu.address.commons.exceptions.DataConversionException;
+import seedu.address.model.ReadOnlyHealthBook;
+
+/**
+ * Converts health book data files between the xml, binary and indexed formats, e.g. to migrate to the binary format or
+ * to fall back to xml.
+ */
+public class HealthBookFileConverter {
+
+    private static final String USAGE =
+            "Usage: HealthBookFileConverter (to-binary|to-xml|to-indexed) SOURCE_FILE TARGET_FILE";
+    private static final String TO_BINARY = "to-binary";
+    private static final String TO_XML = "to-xml";
+    private static final String TO_INDEXED = "to-indexed";
+
+    private HealthBookFileConverter() {}
+
+    /**
+     * Reads the health book in {@code source} and saves it to {@code target}.
+     *
+     * @throws FileNotFoundException if {@code source} has no data file.
+     * @throws DataConversionException if the data file of {@code source} is not in the expected format.
+     */
+    public static void convert(HealthBookStorage source, HealthBookStorage target)
+            throws DataConversionException, IOException {
+        ReadOnlyHealthBook healthBook = source.readAddressBook().orElseThrow(() ->
+                new FileNotFoundException("File not found : " + source.getAddressBookFilePath().toAbsolutePath()));
+        target.saveAddressBook(healthBook);
+    }
+
+    /**
+     * Saves a copy of {@code xmlFile} in the binary format at {@code binaryFile}.
+     */
+    public static void xmlToBinary(Path xmlFile, Path binaryFile) throws DataConversionException, IOException {
+        convert(new XmlHealthBookStorage(xmlFile), new BinaryHealthBookStorage(binaryFile));
+    }
+
+    /**
+     * Saves a copy of {@code binaryFile} in the xml format at {@code xmlFile}.
+     */
+    public static void binaryToXml(Path binaryFile, Path xmlFile) throws DataConversionException, IOException {
+        convert(new BinaryHealthBookStorage(binaryFile), new XmlHealthBookStorage(xmlFile));
+    }
+
+    /**
+     * Saves a copy of {@code xmlFile} in the indexed format at {@code indexedFile}.
+     */
+    public static void xmlToIndexed(Path xmlFile, Path indexedFile) throws DataConversionException, IOException {
+        convert(new XmlHealthBookStorage(xmlFile), new IndexedHealthBookStorage(indexedFile));
+    }
+
+    /**
+     * Converts the data file named by the second argument to the format named by the first, saving it at the path
+     * named by the third.
+     */
+    public static void main(String[] args) throws DataConversionException, IOException {
+        if (args.length != 3) {
+            System.err.println(USAGE);
+            System.exit(1);
+        }
+
+        Path source = Paths.get(args[1]);
+        Path target = Paths.get(args[2]);
+        switch (args[0]) {
+        case TO_BINARY:
+            xmlToBinary(source, target);
+            break;
+        case TO_XML:
+            binaryToXml(source, target);
+            break;
+        case TO_INDEXED:
+            xmlToIndexed(source, target);
+            break;
+        default:
+            System.err.println(USAGE);
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package seedu.address.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.logging.Logger;
+
+import seedu.address.commons.core.LogsCenter;
+import seedu.address.commons.exceptions.DataConversionException;
+import seedu.address.model.HealthBook;
+import seedu.address.model.HealthBookChanges;
+import seedu.address.model.HealthBookChanges.RecordEdit;
+import seedu.address.model.ReadOnlyHealthBook;
+import seedu.address.model.appointment.Appointment;
+import seedu.address.model.person.Person;
+
+/**
+ * A {@code HealthBookStorage} that can save the changes made to a health book without rewriting the whole data file.
+ * The whole health book is saved to the data file by another {@code HealthBookStorage}. Changes made after that are
+ * appended to a journal next to the data file, one line per edit holding only the edited records, and are applied to
+ * the data file when it is read. The data file is rewritten, and the journal emptied, once
+ * {@value #EDITS_PER_COMPACTION} edits have been appended.
+ *
+ * Each edit line names the list it edits, the position and number of replaced records, and the new records in the
+ * binary format of {@link BinaryHealthBookCodec}, encoded in Base64. Persons refer to their appointments by
+ * appointment id, so that they share the appointments of the health book they are read into.
+ */
+public class IncrementalHealthBookStorage implements HealthBookStorage {
+
+    public static final String JOURNAL_FILE_SUFFIX = ".changes";
+    public static final int EDITS_PER_COMPACTION = 1000;
+
+    private static final Logger logger = LogsCenter.getLogger(IncrementalHealthBookStorage.class);
+
+    private static final String PERSON_EDIT = "persons";
+    private static final String APPOINTMENT_EDIT = "appointments";
+    private static final String APPOINTMENT_COUNTER = "counter";
+    private static final String FIELD_SEPARATOR = " ";
+
+    private final HealthBookStorage dataFileStorage;
+    private final DataFileJournal journal;
+    // changes can only be appended to a journal started on the data file as it was last saved by this storage
+    private volatile boolean isJournalStarted;
+    private int editsSinceCompaction;
+
+    public IncrementalHealthBookStorage(HealthBookStorage dataFileStorage) {
+        requireNonNull(dataFileStorage);
+        this.dataFileStorage = dataFileStorage;
+        this.journal = new DataFileJournal(dataFileStorage.getAddressBookFilePath(), JOURNAL_FILE_SUFFIX);
+    }
+
+    @Override
+    public Path getAddressBookFilePath() {
+        return dataFileStorage.getAddressBookFilePath();
+    }
+
+    @Override
+    public Optional<ReadOnlyHealthBook> readAddressBook() throws DataConversionException, IOException {
+        return readAddressBook(getAddressBookFilePath());
+    }
+
+    /**
+     * Similar to {@link #readAddressBook()}
+     * The changes journaled since the data file was saved are applied to it.
+     * @param filePath location of the data. Cannot be null
+     * @throws DataConversionException if the data file or the journal is not in the correct format.
+     */
+    @Override
+    public Optional<ReadOnlyHealthBook> readAddressBook(Path filePath) throws DataConversionException, IOException {
+        requireNonNull(filePath);
+
+        Optional<ReadOnlyHealthBook> savedHealthBook = dataFileStorage.readAddressBook(filePath);
+        if (!savedHealthBook.isPresent()) {
+            return savedHealthBook;
+        }
+
+        List<String> edits = new DataFileJournal(filePath, JOURNAL_FILE_SUFFIX).readEntries();
+        if (edits.isEmpty()) {
+            return savedHealthBook;
+        }
+        logger.info("Applying " + edits.size() + " journaled changes to " + filePath);
+        List<EncodedPersonEdit> encodedPersonEdits = new ArrayList<>();
+        List<RecordEdit<Appointment>> appointmentEdits = new ArrayList<>();
+        int appointmentCounter = savedHealthBook.get().getAppointmentCounter();
+        for (String edit : edits) {
+            appointmentCounter = decodeEdit(edit, encodedPersonEdits, appointmentEdits, appointmentCounter);
+        }
+        HealthBook healthBook = new HealthBook(savedHealthBook.get());
+        healthBook.applyChanges(new HealthBookChanges(Collections.emptyList(), appointmentEdits, appointmentCounter));
+
+        // the persons refer to their appointments by id, so they are read once the appointments are up to date
+        Map<Integer, Appointment> appointmentsById = indexAppointments(savedHealthBook.get(), appointmentEdits,
+                healthBook);
+        List<RecordEdit<Person>> personEdits = new ArrayList<>();
+        for (EncodedPersonEdit edit : encodedPersonEdits) {
+            personEdits.add(new RecordEdit<>(edit.from, edit.removedCount,
+                    BinaryHealthBookCodec.readPersons(edit.records, appointmentsById)));
+        }
+        healthBook.applyChanges(new HealthBookChanges(personEdits, Collections.emptyList(), appointmentCounter));
+        return Optional.of(healthBook);
+    }
+
+    @Override
+    public void saveAddressBook(ReadOnlyHealthBook addressBook) throws IOException {
+        saveAddressBook(addressBook, getAddressBookFilePath());
+    }
+
+    /**
+     * Similar to {@link #saveAddressBook(ReadOnlyHealthBook)}
+     * The journal of the data file is emptied.
+     * @param filePath location of the data. Cannot be null
+     */
+    @Override
+    public void saveAddressBook(ReadOnlyHealthBook addressBook, Path filePath) throws IOException {
+        requireNonNull(addressBook);
+        requireNonNull(filePath);
+
+        boolean isOwnDataFile = filePath.equals(getAddressBookFilePath());
+        if (isOwnDataFile) {
+            isJournalStarted = false;
+        }
+        dataFileStorage.saveAddressBook(addressBook, filePath);
+        new DataFileJournal(filePath, JOURNAL_FILE_SUFFIX).start();
+        if (isOwnDataFile) {
+            isJournalStarted = true;
+            editsSinceCompaction = 0;
+        }
+    }
+
+    /**
+     * Returns true if changes can be saved with {@link #saveChanges(List)}, which is once the whole health book has
+     * been saved by this storage, as long as no save has failed since.
+     */
+    public boolean canSaveChanges() {
+        return isJournalStarted;
+    }
+
+    /**
+     * Returns {@code changes} in the form they are saved in.
+     * The records are encoded straight away, so they can be saved later even if they change in the meantime.
+     */
+    public List<String> encodeChanges(HealthBookChanges changes) throws IOException {
+        requireNonNull(changes);
+
+        List<String> edits = new ArrayList<>();
+        for (RecordEdit<Person> edit : changes.getPersonEdits()) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            BinaryHealthBookCodec.writePersons(edit.getAdded(), out);
+            edits.add(encodeEdit(PERSON_EDIT, edit, out));
+        }
+        for (RecordEdit<Appointment> edit : changes.getAppointmentEdits()) {
+            HealthBook records = new HealthBook();
+            records.setAppointments(edit.getAdded());
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            BinaryHealthBookCodec.write(records, out);
+            edits.add(encodeEdit(APPOINTMENT_EDIT, edit, out));
+        }
+        edits.add(APPOINTMENT_COUNTER + FIELD_SEPARATOR + changes.getAppointmentCounter());
+        return edits;
+    }
+
+    /**
+     * Appends changes encoded by {@link #encodeChanges(HealthBookChanges)} to the journal, on top of the health book
+     * last saved by this storage. The data file is rewritten with the changes applied instead if the journal has grown
+     * long.
+     *
+     * @throws IllegalStateException if the whole health book has not been saved by this storage yet, or the last
+     *     save failed.
+     */
+    public void saveChanges(List<String> encodedChanges) throws IOException, DataConversionException {
+        requireNonNull(encodedChanges);
+        if (!isJournalStarted) {
+            throw new IllegalStateException("The whole health book must be saved before its changes");
+        }
+
+        try {
+            journal.append(encodedChanges);
+        } catch (IOException e) {
+            // a partly written entry must not be followed by more entries, so the next save rewrites the data file
+            isJournalStarted = false;
+            throw e;
+        }
+        editsSinceCompaction += encodedChanges.size();
+        if (editsSinceCompaction >= EDITS_PER_COMPACTION) {
+            logger.info("Rewriting " + getAddressBookFilePath() + " with its journaled changes");
+            saveAddressBook(readAddressBook().orElseThrow(() ->
+                    new IOException("Data file " + getAddressBookFilePath() + " disappeared")));
+        }
+    }
+
+    /**
+     * Returns a journal line for {@code edit} to {@code list}, with the records it added written to {@code records}
+     * by {@link BinaryHealthBookCodec}.
+     */
+    private static String encodeEdit(String list, RecordEdit<?> edit, ByteArrayOutputStream records) {
+        return String.join(FIELD_SEPARATOR, list, String.valueOf(edit.getFrom()),
+                String.valueOf(edit.getRemovedCount()), Base64.getEncoder().encodeToString(records.toByteArray()));
+    }
+
+    /**
+     * Returns the appointments that journaled persons can refer to by id: those of {@code restoredHealthBook}, and
+     * for the persons of edits that later edits replaced, the appointments {@code savedHealthBook} and
+     * {@code appointmentEdits} had in between.
+     */
+    private static Map<Integer, Appointment> indexAppointments(ReadOnlyHealthBook savedHealthBook,
+                                                               List<RecordEdit<Appointment>> appointmentEdits,
+                                                               ReadOnlyHealthBook restoredHealthBook) {
+        Map<Integer, Appointment> appointmentsById = new HashMap<>();
+        savedHealthBook.getAppointmentList().forEach(appt -> appointmentsById.put(appt.getAppointmentId(), appt));
+        for (RecordEdit<Appointment> edit : appointmentEdits) {
+            edit.getAdded().forEach(appt -> appointmentsById.put(appt.getAppointmentId(), appt));
+        }
+        restoredHealthBook.getAppointmentList().forEach(appt -> appointmentsById.put(appt.getAppointmentId(), appt));
+        return appointmentsById;
+    }
+
+    /**
+     * Adds the edit in {@code line} to {@code appointmentEdits}, or to {@code personEdits} if it edits the person
+     * list, as persons can only be read once the appointments they refer to are known.
+     *
+     * @return the appointment counter after the edit, given that it was {@code appointmentCounter} before.
+     */
+    private static int decodeEdit(String line, List<EncodedPersonEdit> personEdits,
+                                  List<RecordEdit<Appointment>> appointmentEdits, int appointmentCounter)
+            throws DataConversionException {
+        String[] fields = line.split(FIELD_SEPARATOR);
+        try {
+            if (fields.length == 2 && fields[0].equals(APPOINTMENT_COUNTER)) {
+                return Integer.parseInt(fields[1]);
+            }
+            if (fields.length != 4) {
+                throw new IllegalArgumentException("Malformed journal entry: " + line);
+            }
+
+            int from = Integer.parseInt(fields[1]);
+            int removedCount = Integer.parseInt(fields[2]);
+            ByteBuffer data = ByteBuffer.wrap(Base64.getDecoder().decode(fields[3]));
+            switch (fields[0]) {
+            case PERSON_EDIT:
+                personEdits.add(new EncodedPersonEdit(from, removedCount, data));
+                break;
+            case APPOINTMENT_EDIT:
+                HealthBook records = BinaryHealthBookCodec.read(data, BinaryHealthBookStorage.HISTORY_CACHE_CAPACITY,
+                        progress -> {});
+                appointmentEdits.add(new RecordEdit<>(from, removedCount, records.getAppointmentList()));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown journal entry: " + line);
+            }
+            return appointmentCounter;
+        } catch (IllegalArgumentException e) {
+            throw new DataConversionException(e);
+        }
+    }
+
+    /**
+     * An edit to the person list whose records are still encoded by {@link BinaryHealthBookCodec#writePersons}.
+     */
+    private static class EncodedPersonEdit {
+        private final int from;
+        private final int removedCount;
+        private final ByteBuffer records;
+
+        EncodedPersonEdit(int from, int removedCount, ByteBuffer records) {
+            this.from = from;
+            this.removedCount = removedCount;
+            this.records = records;
+        }
+    }
+}
@@ -0,0 +1,939 @@
+package seedu.address.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.DoubleConsumer;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+import seedu.address.commons.core.LogsCenter;
+import seedu.address.commons.exceptions.DataConversionException;
+import seedu.address.commons.exceptions.IllegalValueException;
+import seedu.address.commons.util.FileUtil;
+import seedu.address.model.HealthBook;
+import seedu.address.model.HealthBookChanges;
+import seedu.address.model.HealthBookChanges.RecordEdit;
+import seedu.address.model.ReadOnlyHealthBook;
+import seedu.address.model.appointment.Appointment;
+import seedu.address.model.appointment.AppointmentId;
+import seedu.address.model.appointment.ConsumptionPerDay;
+import seedu.address.model.appointment.Dosage;
+import seedu.address.model.appointment.MedicineName;
+import seedu.address.model.appointment.Prescription;
+import seedu.address.model.appointment.Status;
+import seedu.address.model.doctor.Doctor;
+import seedu.address.model.patient.Allergy;
+import seedu.address.model.patient.Condition;
+import seedu.address.model.patient.MedicalHistory;
+import seedu.address.model.patient.Patient;
+import seedu.address.model.patient.PatientHistory;
+import seedu.address.model.patient.PatientHistoryCache;
+import seedu.address.model.patient.PatientHistoryLoader;
+import seedu.address.model.person.Address;
+import seedu.address.model.person.Email;
+import seedu.address.model.person.Name;
+import seedu.address.model.person.Person;
+import seedu.address.model.person.Phone;
+import seedu.address.model.person.Remark;
+import seedu.address.model.person.Role;
+import seedu.address.model.tag.Tag;
+
+/**
+ * A class to access HealthBook data stored as one record per person, patient history, appointment and prescription
+ * in a {@link RecordFile} on the hard disk.
+ *
+ * Saving compares each record with the one in the file and only appends the records that have changed, so saving
+ * after a small change writes a few records whatever the size of the health book. Once the whole health book has been
+ * saved, {@link #saveChanges(ReadOnlyHealthBook, HealthBookChanges)} only encodes and compares the records touched by
+ * the changes made since. The past appointments and medical
+ * history of a patient are kept in a record of their own, which is read when the patient first needs them, and the
+ * histories of at most {@link BinaryHealthBookStorage#HISTORY_CACHE_CAPACITY} patients are kept in memory. Histories
+ * that were never loaded are not read again when saving either.
+ *
+ * The file is compacted when it is read, if replaced records take up more than {@link #COMPACTION_GARBAGE_RATIO} of
+ * it.
+ */
+public class IndexedHealthBookStorage implements HealthBookStorage {
+
+    public static final double COMPACTION_GARBAGE_RATIO = 0.5;
+
+    private static final Logger logger = LogsCenter.getLogger(IndexedHealthBookStorage.class);
+
+    private static final String PERSONS = "person/";
+    private static final String HISTORIES = "history/";
+    private static final String APPOINTMENTS = "appointment/";
+    private static final String PRESCRIPTIONS = "prescription/";
+    private static final String APPOINTMENT_COUNTER = "meta/appointmentCounter";
+    private static final String KEY_SEPARATOR = "/";
+    // the gap left between the orders of consecutive records, so that records can be inserted between them
+    private static final long ORDER_STEP = 1L << 20;
+    private static final int NO_STRING = -1;
+
+    private static final byte PERSON_KIND = 0;
+    private static final byte DOCTOR_KIND = 1;
+    private static final byte PATIENT_KIND = 2;
+
+    private final Path filePath;
+    private final RecordFile records;
+    private final DoubleConsumer progressListener;
+    // the file must not be compacted once patients loading their history from it have been read
+    private boolean hasReadPatients;
+    // the keys of the persons and listed appointments last saved to the file, in list order, or null if the health
+    // book has not been saved in this session or the last save failed
+    private List<String> savedPersonKeys;
+    private List<String> savedAppointmentKeys;
+
+    public IndexedHealthBookStorage(Path filePath) {
+        this(filePath, progress -> {});
+    }
+
+    /**
+     * Creates a storage that reports the fraction of records read so far, between 0 and 1, to
+     * {@code progressListener} while reading.
+     */
+    public IndexedHealthBookStorage(Path filePath, DoubleConsumer progressListener) {
+        requireNonNull(filePath);
+        requireNonNull(progressListener);
+        this.filePath = filePath;
+        this.records = new RecordFile(filePath);
+        this.progressListener = progressListener;
+    }
+
+    @Override
+    public Path getAddressBookFilePath() {
+        return filePath;
+    }
+
+    @Override
+    public Optional<ReadOnlyHealthBook> readAddressBook() throws DataConversionException, IOException {
+        return readAddressBook(filePath);
+    }
+
+    /**
+     * Similar to {@link #readAddressBook()}
+     * The records of patient histories are read later, when the patients need them.
+     * @param filePath location of the data. Cannot be null
+     * @throws DataConversionException if the file is not in the correct format.
+     */
+    @Override
+    public Optional<ReadOnlyHealthBook> readAddressBook(Path filePath) throws DataConversionException,
+                                                                                 IOException {
+        requireNonNull(filePath);
+
+        RecordFile source = recordFileAt(filePath);
+        if (!source.exists()) {
+            logger.info("HealthBook file " + filePath + " not found");
+            return Optional.empty();
+        }
+
+        try {
+            if (source == records && !hasReadPatients && records.getGarbageRatio() > COMPACTION_GARBAGE_RATIO) {
+                logger.info("Compacting " + filePath);
+                records.compact();
+            }
+            HealthBook healthBook = readHealthBook(source);
+            if (source == records) {
+                hasReadPatients = true;
+            }
+            return Optional.of(healthBook);
+        } catch (DataConversionException e) {
+            logger.info("Invalid data found in " + filePath + ": " + e.getMessage());
+            throw e;
+        }
+    }
+
+    @Override
+    public void saveAddressBook(ReadOnlyHealthBook addressBook) throws IOException {
+        saveAddressBook(addressBook, filePath);
+    }
+
+    /**
+     * Similar to {@link #saveAddressBook(ReadOnlyHealthBook)}
+     * Only the records that differ from those in the file are written. A file that is not in the correct format is
+     * replaced with a new file, unless patients read from it may still need to read their histories from it.
+     * @param filePath location of the data. Cannot be null
+     */
+    @Override
+    public void saveAddressBook(ReadOnlyHealthBook addressBook, Path filePath) throws IOException {
+        requireNonNull(addressBook);
+        requireNonNull(filePath);
+
+        RecordFile target = recordFileAt(filePath);
+        if (target == records) {
+            savedPersonKeys = null;
+            savedAppointmentKeys = null;
+        }
+        FileUtil.createIfMissing(filePath);
+        try {
+            target.write(changedRecords(addressBook, target));
+        } catch (DataConversionException e) {
+            if (target == records && hasReadPatients) {
+                throw new IOException("Not replacing " + filePath + " as it holds invalid data, but patient histories "
+                        + "that have not been loaded yet are still read from it", e);
+            }
+            logger.warning("Replacing " + filePath + " as it holds invalid data: " + e.getMessage());
+            replaceFile(addressBook, target);
+        } finally {
+            if (target != records) {
+                target.close();
+            }
+        }
+        if (target == records) {
+            savedPersonKeys = personKeysOf(addressBook);
+            savedAppointmentKeys = appointmentKeysOf(addressBook);
+        }
+    }
+
+    /**
+     * Saves {@code addressBook}, which {@code changes} were made to since the health book last saved by this storage,
+     * only encoding the records of the persons and appointments that the changes added or moved.
+     * The whole health book is compared with the file instead on the first save of the session, after a failed save,
+     * if the changes do not lead to {@code addressBook}, and if the file holds invalid data.
+     */
+    public void saveChanges(ReadOnlyHealthBook addressBook, HealthBookChanges changes) throws IOException {
+        requireNonNull(addressBook);
+        requireNonNull(changes);
+
+        if (savedPersonKeys == null) {
+            saveAddressBook(addressBook);
+            return;
+        }
+        List<String> personKeys = new ArrayList<>(savedPersonKeys);
+        List<String> appointmentKeys = new ArrayList<>(savedAppointmentKeys);
+        Set<String> editedKeys = new HashSet<>();
+        Set<String> removedKeys = new HashSet<>();
+        for (RecordEdit<Person> edit : changes.getPersonEdits()) {
+            applyEdit(personKeys, edit, person -> PERSONS + personKey(person), editedKeys, removedKeys);
+        }
+        for (RecordEdit<Appointment> edit : changes.getAppointmentEdits()) {
+            applyEdit(appointmentKeys, edit, appointment -> appointmentKey(appointment.getAppointmentId()),
+                    editedKeys, removedKeys);
+        }
+        if (!personKeys.equals(personKeysOf(addressBook))
+                || !appointmentKeys.equals(appointmentKeysOf(addressBook))) {
+            logger.warning("Changes do not lead to the health book being saved, comparing the whole health book");
+            saveAddressBook(addressBook);
+            return;
+        }
+
+        savedPersonKeys = null;
+        savedAppointmentKeys = null;
+        FileUtil.createIfMissing(filePath);
+        try {
+            records.write(changedRecords(addressBook, personKeys, appointmentKeys, editedKeys, removedKeys));
+        } catch (DataConversionException e) {
+            logger.warning("Invalid data found in " + filePath + ", saving the whole health book: " + e.getMessage());
+            saveAddressBook(addressBook);
+            return;
+        }
+        savedPersonKeys = personKeys;
+        savedAppointmentKeys = appointmentKeys;
+    }
+
+    /**
+     * Applies {@code edit} to {@code keys}, the keys of the records in a list, adding the keys of the records it adds
+     * to {@code editedKeys} and those of the records it removes to {@code removedKeys}.
+     */
+    private static <T> void applyEdit(List<String> keys, RecordEdit<T> edit, Function<T, String> keyOf,
+                                      Set<String> editedKeys, Set<String> removedKeys) {
+        List<String> replaced = keys.subList(edit.getFrom(), edit.getFrom() + edit.getRemovedCount());
+        removedKeys.addAll(replaced);
+        replaced.clear();
+        for (T record : edit.getAdded()) {
+            replaced.add(keyOf.apply(record));
+        }
+        editedKeys.addAll(replaced);
+    }
+
+    /**
+     * Writes {@code addressBook} to a new file next to {@code target}, loading the histories of patients as needed,
+     * and then moves it over {@code target}. {@code target} is left as it is if the new file cannot be written.
+     */
+    private static void replaceFile(ReadOnlyHealthBook addressBook, RecordFile target) throws IOException {
+        Path tempFile = FileUtil.createTempFileNextTo(target.getFile());
+        try {
+            RecordFile newFile = new RecordFile(tempFile);
+            newFile.write(changedRecords(addressBook, newFile));
+            newFile.close();
+            target.replaceWith(newFile);
+        } catch (DataConversionException | IllegalStateException e) {
+            // a patient history that could not be loaded is reported as an IllegalStateException
+            throw new IOException("Failed to replace " + target.getFile(), e);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private RecordFile recordFileAt(Path filePath) {
+        return filePath.equals(this.filePath) ? records : new RecordFile(filePath);
+    }
+
+    // ================ Reading ==============================
+
+    /**
+     * Reads the health book from the records of {@code source}, reporting progress as the records are read.
+     * The histories of patients are read from {@code source} when they are first needed.
+     */
+    private HealthBook readHealthBook(RecordFile source) throws DataConversionException, IOException {
+        try {
+            List<String> appointmentKeys = source.keys(APPOINTMENTS);
+            List<String> personKeys = source.keys(PERSONS);
+            ProgressReporter progress = new ProgressReporter(progressListener,
+                    appointmentKeys.size() + personKeys.size());
+
+            Map<Integer, List<Prescription>> prescriptions = new HashMap<>();
+            for (String key : source.keys(PRESCRIPTIONS)) {
+                int appointmentId = Integer.parseInt(
+                        key.substring(PRESCRIPTIONS.length(), key.lastIndexOf(KEY_SEPARATOR)));
+                prescriptions.computeIfAbsent(appointmentId, id -> new ArrayList<>())
+                        .add(readPrescription(readRecord(source, key)));
+            }
+
+            HealthBook healthBook = new HealthBook();
+            Map<Integer, Appointment> appointments = new HashMap<>();
+            for (String key : appointmentKeys) {
+                DataInputStream in = readRecord(source, key);
+                boolean isListed = in.readBoolean();
+                Appointment appointment = readAppointment(in, prescriptions);
+                appointments.put(appointment.getAppointmentId(), appointment);
+                if (isListed) {
+                    healthBook.addAppointment(appointment);
+                }
+                progress.recordRead();
+            }
+
+            PatientHistoryCache historyCache = new PatientHistoryCache(BinaryHealthBookStorage.HISTORY_CACHE_CAPACITY);
+            for (String key : personKeys) {
+                String historyKey = HISTORIES + key.substring(PERSONS.length());
+                XmlSerializableHealthBook.addPerson(healthBook, readPerson(readRecord(source, key), appointments,
+                        () -> new StoredHistoryLoader(source, historyKey, appointments, historyCache)));
+                progress.recordRead();
+            }
+
+            Optional<RecordFile.Location> appointmentCounter = source.locate(APPOINTMENT_COUNTER);
+            if (appointmentCounter.isPresent()) {
+                healthBook.setAppointmentCounter(
+                        new DataInputStream(new ByteArrayInputStream(source.read(appointmentCounter.get())))
+                                .readInt());
+            }
+            progressListener.accept(1);
+            return healthBook;
+        } catch (EOFException | UTFDataFormatException | IllegalValueException | IllegalArgumentException
+                | DateTimeException e) {
+            throw new DataConversionException(e);
+        }
+    }
+
+    /**
+     * Returns a stream over the record of {@code key} in {@code source}.
+     * @throws DataConversionException if {@code source} has no such record.
+     */
+    private static DataInputStream readRecord(RecordFile source, String key)
+            throws IOException, DataConversionException {
+        Optional<RecordFile.Location> location = source.locate(key);
+        if (!location.isPresent()) {
+            throw new DataConversionException(new IllegalValueException("Missing record " + key));
+        }
+        return new DataInputStream(new ByteArrayInputStream(source.read(location.get())));
+    }
+
+    /**
+     * Reads an appointment written by {@link #writeAppointment}, with its prescriptions from {@code prescriptions}.
+     */
+    private static Appointment readAppointment(DataInputStream in, Map<Integer, List<Prescription>> prescriptions)
+            throws IOException, IllegalValueException {
+        int appointmentId = in.readInt();
+        String doctor = requireString(in);
+        String patient = requireString(in);
+        LocalDateTime dateTime = LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+        int status = in.readByte();
+        if (status < 0 || status >= Status.values().length) {
+            throw new IllegalValueException("Unknown appointment status " + status);
+        }
+        String comments = readString(in);
+        return new Appointment(new AppointmentId(appointmentId), doctor, patient, dateTime, Status.values()[status],
+                comments, prescriptions.getOrDefault(appointmentId, new ArrayList<>()));
+    }
+
+    private static Prescription readPrescription(DataInputStream in) throws IOException, IllegalValueException {
+        return new Prescription(in.readInt(), MedicineName.of(requireString(in)), new Dosage(requireString(in)),
+                new ConsumptionPerDay(requireString(in)));
+    }
+
+    /**
+     * Reads a person written by {@link #writePerson}, looking up their appointments in {@code appointments}.
+     * The history of a patient is loaded by a loader from {@code historyLoaderFactory}.
+     */
+    private static Person readPerson(DataInputStream in, Map<Integer, Appointment> appointments,
+                                     HistoryLoaderFactory historyLoaderFactory)
+            throws IOException, IllegalValueException, DataConversionException {
+        byte kind = in.readByte();
+        Name name = new Name(requireString(in));
+        Phone phone = new Phone(requireString(in));
+        Email email = new Email(requireString(in));
+        Address address = new Address(requireString(in));
+        Remark remark = new Remark(requireString(in));
+        Set<Tag> tags = new HashSet<>();
+        for (int i = in.readInt(); i > 0; i--) {
+            tags.add(Tag.of(requireString(in)));
+        }
+
+        switch (kind) {
+        case DOCTOR_KIND:
+            return new Doctor(name, phone, email, address, remark, tags,
+                    readAppointmentReferences(in, appointments));
+        case PATIENT_KIND:
+            String telegramId = readString(in);
+            return new Patient(name, phone, email, address, remark, tags, telegramId,
+                    readAppointmentReferences(in, appointments), historyLoaderFactory.create());
+        case PERSON_KIND:
+            return new Person(name, phone, email, address, remark, tags);
+        default:
+            throw new IllegalValueException("Unknown person kind " + kind);
+        }
+    }
+
+    /**
+     * Reads a patient history written by {@link #writeHistory}, looking up the past appointments in
+     * {@code appointments}.
+     */
+    private static PatientHistory readHistory(DataInputStream in, Map<Integer, Appointment> appointments)
+            throws IOException, IllegalValueException {
+        List<Appointment> pastAppointments = readAppointmentReferences(in, appointments);
+        ArrayList<Allergy> allergies = new ArrayList<>();
+        for (int i = in.readInt(); i > 0; i--) {
+            allergies.add(Allergy.of(requireString(in)));
+        }
+        ArrayList<Condition> conditions = new ArrayList<>();
+        for (int i = in.readInt(); i > 0; i--) {
+            conditions.add(Condition.of(requireString(in)));
+        }
+        return new PatientHistory(pastAppointments, new MedicalHistory(allergies, conditions));
+    }
+
+    /**
+     * Reads the ids written by {@link #writeAppointmentReferences} and returns their appointments in
+     * {@code appointments}.
+     * @throws IllegalValueException if an id is not in {@code appointments}.
+     */
+    private static List<Appointment> readAppointmentReferences(DataInputStream in,
+                                                               Map<Integer, Appointment> appointments)
+            throws IOException, IllegalValueException {
+        int count = in.readInt();
+        List<Appointment> personAppointments = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int appointmentId = in.readInt();
+            Appointment appointment = appointments.get(appointmentId);
+            if (appointment == null) {
+                throw new IllegalValueException("Missing appointment " + appointmentId);
+            }
+            personAppointments.add(appointment);
+        }
+        return personAppointments;
+    }
+
+    // ================ Saving ==============================
+
+    /**
+     * Returns the records of {@code healthBook} to be put in {@code target}, and the records of {@code target} that
+     * are no longer in {@code healthBook} to be deleted.
+     */
+    private static RecordFile.Batch changedRecords(ReadOnlyHealthBook healthBook, RecordFile target)
+            throws IOException, DataConversionException {
+        RecordFile.Batch batch = new RecordFile.Batch();
+        Set<String> keptKeys = new HashSet<>();
+
+        List<String> listedKeys = new ArrayList<>();
+        Set<Integer> listedIds = new HashSet<>();
+        for (Appointment appointment : healthBook.getAppointmentList()) {
+            listedKeys.add(appointmentKey(appointment.getAppointmentId()));
+            listedIds.add(appointment.getAppointmentId());
+        }
+        long[] appointmentOrders = ordersOf(listedKeys, target);
+        for (int i = 0; i < listedKeys.size(); i++) {
+            putAppointment(batch, keptKeys, healthBook.getAppointmentList().get(i), appointmentOrders[i], true);
+        }
+
+        List<String> personKeys = new ArrayList<>();
+        for (Person person : healthBook.getPersonList()) {
+            personKeys.add(PERSONS + personKey(person));
+        }
+        long[] personOrders = ordersOf(personKeys, target);
+        // the appointments of patient histories that are left as they are in the file are not known
+        Set<String> patientsWithStoredHistory = new HashSet<>();
+        List<Appointment> unlistedAppointments = new ArrayList<>();
+        for (int i = 0; i < personKeys.size(); i++) {
+            Person person = healthBook.getPersonList().get(i);
+            batch.put(personKeys.get(i), personOrders[i], encode(out -> writePerson(out, person)));
+            keptKeys.add(personKeys.get(i));
+
+            if (person instanceof Doctor) {
+                unlistedAppointments.addAll(((Doctor) person).getUpcomingAppointments());
+            } else if (person instanceof Patient) {
+                Patient patient = (Patient) person;
+                unlistedAppointments.addAll(patient.getUpcomingAppointments());
+                String historyKey = HISTORIES + personKey(patient);
+                keptKeys.add(historyKey);
+                if (isStoredHistory(patient, target, historyKey)) {
+                    patientsWithStoredHistory.add(patient.getName().fullName);
+                } else {
+                    batch.put(historyKey, 0, encode(out -> writeHistory(out, patient)));
+                    unlistedAppointments.addAll(patient.getPastAppointments());
+                }
+            }
+        }
+        for (Appointment appointment : unlistedAppointments) {
+            if (listedIds.add(appointment.getAppointmentId())) {
+                putAppointment(batch, keptKeys, appointment, 0, false);
+            }
+        }
+
+        for (String key : target.keys(APPOINTMENTS)) {
+            if (keptKeys.contains(key)) {
+                continue;
+            }
+            Appointment appointment = readStoredAppointment(target, key);
+            if (patientsWithStoredHistory.contains(appointment.getPatient())) {
+                // could be a past appointment of a history in the file, so it is kept, but no longer listed
+                putAppointment(batch, keptKeys, appointment, 0, false);
+                keptKeys.addAll(target.keys(PRESCRIPTIONS + appointment.getAppointmentId() + KEY_SEPARATOR));
+            }
+        }
+        for (String prefix : new String[] {PERSONS, HISTORIES, APPOINTMENTS, PRESCRIPTIONS}) {
+            for (String key : target.keys(prefix)) {
+                if (!keptKeys.contains(key)) {
+                    batch.delete(key);
+                }
+            }
+        }
+
+        batch.put(APPOINTMENT_COUNTER, 0, encode(out -> out.writeInt(healthBook.getAppointmentCounter())));
+        return batch;
+    }
+
+    /**
+     * Returns the records of {@code healthBook} to be put in the file after the changes that turned {@code removedKeys}
+     * into {@code editedKeys}, where {@code personKeys} and {@code appointmentKeys} are the keys of the persons and
+     * listed appointments of {@code healthBook}. The other records are only put if their order has to change.
+     * Appointments that are no longer listed are kept, but marked as such, as a person or patient history may still
+     * refer to them. They are deleted by the next comparison of the whole health book if nothing does.
+     */
+    private RecordFile.Batch changedRecords(ReadOnlyHealthBook healthBook, List<String> personKeys,
+                                            List<String> appointmentKeys, Set<String> editedKeys,
+                                            Set<String> removedKeys) throws IOException, DataConversionException {
+        RecordFile.Batch batch = new RecordFile.Batch();
+        Set<String> keptKeys = new HashSet<>();
+
+        long[] appointmentOrders = ordersOf(appointmentKeys, records);
+        for (int i = 0; i < appointmentKeys.size(); i++) {
+            if (editedKeys.contains(appointmentKeys.get(i)) || isMoved(appointmentKeys.get(i), appointmentOrders[i])) {
+                putAppointment(batch, keptKeys, healthBook.getAppointmentList().get(i), appointmentOrders[i], true);
+            }
+        }
+        for (String key : appointmentKeys) {
+            if (editedKeys.contains(key)) {
+                deleteRemovedPrescriptions(batch, keptKeys, key);
+            }
+        }
+
+        Set<String> listedKeys = new HashSet<>(appointmentKeys);
+        List<Appointment> unlistedAppointments = new ArrayList<>();
+        long[] personOrders = ordersOf(personKeys, records);
+        for (int i = 0; i < personKeys.size(); i++) {
+            String key = personKeys.get(i);
+            boolean isEdited = editedKeys.contains(key);
+            if (!isEdited && !isMoved(key, personOrders[i])) {
+                continue;
+            }
+            Person person = healthBook.getPersonList().get(i);
+            batch.put(key, personOrders[i], encode(out -> writePerson(out, person)));
+            if (!isEdited) {
+                continue;
+            }
+
+            if (person instanceof Doctor) {
+                unlistedAppointments.addAll(((Doctor) person).getUpcomingAppointments());
+            } else if (person instanceof Patient) {
+                Patient patient = (Patient) person;
+                unlistedAppointments.addAll(patient.getUpcomingAppointments());
+                String historyKey = HISTORIES + personKey(patient);
+                if (!isStoredHistory(patient, records, historyKey)) {
+                    batch.put(historyKey, 0, encode(out -> writeHistory(out, patient)));
+                    unlistedAppointments.addAll(patient.getPastAppointments());
+                }
+            }
+        }
+        for (Appointment appointment : unlistedAppointments) {
+            if (listedKeys.add(appointmentKey(appointment.getAppointmentId()))) {
+                putAppointment(batch, keptKeys, appointment, 0, false);
+                deleteRemovedPrescriptions(batch, keptKeys, appointmentKey(appointment.getAppointmentId()));
+            }
+        }
+
+        Set<String> currentPersonKeys = new HashSet<>(personKeys);
+        for (String key : removedKeys) {
+            if (key.startsWith(PERSONS) && !currentPersonKeys.contains(key)) {
+                batch.delete(key);
+                batch.delete(HISTORIES + key.substring(PERSONS.length()));
+            } else if (key.startsWith(APPOINTMENTS) && !listedKeys.contains(key) && records.locate(key).isPresent()) {
+                putAppointment(batch, keptKeys, readStoredAppointment(records, key), 0, false);
+            }
+        }
+
+        batch.put(APPOINTMENT_COUNTER, 0, encode(out -> out.writeInt(healthBook.getAppointmentCounter())));
+        return batch;
+    }
+
+    /**
+     * Deletes the prescriptions in the file of the appointment of {@code appointmentKey} that are not in
+     * {@code keptKeys}, as the appointment no longer has them.
+     */
+    private void deleteRemovedPrescriptions(RecordFile.Batch batch, Set<String> keptKeys, String appointmentKey)
+            throws IOException, DataConversionException {
+        String prefix = PRESCRIPTIONS + appointmentKey.substring(APPOINTMENTS.length()) + KEY_SEPARATOR;
+        for (String key : records.keys(prefix)) {
+            if (!keptKeys.contains(key)) {
+                batch.delete(key);
+            }
+        }
+    }
+
+    /**
+     * Returns true if the record of {@code key} is not in the file with {@code order}.
+     */
+    private boolean isMoved(String key, long order) throws IOException, DataConversionException {
+        return records.locate(key).map(location -> location.getOrder() != order).orElse(true);
+    }
+
+    /**
+     * Returns the keys of the persons of {@code healthBook}, in list order.
+     */
+    private static List<String> personKeysOf(ReadOnlyHealthBook healthBook) {
+        List<String> keys = new ArrayList<>();
+        for (Person person : healthBook.getPersonList()) {
+            keys.add(PERSONS + personKey(person));
+        }
+        return keys;
+    }
+
+    /**
+     * Returns the keys of the listed appointments of {@code healthBook}, in list order.
+     */
+    private static List<String> appointmentKeysOf(ReadOnlyHealthBook healthBook) {
+        List<String> keys = new ArrayList<>();
+        for (Appointment appointment : healthBook.getAppointmentList()) {
+            keys.add(appointmentKey(appointment.getAppointmentId()));
+        }
+        return keys;
+    }
+
+    /**
+     * Adds the records of {@code appointment} and its prescriptions to {@code batch}.
+     * The prescriptions of an appointment read from the file are left as they are.
+     */
+    private static void putAppointment(RecordFile.Batch batch, Set<String> keptKeys, Appointment appointment,
+                                       long order, boolean isListed) throws IOException {
+        String key = appointmentKey(appointment.getAppointmentId());
+        batch.put(key, order, encode(out -> {
+            out.writeBoolean(isListed);
+            writeAppointment(out, appointment);
+        }));
+        keptKeys.add(key);
+
+        List<Prescription> prescriptions = appointment.getPrescriptions();
+        for (int i = 0; i < prescriptions.size(); i++) {
+            Prescription prescription = prescriptions.get(i);
+            String prescriptionKey = PRESCRIPTIONS + appointment.getAppointmentId() + KEY_SEPARATOR + i;
+            batch.put(prescriptionKey, i, encode(out -> writePrescription(out, prescription)));
+            keptKeys.add(prescriptionKey);
+        }
+    }
+
+    /**
+     * Returns the appointment stored in the record of {@code key} in {@code target}, without its prescriptions.
+     */
+    private static Appointment readStoredAppointment(RecordFile target, String key)
+            throws IOException, DataConversionException {
+        try {
+            DataInputStream in = readRecord(target, key);
+            in.readBoolean();
+            return readAppointment(in, new HashMap<>());
+        } catch (EOFException | UTFDataFormatException | IllegalValueException | IllegalArgumentException
+                | DateTimeException e) {
+            throw new DataConversionException(e);
+        }
+    }
+
+    /**
+     * Returns true if the history of {@code patient} has not been loaded from the record of {@code historyKey} in
+     * {@code target}, which is still in place, so that the record does not need to be written again.
+     */
+    private static boolean isStoredHistory(Patient patient, RecordFile target, String historyKey)
+            throws IOException, DataConversionException {
+        Optional<PatientHistoryLoader> historyLoader = patient.getHistoryLoader();
+        if (!historyLoader.isPresent() || !(historyLoader.get().getStoredLoader() instanceof StoredHistoryLoader)) {
+            return false;
+        }
+        StoredHistoryLoader storedLoader = (StoredHistoryLoader) historyLoader.get().getStoredLoader();
+        return storedLoader.source == target && storedLoader.key.equals(historyKey)
+                && target.locate(historyKey).map(location -> location == storedLoader.location).orElse(false);
+    }
+
+    /**
+     * Returns the orders to store the records of {@code keys} with, so that they are read back in the same order.
+     * The orders already in {@code target} are kept where possible, so that records that have not changed do not need
+     * to be written again.
+     */
+    private static long[] ordersOf(List<String> keys, RecordFile target) throws IOException, DataConversionException {
+        long[] orders = new long[keys.size()];
+        boolean[] isKept = new boolean[keys.size()];
+        long lastKeptOrder = 0;
+        for (int i = 0; i < keys.size(); i++) {
+            Optional<RecordFile.Location> location = target.locate(keys.get(i));
+            if (location.isPresent() && location.get().getOrder() > lastKeptOrder) {
+                orders[i] = location.get().getOrder();
+                isKept[i] = true;
+                lastKeptOrder = orders[i];
+            }
+        }
+
+        // spreads the other records evenly between the kept records around them
+        long previousOrder = 0;
+        int i = 0;
+        while (i < keys.size()) {
+            if (isKept[i]) {
+                previousOrder = orders[i++];
+                continue;
+            }
+            int runEnd = i;
+            while (runEnd < keys.size() && !isKept[runEnd]) {
+                runEnd++;
+            }
+            int runLength = runEnd - i;
+            long nextOrder = runEnd < keys.size() ? orders[runEnd] : previousOrder + (runLength + 1) * ORDER_STEP;
+            long step = (nextOrder - previousOrder) / (runLength + 1);
+            if (step == 0) {
+                // no room left between the kept records, so every record is given a new order
+                for (int j = 0; j < keys.size(); j++) {
+                    orders[j] = (j + 1) * ORDER_STEP;
+                }
+                return orders;
+            }
+            for (int j = 0; j < runLength; j++) {
+                orders[i + j] = previousOrder + step * (j + 1);
+            }
+            previousOrder = orders[runEnd - 1];
+            i = runEnd;
+        }
+        return orders;
+    }
+
+    private static String personKey(Person person) {
+        return person.getName().fullName + KEY_SEPARATOR + person.getPhone().value;
+    }
+
+    private static String appointmentKey(int appointmentId) {
+        return APPOINTMENTS + appointmentId;
+    }
+
+    /**
+     * Writes the fields of {@code appointment}, except for its prescriptions, which have records of their own.
+     */
+    private static void writeAppointment(DataOutputStream out, Appointment appointment) throws IOException {
+        out.writeInt(appointment.getAppointmentId());
+        writeString(out, appointment.getDoctor());
+        writeString(out, appointment.getPatient());
+        out.writeLong(appointment.getDateTime().toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(appointment.getDateTime().getNano());
+        out.writeByte(appointment.getStatus().ordinal());
+        writeString(out, appointment.getComments());
+    }
+
+    /**
+     * Writes the fields of {@code prescription}.
+     */
+    private static void writePrescription(DataOutputStream out, Prescription prescription) throws IOException {
+        out.writeInt(prescription.getId());
+        writeString(out, prescription.getMedicineName().getFullMedicineName());
+        writeString(out, prescription.getDosage().getValue());
+        writeString(out, prescription.getConsumptionPerDay().getValue());
+    }
+
+    /**
+     * Writes the fields of {@code person}, and the ids of their upcoming appointments if they are a doctor or a
+     * patient. The history of a patient is written to a record of its own by {@link #writeHistory}.
+     */
+    private static void writePerson(DataOutputStream out, Person person) throws IOException {
+        out.writeByte(person.getRole() == Role.PATIENT ? PATIENT_KIND
+                : person.getRole() == Role.DOCTOR ? DOCTOR_KIND : PERSON_KIND);
+        writeString(out, person.getName().fullName);
+        writeString(out, person.getPhone().value);
+        writeString(out, person.getEmail().value);
+        writeString(out, person.getAddress().value);
+        writeString(out, person.getRemark().value);
+        out.writeInt(person.getTags().size());
+        for (Tag tag : person.getTags()) {
+            writeString(out, tag.tagName);
+        }
+
+        if (person instanceof Doctor) {
+            writeAppointmentReferences(out, ((Doctor) person).getUpcomingAppointments());
+        } else if (person instanceof Patient) {
+            Patient patient = (Patient) person;
+            writeString(out, patient.getTelegramId());
+            writeAppointmentReferences(out, patient.getUpcomingAppointments());
+        }
+    }
+
+    /**
+     * Writes the ids of the past appointments and the medical history of {@code patient}.
+     */
+    private static void writeHistory(DataOutputStream out, Patient patient) throws IOException {
+        writeAppointmentReferences(out, patient.getPastAppointments());
+        out.writeInt(patient.getMedicalHistory().getAllergies().size());
+        for (Allergy allergy : patient.getMedicalHistory().getAllergies()) {
+            writeString(out, allergy.getAllergy());
+        }
+        out.writeInt(patient.getMedicalHistory().getConditions().size());
+        for (Condition condition : patient.getMedicalHistory().getConditions()) {
+            writeString(out, condition.getCondition());
+        }
+    }
+
+    /**
+     * Writes the ids of {@code appointments}, preceded by their number.
+     */
+    private static void writeAppointmentReferences(DataOutputStream out, List<Appointment> appointments)
+            throws IOException {
+        out.writeInt(appointments.size());
+        for (Appointment appointment : appointments) {
+            out.writeInt(appointment.getAppointmentId());
+        }
+    }
+
+    // ================ Encoding helpers ==============================
+
+    /**
+     * Returns the bytes written by {@code valueWriter}.
+     */
+    private static byte[] encode(ValueWriter valueWriter) throws IOException {
+        ByteArrayOutputStream value = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(value);
+        valueWriter.write(out);
+        out.flush();
+        return value.toByteArray();
+    }
+
+    /**
+     * Writes {@code string}, which may be null, prefixed with its length in bytes.
+     */
+    private static void writeString(DataOutputStream out, String string) throws IOException {
+        if (string == null) {
+            out.writeInt(NO_STRING);
+            return;
+        }
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Reads a string written by {@link #writeString}, which may be null.
+     */
+    private static String readString(DataInputStream in) throws IOException, IllegalValueException {
+        int length = in.readInt();
+        if (length == NO_STRING) {
+            return null;
+        }
+        if (length < 0 || length > in.available()) {
+            throw new IllegalValueException("Malformed string in record");
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads a string written by {@link #writeString}.
+     * @throws IllegalValueException if the string is null.
+     */
+    private static String requireString(DataInputStream in) throws IOException, IllegalValueException {
+        String string = readString(in);
+        if (string == null) {
+            throw new IllegalValueException("Missing string in record");
+        }
+        return string;
+    }
+
+    /**
+     * Writes the fields of a single record.
+     */
+    private interface ValueWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    /**
+     * Creates the loader of the history of a patient being read.
+     */
+    private interface HistoryLoaderFactory {
+        PatientHistoryLoader create() throws IOException, DataConversionException;
+    }
+
+    /**
+     * Reads the history of a patient from its record each time it is loaded.
+     * The record is located when the patient is read, and read from that location even if the record of the patient
+     * is replaced later, as the patient still holds the history as it was then.
+     */
+    private static class StoredHistoryLoader implements PatientHistoryLoader {
+        private final RecordFile source;
+        private final String key;
+        private final RecordFile.Location location;
+        private final Map<Integer, Appointment> appointments;
+        private final PatientHistoryCache historyCache;
+
+        StoredHistoryLoader(RecordFile source, String key, Map<Integer, Appointment> appointments,
+                            PatientHistoryCache historyCache) throws IOException, DataConversionException {
+            this.source = source;
+            this.key = key;
+            this.location = source.locate(key).orElseThrow(() ->
+                    new DataConversionException(new IllegalValueException("Missing record " + key)));
+            this.appointments = appointments;
+            this.historyCache = historyCache;
+        }
+
+        @Override
+        public PatientHistory load() {
+            try {
+                return readHistory(new DataInputStream(new ByteArrayInputStream(source.read(location))),
+                        appointments);
+            } catch (IOException | DataConversionException | IllegalValueException | IllegalArgumentException e) {
+                throw new IllegalStateException("Patient history could not be read from " + source.getFile(), e);
+            }
+        }
+
+        @Override
+        public void historyLoaded(Patient patient) {
+            historyCache.recordLoaded(this, patient);
+        }
+    }
+}
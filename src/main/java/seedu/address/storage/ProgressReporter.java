@@ -0,0 +1,32 @@
+package seedu.address.storage;
+
+import java.util.function.DoubleConsumer;
+
+/**
+ * Reports the fraction of records read whenever it has grown by at least {@link #REPORTING_STEP}.
+ */
+class ProgressReporter {
+    private static final double REPORTING_STEP = 0.01;
+
+    private final DoubleConsumer progressListener;
+    private final int recordCount;
+    private int recordsRead = 0;
+    private double reportedProgress = 0;
+
+    ProgressReporter(DoubleConsumer progressListener, int recordCount) {
+        this.progressListener = progressListener;
+        this.recordCount = recordCount;
+    }
+
+    /**
+     * Records that one more record has been read, and reports the progress if it has grown enough since last reported.
+     */
+    void recordRead() {
+        recordsRead++;
+        double progress = (double) recordsRead / recordCount;
+        if (progress - reportedProgress >= REPORTING_STEP) {
+            progressListener.accept(progress);
+            reportedProgress = progress;
+        }
+    }
+}
@@ -0,0 +1,465 @@
+package seedu.address.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+import seedu.address.commons.exceptions.DataConversionException;
+import seedu.address.commons.exceptions.IllegalValueException;
+import seedu.address.commons.util.FileUtil;
+
+/**
+ * A file of records, each holding a value and an order under a key, that is only ever appended to.
+ * Writing a record for a key that already has one replaces it, and the index of the latest record of each key is kept
+ * in memory, so a record is read with a single positioned read. Records are written in batches that take effect as a
+ * whole: a batch that was only partially written when the app stopped is left out when the file is next read.
+ *
+ * The file starts with {@link #MAGIC} and the {@link #FORMAT_VERSION} it was written in, followed by the entries. Each
+ * entry is prefixed with its length and checksum, and either puts a record, deletes the record of a key, or commits
+ * the entries before it. Replaced records stay in the file until it is {@link #compact() compacted}.
+ */
+class RecordFile {
+
+    static final int MAGIC = 0x48425246;
+    static final int FORMAT_VERSION = 1;
+
+    private static final int HEADER_LENGTH = 8;
+    private static final int ENTRY_HEADER_LENGTH = 8;
+    private static final byte PUT = 0;
+    private static final byte DELETE = 1;
+    private static final byte COMMIT = 2;
+
+    private final Path file;
+    // null until the file is first read
+    private NavigableMap<String, Location> index;
+    // length of the file up to the end of the last committed entry, and of the whole file when last read or written
+    private long committedLength;
+    private long fileLength;
+    private long replacedLength;
+    // changes whenever records are moved within the file, which makes their earlier locations invalid
+    private int generation;
+    // kept open for reading the records of the current generation, null until a record is read
+    private FileChannel readChannel;
+
+    RecordFile(Path file) {
+        requireNonNull(file);
+        this.file = file;
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    /**
+     * Returns true if the file exists, even if it holds no records.
+     */
+    boolean exists() {
+        return Files.exists(file);
+    }
+
+    /**
+     * Returns the keys that start with {@code prefix}, in increasing order of their records' order and then of the
+     * keys themselves.
+     */
+    synchronized List<String> keys(String prefix) throws IOException, DataConversionException {
+        requireNonNull(prefix);
+        readIndexIfChanged();
+
+        List<String> keys = new ArrayList<>(index.subMap(prefix, prefix + Character.MAX_VALUE).keySet());
+        keys.sort(Comparator.comparingLong((String key) -> index.get(key).order));
+        return keys;
+    }
+
+    /**
+     * Returns the location of the record of {@code key}, if there is one.
+     */
+    synchronized Optional<Location> locate(String key) throws IOException, DataConversionException {
+        requireNonNull(key);
+        readIndexIfChanged();
+        return Optional.ofNullable(index.get(key));
+    }
+
+    /**
+     * Returns the value of the record at {@code location}.
+     * A location stays valid until the file is compacted, even if the record of its key is replaced in the meantime.
+     *
+     * @throws DataConversionException if the record is no longer at {@code location}.
+     */
+    byte[] read(Location location) throws IOException, DataConversionException {
+        ByteBuffer value = ByteBuffer.allocate(location.length);
+        // positioned reads on a channel kept open for reading, so that records can be read while a batch is being
+        // written without opening the file for each record
+        FileChannel channel = readChannelFor(location);
+        while (value.hasRemaining()) {
+            try {
+                if (channel.read(value, location.offset + value.position()) < 0) {
+                    throw new EOFException("Record beyond the end of " + file);
+                }
+            } catch (ClosedByInterruptException e) {
+                throw e;
+            } catch (ClosedChannelException e) {
+                // closed so that the file could be replaced, the rest is read again unless the record was moved
+                channel = readChannelFor(location);
+            }
+        }
+        if (!MessageDigest.isEqual(digestOf(value.array(), 0, location.length), location.digest)) {
+            throw new DataConversionException(new IllegalValueException("Record changed since it was located"));
+        }
+        return value.array();
+    }
+
+    /**
+     * Appends the records in {@code batch} that differ from the current ones, and forces them to disk before
+     * returning. Nothing is written if every record in {@code batch} is already in the file.
+     */
+    synchronized void write(Batch batch) throws IOException, DataConversionException {
+        requireNonNull(batch);
+        readIndexIfChanged();
+
+        ByteArrayOutputStream entries = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(entries);
+        Map<String, Location> written = new LinkedHashMap<>();
+        long position = Math.max(committedLength, HEADER_LENGTH);
+        for (Map.Entry<String, Batch.Put> change : batch.changes.entrySet()) {
+            String key = change.getKey();
+            Batch.Put put = change.getValue();
+            Location current = index.get(key);
+            if (put == null ? current == null : current != null && current.holds(put)) {
+                continue;
+            }
+
+            byte[] payload = encodePayload(key, put);
+            writeEntry(out, payload);
+            written.put(key, put == null ? null : new Location(put.order,
+                    position + ENTRY_HEADER_LENGTH + payload.length - put.value.length, put.value.length,
+                    ENTRY_HEADER_LENGTH + payload.length, digestOf(put.value, 0, put.value.length), generation));
+            position += ENTRY_HEADER_LENGTH + payload.length;
+        }
+        if (written.isEmpty()) {
+            return;
+        }
+        writeEntry(out, new byte[] {COMMIT});
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            if (committedLength < HEADER_LENGTH) {
+                writeFully(channel, header(), 0);
+                committedLength = HEADER_LENGTH;
+            }
+            // drops any batch that was only partially written
+            channel.truncate(committedLength);
+            writeFully(channel, ByteBuffer.wrap(entries.toByteArray()), committedLength);
+            channel.force(true);
+        }
+        committedLength += entries.size();
+        fileLength = committedLength;
+        written.forEach(this::indexRecord);
+    }
+
+    /**
+     * Returns the fraction of the file taken up by records that have since been replaced or deleted.
+     */
+    synchronized double getGarbageRatio() throws IOException, DataConversionException {
+        readIndexIfChanged();
+        long entriesLength = committedLength - HEADER_LENGTH;
+        return entriesLength <= 0 ? 0 : (double) replacedLength / entriesLength;
+    }
+
+    /**
+     * Closes the file, which is opened again if a record is read from it later.
+     * The file is kept open for reading records until then, and is closed before it is replaced, as a file that is
+     * open cannot be replaced on some platforms, and a replaced file would still be read from on others.
+     */
+    synchronized void close() throws IOException {
+        if (readChannel != null) {
+            readChannel.close();
+            readChannel = null;
+        }
+    }
+
+    /**
+     * Moves the file of {@code newFile}, which must be next to this file, over this file, which makes the locations
+     * of all records invalid.
+     */
+    synchronized void replaceWith(RecordFile newFile) throws IOException, DataConversionException {
+        requireNonNull(newFile);
+        close();
+        FileUtil.replaceAtomically(newFile.file, file);
+        generation++;
+        readIndex();
+    }
+
+    /**
+     * Rewrites the file with only the current records, which makes the locations of all records invalid.
+     */
+    synchronized void compact() throws IOException, DataConversionException {
+        readIndexIfChanged();
+
+        Path tempFile = FileUtil.createTempFileNextTo(file);
+        try {
+            try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE)) {
+                writeFully(channel, header(), 0);
+                ByteArrayOutputStream entries = new ByteArrayOutputStream();
+                DataOutputStream out = new DataOutputStream(entries);
+                for (Map.Entry<String, Location> record : index.entrySet()) {
+                    Location location = record.getValue();
+                    writeEntry(out, encodePayload(record.getKey(), new Batch.Put(location.order, read(location))));
+                }
+                writeEntry(out, new byte[] {COMMIT});
+                writeFully(channel, ByteBuffer.wrap(entries.toByteArray()), HEADER_LENGTH);
+                channel.force(true);
+            }
+            close();
+            FileUtil.replaceAtomically(tempFile, file);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+        generation++;
+        readIndex();
+    }
+
+    /**
+     * Reads the index again if the file has changed since it was last read or written, e.g. because it was replaced.
+     */
+    private void readIndexIfChanged() throws IOException, DataConversionException {
+        long currentLength = Files.exists(file) ? Files.size(file) : 0;
+        if (index == null || currentLength != fileLength) {
+            if (index != null) {
+                generation++;
+                close();
+            }
+            readIndex();
+        }
+    }
+
+    /**
+     * Returns the channel to read the record at {@code location} from, opening it if it is not open.
+     *
+     * @throws DataConversionException if the record is no longer at {@code location}.
+     */
+    private synchronized FileChannel readChannelFor(Location location) throws IOException, DataConversionException {
+        if (location.generation != generation) {
+            throw new DataConversionException(new IllegalValueException("Record moved since it was located"));
+        }
+        if (readChannel == null || !readChannel.isOpen()) {
+            readChannel = FileChannel.open(file, StandardOpenOption.READ);
+        }
+        return readChannel;
+    }
+
+    /**
+     * Reads the location of the latest record of each key from the file, ignoring entries after the last complete
+     * commit.
+     */
+    private void readIndex() throws IOException, DataConversionException {
+        index = new TreeMap<>();
+        committedLength = 0;
+        fileLength = 0;
+        replacedLength = 0;
+        if (!Files.exists(file)) {
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            fileLength = channel.size();
+            if (fileLength == 0) {
+                return;
+            }
+            DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+            if (fileLength < HEADER_LENGTH || in.readInt() != MAGIC) {
+                throw new DataConversionException(new IllegalValueException("Not a record file"));
+            }
+            int version = in.readInt();
+            if (version > FORMAT_VERSION) {
+                throw new DataConversionException(
+                        new IllegalValueException("Unsupported record file version " + version));
+            }
+
+            long position = HEADER_LENGTH;
+            committedLength = HEADER_LENGTH;
+            Map<String, Location> uncommitted = new LinkedHashMap<>();
+            while (position + ENTRY_HEADER_LENGTH <= fileLength) {
+                int length = in.readInt();
+                int checksum = in.readInt();
+                if (length < 1 || length > fileLength - position - ENTRY_HEADER_LENGTH) {
+                    break;
+                }
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+                CRC32 crc = new CRC32();
+                crc.update(payload);
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+
+                long valueOffset = position + ENTRY_HEADER_LENGTH;
+                position = valueOffset + length;
+                if (payload[0] == COMMIT) {
+                    uncommitted.forEach(this::indexRecord);
+                    uncommitted.clear();
+                    committedLength = position;
+                    continue;
+                }
+                DataInputStream entry = new DataInputStream(new ByteArrayInputStream(payload, 1, length - 1));
+                String key = entry.readUTF();
+                if (payload[0] == DELETE) {
+                    uncommitted.put(key, null);
+                    continue;
+                }
+                long order = entry.readLong();
+                int valueLength = entry.available();
+                int valueStart = length - valueLength;
+                uncommitted.put(key, new Location(order, valueOffset + valueStart, valueLength,
+                        ENTRY_HEADER_LENGTH + length, digestOf(payload, valueStart, valueLength), generation));
+            }
+        }
+    }
+
+    /**
+     * Makes {@code location} the location of the record of {@code key}, or removes the record if it is null.
+     */
+    private void indexRecord(String key, Location location) {
+        Location replaced = location == null ? index.remove(key) : index.put(key, location);
+        if (replaced != null) {
+            replacedLength += replaced.entryLength;
+        }
+    }
+
+    private static ByteBuffer header() {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+        header.putInt(MAGIC).putInt(FORMAT_VERSION).flip();
+        return header;
+    }
+
+    /**
+     * Returns the payload of an entry that puts {@code put} in the record of {@code key}, or deletes the record if
+     * {@code put} is null.
+     */
+    private static byte[] encodePayload(String key, Batch.Put put) throws IOException {
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(payload);
+        out.writeByte(put == null ? DELETE : PUT);
+        out.writeUTF(key);
+        if (put != null) {
+            out.writeLong(put.order);
+            out.write(put.value);
+        }
+        return payload.toByteArray();
+    }
+
+    /**
+     * Writes an entry holding {@code payload}, preceded by its length and checksum.
+     */
+    private static void writeEntry(DataOutputStream out, byte[] payload) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        out.writeInt(payload.length);
+        out.writeInt((int) crc.getValue());
+        out.write(payload);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer bytes, long position) throws IOException {
+        while (bytes.hasRemaining()) {
+            channel.write(bytes, position + bytes.position());
+        }
+    }
+
+    /**
+     * Returns the SHA-256 digest of the bytes, used to tell whether a record has changed without reading it.
+     * Unlike a checksum, two different values are not expected to ever have the same digest, so a changed record is
+     * never mistaken for the current one and left out of a batch.
+     */
+    private static byte[] digestOf(byte[] bytes, int offset, int length) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(bytes, offset, length);
+            return digest.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new AssertionError("Every Java platform supports SHA-256", e);
+        }
+    }
+
+    /**
+     * Where the value of a record is in the file, and what it holds.
+     */
+    static class Location {
+        private final long order;
+        private final long offset;
+        private final int length;
+        private final int entryLength;
+        private final byte[] digest;
+        private final int generation;
+
+        private Location(long order, long offset, int length, int entryLength, byte[] digest, int generation) {
+            this.order = order;
+            this.offset = offset;
+            this.length = length;
+            this.entryLength = entryLength;
+            this.digest = digest;
+            this.generation = generation;
+        }
+
+        long getOrder() {
+            return order;
+        }
+
+        private boolean holds(Batch.Put put) {
+            return order == put.order && length == put.value.length
+                    && MessageDigest.isEqual(digest, digestOf(put.value, 0, length));
+        }
+    }
+
+    /**
+     * Records to be put or deleted together, see {@link RecordFile#write(Batch)}.
+     */
+    static class Batch {
+        // null for a deleted record
+        private final Map<String, Put> changes = new HashMap<>();
+
+        void put(String key, long order, byte[] value) {
+            requireNonNull(key);
+            requireNonNull(value);
+            changes.put(key, new Put(order, value));
+        }
+
+        void delete(String key) {
+            requireNonNull(key);
+            changes.put(key, null);
+        }
+
+        private static class Put {
+            private final long order;
+            private final byte[] value;
+
+            Put(long order, byte[] value) {
+                this.order = order;
+                this.value = value;
+            }
+        }
+    }
+}
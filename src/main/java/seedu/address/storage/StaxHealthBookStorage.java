@@ -0,0 +1,160 @@
+package seedu.address.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleSupplier;
+import java.util.logging.Logger;
+
+import javax.xml.bind.JAXBException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import seedu.address.commons.core.LogsCenter;
+import seedu.address.commons.exceptions.DataConversionException;
+import seedu.address.commons.exceptions.IllegalValueException;
+import seedu.address.commons.util.ByteBufferInputStream;
+import seedu.address.commons.util.FileUtil;
+import seedu.address.commons.util.XmlUtil;
+import seedu.address.model.HealthBook;
+import seedu.address.model.ReadOnlyHealthBook;
+import seedu.address.model.appointment.Appointment;
+
+/**
+ * A class to access HealthBook data stored as an xml file on the hard disk, reading the file as a stream.
+ * Each {@code <persons>} and {@code <appointments>} element is converted to a model object as soon as it is read,
+ * instead of unmarshalling the whole file before converting it, so only one element is held in its xml form at a
+ * time and invalid data is found as early as possible. Persons are expected after the appointments they refer to, as
+ * {@link XmlSerializableHealthBook} saves them. The file is read into memory at once and parsed from there rather
+ * than read through a stream, and is not kept in use afterwards. Saving is the same as {@link XmlHealthBookStorage}.
+ */
+public class StaxHealthBookStorage extends XmlHealthBookStorage {
+
+    private static final Logger logger = LogsCenter.getLogger(StaxHealthBookStorage.class);
+
+    private static final String ROOT_ELEMENT = "addressbook";
+    private static final String PERSON_ELEMENT = "persons";
+    private static final String APPOINTMENT_ELEMENT = "appointments";
+    private static final String APPOINTMENT_COUNTER_ELEMENT = "appointmentCounter";
+    private static final double PROGRESS_REPORTING_STEP = 0.01;
+
+    private static final XMLInputFactory inputFactory = XMLInputFactory.newInstance();
+
+    private final DoubleConsumer progressListener;
+
+    public StaxHealthBookStorage(Path filePath) {
+        this(filePath, progress -> {});
+    }
+
+    /**
+     * Creates a storage that reports the fraction of the file read so far, between 0 and 1, to
+     * {@code progressListener} while reading.
+     */
+    public StaxHealthBookStorage(Path filePath, DoubleConsumer progressListener) {
+        super(filePath);
+        requireNonNull(progressListener);
+        this.progressListener = progressListener;
+    }
+
+    @Override
+    public Optional<ReadOnlyHealthBook> readAddressBook(Path filePath) throws DataConversionException,
+                                                                                 IOException {
+        requireNonNull(filePath);
+
+        if (!Files.exists(filePath)) {
+            logger.info("HealthBook file " + filePath + " not found");
+            return Optional.empty();
+        }
+
+        try {
+            ByteBufferInputStream in = new ByteBufferInputStream(FileUtil.readIntoBuffer(filePath));
+            XMLStreamReader reader = inputFactory.createXMLStreamReader(in);
+            try {
+                HealthBook healthBook = readHealthBook(reader, in::getProgress);
+                progressListener.accept(1);
+                return Optional.of(healthBook);
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException | JAXBException | NumberFormatException e) {
+            throw new DataConversionException(e);
+        } catch (IllegalValueException ive) {
+            logger.info("Illegal values found in " + filePath + ": " + ive.getMessage());
+            throw new DataConversionException(ive);
+        }
+    }
+
+    /**
+     * Reads the health book at the current position of {@code reader}, reporting {@code progress} after each person
+     * and appointment.
+     */
+    private HealthBook readHealthBook(XMLStreamReader reader, DoubleSupplier progress)
+            throws XMLStreamException, JAXBException, IllegalValueException {
+        reader.nextTag();
+        if (!ROOT_ELEMENT.equals(reader.getLocalName())) {
+            throw new XMLStreamException("Unexpected root element " + reader.getLocalName(), reader.getLocation());
+        }
+        reader.next();
+
+        HealthBook healthBook = new HealthBook();
+        // appointments read so far, which persons read after them share instead of holding copies
+        Map<Integer, Appointment> listedAppointments = new HashMap<>();
+        double reportedProgress = 0;
+        while (reader.hasNext()) {
+            if (!reader.isStartElement()) {
+                reader.next();
+                continue;
+            }
+
+            switch (reader.getLocalName()) {
+            case PERSON_ELEMENT:
+                // unmarshalling moves the reader past the end of the element
+                XmlAdaptedPerson person = XmlUtil.getDataFromReader(reader, XmlAdaptedPerson.class);
+                XmlSerializableHealthBook.addPerson(healthBook, person.toModelType(listedAppointments));
+                break;
+            case APPOINTMENT_ELEMENT:
+                Appointment appointment =
+                        XmlUtil.getDataFromReader(reader, XmlAdaptedAppointment.class).toModelType();
+                healthBook.addAppointment(appointment);
+                listedAppointments.put(appointment.getAppointmentId(), appointment);
+                break;
+            case APPOINTMENT_COUNTER_ELEMENT:
+                healthBook.setAppointmentCounter(Integer.parseInt(reader.getElementText().trim()));
+                break;
+            default:
+                skipElement(reader);
+                break;
+            }
+
+            double currentProgress = progress.getAsDouble();
+            if (currentProgress - reportedProgress >= PROGRESS_REPORTING_STEP) {
+                progressListener.accept(currentProgress);
+                reportedProgress = currentProgress;
+            }
+        }
+        return healthBook;
+    }
+
+    /**
+     * Moves {@code reader} from the start of an element to the event following the end of the element.
+     */
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamReader.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamReader.END_ELEMENT) {
+                depth--;
+            }
+        }
+        reader.next();
+    }
+}
@@ -2,8 +2,10 @@ package seedu.address.storage;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.Optional;
 
+import seedu.address.commons.events.logic.CommandExecutedEvent;
 import seedu.address.commons.events.model.HealthBookChangedEvent;
 import seedu.address.commons.events.storage.DataSavingExceptionEvent;
 import seedu.address.commons.exceptions.DataConversionException;
@@ -36,4 +38,28 @@ public interface Storage extends HealthBookStorage, UserPrefsStorage {
      * Raises {@link DataSavingExceptionEvent} if there was an error during saving.
      */
     void handleAddressBookChangedEvent(HealthBookChangedEvent abce);
+
+    /**
+     * Returns the commands executed since the Address Book was last saved, oldest first.
+     * Returns an empty list if commands are not journaled.
+     */
+    List<String> readCommandJournal() throws IOException;
+
+    /**
+     * Saves {@code addressBook} and starts journaling the commands executed on it from now on.
+     * Does nothing if commands are not journaled.
+     */
+    void startCommandJournal(ReadOnlyHealthBook addressBook) throws IOException;
+
+    /**
+     * Appends the command to the command journal if it changed the Address Book, saving the Address Book instead
+     * when the command cannot be replayed or the journal has grown long.
+     * Raises {@link DataSavingExceptionEvent} if there was an error during saving.
+     */
+    void handleCommandExecutedEvent(CommandExecutedEvent cee);
+
+    /**
+     * Saves any changes to the Address Book that are still waiting to be written and stops saving in the background.
+     */
+    void stop();
 }
@@ -2,32 +2,124 @@ package seedu.address.storage;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
 import com.google.common.eventbus.Subscribe;
 
 import seedu.address.commons.core.ComponentManager;
+import seedu.address.commons.core.EventsCenter;
 import seedu.address.commons.core.LogsCenter;
+import seedu.address.commons.events.logic.CommandExecutedEvent;
 import seedu.address.commons.events.model.HealthBookChangedEvent;
 import seedu.address.commons.events.storage.DataSavingExceptionEvent;
 import seedu.address.commons.exceptions.DataConversionException;
+import seedu.address.model.HealthBook;
+import seedu.address.model.HealthBookChanges;
 import seedu.address.model.ReadOnlyHealthBook;
 import seedu.address.model.UserPrefs;
 
 /**
  * Manages storage of HealthBook data in local storage.
+ * Events are handled on a background thread, so that changes to the health book are saved without holding up the
+ * thread that changed it.
+ * Events that only hold the changes made to the health book are applied to a copy of the health book of the previous
+ * event, which is kept on that thread.
+ * When created with a positive save debounce window, the first change starts the window, and the latest state of
+ * the health book at the end of the window is saved, so a burst of changes results in a single write.
+ * When created with an {@code IncrementalHealthBookStorage}, only the records changed by each change are saved once
+ * the whole health book has been saved. Changes are then encoded as they happen, and written in the same order.
+ * When created with an {@code IndexedHealthBookStorage}, the snapshot is saved together with the changes made since
+ * the last saved snapshot, so that only the records they touch are compared with the file.
+ * When created with a {@code CommandJournal}, each command that changes the health book is appended to the journal
+ * instead, and the whole health book is only saved every {@value #COMMANDS_PER_CHECKPOINT} commands, when a command
+ * cannot be replayed, and when the storage is stopped.
  */
 public class StorageManager extends ComponentManager implements Storage {
 
+    public static final int COMMANDS_PER_CHECKPOINT = 100;
+
+    /** The seconds the saving thread is kept alive when there is nothing to save. */
+    private static final long SAVE_THREAD_KEEP_ALIVE_SECONDS = 60;
+
     private static final Logger logger = LogsCenter.getLogger(StorageManager.class);
     private HealthBookStorage healthBookStorage;
     private UserPrefsStorage userPrefsStorage;
+    private final int saveDebounceMillis;
+    private final ScheduledThreadPoolExecutor saveExecutor;
+    // the health book after the latest event, and the copy of it that changes are applied to, if it is one
+    private ReadOnlyHealthBook latestData;
+    private HealthBook latestDataCopy;
+    private ReadOnlyHealthBook pendingSnapshot;
+    // the changes made since the last saved snapshot up to the pending snapshot, or null if they are not known
+    private HealthBookChanges pendingSnapshotChanges;
+    private final IndexedHealthBookStorage indexedStorage;
+    private final IncrementalHealthBookStorage incrementalStorage;
+    private final List<String> pendingChanges = new ArrayList<>();
+
+    private final CommandJournal commandJournal;
+    private boolean isJournaling;
+    private ReadOnlyHealthBook journaledData;
+    private boolean hasChangesSinceLastCommand;
+    private boolean hasChangesSinceLastCheckpoint;
+    private int commandsSinceLastCheckpoint;
 
     public StorageManager(HealthBookStorage healthBookStorage, UserPrefsStorage userPrefsStorage) {
-        super();
+        this(healthBookStorage, userPrefsStorage, 0);
+    }
+
+    public StorageManager(HealthBookStorage healthBookStorage, UserPrefsStorage userPrefsStorage,
+                          int saveDebounceMillis) {
+        this(healthBookStorage, userPrefsStorage, saveDebounceMillis, null);
+    }
+
+    /**
+     * Creates a {@code StorageManager} that journals commands to {@code commandJournal} once
+     * {@link #startCommandJournal(ReadOnlyHealthBook)} is called. {@code commandJournal} can be null if commands
+     * should not be journaled.
+     */
+    public StorageManager(HealthBookStorage healthBookStorage, UserPrefsStorage userPrefsStorage,
+                          int saveDebounceMillis, CommandJournal commandJournal) {
+        this(healthBookStorage, userPrefsStorage, saveDebounceMillis, commandJournal, createSaveExecutor());
+    }
+
+    private StorageManager(HealthBookStorage healthBookStorage, UserPrefsStorage userPrefsStorage,
+                           int saveDebounceMillis, CommandJournal commandJournal,
+                           ScheduledThreadPoolExecutor saveExecutor) {
+        super(EventsCenter.getInstance(), saveExecutor);
+        this.saveExecutor = saveExecutor;
         this.healthBookStorage = healthBookStorage;
         this.userPrefsStorage = userPrefsStorage;
+        this.saveDebounceMillis = saveDebounceMillis;
+        this.commandJournal = commandJournal;
+        this.incrementalStorage = healthBookStorage instanceof IncrementalHealthBookStorage
+                ? (IncrementalHealthBookStorage) healthBookStorage
+                : null;
+        this.indexedStorage = healthBookStorage instanceof IndexedHealthBookStorage
+                ? (IndexedHealthBookStorage) healthBookStorage
+                : null;
+    }
+
+    /**
+     * Returns the executor of the thread that handles the events and saves the health book.
+     */
+    private static ScheduledThreadPoolExecutor createSaveExecutor() {
+        ScheduledThreadPoolExecutor saveExecutor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread saveThread = new Thread(runnable, "HealthBook saver");
+            saveThread.setDaemon(true);
+            return saveThread;
+        });
+        saveExecutor.setKeepAliveTime(SAVE_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+        saveExecutor.allowCoreThreadTimeOut(true);
+        // stop() saves the pending changes itself instead of waiting for the window to end
+        saveExecutor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        return saveExecutor;
     }
 
     // ================ UserPrefs methods ==============================
@@ -81,9 +173,259 @@ public class StorageManager extends ComponentManager implements Storage {
     @Override
     @Subscribe
     public void handleAddressBookChangedEvent(HealthBookChangedEvent event) {
+        ReadOnlyHealthBook data = latestDataAfter(event);
+        if (data == null) {
+            logger.warning("Dropping health book changes made before the health book was known");
+            return;
+        }
+
+        if (isJournaling) {
+            logger.info(LogsCenter.getEventHandlingLogMessage(event, "Local data changed, waiting to journal"));
+            journaledData = data;
+            hasChangesSinceLastCommand = true;
+            return;
+        }
+
+        if (event.changes != null && incrementalStorage != null && incrementalStorage.canSaveChanges()) {
+            logger.info(LogsCenter.getEventHandlingLogMessage(event, "Local data changed, saving changes to file"));
+            try {
+                saveChanges(incrementalStorage.encodeChanges(event.changes));
+                return;
+            } catch (IOException e) {
+                logger.warning("Failed to encode changes, saving the whole health book instead: " + e.getMessage());
+            }
+        }
+
         logger.info(LogsCenter.getEventHandlingLogMessage(event, "Local data changed, saving to file"));
+        if (saveDebounceMillis <= 0 || saveExecutor.isShutdown()) {
+            saveAndReportFailure(data, event.changes);
+            return;
+        }
+
+        synchronized (this) {
+            boolean isSaveScheduled = isSavePending();
+            if (pendingSnapshot == null || pendingSnapshotChanges == null || event.changes == null) {
+                pendingSnapshotChanges = pendingSnapshot == null ? event.changes : null;
+            } else {
+                pendingSnapshotChanges = pendingSnapshotChanges.followedBy(event.changes);
+            }
+            // the latest data is only changed by the events, which are handled on the saving thread
+            pendingSnapshot = data;
+            // the snapshot already holds the pending changes
+            pendingChanges.clear();
+            if (!isSaveScheduled) {
+                saveExecutor.schedule(this::savePendingChanges, saveDebounceMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Returns the health book as it is after the changes of {@code event}, or null if they are changes to a health
+     * book that is not known. Events holding only changes are applied to a copy of the health book of the previous
+     * event, so that the records that did not change are not copied again for each event.
+     */
+    private ReadOnlyHealthBook latestDataAfter(HealthBookChangedEvent event) {
+        if (event.data != null) {
+            latestData = event.data;
+            latestDataCopy = null;
+            return latestData;
+        }
+        if (latestData == null) {
+            return null;
+        }
+        if (latestDataCopy == null) {
+            // the health book of an event is not changed, so changes are applied to a copy of it
+            latestDataCopy = new HealthBook(latestData);
+            latestData = latestDataCopy;
+        }
+        latestDataCopy.applyCopiedChanges(event.changes);
+        return latestData;
+    }
+
+    /**
+     * Saves {@code encodedChanges} after any changes that are still waiting to be written.
+     */
+    private void saveChanges(List<String> encodedChanges) {
+        if (saveDebounceMillis <= 0 || saveExecutor.isShutdown()) {
+            saveChangesAndReportFailure(encodedChanges);
+            return;
+        }
+
+        synchronized (this) {
+            boolean isSaveScheduled = isSavePending();
+            pendingChanges.addAll(encodedChanges);
+            if (!isSaveScheduled) {
+                saveExecutor.schedule(this::savePendingChanges, saveDebounceMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private synchronized boolean isSavePending() {
+        return pendingSnapshot != null || !pendingChanges.isEmpty();
+    }
+
+    // ================ Command journal methods ==============================
+
+    @Override
+    public List<String> readCommandJournal() throws IOException {
+        if (commandJournal == null) {
+            return Collections.emptyList();
+        }
+        return commandJournal.readCommands();
+    }
+
+    @Override
+    public void startCommandJournal(ReadOnlyHealthBook addressBook) throws IOException {
+        if (commandJournal == null) {
+            return;
+        }
+        // the changes made before the journal starts are saved as they were, not journaled
+        waitForQueuedEvents();
+        saveAddressBook(addressBook);
+        commandJournal.start();
+        journaledData = addressBook;
+        isJournaling = true;
+        hasChangesSinceLastCommand = false;
+        hasChangesSinceLastCheckpoint = false;
+        commandsSinceLastCheckpoint = 0;
+    }
+
+    @Override
+    @Subscribe
+    public void handleCommandExecutedEvent(CommandExecutedEvent event) {
+        if (!isJournaling || !hasChangesSinceLastCommand) {
+            return;
+        }
+        hasChangesSinceLastCommand = false;
+        hasChangesSinceLastCheckpoint = true;
+
+        if (!event.isReplayable || commandsSinceLastCheckpoint + 1 >= COMMANDS_PER_CHECKPOINT) {
+            logger.info(LogsCenter.getEventHandlingLogMessage(event, "Saving data to file"));
+            checkpoint();
+            return;
+        }
+
+        logger.info(LogsCenter.getEventHandlingLogMessage(event, "Appending command to journal"));
+        try {
+            commandJournal.append(event.commandText);
+            commandsSinceLastCheckpoint++;
+        } catch (IOException e) {
+            logger.warning("Failed to append to command journal, saving changes to data file from now on");
+            raise(new DataSavingExceptionEvent(e));
+            isJournaling = false;
+            saveAndReportFailure(journaledData);
+        }
+    }
+
+    /**
+     * Saves the journaled health book to the data file and starts a new, empty journal.
+     * The old journal is kept if the health book could not be saved.
+     */
+    private void checkpoint() {
+        try {
+            saveAddressBook(journaledData);
+            commandJournal.start();
+            hasChangesSinceLastCheckpoint = false;
+            commandsSinceLastCheckpoint = 0;
+        } catch (IOException e) {
+            raise(new DataSavingExceptionEvent(e));
+        }
+    }
+
+    @Override
+    public void stop() {
+        saveExecutor.shutdown();
+        try {
+            // lets the events raised already and a save that is already being written finish
+            saveExecutor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (isJournaling && (hasChangesSinceLastCheckpoint || hasChangesSinceLastCommand)) {
+            checkpoint();
+        }
+        savePendingChanges();
+    }
+
+    /**
+     * Waits until the events raised before now have been handled, unless the storage is stopped.
+     */
+    void waitForQueuedEvents() {
+        if (saveExecutor.isShutdown()) {
+            return;
+        }
+        try {
+            saveExecutor.submit(() -> { }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new AssertionError("An empty task cannot fail", e);
+        }
+    }
+
+    /**
+     * Saves the latest snapshot of the health book and the changes made after it, if they have not been saved yet.
+     */
+    private void savePendingChanges() {
+        ReadOnlyHealthBook snapshot;
+        HealthBookChanges snapshotChanges;
+        List<String> changes;
+        synchronized (this) {
+            snapshot = pendingSnapshot;
+            snapshotChanges = pendingSnapshotChanges;
+            pendingSnapshot = null;
+            pendingSnapshotChanges = null;
+            changes = new ArrayList<>(pendingChanges);
+            pendingChanges.clear();
+        }
+        if (snapshot != null) {
+            saveAndReportFailure(snapshot, snapshotChanges);
+        }
+        if (!changes.isEmpty()) {
+            saveChangesAndReportFailure(changes);
+        }
+    }
+
+    /**
+     * Appends {@code encodedChanges} to the data file's journal, raising a {@code DataSavingExceptionEvent} if they
+     * cannot be saved.
+     * If the save these changes build on failed, the whole health book is saved instead, as there may not be a next
+     * change to save it.
+     */
+    private void saveChangesAndReportFailure(List<String> encodedChanges) {
+        if (!incrementalStorage.canSaveChanges()) {
+            // the latest data already holds the changes, as both are only changed on the saving thread or once it
+            // has stopped
+            logger.warning("Saving the whole health book as the save the changes build on failed");
+            saveAndReportFailure(latestData);
+            return;
+        }
+        try {
+            incrementalStorage.saveChanges(encodedChanges);
+        } catch (IOException | DataConversionException e) {
+            raise(new DataSavingExceptionEvent(e));
+        }
+    }
+
+    /**
+     * Saves {@code addressBook} to the data file, raising a {@code DataSavingExceptionEvent} if it cannot be saved.
+     */
+    private void saveAndReportFailure(ReadOnlyHealthBook addressBook) {
+        saveAndReportFailure(addressBook, null);
+    }
+
+    /**
+     * Saves {@code addressBook}, which {@code changes} were made to since the last saved health book, to the data
+     * file, raising a {@code DataSavingExceptionEvent} if it cannot be saved. {@code changes} can be null if they are
+     * not known.
+     */
+    private void saveAndReportFailure(ReadOnlyHealthBook addressBook, HealthBookChanges changes) {
         try {
-            saveAddressBook(event.data);
+            if (indexedStorage != null && changes != null) {
+                indexedStorage.saveChanges(addressBook, changes);
+            } else {
+                saveAddressBook(addressBook);
+            }
         } catch (IOException e) {
             raise(new DataSavingExceptionEvent(e));
         }
@@ -57,7 +57,7 @@ public class XmlAdaptedAllergy {
         if (!isValidAllergy(allergy)) {
             throw new IllegalValueException(MESSAGE_ALLERGY_CONSTRAINTS);
         }
-        return new Allergy(allergy);
+        return Allergy.of(allergy);
 
     }
     @Override
@@ -52,7 +52,7 @@ public class XmlAdaptedCondition {
         if (!Condition.isValidCondition(condition)) {
             throw new IllegalValueException(Condition.MESSAGE_CONDITION_CONSTRAINTS);
         }
-        return new Condition(condition);
+        return Condition.of(condition);
 
     }
     @Override
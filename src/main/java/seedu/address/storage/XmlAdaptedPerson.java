@@ -1,8 +1,10 @@
 package seedu.address.storage;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -20,6 +22,7 @@ import seedu.address.model.person.Name;
 import seedu.address.model.person.Person;
 import seedu.address.model.person.Phone;
 import seedu.address.model.person.Remark;
+import seedu.address.model.person.Role;
 import seedu.address.model.tag.Tag;
 
 /**
@@ -28,6 +31,8 @@ import seedu.address.model.tag.Tag;
 public class XmlAdaptedPerson {
 
     public static final String MISSING_FIELD_MESSAGE_FORMAT = "Person's %s field is missing!";
+    public static final String MESSAGE_UNKNOWN_APPOINTMENT = "Person refers to appointment %d, which is not listed!";
+    public static final String MESSAGE_UNKNOWN_ROLE = "Person's role %s is not known!";
 
     @XmlElement(required = true)
     private String name;
@@ -40,12 +45,18 @@ public class XmlAdaptedPerson {
     @XmlElement(required = true)
     private String remark;
     @XmlElement
+    private String role;
+    @XmlElement
     private List<XmlAdaptedTag> tagged = new ArrayList<>();
     @XmlElement
     private List<XmlAdaptedAppointment> upcomingAppointments = new ArrayList<>();
     @XmlElement
     private List<XmlAdaptedAppointment> pastAppointments = new ArrayList<>();
     @XmlElement
+    private List<Integer> upcomingAppointmentIds = new ArrayList<>();
+    @XmlElement
+    private List<Integer> pastAppointmentIds = new ArrayList<>();
+    @XmlElement
     private XmlAdaptedMedicalHistory medicalHistory = new XmlAdaptedMedicalHistory();
 
 
@@ -107,6 +118,17 @@ public class XmlAdaptedPerson {
      * @param source future changes to this will not affect the created XmlAdaptedPerson
      */
     public XmlAdaptedPerson(Person source) {
+        this(source, Collections.emptyMap());
+    }
+
+    /**
+     * Converts a given Person into this class for JAXB use, referring by id to the appointments that are in
+     * {@code listedAppointments} instead of embedding them, as they are saved on their own already.
+     *
+     * @param source future changes to this will not affect the created XmlAdaptedPerson
+     * @param listedAppointments the appointments of the main appointment list, by id
+     */
+    public XmlAdaptedPerson(Person source, Map<Integer, Appointment> listedAppointments) {
         name = source.getName().fullName;
         phone = source.getPhone().value;
         email = source.getEmail().value;
@@ -115,42 +137,76 @@ public class XmlAdaptedPerson {
         tagged = source.getTags().stream()
                 .map(XmlAdaptedTag::new)
                 .collect(Collectors.toList());
+        role = source.getRole().name();
 
-        if (!tagged.isEmpty() && tagged.get(0).equals(new XmlAdaptedTag("Patient"))) {
-            upcomingAppointments = ((Patient) source).getUpcomingAppointments().stream()
-                    .map(XmlAdaptedAppointment::new)
-                    .collect(Collectors.toList());
-            pastAppointments = ((Patient) source).getPastAppointments().stream()
-                    .map(XmlAdaptedAppointment::new)
-                    .collect(Collectors.toList());
+        if (source.getRole() == Role.PATIENT) {
+            List<Appointment> upcoming = ((Patient) source).getUpcomingAppointments();
+            if (areAllListed(upcoming, listedAppointments)) {
+                upcomingAppointmentIds = idsOf(upcoming);
+            } else {
+                upcomingAppointments = adapt(upcoming);
+            }
+            List<Appointment> past = ((Patient) source).getPastAppointments();
+            if (areAllListed(past, listedAppointments)) {
+                pastAppointmentIds = idsOf(past);
+            } else {
+                pastAppointments = adapt(past);
+            }
             medicalHistory = new XmlAdaptedMedicalHistory(((Patient) source).getMedicalHistory());
-        } else if (!tagged.isEmpty() && tagged.get(0).equals(new XmlAdaptedTag("Doctor"))) {
-            upcomingAppointments = ((Doctor) source).getUpcomingAppointments().stream()
-                    .map(XmlAdaptedAppointment::new)
-                    .collect(Collectors.toList());
+        } else if (source.getRole() == Role.DOCTOR) {
+            List<Appointment> upcoming = ((Doctor) source).getUpcomingAppointments();
+            if (areAllListed(upcoming, listedAppointments)) {
+                upcomingAppointmentIds = idsOf(upcoming);
+            } else {
+                upcomingAppointments = adapt(upcoming);
+            }
         }
     }
 
+    /**
+     * Returns true if {@code appointments} is not empty and every appointment in it is the one with its id in
+     * {@code listedAppointments}. Lists are referred to as a whole so that their order is kept.
+     */
+    private static boolean areAllListed(List<Appointment> appointments, Map<Integer, Appointment> listedAppointments) {
+        return !appointments.isEmpty() && appointments.stream()
+                .allMatch(appointment -> listedAppointments.get(appointment.getAppointmentId()) == appointment);
+    }
+
+    private static List<Integer> idsOf(List<Appointment> appointments) {
+        return appointments.stream().map(Appointment::getAppointmentId).collect(Collectors.toList());
+    }
+
+    private static List<XmlAdaptedAppointment> adapt(List<Appointment> appointments) {
+        return appointments.stream().map(XmlAdaptedAppointment::new).collect(Collectors.toList());
+    }
+
     /**
      * Converts this jaxb-friendly adapted person object into the model's Person object.
      *
      * @throws IllegalValueException if there were any data constraints violated in the adapted person
      */
     public Person toModelType() throws IllegalValueException {
+        return toModelType(Collections.emptyMap());
+    }
+
+    /**
+     * Converts this jaxb-friendly adapted person object into the model's Person object, taking the appointments it
+     * refers to, and those it embeds with the same id as a listed one, from {@code listedAppointments}.
+     *
+     * @param listedAppointments the appointments of the main appointment list, by id
+     * @throws IllegalValueException if there were any data constraints violated in the adapted person, or it refers
+     *     to an appointment that is not in {@code listedAppointments}
+     */
+    public Person toModelType(Map<Integer, Appointment> listedAppointments) throws IllegalValueException {
         final List<Tag> personTags = new ArrayList<>();
         for (XmlAdaptedTag tag : tagged) {
             personTags.add(tag.toModelType());
         }
 
-        final List<Appointment> allUpcomingAppointments = new ArrayList<>();
-        for (XmlAdaptedAppointment upcomingAppointment : upcomingAppointments) {
-            allUpcomingAppointments.add(upcomingAppointment.toModelType());
-        }
-
-        final List<Appointment> allPastAppointments = new ArrayList<>();
-        for (XmlAdaptedAppointment pastAppointments : pastAppointments) {
-            allPastAppointments.add(pastAppointments.toModelType());
-        }
+        final List<Appointment> allUpcomingAppointments =
+                toAppointments(upcomingAppointments, upcomingAppointmentIds, listedAppointments);
+        final List<Appointment> allPastAppointments =
+                toAppointments(pastAppointments, pastAppointmentIds, listedAppointments);
 
         MedicalHistory modelMedicalHistory = medicalHistory.toModelType();
 
@@ -193,18 +249,55 @@ public class XmlAdaptedPerson {
         final Remark modelRemark = new Remark(remark);
 
         final Set<Tag> modelTags = new HashSet<>(personTags);
-        if (!modelTags.isEmpty() && modelTags.toArray()[0].equals(new Tag("Doctor"))) {
+        switch (toModelRole(modelTags)) {
+        case DOCTOR:
             return new Doctor(modelName, modelPhone, modelEmail, modelAddress, modelRemark, modelTags,
                     allUpcomingAppointments);
-        } else if (!modelTags.isEmpty() && modelTags.toArray()[0].equals(new Tag("Patient"))) {
+        case PATIENT:
             return new Patient(modelName, modelPhone, modelEmail, modelAddress, modelRemark, modelTags, "123",
                     allUpcomingAppointments, allPastAppointments, modelMedicalHistory);
-        } else {
+        default:
             return new Person(modelName, modelPhone, modelEmail, modelAddress, modelRemark, modelTags);
         }
 
     }
 
+    /**
+     * Returns the saved role, or for data files saved before roles were, the role given by {@code tags}.
+     */
+    private Role toModelRole(Set<Tag> tags) throws IllegalValueException {
+        if (role == null) {
+            return tags.contains(Tag.DOCTOR) ? Role.DOCTOR : tags.contains(Tag.PATIENT) ? Role.PATIENT : Role.PERSON;
+        }
+        try {
+            return Role.valueOf(role);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalValueException(String.format(MESSAGE_UNKNOWN_ROLE, role));
+        }
+    }
+
+    /**
+     * Returns the appointments embedded in {@code embedded} followed by those referred to by {@code ids}.
+     * An embedded appointment that is also listed is replaced by the listed one, so that it is shared.
+     */
+    private static List<Appointment> toAppointments(List<XmlAdaptedAppointment> embedded, List<Integer> ids,
+                                                    Map<Integer, Appointment> listedAppointments)
+            throws IllegalValueException {
+        final List<Appointment> appointments = new ArrayList<>();
+        for (XmlAdaptedAppointment appointment : embedded) {
+            Appointment listedAppointment = listedAppointments.get(appointment.getAppointmentId());
+            appointments.add(listedAppointment != null ? listedAppointment : appointment.toModelType());
+        }
+        for (Integer id : ids) {
+            Appointment listedAppointment = listedAppointments.get(id);
+            if (listedAppointment == null) {
+                throw new IllegalValueException(String.format(MESSAGE_UNKNOWN_APPOINTMENT, id));
+            }
+            appointments.add(listedAppointment);
+        }
+        return appointments;
+    }
+
     @Override
     public boolean equals(Object other) {
         if (other == this) {
@@ -70,7 +70,7 @@ public class XmlAdaptedPrescription {
             throw new IllegalValueException(String.format(MISSING_FIELD_MESSAGE_FORMAT,
                     MedicineName.class.getSimpleName()));
         }
-        final MedicineName medName = new MedicineName(medicineName);
+        final MedicineName medName = MedicineName.of(medicineName);
 
 
         if (dosage == null) {
@@ -1,6 +1,7 @@
 package seedu.address.storage;
 
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.nio.file.Path;
 
 import javax.xml.bind.JAXBException;
@@ -16,7 +17,7 @@ public class XmlFileStorage {
      * Saves the given addressbook data to the specified file.
      */
     public static void saveDataToFile(Path file, XmlSerializableHealthBook addressBook)
-            throws FileNotFoundException {
+            throws IOException {
         try {
             XmlUtil.saveDataToFile(file, addressBook);
         } catch (JAXBException e) {
@@ -1,7 +1,9 @@
 package seedu.address.storage;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import javax.xml.bind.annotation.XmlElement;
@@ -14,21 +16,22 @@ import seedu.address.model.appointment.Appointment;
 import seedu.address.model.doctor.Doctor;
 import seedu.address.model.patient.Patient;
 import seedu.address.model.person.Person;
-import seedu.address.model.tag.Tag;
 
 /**
  * An Immutable HealthBook that is serializable to XML format
+ * Each appointment is saved once, in the appointment list, and persons refer to it by id. The appointment list comes
+ * before the persons so that their references can be resolved as soon as a person is read.
  */
 @XmlRootElement(name = "addressbook")
 public class XmlSerializableHealthBook {
 
     public static final String MESSAGE_DUPLICATE_PERSON = "Persons list contains duplicate person(s).";
 
-    @XmlElement
-    private List<XmlAdaptedPerson> persons;
     @XmlElement
     private List<XmlAdaptedAppointment> appointments;
     @XmlElement
+    private List<XmlAdaptedPerson> persons;
+    @XmlElement
     private int appointmentCounter;
 
     /**
@@ -46,9 +49,12 @@ public class XmlSerializableHealthBook {
      */
     public XmlSerializableHealthBook(ReadOnlyHealthBook src) {
         this();
-        persons.addAll(src.getPersonList().stream().map(XmlAdaptedPerson::new).collect(Collectors.toList()));
         appointments.addAll(src.getAppointmentList().stream().map(XmlAdaptedAppointment::new)
                 .collect(Collectors.toList()));
+        Map<Integer, Appointment> listedAppointments = indexById(src.getAppointmentList());
+        persons.addAll(src.getPersonList().stream()
+                .map(person -> new XmlAdaptedPerson(person, listedAppointments))
+                .collect(Collectors.toList()));
         appointmentCounter = src.getAppointmentCounter();
     }
 
@@ -60,27 +66,51 @@ public class XmlSerializableHealthBook {
      */
     public HealthBook toModelType() throws IllegalValueException {
         HealthBook healthBook = new HealthBook();
-        for (XmlAdaptedPerson p : persons) {
-            Person person = p.toModelType();
-            if (healthBook.hasPerson(person)) {
-                throw new IllegalValueException(MESSAGE_DUPLICATE_PERSON);
-            }
-            if (!person.getTags().isEmpty() && person.getTags().toArray()[0].equals(new Tag("Doctor"))) {
-                healthBook.addDoctor((Doctor) person);
-            } else if (!person.getTags().isEmpty() && person.getTags().toArray()[0].equals(new Tag("Patient"))) {
-                healthBook.addPatient((Patient) person);
-            } else {
-                healthBook.addPerson(person);
-            }
-        }
         for (XmlAdaptedAppointment a : appointments) {
             Appointment appointment = a.toModelType();
             healthBook.addAppointment(appointment);
         }
+        Map<Integer, Appointment> listedAppointments = indexById(healthBook.getAppointmentList());
+        for (XmlAdaptedPerson p : persons) {
+            addPerson(healthBook, p.toModelType(listedAppointments));
+        }
         healthBook.setAppointmentCounter(appointmentCounter);
         return healthBook;
     }
 
+    /**
+     * Returns {@code appointments} by id.
+     */
+    static Map<Integer, Appointment> indexById(List<Appointment> appointments) {
+        Map<Integer, Appointment> appointmentsById = new HashMap<>();
+        for (Appointment appointment : appointments) {
+            appointmentsById.put(appointment.getAppointmentId(), appointment);
+        }
+        return appointmentsById;
+    }
+
+    /**
+     * Adds {@code person} to {@code healthBook} as a doctor, patient or plain person according to its role.
+     *
+     * @throws IllegalValueException if {@code healthBook} already contains the person.
+     */
+    static void addPerson(HealthBook healthBook, Person person) throws IllegalValueException {
+        if (healthBook.hasPerson(person)) {
+            throw new IllegalValueException(MESSAGE_DUPLICATE_PERSON);
+        }
+        switch (person.getRole()) {
+        case DOCTOR:
+            healthBook.addDoctor((Doctor) person);
+            break;
+        case PATIENT:
+            healthBook.addPatient((Patient) person);
+            break;
+        default:
+            healthBook.addPerson(person);
+            break;
+        }
+    }
+
     @Override
     public boolean equals(Object other) {
         if (other == this) {
@@ -7,6 +7,9 @@ import java.util.logging.Logger;
 
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
+import javafx.geometry.Side;
+import javafx.scene.control.ContextMenu;
+import javafx.scene.control.MenuItem;
 import javafx.scene.control.TextField;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.Region;
@@ -15,6 +18,7 @@ import seedu.address.commons.events.ui.NewResultAvailableEvent;
 import seedu.address.logic.ListElementPointer;
 import seedu.address.logic.Logic;
 import seedu.address.logic.commands.CommandResult;
+import seedu.address.logic.commands.SearchCommand;
 import seedu.address.logic.commands.exceptions.CommandException;
 import seedu.address.logic.parser.exceptions.ParseException;
 
@@ -25,6 +29,7 @@ public class CommandBox extends UiPart<Region> {
 
     public static final String ERROR_STYLE_CLASS = "error";
     private static final String FXML = "CommandBox.fxml";
+    private static final String SEARCH_PREFIX = SearchCommand.COMMAND_WORD + " ";
 
     private final Logger logger = LogsCenter.getLogger(CommandBox.class);
     private final Logic logic;
@@ -34,7 +39,8 @@ public class CommandBox extends UiPart<Region> {
             "select", "undo", "add-appointment", "edit-appointment", "delete-appointment", "remark",
             "add-medical-history", "filter-patient", "filter-doctor", "delete-medical-history",
             "view-patient", "view-doctor", "complete-appointment", "add-prescription",
-            "delete-prescription"));
+            "delete-prescription", "search"));
+    private final ContextMenu nameSuggestions = new ContextMenu();
     private ListElementPointer historySnapshot;
 
     @FXML
@@ -45,6 +51,7 @@ public class CommandBox extends UiPart<Region> {
         this.logic = logic;
         // calls #setStyleToDefault() whenever there is a change to the text of the command box.
         commandTextField.textProperty().addListener((unused1, unused2, unused3) -> setStyleToDefault());
+        commandTextField.textProperty().addListener((unused1, unused2, newText) -> suggestNames(newText));
         historySnapshot = logic.getHistorySnapshot();
     }
 
@@ -113,6 +120,48 @@ public class CommandBox extends UiPart<Region> {
         commandTextField.end();
     }
 
+    /**
+     * Shows the names of the persons matching the word being typed if {@code text} is a search command, so that
+     * a person can be picked before their name is typed in full.
+     */
+    private void suggestNames(String text) {
+        int wordStart = text.lastIndexOf(' ') + 1;
+        if (!text.startsWith(SEARCH_PREFIX) || wordStart == text.length()) {
+            nameSuggestions.hide();
+            return;
+        }
+
+        logic.getNameSuggestions(text.substring(wordStart)).thenAccept(names -> {
+            // the text may have changed while the names were looked up
+            if (text.equals(commandTextField.getText())) {
+                showNameSuggestions(text.substring(0, wordStart), names);
+            }
+        });
+    }
+
+    /**
+     * Shows {@code names} as suggestions that replace the word being typed after {@code textBeforeWord}.
+     */
+    private void showNameSuggestions(String textBeforeWord, List<String> names) {
+        List<MenuItem> items = new ArrayList<>();
+        for (String name : names) {
+            MenuItem item = new MenuItem(name);
+            item.setOnAction(unused -> {
+                replaceText(textBeforeWord + name);
+                nameSuggestions.hide();
+            });
+            items.add(item);
+        }
+        if (items.isEmpty()) {
+            nameSuggestions.hide();
+            return;
+        }
+        nameSuggestions.getItems().setAll(items);
+        if (!nameSuggestions.isShowing() && commandTextField.getScene() != null) {
+            nameSuggestions.show(commandTextField, Side.BOTTOM, 0, 0);
+        }
+    }
+
     /**
      * Sets {@code CommandBox}'s text field with {@code text} and
      * positions the caret to the end of the {@code text}.
@@ -124,25 +173,51 @@ public class CommandBox extends UiPart<Region> {
 
     /**
      * Handles the Enter button pressed event.
+     * The command is executed in the background, and the command box is read-only until its result is shown, so
+     * that the command is still in it if it fails.
      */
     @FXML
     private void handleCommandEntered() {
-        try {
-            CommandResult commandResult = logic.execute(commandTextField.getText());
-            initHistory();
-            historySnapshot.next();
-            // process result of the command
-            commandTextField.setText("");
-            logger.info("Result: " + commandResult.feedbackToUser);
-            raise(new NewResultAvailableEvent(commandResult.feedbackToUser));
-
-        } catch (CommandException | ParseException e) {
-            initHistory();
-            // handle command failure
-            setStyleToIndicateCommandFailure();
-            logger.info("Invalid command: " + commandTextField.getText());
-            raise(new NewResultAvailableEvent(e.getMessage()));
+        if (!commandTextField.isEditable()) {
+            return;
         }
+        String commandText = commandTextField.getText();
+        commandTextField.setEditable(false);
+        nameSuggestions.hide();
+        logic.executeAsync(commandText).whenComplete((commandResult, error) -> {
+            commandTextField.setEditable(true);
+            if (error == null) {
+                handleCommandSucceeded(commandResult);
+                return;
+            }
+            if (!(error instanceof CommandException || error instanceof ParseException)) {
+                logger.severe("Unexpected error executing " + commandText + ": " + error);
+            }
+            handleCommandFailed(commandText, error);
+        });
+    }
+
+    /**
+     * Clears the command box and shows the result of the command that succeeded.
+     */
+    private void handleCommandSucceeded(CommandResult commandResult) {
+        initHistory();
+        historySnapshot.next();
+        // process result of the command
+        commandTextField.setText("");
+        logger.info("Result: " + commandResult.feedbackToUser);
+        raise(new NewResultAvailableEvent(commandResult.feedbackToUser));
+    }
+
+    /**
+     * Keeps {@code commandText} in the command box for editing and shows why it failed.
+     */
+    private void handleCommandFailed(String commandText, Throwable error) {
+        initHistory();
+        // handle command failure
+        setStyleToIndicateCommandFailure();
+        logger.info("Invalid command: " + commandText);
+        raise(new NewResultAvailableEvent(error.getMessage()));
     }
 
     /**
@@ -0,0 +1,26 @@
+package seedu.address.ui;
+
+import java.util.concurrent.Executor;
+
+import javafx.application.Platform;
+
+/**
+ * Executes tasks on the JavaFX application thread, at once if called on it, so that event handlers that change the
+ * UI can be called for events posted on any thread.
+ */
+class FxApplicationThreadExecutor implements Executor {
+
+    /** The executor that UI event handlers are registered with. */
+    static final FxApplicationThreadExecutor INSTANCE = new FxApplicationThreadExecutor();
+
+    private FxApplicationThreadExecutor() {}
+
+    @Override
+    public void execute(Runnable task) {
+        if (Platform.isFxApplicationThread()) {
+            task.run();
+        } else {
+            Platform.runLater(task);
+        }
+    }
+}
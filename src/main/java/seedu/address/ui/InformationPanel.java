@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.logging.Logger;
 
 import javafx.collections.FXCollections;
@@ -23,7 +24,7 @@ import seedu.address.model.doctor.Doctor;
 import seedu.address.model.patient.Allergy;
 import seedu.address.model.patient.Condition;
 import seedu.address.model.patient.Patient;
-import seedu.address.model.person.Person;
+import seedu.address.model.patient.PatientHistory;
 
 /**
  * The Information Panel of the App.
@@ -191,13 +192,13 @@ public class InformationPanel extends UiPart<Region> {
     }
 
     /**
-     * Loads a patient's information on the panel.
+     * Loads a patient's information on the panel, from copies of the patient's history and upcoming appointments.
      */
-    private void loadPatientInformation(Patient patient) {
-        Iterator<Allergy> allergiesItr = patient.getMedicalHistory().getAllergies().iterator();
-        Iterator<Condition> conditionsItr = patient.getMedicalHistory().getConditions().iterator();
-        Iterator<Appointment> upcomingAppointmentItr = patient.getUpcomingAppointments().iterator();
-        Iterator<Appointment> pastAppointmentItr = patient.getPastAppointments().iterator();
+    private void loadPatientInformation(PatientHistory history, List<Appointment> upcomingAppointments) {
+        Iterator<Allergy> allergiesItr = history.getMedicalHistory().getAllergies().iterator();
+        Iterator<Condition> conditionsItr = history.getMedicalHistory().getConditions().iterator();
+        Iterator<Appointment> upcomingAppointmentItr = upcomingAppointments.iterator();
+        Iterator<Appointment> pastAppointmentItr = history.getPastAppointments().iterator();
 
         ObservableList<Allergy> allergiesList = FXCollections.observableArrayList();
         ObservableList<Condition> conditionsList = FXCollections.observableArrayList();
@@ -220,10 +221,10 @@ public class InformationPanel extends UiPart<Region> {
     }
 
     /**
-     * Loads a doctor's information on the panel.
+     * Loads a doctor's information on the panel, from a copy of the doctor's upcoming appointments.
      */
-    private void loadDoctorInformation(Doctor doctor) {
-        Iterator<Appointment> upcomingAppointmentItr = doctor.getUpcomingAppointments().iterator();
+    private void loadDoctorInformation(List<Appointment> upcomingAppointments) {
+        Iterator<Appointment> upcomingAppointmentItr = upcomingAppointments.iterator();
         ObservableList<Appointment> upcomingAppointmentList = FXCollections.observableArrayList();
         while (upcomingAppointmentItr.hasNext()) {
             upcomingAppointmentList.add(upcomingAppointmentItr.next());
@@ -239,15 +240,25 @@ public class InformationPanel extends UiPart<Region> {
     }
 
     /**
-     * Changes panel between doctor and patient.
+     * Changes panel to a patient with {@code history} and {@code upcomingAppointments}, copies of them taken on the
+     * thread the model is changed on.
      */
-    public void changePanel(Person person) {
-        if (person instanceof Patient) {
-            loadPatientInformation((Patient) person);
-        } else if (person instanceof Doctor) {
-            loadDoctorInformation((Doctor) person);
-        } else {
-            clearInformation();
-        }
+    public void changePanel(PatientHistory history, List<Appointment> upcomingAppointments) {
+        loadPatientInformation(history, upcomingAppointments);
+    }
+
+    /**
+     * Changes panel to a doctor with {@code upcomingAppointments}, a copy of them taken on the thread the model is
+     * changed on.
+     */
+    public void changePanel(List<Appointment> upcomingAppointments) {
+        loadDoctorInformation(upcomingAppointments);
+    }
+
+    /**
+     * Clears the panel, as no patient or doctor is selected.
+     */
+    public void clearPanel() {
+        clearInformation();
     }
 }
@@ -0,0 +1,45 @@
+package seedu.address.ui;
+
+import javafx.application.Preloader;
+import javafx.scene.Scene;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.layout.StackPane;
+import javafx.stage.Stage;
+import javafx.stage.StageStyle;
+
+/**
+ * A small window with a progress bar, shown while the health book is being loaded on startup.
+ */
+public class LoadingPreloader extends Preloader {
+
+    private static final int WIDTH = 320;
+    private static final int HEIGHT = 60;
+
+    private Stage stage;
+    private ProgressBar progressBar;
+
+    @Override
+    public void start(Stage primaryStage) {
+        stage = primaryStage;
+        progressBar = new ProgressBar(0);
+        progressBar.setPrefWidth(WIDTH - 40);
+
+        stage.initStyle(StageStyle.UNDECORATED);
+        stage.setScene(new Scene(new StackPane(progressBar), WIDTH, HEIGHT));
+        stage.show();
+    }
+
+    @Override
+    public void handleApplicationNotification(PreloaderNotification info) {
+        if (info instanceof ProgressNotification) {
+            progressBar.setProgress(((ProgressNotification) info).getProgress());
+        }
+    }
+
+    @Override
+    public void handleStateChangeNotification(StateChangeNotification info) {
+        if (info.getType() == StateChangeNotification.Type.BEFORE_START) {
+            stage.hide();
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package seedu.address.ui;
 
-import java.io.IOException;
 import java.util.logging.Logger;
 
 import com.google.common.eventbus.Subscribe;
@@ -202,18 +201,22 @@ public class MainWindow extends UiPart<Stage> {
     }
 
     @Subscribe
-    private void handleInformationPanelChangedEvent(PersonPanelSelectionChangedEvent event) throws IOException {
+    private void handleInformationPanelChangedEvent(PersonPanelSelectionChangedEvent event) {
         logger.info(LogsCenter.getEventHandlingLogMessage(event));
         if (event.getNewSelection() instanceof Patient) {
-            informationPanel = new InformationPanel("InformationPanel.fxml");
-            informationPlaceholder.getChildren().add(informationPanel.getRoot());
-            informationPanel.changePanel(event.getNewSelection());
+            Patient patient = (Patient) event.getNewSelection();
+            InformationPanel patientPanel = new InformationPanel("InformationPanel.fxml");
+            informationPanel = patientPanel;
+            informationPlaceholder.getChildren().add(patientPanel.getRoot());
+            logic.getPatientHistory(patient).thenAcceptBoth(logic.getUpcomingAppointments(patient),
+                    patientPanel::changePanel);
         } else if (event.getNewSelection() instanceof Doctor) {
-            informationPanel = new InformationPanel("InformationPanelDoctor.fxml");
-            informationPlaceholder.getChildren().add(informationPanel.getRoot());
-            informationPanel.changePanel(event.getNewSelection());
+            InformationPanel doctorPanel = new InformationPanel("InformationPanelDoctor.fxml");
+            informationPanel = doctorPanel;
+            informationPlaceholder.getChildren().add(doctorPanel.getRoot());
+            logic.getUpcomingAppointments(event.getNewSelection()).thenAccept(doctorPanel::changePanel);
         } else {
-            informationPanel.changePanel(null);
+            informationPanel.clearPanel();
         }
     }
 }
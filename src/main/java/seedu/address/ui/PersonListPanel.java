@@ -1,10 +1,15 @@
 package seedu.address.ui;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.logging.Logger;
 
 import com.google.common.eventbus.Subscribe;
 
 import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.scene.control.ListCell;
@@ -13,6 +18,7 @@ import javafx.scene.layout.Region;
 import seedu.address.commons.core.LogsCenter;
 import seedu.address.commons.events.ui.JumpToListRequestEvent;
 import seedu.address.commons.events.ui.PersonPanelSelectionChangedEvent;
+import seedu.address.model.HealthBookChanges.RecordEdit;
 import seedu.address.model.person.Person;
 
 /**
@@ -31,12 +37,58 @@ public class PersonListPanel extends UiPart<Region> {
         registerAsAnEventHandler(this);
     }
 
+    /**
+     * Shows a copy of {@code personList} that follows its changes on the JavaFX application thread, as the list is
+     * changed by commands executed in the background. Only the persons in the ranges that changed are copied.
+     */
     private void setConnections(ObservableList<Person> personList) {
-        personListView.setItems(personList);
+        ObservableList<Person> shownPersons = FXCollections.observableArrayList(personList);
+        personList.addListener((ListChangeListener<Person>) change -> {
+            List<RecordEdit<Person>> edits = editsOf(change);
+            Platform.runLater(() -> edits.forEach(edit -> applyEdit(shownPersons, edit)));
+        });
+        personListView.setItems(shownPersons);
         personListView.setCellFactory(listView -> new PersonListViewCell());
         setEventHandlerForSelectionChangeEvent();
     }
 
+    /**
+     * Returns the edits that make a copy of the list {@code change} was made to, as it was before the change, hold
+     * the same persons as the list. The persons added are copied, so the edits can be applied later.
+     */
+    private static List<RecordEdit<Person>> editsOf(ListChangeListener.Change<? extends Person> change) {
+        List<RecordEdit<Person>> edits = new ArrayList<>();
+        while (change.next()) {
+            List<Person> changedRange = new ArrayList<>(change.getList().subList(change.getFrom(), change.getTo()));
+            if (change.wasPermutated() || change.wasUpdated()) {
+                // the persons in the range are the same, but some moved or changed
+                edits.add(new RecordEdit<>(change.getFrom(), changedRange.size(), changedRange));
+            } else if (change.wasAdded()) {
+                edits.add(new RecordEdit<>(change.getFrom(), change.getRemovedSize(), changedRange));
+            } else {
+                edits.add(new RecordEdit<>(change.getFrom(), change.getRemovedSize(), Collections.emptyList()));
+            }
+        }
+        return edits;
+    }
+
+    /**
+     * Applies {@code edit} to {@code persons}, replacing the persons at the same positions in place where it can, so
+     * that a person edited in place stays selected.
+     */
+    private static void applyEdit(ObservableList<Person> persons, RecordEdit<Person> edit) {
+        int replacedCount = Math.min(edit.getRemovedCount(), edit.getAdded().size());
+        for (int i = 0; i < replacedCount; i++) {
+            persons.set(edit.getFrom() + i, edit.getAdded().get(i));
+        }
+        if (edit.getRemovedCount() > replacedCount) {
+            persons.remove(edit.getFrom() + replacedCount, edit.getFrom() + edit.getRemovedCount());
+        } else {
+            persons.addAll(edit.getFrom() + replacedCount, edit.getAdded().subList(replacedCount,
+                    edit.getAdded().size()));
+        }
+    }
+
     private void setEventHandlerForSelectionChangeEvent() {
         personListView.getSelectionModel().selectedItemProperty()
                 .addListener((observable, oldValue, newValue) -> {
@@ -31,6 +31,8 @@ public class CommandBoxHandle extends NodeHandle<TextField> {
         guiRobot.pauseForHuman();
 
         guiRobot.type(KeyCode.ENTER);
+        // the command box is read-only until the command executed in the background is done
+        guiRobot.waitForEvent(() -> getRootNode().isEditable());
     }
 
     /**
@@ -55,6 +55,8 @@ public class TestApp extends MainApp {
         Config config = super.initConfig(configFilePath);
         config.setAppTitle(APP_TITLE);
         config.setUserPrefsFilePath(DEFAULT_PREF_FILE_LOCATION_FOR_TESTING);
+        // system tests read the data file right after each command
+        config.setSaveDebounceMillis(0);
         return config;
     }
 
@@ -0,0 +1,87 @@
+package seedu.address.calendar;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static seedu.address.testutil.TypicalAppointments.FIRST;
+import static seedu.address.testutil.TypicalAppointments.SECOND;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import seedu.address.model.appointment.Appointment;
+import seedu.address.testutil.AppointmentBuilder;
+
+public class CalendarOperationTest {
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void encode_decode_roundTrip() {
+        CalendarOperation operation = CalendarOperation.of(CalendarOperation.Kind.ADD, "john", FIRST);
+        assertEquals(operation, CalendarOperation.decode(operation.encode()));
+    }
+
+    @Test
+    public void encode_separatorsAndLineBreaksInFields_decodedUnchanged() {
+        Appointment appointment = new AppointmentBuilder(FIRST).withComments("Bring\tX-ray\nand \\notes\r").build();
+        CalendarOperation operation = CalendarOperation.of(CalendarOperation.Kind.DELETE, "jo\thn", appointment);
+
+        String line = operation.encode();
+        assertFalse(line.contains("\n"));
+        assertFalse(line.contains("\r"));
+
+        CalendarOperation decoded = CalendarOperation.decode(line);
+        assertEquals(operation, decoded);
+        assertEquals("jo\thn", decoded.getUserName());
+        assertEquals("Bring\tX-ray\nand \\notes\r", decoded.getAppointment().getComments());
+    }
+
+    @Test
+    public void encode_noComments_decodedWithoutComments() {
+        Appointment appointment = new AppointmentBuilder(FIRST).withComments(null).build();
+        CalendarOperation operation = CalendarOperation.of(CalendarOperation.Kind.ADD, "john", appointment);
+
+        assertNull(CalendarOperation.decode(operation.encode()).getAppointment().getComments());
+    }
+
+    @Test
+    public void decode_notAnOperation_throwsIllegalArgumentException() {
+        thrown.expect(IllegalArgumentException.class);
+        CalendarOperation.decode("ADD\tjohn\tnot a number\tJohn\tAmanda\t2018-12-11T12:00\t");
+    }
+
+    @Test
+    public void decode_missingFields_throwsIllegalArgumentException() {
+        thrown.expect(IllegalArgumentException.class);
+        CalendarOperation.decode("ADD\tjohn\t10000");
+    }
+
+    @Test
+    public void getAppointment_returnsDetailsOfAppointment() {
+        Appointment appointment = CalendarOperation.of(CalendarOperation.Kind.ADD, "john", FIRST).getAppointment();
+
+        assertEquals(FIRST.getAppointmentId(), appointment.getAppointmentId());
+        assertEquals(FIRST.getDoctor(), appointment.getDoctor());
+        assertEquals(FIRST.getPatient(), appointment.getPatient());
+        assertEquals(FIRST.getDateTime(), appointment.getDateTime());
+        assertEquals(FIRST.getComments(), appointment.getComments());
+    }
+
+    @Test
+    public void isOnSameEvent() {
+        CalendarOperation operation = CalendarOperation.of(CalendarOperation.Kind.ADD, "john", FIRST);
+
+        // same appointment in the same calendar -> returns true
+        assertTrue(operation.isOnSameEvent(CalendarOperation.of(CalendarOperation.Kind.DELETE, "john", FIRST)));
+
+        // different appointment -> returns false
+        assertFalse(operation.isOnSameEvent(CalendarOperation.of(CalendarOperation.Kind.ADD, "john", SECOND)));
+
+        // different calendar -> returns false
+        assertFalse(operation.isOnSameEvent(CalendarOperation.of(CalendarOperation.Kind.ADD, "mary", FIRST)));
+    }
+}
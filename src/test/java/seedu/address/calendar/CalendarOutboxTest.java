@@ -0,0 +1,178 @@
+package seedu.address.calendar;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static seedu.address.testutil.TypicalAppointments.FIRST;
+import static seedu.address.testutil.TypicalAppointments.SECOND;
+import static seedu.address.testutil.TypicalAppointments.THIRD;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import seedu.address.model.appointment.Appointment;
+import seedu.address.testutil.AppointmentBuilder;
+
+public class CalendarOutboxTest {
+
+    private static final CalendarOperation ADD_FIRST =
+            CalendarOperation.of(CalendarOperation.Kind.ADD, "john", FIRST);
+    private static final CalendarOperation DELETE_FIRST =
+            CalendarOperation.of(CalendarOperation.Kind.DELETE, "john", FIRST);
+    private static final CalendarOperation ADD_SECOND =
+            CalendarOperation.of(CalendarOperation.Kind.ADD, "john", SECOND);
+    private static final CalendarOperation ADD_THIRD =
+            CalendarOperation.of(CalendarOperation.Kind.ADD, "john", THIRD);
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    private final CalendarOutbox outbox = new CalendarOutbox();
+
+    @Test
+    public void add_deletionOfUnsentAddition_bothLeftOut() throws Exception {
+        outbox.add(ADD_FIRST);
+        outbox.add(ADD_SECOND);
+        outbox.add(DELETE_FIRST);
+
+        assertEquals(Collections.singletonList(ADD_SECOND), outbox.getOperations());
+    }
+
+    @Test
+    public void add_additionOfUnsentAddition_replacesIt() throws Exception {
+        Appointment moved = new AppointmentBuilder(FIRST).withDateTime("2018-12-20 12:00").build();
+        CalendarOperation addMoved = CalendarOperation.of(CalendarOperation.Kind.ADD, "john", moved);
+        outbox.add(ADD_FIRST);
+        outbox.add(ADD_SECOND);
+        outbox.add(addMoved);
+
+        assertEquals(Arrays.asList(ADD_SECOND, addMoved), outbox.getOperations());
+    }
+
+    @Test
+    public void add_repeatedDeletion_leftOut() throws Exception {
+        outbox.add(DELETE_FIRST);
+        outbox.add(DELETE_FIRST);
+
+        assertEquals(Collections.singletonList(DELETE_FIRST), outbox.getOperations());
+    }
+
+    @Test
+    public void add_deletionOfAdditionBeingSent_kept() throws Exception {
+        outbox.add(ADD_FIRST);
+        outbox.takeBatch(OutboxGoogleCalendar.MAX_BATCH_SIZE);
+        outbox.add(DELETE_FIRST);
+
+        assertEquals(Arrays.asList(ADD_FIRST, DELETE_FIRST), outbox.getOperations());
+    }
+
+    @Test
+    public void takeBatch_moreThanMaxSize_takesOldest() throws Exception {
+        outbox.add(ADD_FIRST);
+        outbox.add(ADD_SECOND);
+
+        assertEquals(Collections.singletonList(ADD_FIRST), outbox.takeBatch(1));
+    }
+
+    @Test
+    public void takeBatch_secondOperationOnSameEvent_endsBatch() throws Exception {
+        outbox.add(ADD_FIRST);
+        outbox.takeBatch(OutboxGoogleCalendar.MAX_BATCH_SIZE);
+        outbox.add(DELETE_FIRST);
+        outbox.add(ADD_SECOND);
+        outbox.releaseBatch();
+
+        assertEquals(Collections.singletonList(ADD_FIRST), outbox.takeBatch(OutboxGoogleCalendar.MAX_BATCH_SIZE));
+    }
+
+    @Test
+    public void takeBatch_batchBeingSent_returnsEmptyBatch() throws Exception {
+        outbox.add(ADD_FIRST);
+        outbox.takeBatch(OutboxGoogleCalendar.MAX_BATCH_SIZE);
+        outbox.add(ADD_SECOND);
+
+        assertTrue(outbox.takeBatch(OutboxGoogleCalendar.MAX_BATCH_SIZE).isEmpty());
+    }
+
+    @Test
+    public void completeBatch_removesBatch() throws Exception {
+        outbox.add(ADD_FIRST);
+        outbox.takeBatch(OutboxGoogleCalendar.MAX_BATCH_SIZE);
+        outbox.add(ADD_SECOND);
+        outbox.completeBatch();
+
+        assertEquals(Collections.singletonList(ADD_SECOND), outbox.getOperations());
+        assertEquals(Collections.singletonList(ADD_SECOND), outbox.takeBatch(OutboxGoogleCalendar.MAX_BATCH_SIZE));
+    }
+
+    @Test
+    public void completeBatch_unsentAndDeadLetters_unsentKeptAndDeadLettersMoved() throws Exception {
+        Path file = getTempFilePath("outbox");
+        CalendarOutbox savedOutbox = CalendarOutbox.open(file);
+        savedOutbox.add(ADD_FIRST);
+        savedOutbox.add(ADD_SECOND);
+        savedOutbox.add(ADD_THIRD);
+        savedOutbox.takeBatch(OutboxGoogleCalendar.MAX_BATCH_SIZE);
+        savedOutbox.completeBatch(Collections.singletonList(ADD_SECOND), Collections.singletonList(ADD_THIRD));
+
+        assertEquals(Collections.singletonList(ADD_SECOND), savedOutbox.getOperations());
+        assertEquals(Collections.singletonList(ADD_SECOND), savedOutbox.takeBatch(OutboxGoogleCalendar.MAX_BATCH_SIZE));
+        assertEquals(Collections.singletonList(ADD_THIRD), savedOutbox.getDeadLetters());
+        assertEquals(Collections.singletonList(ADD_SECOND), CalendarOutbox.open(file).getOperations());
+        Path deadLetterFile = getTempFilePath("outbox" + CalendarOutbox.DEAD_LETTER_FILE_SUFFIX);
+        assertEquals(Collections.singletonList(ADD_THIRD), CalendarOutbox.open(deadLetterFile).getOperations());
+    }
+
+    @Test
+    public void releaseBatch_batchTakenAgain() throws Exception {
+        outbox.add(ADD_FIRST);
+        outbox.add(ADD_SECOND);
+        outbox.takeBatch(OutboxGoogleCalendar.MAX_BATCH_SIZE);
+        outbox.releaseBatch();
+
+        assertEquals(Arrays.asList(ADD_FIRST, ADD_SECOND), outbox.takeBatch(OutboxGoogleCalendar.MAX_BATCH_SIZE));
+    }
+
+    @Test
+    public void open_savedOutbox_operationsKept() throws Exception {
+        Path file = getTempFilePath("outbox");
+        CalendarOutbox savedOutbox = CalendarOutbox.open(file);
+        savedOutbox.add(ADD_FIRST);
+        savedOutbox.add(ADD_SECOND);
+        savedOutbox.takeBatch(1);
+        savedOutbox.completeBatch();
+
+        assertEquals(Collections.singletonList(ADD_SECOND), CalendarOutbox.open(file).getOperations());
+    }
+
+    @Test
+    public void open_missingFile_emptyOutbox() throws Exception {
+        assertTrue(CalendarOutbox.open(getTempFilePath("missing")).isEmpty());
+    }
+
+    @Test
+    public void open_unreadableLines_leftOut() throws Exception {
+        Path file = getTempFilePath("outbox");
+        Files.write(file, Arrays.asList("not an operation", ADD_FIRST.encode(), "", DELETE_FIRST.encode()));
+
+        assertEquals(Arrays.asList(ADD_FIRST, DELETE_FIRST), CalendarOutbox.open(file).getOperations());
+    }
+
+    @Test
+    public void forDataFile_keptNextToDataFile() throws Exception {
+        Path dataFile = getTempFilePath("healthbook.xml");
+        CalendarOutbox.forDataFile(dataFile).add(ADD_FIRST);
+
+        assertTrue(Files.exists(getTempFilePath("healthbook.xml" + CalendarOutbox.OUTBOX_FILE_SUFFIX)));
+        assertEquals(Collections.singletonList(ADD_FIRST), CalendarOutbox.forDataFile(dataFile).getOperations());
+    }
+
+    private Path getTempFilePath(String fileName) {
+        return testFolder.getRoot().toPath().resolve(fileName);
+    }
+}
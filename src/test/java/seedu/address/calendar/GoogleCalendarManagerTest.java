@@ -0,0 +1,92 @@
+package seedu.address.calendar;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+
+import org.junit.Test;
+
+import com.google.api.client.auth.oauth2.BearerToken;
+import com.google.api.client.auth.oauth2.ClientParametersAuthentication;
+import com.google.api.client.auth.oauth2.Credential;
+import com.google.api.client.http.javanet.NetHttpTransport;
+import com.google.api.client.json.Json;
+import com.google.api.client.json.jackson2.JacksonFactory;
+import com.google.api.client.testing.http.HttpTesting;
+import com.google.api.client.testing.http.MockHttpTransport;
+import com.google.api.client.testing.http.MockLowLevelHttpResponse;
+
+public class GoogleCalendarManagerTest {
+
+    private final StoredCredentialsCalendarManager calendarManager = new StoredCredentialsCalendarManager();
+
+    @Test
+    public void registerDoctor_storedCredentialRevoked_authorizedAgain() throws Exception {
+        calendarManager.storedCredentials.addAll(Arrays.asList(revokedCredential(), usableCredential()));
+        calendarManager.registerDoctor("john");
+        assertEquals(Collections.singletonList("john"), calendarManager.deletedCredentials);
+        assertTrue(calendarManager.storedCredentials.isEmpty());
+    }
+
+    @Test
+    public void registerDoctor_cachedCredentialRevoked_authorizedAgain() throws Exception {
+        Credential revokedLater = revokedCredential().setAccessToken("access token").setExpiresInSeconds(3600L);
+        calendarManager.storedCredentials.addAll(Arrays.asList(revokedLater, usableCredential()));
+        calendarManager.registerDoctor("john");
+        calendarManager.registerDoctor("john");
+        assertTrue(calendarManager.deletedCredentials.isEmpty());
+
+        // the access token expires, and the refresh token turns out to have been revoked
+        revokedLater.setExpiresInSeconds(0L);
+        calendarManager.registerDoctor("john");
+        assertEquals(Collections.singletonList("john"), calendarManager.deletedCredentials);
+        assertTrue(calendarManager.storedCredentials.isEmpty());
+    }
+
+    private static Credential usableCredential() {
+        return new Credential(BearerToken.authorizationHeaderAccessMethod()).setAccessToken("access token");
+    }
+
+    /**
+     * Returns a credential without an access token whose refresh token has been revoked, which is refreshed by a
+     * token server that answers as Google does for a revoked refresh token.
+     */
+    private static Credential revokedCredential() {
+        MockHttpTransport tokenServer = new MockHttpTransport.Builder()
+                .setLowLevelHttpResponse(new MockLowLevelHttpResponse().setStatusCode(400)
+                        .setContentType(Json.MEDIA_TYPE).setContent("{\"error\":\"invalid_grant\"}"))
+                .build();
+        return new Credential.Builder(BearerToken.authorizationHeaderAccessMethod())
+                .setTransport(tokenServer)
+                .setJsonFactory(JacksonFactory.getDefaultInstance())
+                .setTokenServerEncodedUrl(HttpTesting.SIMPLE_URL)
+                .setClientAuthentication(new ClientParametersAuthentication("client id", "client secret"))
+                .build()
+                .setRefreshToken("revoked refresh token");
+    }
+
+    /**
+     * A calendar manager that loads credentials from a queue instead of the tokens folder, and records the stored
+     * credentials it deletes.
+     */
+    private static class StoredCredentialsCalendarManager extends GoogleCalendarManager {
+        private final Queue<Credential> storedCredentials = new ArrayDeque<>();
+        private final List<String> deletedCredentials = new ArrayList<>();
+
+        @Override
+        public Credential getCredentials(NetHttpTransport httpTransport, String userName) {
+            return storedCredentials.remove();
+        }
+
+        @Override
+        void deleteStoredCredential(String userName) {
+            deletedCredentials.add(userName);
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package seedu.address.calendar;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static seedu.address.testutil.TypicalAppointments.FIRST;
+import static seedu.address.testutil.TypicalAppointments.SECOND;
+import static seedu.address.testutil.TypicalAppointments.THIRD;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.google.api.client.auth.oauth2.Credential;
+import com.google.api.client.http.javanet.NetHttpTransport;
+
+import seedu.address.calendar.exceptions.CalendarOperationsException;
+import seedu.address.model.appointment.Appointment;
+
+public class OutboxGoogleCalendarTest {
+
+    private static final long RETRY_DELAY_MILLIS = 10;
+    private static final long TIMEOUT_MILLIS = 10000;
+
+    private final RecordingGoogleCalendar recordingCalendar = new RecordingGoogleCalendar();
+    private OutboxGoogleCalendar outboxCalendar;
+
+    @After
+    public void tearDown() {
+        if (outboxCalendar != null) {
+            outboxCalendar.stop();
+        }
+    }
+
+    @Test
+    public void addAppointment_sentToCalendar() throws Exception {
+        outboxCalendar = new OutboxGoogleCalendar(recordingCalendar, new CalendarOutbox(), RETRY_DELAY_MILLIS);
+        outboxCalendar.addAppointment("john", FIRST);
+        outboxCalendar.deleteAppointment("mary", SECOND);
+
+        waitUntilSent();
+        assertEquals(Arrays.asList(
+                CalendarOperation.of(CalendarOperation.Kind.ADD, "john", FIRST),
+                CalendarOperation.of(CalendarOperation.Kind.DELETE, "mary", SECOND)),
+                recordingCalendar.getAppliedOperations());
+    }
+
+    @Test
+    public void constructor_operationsLeftInOutbox_sent() throws Exception {
+        CalendarOutbox outbox = new CalendarOutbox();
+        outbox.add(CalendarOperation.of(CalendarOperation.Kind.ADD, "john", FIRST));
+        outbox.add(CalendarOperation.of(CalendarOperation.Kind.ADD, "john", SECOND));
+        outboxCalendar = new OutboxGoogleCalendar(recordingCalendar, outbox, RETRY_DELAY_MILLIS);
+
+        waitUntilSent();
+        assertEquals(Collections.emptyList(), outbox.getOperations());
+        assertEquals(Collections.singletonList("john"), recordingCalendar.getBatchUserNames());
+        assertEquals(2, recordingCalendar.getAppliedOperations().size());
+    }
+
+    @Test
+    public void sendBatch_operationsOnSeveralCalendars_oneBatchPerCalendar() throws Exception {
+        CalendarOutbox outbox = new CalendarOutbox();
+        outbox.add(CalendarOperation.of(CalendarOperation.Kind.ADD, "john", FIRST));
+        outbox.add(CalendarOperation.of(CalendarOperation.Kind.ADD, "mary", SECOND));
+        outbox.add(CalendarOperation.of(CalendarOperation.Kind.ADD, "john", THIRD));
+        outboxCalendar = new OutboxGoogleCalendar(recordingCalendar, outbox, RETRY_DELAY_MILLIS);
+
+        waitUntilSent();
+        assertEquals(Arrays.asList("john", "mary"), recordingCalendar.getBatchUserNames());
+    }
+
+    @Test
+    public void sendBatch_calendarFails_sentAgain() throws Exception {
+        recordingCalendar.failNextBatches(3);
+        outboxCalendar = new OutboxGoogleCalendar(recordingCalendar, new CalendarOutbox(), RETRY_DELAY_MILLIS);
+        outboxCalendar.addAppointment("john", FIRST);
+
+        waitUntilSent();
+        assertEquals(Collections.singletonList(CalendarOperation.of(CalendarOperation.Kind.ADD, "john", FIRST)),
+                recordingCalendar.getAppliedOperations());
+        assertEquals(4, recordingCalendar.getBatchUserNames().size());
+    }
+
+    @Test
+    public void sendBatch_operationsFailTransiently_onlyThoseSentAgain() throws Exception {
+        CalendarOperation addFirst = CalendarOperation.of(CalendarOperation.Kind.ADD, "john", FIRST);
+        CalendarOperation addSecond = CalendarOperation.of(CalendarOperation.Kind.ADD, "john", SECOND);
+        recordingCalendar.failNextBatchWith(new CalendarOperationsException("Server error",
+                Collections.singletonList(addSecond), Collections.emptyList()));
+        CalendarOutbox outbox = new CalendarOutbox();
+        outbox.add(addFirst);
+        outbox.add(addSecond);
+        outboxCalendar = new OutboxGoogleCalendar(recordingCalendar, outbox, RETRY_DELAY_MILLIS);
+
+        waitUntilSent();
+        assertEquals(Arrays.asList(addFirst, addSecond), recordingCalendar.getAppliedOperations());
+        assertEquals(2, recordingCalendar.getBatchUserNames().size());
+        assertEquals(Collections.emptyList(), outbox.getDeadLetters());
+    }
+
+    @Test
+    public void sendBatch_operationsFailPermanently_movedToDeadLetters() throws Exception {
+        CalendarOperation addFirst = CalendarOperation.of(CalendarOperation.Kind.ADD, "john", FIRST);
+        CalendarOperation addSecond = CalendarOperation.of(CalendarOperation.Kind.ADD, "john", SECOND);
+        recordingCalendar.failNextBatchWith(new CalendarOperationsException("Bad request",
+                Collections.emptyList(), Collections.singletonList(addSecond)));
+        CalendarOutbox outbox = new CalendarOutbox();
+        outbox.add(addFirst);
+        outbox.add(addSecond);
+        outboxCalendar = new OutboxGoogleCalendar(recordingCalendar, outbox, RETRY_DELAY_MILLIS);
+
+        waitUntilSent();
+        assertEquals(Collections.singletonList(addFirst), recordingCalendar.getAppliedOperations());
+        assertEquals(1, recordingCalendar.getBatchUserNames().size());
+        assertEquals(Collections.singletonList(addSecond), outbox.getDeadLetters());
+    }
+
+    @Test
+    public void registerDoctor_registeredWithCalendar() throws Exception {
+        outboxCalendar = new OutboxGoogleCalendar(recordingCalendar, new CalendarOutbox(), RETRY_DELAY_MILLIS);
+        outboxCalendar.registerDoctor("john");
+
+        assertEquals(Collections.singletonList("john"), recordingCalendar.getRegisteredDoctors());
+    }
+
+    /**
+     * Waits until every operation in the outbox of {@code outboxCalendar} is sent.
+     */
+    private void waitUntilSent() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!outboxCalendar.getOutbox().isEmpty()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Calendar operations not sent: " + outboxCalendar.getOutbox().getOperations());
+            }
+            Thread.sleep(5);
+        }
+        assertTrue(outboxCalendar.getOutbox().isEmpty());
+    }
+
+    /**
+     * A stand-in for Google Calendar that records the operations applied to it, and fails the next batches with the
+     * errors given. The operations of a batch that fails with a {@code CalendarOperationsException} are applied
+     * except for the failed ones.
+     */
+    private static class RecordingGoogleCalendar implements GoogleCalendar {
+        private final List<CalendarOperation> appliedOperations = new ArrayList<>();
+        private final List<String> batchUserNames = new ArrayList<>();
+        private final List<String> registeredDoctors = new ArrayList<>();
+        private final Queue<IOException> failures = new ArrayDeque<>();
+
+        synchronized void failNextBatches(int count) {
+            for (int i = 0; i < count; i++) {
+                failures.add(new IOException("Calendar unavailable"));
+            }
+        }
+
+        synchronized void failNextBatchWith(IOException failure) {
+            failures.add(failure);
+        }
+
+        synchronized List<CalendarOperation> getAppliedOperations() {
+            return new ArrayList<>(appliedOperations);
+        }
+
+        synchronized List<String> getBatchUserNames() {
+            return new ArrayList<>(batchUserNames);
+        }
+
+        synchronized List<String> getRegisteredDoctors() {
+            return new ArrayList<>(registeredDoctors);
+        }
+
+        @Override
+        public Credential getCredentials(NetHttpTransport httpTransport, String userName) {
+            throw new AssertionError("This method should not be called.");
+        }
+
+        @Override
+        public synchronized void registerDoctor(String userName) {
+            registeredDoctors.add(userName);
+        }
+
+        @Override
+        public void addAppointment(String userName, Appointment appointment) {
+            throw new AssertionError("This method should not be called.");
+        }
+
+        @Override
+        public void deleteAppointment(String userName, Appointment appointment) {
+            throw new AssertionError("This method should not be called.");
+        }
+
+        @Override
+        public synchronized void applyOperations(String userName, List<CalendarOperation> operations)
+                throws IOException {
+            batchUserNames.add(userName);
+            IOException failure = failures.poll();
+            if (failure instanceof CalendarOperationsException) {
+                CalendarOperationsException operationsFailure = (CalendarOperationsException) failure;
+                operations.stream()
+                        .filter(operation -> !operationsFailure.getTransientFailures().contains(operation)
+                                && !operationsFailure.getPermanentFailures().contains(operation))
+                        .forEach(appliedOperations::add);
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            appliedOperations.addAll(operations);
+        }
+    }
+}
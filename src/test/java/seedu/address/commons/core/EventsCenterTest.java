@@ -0,0 +1,135 @@
+package seedu.address.commons.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.google.common.eventbus.Subscribe;
+
+import seedu.address.commons.events.BaseEvent;
+
+public class EventsCenterTest {
+
+    @After
+    public void tearDown() {
+        EventsCenter.clearSubscribers();
+    }
+
+    @Test
+    public void post_handlerWithoutExecutor_handledOnPostingThread() {
+        RecordingHandler handler = new RecordingHandler();
+        EventsCenter.getInstance().registerHandler(handler);
+
+        EventsCenter.getInstance().post(new NumberedEvent(1));
+        assertEquals(Collections.singletonList(1), handler.getNumbers());
+        assertEquals(Collections.singletonList(Thread.currentThread()), handler.getThreads());
+    }
+
+    @Test
+    public void post_handlerWithExecutor_handledByExecutorInOrder() {
+        List<Runnable> tasks = new ArrayList<>();
+        RecordingHandler handler = new RecordingHandler();
+        RecordingHandler otherHandler = new RecordingHandler();
+        EventsCenter.getInstance().registerHandler(handler, tasks::add);
+        EventsCenter.getInstance().registerHandler(otherHandler, tasks::add);
+
+        EventsCenter.getInstance().post(new NumberedEvent(1)).post(new NumberedEvent(2));
+        assertTrue(handler.getNumbers().isEmpty());
+        assertTrue(otherHandler.getNumbers().isEmpty());
+
+        tasks.forEach(Runnable::run);
+        assertEquals(Arrays.asList(1, 2), handler.getNumbers());
+        assertEquals(Arrays.asList(1, 2), otherHandler.getNumbers());
+    }
+
+    @Test
+    public void post_executorRejects_handledOnPostingThread() {
+        RecordingHandler handler = new RecordingHandler();
+        EventsCenter.getInstance().registerHandler(handler, task -> {
+            throw new RejectedExecutionException("Shut down");
+        });
+
+        EventsCenter.getInstance().post(new NumberedEvent(1));
+        assertEquals(Collections.singletonList(1), handler.getNumbers());
+        assertEquals(Collections.singletonList(Thread.currentThread()), handler.getThreads());
+    }
+
+    @Test
+    public void clearSubscribers_handlerWithExecutorService_executorShutDown() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        RecordingHandler handler = new RecordingHandler();
+        EventsCenter.getInstance().registerHandler(handler, executor);
+        EventsCenter.getInstance().post(new NumberedEvent(1));
+
+        EventsCenter.clearSubscribers();
+        assertTrue(executor.isShutdown());
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(Collections.singletonList(1), handler.getNumbers());
+    }
+
+    @Test
+    public void getInstance_calledFromManyThreads_returnsSameInstance() throws Exception {
+        ExecutorService threads = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<EventsCenter>> calls = Collections.nCopies(64, EventsCenter::getInstance);
+            EventsCenter expected = EventsCenter.getInstance();
+            for (Future<EventsCenter> instance : threads.invokeAll(calls)) {
+                assertSame(expected, instance.get());
+            }
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+
+    /**
+     * An event with a number to tell it apart from other events.
+     */
+    private static class NumberedEvent extends BaseEvent {
+        private final int number;
+
+        NumberedEvent(int number) {
+            this.number = number;
+        }
+
+        @Override
+        public String toString() {
+            return "event " + number;
+        }
+    }
+
+    /**
+     * A handler that records the events it handles, and the threads it handles them on.
+     */
+    public static class RecordingHandler {
+        private final List<Integer> numbers = new ArrayList<>();
+        private final List<Thread> threads = new ArrayList<>();
+
+        @Subscribe
+        public synchronized void handleNumberedEvent(NumberedEvent event) {
+            numbers.add(event.number);
+            threads.add(Thread.currentThread());
+        }
+
+        synchronized List<Integer> getNumbers() {
+            return new ArrayList<>(numbers);
+        }
+
+        synchronized List<Thread> getThreads() {
+            return new ArrayList<>(threads);
+        }
+    }
+}
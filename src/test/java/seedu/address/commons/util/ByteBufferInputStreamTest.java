@@ -0,0 +1,52 @@
+package seedu.address.commons.util;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+public class ByteBufferInputStreamTest {
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void constructor_null_throwsNullPointerException() {
+        thrown.expect(NullPointerException.class);
+        new ByteBufferInputStream(null);
+    }
+
+    @Test
+    public void read_wholeBuffer_sameBytesThenEndOfStream() {
+        ByteBufferInputStream in = new ByteBufferInputStream(ByteBuffer.wrap(new byte[] {1, 2, (byte) 0xFF}));
+
+        assertEquals(1, in.read());
+        byte[] rest = new byte[5];
+        assertEquals(2, in.read(rest, 1, 4));
+        assertArrayEquals(new byte[] {0, 2, (byte) 0xFF, 0, 0}, rest);
+        assertEquals(-1, in.read());
+        assertEquals(-1, in.read(rest, 0, 5));
+    }
+
+    @Test
+    public void getProgress_partlyRead_fractionOfBufferRead() {
+        ByteBufferInputStream in = new ByteBufferInputStream(ByteBuffer.wrap(new byte[4]));
+        assertEquals(0, in.getProgress(), 0);
+
+        assertEquals(1, in.skip(1));
+        assertEquals(0.25, in.getProgress(), 0);
+        assertEquals(3, in.available());
+
+        assertEquals(3, in.skip(10));
+        assertEquals(1, in.getProgress(), 0);
+    }
+
+    @Test
+    public void getProgress_emptyBuffer_complete() {
+        assertEquals(1, new ByteBufferInputStream(ByteBuffer.allocate(0)).getProgress(), 0);
+    }
+}
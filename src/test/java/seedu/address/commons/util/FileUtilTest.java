@@ -1,14 +1,25 @@
 package seedu.address.commons.util;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import seedu.address.testutil.Assert;
 
 public class FileUtilTest {
 
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
     @Test
     public void isValidPath() {
         // valid path
@@ -21,4 +32,36 @@ public class FileUtilTest {
         Assert.assertThrows(NullPointerException.class, () -> FileUtil.isValidPath(null));
     }
 
+    @Test
+    public void writeToFile_existingFile_replacedWithoutLeavingTempFiles() throws Exception {
+        Path file = testFolder.getRoot().toPath().resolve("file.txt");
+        FileUtil.writeToFile(file, "old content");
+        FileUtil.writeToFile(file, "new content");
+
+        assertEquals("new content", FileUtil.readFromFile(file));
+        assertEquals(1, testFolder.getRoot().list().length);
+    }
+
+    @Test
+    public void replaceAtomically_targetReplaced() throws Exception {
+        Path source = testFolder.newFile("source").toPath();
+        Path target = testFolder.newFile("target").toPath();
+        FileUtil.writeToFile(source, "source content");
+
+        FileUtil.replaceAtomically(source, target);
+
+        assertFalse(Files.exists(source));
+        assertEquals("source content", FileUtil.readFromFile(target));
+    }
+
+    @Test
+    public void readIntoBuffer_existingFile_contentsRead() throws Exception {
+        Path file = testFolder.getRoot().toPath().resolve("file.txt");
+        FileUtil.writeToFile(file, "read content");
+
+        ByteBuffer buffer = FileUtil.readIntoBuffer(file);
+
+        assertEquals("read content", StandardCharsets.UTF_8.decode(buffer).toString());
+    }
+
 }
@@ -0,0 +1,46 @@
+package seedu.address.commons.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import seedu.address.testutil.Assert;
+
+public class InternPoolTest {
+
+    @Test
+    public void intern_null_throwsNullPointerException() {
+        Assert.assertThrows(NullPointerException.class, () -> new InternPool<>(StringBuilder::new).intern(null));
+    }
+
+    @Test
+    public void intern_sameString_sameInstance() {
+        InternPool<StringBuilder> pool = new InternPool<>(StringBuilder::new);
+        StringBuilder first = pool.intern("value");
+        assertSame(first, pool.intern(new String("value")));
+        assertNotSame(first, pool.intern("other value"));
+        assertEquals(2, pool.size());
+    }
+
+    @Test
+    public void intern_invalidValue_exceptionPropagatedAndNothingAdded() {
+        InternPool<Integer> pool = new InternPool<>(Integer::valueOf);
+        Assert.assertThrows(NumberFormatException.class, () -> pool.intern("not a number"));
+        assertEquals(0, pool.size());
+    }
+
+    @Test
+    public void add_valueNotInPool_addedValueInterned() {
+        InternPool<StringBuilder> pool = new InternPool<>(StringBuilder::new);
+        String value = "value";
+        StringBuilder canonical = new StringBuilder(value);
+        pool.add(value, canonical);
+        assertSame(canonical, pool.intern(value));
+
+        // a value already in the pool is kept
+        pool.add(value, new StringBuilder(value));
+        assertSame(canonical, pool.intern(value));
+    }
+}
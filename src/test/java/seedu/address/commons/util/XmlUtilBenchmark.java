@@ -0,0 +1,116 @@
+package seedu.address.commons.util;
+
+import java.io.FileOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.Marshaller;
+
+import seedu.address.model.HealthBook;
+import seedu.address.storage.XmlSerializableHealthBook;
+import seedu.address.testutil.PatientBuilder;
+import seedu.address.testutil.TestUtil;
+
+/**
+ * Compares the save and load latency of {@link XmlUtil} against creating a new {@code JAXBContext} for every save and
+ * load, as {@code XmlUtil} used to.
+ * Not part of the test suite; run the {@code main} method, optionally passing the book sizes to measure.
+ */
+public class XmlUtilBenchmark {
+
+    private static final int[] DEFAULT_BOOK_SIZES = {1000, 10000, 100000};
+    private static final int WARM_UP_RUNS = 3;
+    private static final int MEASURED_RUNS = 5;
+    private static final Path BENCHMARK_FILE = TestUtil.getFilePathInSandboxFolder("benchmarkHealthBook.xml");
+
+    /**
+     * Prints the median save and load latencies for each book size in {@code args}, or for the default sizes.
+     */
+    public static void main(String[] args) throws Exception {
+        int[] bookSizes = args.length == 0
+                ? DEFAULT_BOOK_SIZES
+                : Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+
+        System.out.println(String.format("%10s %16s %16s %16s %16s", "persons",
+                "save uncached", "save cached", "load uncached", "load cached"));
+        for (int bookSize : bookSizes) {
+            XmlSerializableHealthBook data = new XmlSerializableHealthBook(createHealthBook(bookSize));
+            Files.deleteIfExists(BENCHMARK_FILE);
+            FileUtil.createIfMissing(BENCHMARK_FILE);
+
+            double saveUncached = medianMillis(() -> saveUncached(BENCHMARK_FILE, data));
+            double saveCached = medianMillis(() -> XmlUtil.saveDataToFile(BENCHMARK_FILE, data));
+            double loadUncached = medianMillis(() -> loadUncached(BENCHMARK_FILE));
+            double loadCached = medianMillis(() ->
+                    XmlUtil.getDataFromFile(BENCHMARK_FILE, XmlSerializableHealthBook.class));
+
+            System.out.println(String.format("%10d %13.1f ms %13.1f ms %13.1f ms %13.1f ms", bookSize,
+                    saveUncached, saveCached, loadUncached, loadCached));
+        }
+        Files.deleteIfExists(BENCHMARK_FILE);
+    }
+
+    /**
+     * Returns a health book of {@code size} distinct patients.
+     */
+    private static HealthBook createHealthBook(int size) {
+        HealthBook healthBook = new HealthBook();
+        for (int i = 0; i < size; i++) {
+            healthBook.addPatient(new PatientBuilder().withName("Patient " + i)
+                    .withPhone(String.format("%08d", i)).build());
+        }
+        return healthBook;
+    }
+
+    /**
+     * Saves {@code data} the way {@code XmlUtil.saveDataToFile} did before contexts were cached.
+     */
+    private static void saveUncached(Path file, XmlSerializableHealthBook data) throws Exception {
+        Marshaller m = JAXBContext.newInstance(XmlSerializableHealthBook.class).createMarshaller();
+        m.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
+
+        Path tempFile = FileUtil.createTempFileNextTo(file);
+        try {
+            try (FileOutputStream out = new FileOutputStream(tempFile.toFile())) {
+                m.marshal(data, out);
+                out.getFD().sync();
+            }
+            FileUtil.replaceAtomically(tempFile, file);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Loads the data in {@code file} the way {@code XmlUtil.getDataFromFile} did before contexts were cached.
+     */
+    private static void loadUncached(Path file) throws Exception {
+        JAXBContext.newInstance(XmlSerializableHealthBook.class).createUnmarshaller().unmarshal(file.toFile());
+    }
+
+    /**
+     * Returns the median time taken by {@code action}, in milliseconds, after a few unmeasured runs.
+     */
+    private static double medianMillis(BenchmarkedAction action) throws Exception {
+        for (int i = 0; i < WARM_UP_RUNS; i++) {
+            action.run();
+        }
+        long[] nanos = new long[MEASURED_RUNS];
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            action.run();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return nanos[MEASURED_RUNS / 2] / 1_000_000.0;
+    }
+
+    /**
+     * An action whose running time is measured.
+     */
+    private interface BenchmarkedAction {
+        void run() throws Exception;
+    }
+}
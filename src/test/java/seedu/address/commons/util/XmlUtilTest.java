@@ -140,6 +140,26 @@ public class XmlUtilTest {
         assertEquals(dataToWrite, dataFromFile);
     }
 
+    @Test
+    public void saveDataToFile_savedOnOtherThread_dataReadOnThisThread() throws Exception {
+        FileUtil.createFile(TEMP_FILE);
+        XmlUtil.getDataFromFile(VALID_FILE, XmlSerializableHealthBook.class);
+        XmlSerializableHealthBook dataToWrite = new XmlSerializableHealthBook(
+                new AddressBookBuilder().withPerson(new PersonBuilder().build()).build());
+
+        Thread saveThread = new Thread(() -> {
+            try {
+                XmlUtil.saveDataToFile(TEMP_FILE, dataToWrite);
+            } catch (Exception e) {
+                throw new AssertionError(e);
+            }
+        });
+        saveThread.start();
+        saveThread.join();
+
+        assertEquals(dataToWrite, XmlUtil.getDataFromFile(TEMP_FILE, XmlSerializableHealthBook.class));
+    }
+
     /**
      * Test class annotated with {@code XmlRootElement} to allow unmarshalling of .xml data to {@code XmlAdaptedPerson}
      * objects.
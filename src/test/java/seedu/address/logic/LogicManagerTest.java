@@ -1,12 +1,23 @@
 package seedu.address.logic;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static seedu.address.commons.core.Messages.MESSAGE_UNKNOWN_COMMAND;
+import static seedu.address.testutil.TypicalPersons.getTypicalAddressBook;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import seedu.address.calendar.OfflineGoogleCalendar;
 import seedu.address.logic.commands.CommandResult;
 import seedu.address.logic.commands.HistoryCommand;
 import seedu.address.logic.commands.ListCommand;
@@ -15,6 +26,11 @@ import seedu.address.logic.parser.exceptions.ParseException;
 import seedu.address.model.Model;
 import seedu.address.model.ModelManager;
 import seedu.address.model.UserPrefs;
+import seedu.address.model.appointment.Appointment;
+import seedu.address.model.patient.Patient;
+import seedu.address.model.patient.PatientHistory;
+import seedu.address.testutil.AppointmentBuilder;
+import seedu.address.testutil.PatientBuilder;
 
 
 public class LogicManagerTest {
@@ -38,6 +54,83 @@ public class LogicManagerTest {
         assertHistoryCorrect(listCommand);
     }
 
+    @Test
+    public void executeAsync_validCommand_resultDeliveredThroughResultExecutor() throws Exception {
+        LinkedBlockingQueue<Runnable> resultTasks = new LinkedBlockingQueue<>();
+        Logic asyncLogic = new LogicManager(model, new OfflineGoogleCalendar(), resultTasks::add);
+
+        CompletableFuture<CommandResult> result = asyncLogic.executeAsync(ListCommand.COMMAND_WORD);
+        Runnable resultTask = resultTasks.poll(1, TimeUnit.MINUTES);
+        assertFalse(result.isDone());
+
+        resultTask.run();
+        assertTrue(result.isDone());
+        assertEquals(ListCommand.MESSAGE_SUCCESS, result.get().feedbackToUser);
+        asyncLogic.stop();
+    }
+
+    @Test
+    public void executeAsync_invalidCommand_completedWithParseException() throws Exception {
+        Logic asyncLogic = new LogicManager(model, new OfflineGoogleCalendar(), Runnable::run);
+        String invalidCommand = "uicfhmowqewca";
+
+        try {
+            asyncLogic.executeAsync(invalidCommand).get(1, TimeUnit.MINUTES);
+            throw new AssertionError("The command should fail.");
+        } catch (ExecutionException e) {
+            assertEquals(ParseException.class, e.getCause().getClass());
+            assertEquals(MESSAGE_UNKNOWN_COMMAND, e.getCause().getMessage());
+        }
+        asyncLogic.stop();
+    }
+
+    @Test
+    public void executeAsync_severalCommands_executedInOrder() throws Exception {
+        Logic asyncLogic = new LogicManager(model, new OfflineGoogleCalendar(), Runnable::run);
+        asyncLogic.executeAsync(ListCommand.COMMAND_WORD);
+        asyncLogic.executeAsync(HistoryCommand.COMMAND_WORD);
+        CommandResult result = asyncLogic.executeAsync(HistoryCommand.COMMAND_WORD).get(1, TimeUnit.MINUTES);
+
+        assertEquals(String.format(HistoryCommand.MESSAGE_SUCCESS,
+                String.join("\n", HistoryCommand.COMMAND_WORD, ListCommand.COMMAND_WORD)), result.feedbackToUser);
+        asyncLogic.stop();
+    }
+
+    @Test
+    public void getNameSuggestions_nameStart_matchingNamesSuggested() throws Exception {
+        Logic suggestingLogic = new LogicManager(new ModelManager(getTypicalAddressBook(), new UserPrefs()),
+                new OfflineGoogleCalendar(), Runnable::run);
+        assertEquals(Arrays.asList("Benson Meier", "Daniel Meier"),
+                suggestingLogic.getNameSuggestions("mei").get(1, TimeUnit.MINUTES));
+        suggestingLogic.stop();
+    }
+
+    @Test
+    public void getPatientHistory_historyChangedLater_copyUnchanged() throws Exception {
+        Patient patient = new PatientBuilder().build();
+        Logic historyLogic = new LogicManager(model, new OfflineGoogleCalendar(), Runnable::run);
+
+        PatientHistory history = historyLogic.getPatientHistory(patient).get(1, TimeUnit.MINUTES);
+        patient.addAllergy("penicillin");
+        patient.getPastAppointments().add(new AppointmentBuilder().build());
+
+        assertTrue(history.getMedicalHistory().getAllergies().isEmpty());
+        assertTrue(history.getPastAppointments().isEmpty());
+        historyLogic.stop();
+    }
+
+    @Test
+    public void getUpcomingAppointments_appointmentAddedLater_copyUnchanged() throws Exception {
+        Patient patient = new PatientBuilder().build();
+        Logic appointmentLogic = new LogicManager(model, new OfflineGoogleCalendar(), Runnable::run);
+
+        List<Appointment> appointments = appointmentLogic.getUpcomingAppointments(patient).get(1, TimeUnit.MINUTES);
+        patient.addUpcomingAppointment(new AppointmentBuilder().build());
+
+        assertTrue(appointments.isEmpty());
+        appointmentLogic.stop();
+    }
+
     @Test
     public void getFilteredPersonList_modifyList_throwsUnsupportedOperationException() {
         thrown.expect(UnsupportedOperationException.class);
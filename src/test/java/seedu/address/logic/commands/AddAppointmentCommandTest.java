@@ -118,6 +118,20 @@ public class AddAppointmentCommandTest {
                 model, commandHistory, AddAppointmentCommand.MESSAGE_DUPLICATE_PATIENT);
     }
 
+    @Test
+    public void execute_doctorWithPatientName_throwsCommandException() {
+        Doctor doctorWithPatientName = new DoctorBuilder().withName(CARL_PATIENT.getName().toString())
+                .withPhone("12341234").build();
+        model.addDoctor(doctorWithPatientName);
+        AddAppointmentCommand addAppointmentCommand =
+                new AddAppointmentCommand(CARL_PATIENT.getName(), null,
+                        doctorWithPatientName.getName(), doctorWithPatientName.getPhone(),
+                        LocalDateTime.of(2018, 10, 17, 18, 0));
+
+        assertCommandFailure(addAppointmentCommand,
+                model, commandHistory, AddAppointmentCommand.MESSAGE_DUPLICATE_PATIENT);
+    }
+
     @Test
     public void execute_invalidDoctor_throwsCommandException() {
         Name doctorName = new Name("ASFASFASF");
@@ -7,6 +7,9 @@ import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.Predicate;
 
 import org.junit.Rule;
@@ -23,6 +26,7 @@ import seedu.address.model.appointment.Appointment;
 import seedu.address.model.doctor.Doctor;
 import seedu.address.model.patient.Patient;
 import seedu.address.model.person.Person;
+import seedu.address.model.person.Role;
 import seedu.address.testutil.GoogleCalendarStub;
 import seedu.address.testutil.PersonBuilder;
 
@@ -114,6 +118,11 @@ public class AddCommandTest {
             throw new AssertionError("This method should not be called.");
         }
 
+        @Override
+        public void addAppointment(Appointment appointment, Patient patient, Doctor doctor) {
+            throw new AssertionError("This method should not be called.");
+        }
+
         @Override
         public void deleteAppointment(Appointment appointment, Patient patient, Doctor doctor) {
             throw new AssertionError("This method should not be called.");
@@ -154,6 +163,36 @@ public class AddCommandTest {
             throw new AssertionError("This method should not be called.");
         }
 
+        @Override
+        public Optional<Appointment> findAppointmentById(int appointmentId) {
+            throw new AssertionError("This method should not be called.");
+        }
+
+        @Override
+        public Optional<Patient> findPatientOfAppointment(int appointmentId) {
+            throw new AssertionError("This method should not be called.");
+        }
+
+        @Override
+        public Optional<Doctor> findDoctorOfAppointment(int appointmentId) {
+            throw new AssertionError("This method should not be called.");
+        }
+
+        @Override
+        public Set<Person> findPersonsByName(List<String> keywords) {
+            throw new AssertionError("This method should not be called.");
+        }
+
+        @Override
+        public List<Person> searchPersonsByName(List<String> keywords) {
+            throw new AssertionError("This method should not be called.");
+        }
+
+        @Override
+        public List<Person> suggestPersonsByName(String partialWord, int limit) {
+            throw new AssertionError("This method should not be called.");
+        }
+
         @Override
         public ObservableList<Person> getFilteredPersonList() {
             throw new AssertionError("This method should not be called.");
@@ -164,6 +203,21 @@ public class AddCommandTest {
             throw new AssertionError("This method should not be called.");
         }
 
+        @Override
+        public void updateFilteredPersonList(Role role) {
+            throw new AssertionError("This method should not be called.");
+        }
+
+        @Override
+        public ObservableList<Patient> getFilteredPatientList() {
+            throw new AssertionError("This method should not be called.");
+        }
+
+        @Override
+        public ObservableList<Doctor> getFilteredDoctorList() {
+            throw new AssertionError("This method should not be called.");
+        }
+
         @Override
         public ObservableList<Appointment> getFilteredAppointmentList() {
             throw new AssertionError("This method should not be called.");
@@ -208,6 +262,16 @@ public class AddCommandTest {
         public void commitAddressBook() {
             throw new AssertionError("This method should not be called.");
         }
+
+        @Override
+        public void beginChangeBatch() {
+            throw new AssertionError("This method should not be called.");
+        }
+
+        @Override
+        public void commitChangeBatch() {
+            throw new AssertionError("This method should not be called.");
+        }
     }
 
     /**
@@ -2,6 +2,7 @@ package seedu.address.model;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import static seedu.address.logic.commands.CommandTestUtil.VALID_ADDRESS_BOB;
@@ -9,10 +10,12 @@ import static seedu.address.logic.commands.CommandTestUtil.VALID_TAG_HUSBAND;
 import static seedu.address.testutil.TypicalPersons.ALICE;
 import static seedu.address.testutil.TypicalPersons.getTypicalAddressBook;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 import org.junit.Rule;
 import org.junit.Test;
@@ -22,8 +25,16 @@ import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 
 import seedu.address.model.appointment.Appointment;
+import seedu.address.model.appointment.Status;
+import seedu.address.model.doctor.Doctor;
+import seedu.address.model.patient.MedicalHistory;
+import seedu.address.model.patient.Patient;
+import seedu.address.model.patient.PatientHistory;
 import seedu.address.model.person.Person;
 import seedu.address.model.person.exceptions.DuplicatePersonException;
+import seedu.address.testutil.AppointmentBuilder;
+import seedu.address.testutil.DoctorBuilder;
+import seedu.address.testutil.PatientBuilder;
 import seedu.address.testutil.PersonBuilder;
 
 public class HealthBookTest {
@@ -88,6 +99,159 @@ public class HealthBookTest {
         assertTrue(healthBook.hasPerson(editedAlice));
     }
 
+    @Test
+    public void addAppointment_withPatientAndDoctor_ownersFound() {
+        Patient patient = new PatientBuilder().build();
+        Doctor doctor = new DoctorBuilder().withName("Fiona Kunz").build();
+        Appointment appointment = new AppointmentBuilder().build();
+        healthBook.addPatient(patient);
+        healthBook.addDoctor(doctor);
+        healthBook.addAppointment(appointment, patient, doctor);
+
+        int appointmentId = appointment.getAppointmentId();
+        assertTrue(patient.hasAppointment(appointmentId));
+        assertTrue(doctor.hasAppointment(appointmentId));
+        assertEquals(Optional.of(patient), healthBook.findPatientOfAppointment(appointmentId));
+        assertEquals(Optional.of(doctor), healthBook.findDoctorOfAppointment(appointmentId));
+    }
+
+    @Test
+    public void addPatient_patientWithAppointments_ownerFound() {
+        Appointment appointment = new AppointmentBuilder().build();
+        Patient patient = new PatientBuilder().withAppointment(appointment).build();
+        healthBook.addPatient(patient);
+        assertEquals(Optional.of(patient), healthBook.findPatientOfAppointment(appointment.getAppointmentId()));
+        assertEquals(Optional.empty(), healthBook.findDoctorOfAppointment(appointment.getAppointmentId()));
+    }
+
+    @Test
+    public void findPatientOfAppointment_pastAppointmentOfUnloadedPatient_onlyOwnerHistoryLoaded() {
+        Appointment pastAppointment = new AppointmentBuilder().withPatient("Benson Meier").build();
+        Patient owner = new PatientBuilder().withName("Benson Meier").withHistoryLoader(() ->
+                new PatientHistory(new ArrayList<>(Collections.singletonList(pastAppointment)),
+                        new MedicalHistory())).build();
+        Patient other = new PatientBuilder().withHistoryLoader(() ->
+                new PatientHistory(new ArrayList<>(), new MedicalHistory())).build();
+        healthBook.addPatient(other);
+        healthBook.addPatient(owner);
+        healthBook.addAppointment(pastAppointment);
+        assertFalse(owner.isHistoryLoaded());
+
+        assertEquals(Optional.of(owner), healthBook.findPatientOfAppointment(pastAppointment.getAppointmentId()));
+        assertTrue(owner.isHistoryLoaded());
+        assertFalse(other.isHistoryLoaded());
+    }
+
+    @Test
+    public void snapshotOf_unloadedPatientHistory_notLoaded() {
+        Appointment pastAppointment = new AppointmentBuilder().build();
+        Patient patient = new PatientBuilder().withHistoryLoader(() ->
+                new PatientHistory(new ArrayList<>(Collections.singletonList(pastAppointment)),
+                        new MedicalHistory())).build();
+        healthBook.addPatient(patient);
+        healthBook.addAppointment(pastAppointment);
+
+        HealthBook snapshot = HealthBook.snapshotOf(healthBook);
+        assertFalse(patient.isHistoryLoaded());
+
+        // the snapshot patient still shares its past appointment with the snapshot appointment list
+        Patient snapshotPatient = (Patient) snapshot.getPersonList().get(0);
+        assertSame(snapshot.getAppointmentList().get(0), snapshotPatient.getPastAppointments().get(0));
+        assertFalse(patient.isHistoryLoaded());
+    }
+
+    @Test
+    public void completeAppointment_doctorNoLongerOwner() {
+        Patient patient = new PatientBuilder().build();
+        Doctor doctor = new DoctorBuilder().withName("Fiona Kunz").build();
+        Appointment appointment = new AppointmentBuilder().build();
+        healthBook.addPatient(patient);
+        healthBook.addDoctor(doctor);
+        healthBook.addAppointment(appointment, patient, doctor);
+        healthBook.completeAppointment(appointment, patient, doctor);
+
+        int appointmentId = appointment.getAppointmentId();
+        assertEquals(Optional.of(patient), healthBook.findPatientOfAppointment(appointmentId));
+        assertEquals(Optional.empty(), healthBook.findDoctorOfAppointment(appointmentId));
+    }
+
+    @Test
+    public void removePerson_doctorWithUpcomingAppointment_appointmentRemovedFromPatient() {
+        Patient patient = new PatientBuilder().build();
+        Doctor doctor = new DoctorBuilder().withName("Fiona Kunz").build();
+        Appointment appointment = new AppointmentBuilder().build();
+        healthBook.addPatient(patient);
+        healthBook.addDoctor(doctor);
+        healthBook.addAppointment(appointment, patient, doctor);
+        healthBook.removePerson(doctor);
+
+        int appointmentId = appointment.getAppointmentId();
+        assertFalse(patient.hasAppointment(appointmentId));
+        assertEquals(Optional.empty(), healthBook.findAppointmentById(appointmentId));
+        assertEquals(Optional.empty(), healthBook.findPatientOfAppointment(appointmentId));
+        assertEquals(Optional.empty(), healthBook.findDoctorOfAppointment(appointmentId));
+    }
+
+    @Test
+    public void snapshotOf_laterChanges_snapshotUnchanged() {
+        Patient patient = new PatientBuilder().build();
+        Doctor doctor = new DoctorBuilder().withName("Fiona Kunz").build();
+        healthBook.addPatient(patient);
+        healthBook.addDoctor(doctor);
+        healthBook.addAppointment(new AppointmentBuilder().build(), patient, doctor);
+
+        HealthBook snapshot = HealthBook.snapshotOf(healthBook);
+        assertEquals(healthBook, snapshot);
+
+        patient.addUpcomingAppointment(new AppointmentBuilder().withAppointmentId(10001).build());
+        healthBook.getAppointmentList().get(0).completeAppointment();
+        Patient snapshotPatient = (Patient) snapshot.getPersonList().get(0);
+        assertEquals(1, snapshotPatient.getUpcomingAppointments().size());
+        assertEquals(Status.UPCOMING, snapshot.getAppointmentList().get(0).getStatus());
+
+        // the snapshot patient still shares its appointment with the snapshot appointment list
+        assertSame(snapshotPatient.getUpcomingAppointments().get(0), snapshot.getAppointmentList().get(0));
+    }
+
+    @Test
+    public void replaceAppointments_appointmentRemovedAndPutBack_ownersKept() {
+        Patient patient = new PatientBuilder().build();
+        Doctor doctor = new DoctorBuilder().withName("Fiona Kunz").build();
+        Appointment appointment = new AppointmentBuilder().build();
+        healthBook.addPatient(patient);
+        healthBook.addDoctor(doctor);
+        healthBook.addAppointment(appointment, patient, doctor);
+        int appointmentId = appointment.getAppointmentId();
+
+        healthBook.replaceAppointments(0, 1, Collections.emptyList());
+        assertEquals(Optional.empty(), healthBook.findPatientOfAppointment(appointmentId));
+        assertEquals(Optional.empty(), healthBook.findDoctorOfAppointment(appointmentId));
+
+        healthBook.replaceAppointments(0, 0, Collections.singletonList(appointment));
+        assertEquals(Optional.of(patient), healthBook.findPatientOfAppointment(appointmentId));
+        assertEquals(Optional.of(doctor), healthBook.findDoctorOfAppointment(appointmentId));
+    }
+
+    @Test
+    public void applyCopiedChanges_personEditedWithoutItsAppointment_sharesListedAppointment() {
+        VersionedHealthBook original = new VersionedHealthBook(new HealthBook());
+        Patient patient = new PatientBuilder().build();
+        Doctor doctor = new DoctorBuilder().withName("Fiona Kunz").build();
+        original.addPatient(patient);
+        original.addDoctor(doctor);
+        original.addAppointment(new AppointmentBuilder().build(), patient, doctor);
+        HealthBook copy = HealthBook.snapshotOf(original);
+        original.takeChanges();
+
+        original.updatePerson(patient, patient);
+        copy.applyCopiedChanges(HealthBook.snapshotOf(original.takeChanges()));
+        assertEquals(new HealthBook(original), copy);
+
+        // the copied patient shares its appointment with the appointment list, like the original patient
+        Patient copiedPatient = (Patient) copy.getPersonList().get(0);
+        assertSame(copy.getAppointmentList().get(0), copiedPatient.getUpcomingAppointments().get(0));
+    }
+
     @Test
     public void getPersonList_modifyList_throwsUnsupportedOperationException() {
         thrown.expect(UnsupportedOperationException.class);
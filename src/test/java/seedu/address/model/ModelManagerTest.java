@@ -1,6 +1,8 @@
 package seedu.address.model;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static seedu.address.model.Model.PREDICATE_SHOW_ALL_PERSONS;
 import static seedu.address.testutil.TypicalPersons.ALICE;
@@ -8,17 +10,30 @@ import static seedu.address.testutil.TypicalPersons.BENSON;
 
 import java.nio.file.Paths;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import seedu.address.commons.events.model.HealthBookChangedEvent;
+import seedu.address.model.doctor.Doctor;
+import seedu.address.model.patient.Patient;
 import seedu.address.model.person.NameContainsKeywordsPredicate;
+import seedu.address.model.person.Person;
+import seedu.address.model.person.Role;
 import seedu.address.testutil.AddressBookBuilder;
+import seedu.address.testutil.PatientBuilder;
+import seedu.address.testutil.TypicalPatientsAndDoctors;
+import seedu.address.ui.testutil.EventsCollectorRule;
 
 public class ModelManagerTest {
     @Rule
     public ExpectedException thrown = ExpectedException.none();
+    @Rule
+    public final EventsCollectorRule eventsCollectorRule = new EventsCollectorRule();
 
     private ModelManager modelManager = new ModelManager();
 
@@ -39,12 +54,118 @@ public class ModelManagerTest {
         assertTrue(modelManager.hasPerson(ALICE));
     }
 
+    @Test
+    public void commitChangeBatch_severalChanges_oneEventWithAllEdits() {
+        modelManager.beginChangeBatch();
+        modelManager.addPerson(ALICE);
+        modelManager.addPerson(BENSON);
+        assertTrue(eventsCollectorRule.eventsCollector.isEmpty());
+
+        modelManager.commitChangeBatch();
+        assertEquals(1, eventsCollectorRule.eventsCollector.getSize());
+        HealthBookChangedEvent event = (HealthBookChangedEvent) eventsCollectorRule.eventsCollector.getMostRecent();
+        assertEquals(new AddressBookBuilder().withPerson(ALICE).withPerson(BENSON).build(),
+                new HealthBook(event.data));
+        assertEquals(2, event.changes.getEditedRecordCount());
+    }
+
+    @Test
+    public void addPerson_afterFirstEvent_eventHoldsOnlyChanges() {
+        modelManager.addPerson(ALICE);
+        modelManager.addPerson(BENSON);
+
+        HealthBookChangedEvent event = (HealthBookChangedEvent) eventsCollectorRule.eventsCollector.getMostRecent();
+        assertNull(event.data);
+        assertEquals(1, event.changes.getEditedRecordCount());
+        assertEquals(BENSON, event.changes.getPersonEdits().get(0).getAdded().get(0));
+    }
+
+    @Test
+    public void commitChangeBatch_nestedBatches_eventOnlyWhenOutermostCommitted() {
+        modelManager.beginChangeBatch();
+        modelManager.beginChangeBatch();
+        modelManager.addPerson(ALICE);
+        modelManager.commitChangeBatch();
+        assertTrue(eventsCollectorRule.eventsCollector.isEmpty());
+
+        modelManager.commitChangeBatch();
+        assertEquals(1, eventsCollectorRule.eventsCollector.getSize());
+    }
+
+    @Test
+    public void commitChangeBatch_noChanges_noEvent() {
+        modelManager.beginChangeBatch();
+        modelManager.commitChangeBatch();
+        assertTrue(eventsCollectorRule.eventsCollector.isEmpty());
+
+        // changes after the batch raise an event each again
+        modelManager.addPerson(ALICE);
+        modelManager.addPerson(BENSON);
+        assertEquals(2, eventsCollectorRule.eventsCollector.getSize());
+    }
+
+    @Test
+    public void commitChangeBatch_noBatch_throwsIllegalStateException() {
+        thrown.expect(IllegalStateException.class);
+        modelManager.commitChangeBatch();
+    }
+
     @Test
     public void getFilteredPersonList_modifyList_throwsUnsupportedOperationException() {
         thrown.expect(UnsupportedOperationException.class);
         modelManager.getFilteredPersonList().remove(0);
     }
 
+    @Test
+    public void getFilteredPatientListAndDoctorList_personListChanged_viewsFollow() {
+        modelManager = new ModelManager(TypicalPatientsAndDoctors.getTypicalAddressBookWithPatientAndDoctor(),
+                new UserPrefs());
+        assertEquals(modelManager.getFilteredPersonList().stream()
+                .filter(person -> person instanceof Patient).collect(Collectors.toList()),
+                modelManager.getFilteredPatientList());
+        assertEquals(modelManager.getFilteredPersonList().stream()
+                .filter(person -> person instanceof Doctor).collect(Collectors.toList()),
+                modelManager.getFilteredDoctorList());
+
+        Patient patient = new PatientBuilder().withName("Zachary Tan").build();
+        int patientCount = modelManager.getFilteredPatientList().size();
+        int doctorCount = modelManager.getFilteredDoctorList().size();
+        modelManager.addPatient(patient);
+        assertEquals(patientCount + 1, modelManager.getFilteredPatientList().size());
+        assertTrue(modelManager.getFilteredPatientList().contains(patient));
+
+        // the views only hold the patients and doctors shown
+        modelManager.updateFilteredPersonList(new NameContainsKeywordsPredicate(Arrays.asList("Zachary")));
+        assertEquals(Collections.singletonList(patient), modelManager.getFilteredPatientList());
+        assertTrue(modelManager.getFilteredDoctorList().isEmpty());
+
+        modelManager.deletePerson(patient);
+        assertTrue(modelManager.getFilteredPatientList().isEmpty());
+        modelManager.updateFilteredPersonList(PREDICATE_SHOW_ALL_PERSONS);
+        assertEquals(patientCount, modelManager.getFilteredPatientList().size());
+        assertEquals(doctorCount, modelManager.getFilteredDoctorList().size());
+    }
+
+    @Test
+    public void updateFilteredPersonList_role_onlyPersonsWithRoleShown() {
+        modelManager = new ModelManager(TypicalPatientsAndDoctors.getTypicalAddressBookWithPatientAndDoctor(),
+                new UserPrefs());
+        List<Person> doctors = modelManager.getAddressBook().getPersonList().stream()
+                .filter(person -> person instanceof Doctor).collect(Collectors.toList());
+
+        modelManager.updateFilteredPersonList(Role.DOCTOR);
+        assertEquals(doctors, modelManager.getFilteredPersonList());
+        assertEquals(doctors, modelManager.getFilteredDoctorList());
+        assertTrue(modelManager.getFilteredPatientList().isEmpty());
+
+        // the persons shown follow the health book as it changes
+        modelManager.deletePerson(doctors.get(0));
+        assertEquals(doctors.subList(1, doctors.size()), modelManager.getFilteredPersonList());
+
+        modelManager.updateFilteredPersonList(PREDICATE_SHOW_ALL_PERSONS);
+        assertEquals(modelManager.getAddressBook().getPersonList(), modelManager.getFilteredPersonList());
+    }
+
     @Test
     public void equals() {
         HealthBook healthBook = new AddressBookBuilder().withPerson(ALICE).withPerson(BENSON).build();
@@ -2,6 +2,7 @@ package seedu.address.model;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static seedu.address.testutil.TypicalPersons.AMY;
@@ -14,7 +15,13 @@ import java.util.List;
 
 import org.junit.Test;
 
+import seedu.address.model.appointment.Appointment;
+import seedu.address.model.doctor.Doctor;
+import seedu.address.model.patient.Patient;
 import seedu.address.testutil.AddressBookBuilder;
+import seedu.address.testutil.AppointmentBuilder;
+import seedu.address.testutil.DoctorBuilder;
+import seedu.address.testutil.PatientBuilder;
 
 public class VersionedHealthBookTest {
 
@@ -207,6 +214,93 @@ public class VersionedHealthBookTest {
         assertThrows(VersionedHealthBook.NoRedoableStateException.class, versionedAddressBook::redo);
     }
 
+    @Test
+    public void commit_beyondHistoryLimit_oldestStateDropped() {
+        VersionedHealthBook versionedAddressBook = new VersionedHealthBook(emptyAddressBook, 2);
+        for (ReadOnlyHealthBook state : Arrays.asList(addressBookWithAmy, addressBookWithBob, addressBookWithCarl)) {
+            versionedAddressBook.resetData(state);
+            versionedAddressBook.commit();
+        }
+
+        assertAddressBookListStatus(versionedAddressBook,
+                Arrays.asList(addressBookWithAmy, addressBookWithBob),
+                addressBookWithCarl,
+                Collections.emptyList());
+    }
+
+    @Test
+    public void undo_personLevelEdits_success() {
+        VersionedHealthBook versionedAddressBook = new VersionedHealthBook(addressBookWithAmy);
+        versionedAddressBook.addPerson(BOB);
+        versionedAddressBook.addPerson(CARL);
+        versionedAddressBook.commit();
+        versionedAddressBook.removePerson(BOB);
+        versionedAddressBook.commit();
+
+        assertAddressBookListStatus(versionedAddressBook,
+                Arrays.asList(addressBookWithAmy,
+                        new AddressBookBuilder().withPerson(AMY).withPerson(BOB).withPerson(CARL).build()),
+                new AddressBookBuilder().withPerson(AMY).withPerson(CARL).build(),
+                Collections.emptyList());
+    }
+
+    @Test
+    public void undo_appointmentAdded_appointmentOwnersRemoved() {
+        HealthBook healthBook = new HealthBook();
+        healthBook.addPatient(new PatientBuilder().withName("Alice Pauline").build());
+        healthBook.addDoctor(new DoctorBuilder().withName("Benson Meier").build());
+        VersionedHealthBook versionedAddressBook = new VersionedHealthBook(healthBook);
+        Patient patient = (Patient) versionedAddressBook.getPersonList().get(0);
+        Doctor doctor = (Doctor) versionedAddressBook.getPersonList().get(1);
+        Appointment appointment = new AppointmentBuilder().withPatient("Alice Pauline").withDoctor("Benson Meier")
+                .build();
+        versionedAddressBook.addAppointment(appointment, patient, doctor);
+        versionedAddressBook.commit();
+
+        versionedAddressBook.undo();
+        assertFalse(versionedAddressBook.findAppointmentById(appointment.getAppointmentId()).isPresent());
+        assertFalse(versionedAddressBook.findPatientOfAppointment(appointment.getAppointmentId()).isPresent());
+        assertFalse(versionedAddressBook.findDoctorOfAppointment(appointment.getAppointmentId()).isPresent());
+
+        versionedAddressBook.redo();
+        assertSame(patient, versionedAddressBook.findPatientOfAppointment(appointment.getAppointmentId()).get());
+        assertSame(doctor, versionedAddressBook.findDoctorOfAppointment(appointment.getAppointmentId()).get());
+    }
+
+    @Test
+    public void undo_uncommittedChanges_discarded() {
+        VersionedHealthBook versionedAddressBook = prepareAddressBookList(emptyAddressBook, addressBookWithAmy);
+        versionedAddressBook.addPerson(BOB);
+
+        versionedAddressBook.undo();
+        assertEquals(emptyAddressBook, new HealthBook(versionedAddressBook));
+
+        versionedAddressBook.redo();
+        assertEquals(addressBookWithAmy, new HealthBook(versionedAddressBook));
+    }
+
+    @Test
+    public void takeChanges_editsUndone_undoneEditsIncluded() {
+        VersionedHealthBook versionedAddressBook = new VersionedHealthBook(addressBookWithAmy);
+        versionedAddressBook.addPerson(BOB);
+        versionedAddressBook.commit();
+        versionedAddressBook.undo();
+
+        HealthBookChanges changes = versionedAddressBook.takeChanges();
+        assertEquals(2, changes.getPersonEdits().size());
+        HealthBook healthBook = new HealthBook(addressBookWithAmy);
+        healthBook.applyChanges(changes);
+        assertEquals(addressBookWithAmy, healthBook);
+
+        // changes are only taken once
+        assertTrue(versionedAddressBook.takeChanges().getPersonEdits().isEmpty());
+    }
+
+    @Test
+    public void constructor_nonPositiveHistoryLimit_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new VersionedHealthBook(emptyAddressBook, 0));
+    }
+
     @Test
     public void equals() {
         VersionedHealthBook versionedAddressBook = prepareAddressBookList(addressBookWithAmy, addressBookWithBob);
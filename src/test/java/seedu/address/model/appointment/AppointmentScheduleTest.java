@@ -0,0 +1,82 @@
+package seedu.address.model.appointment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import seedu.address.testutil.AppointmentBuilder;
+
+public class AppointmentScheduleTest {
+
+    private final Appointment noon = new AppointmentBuilder().withAppointmentId(10001)
+            .withDateTime("2018-10-30 12:00").build();
+    private final Appointment halfPastTwelve = new AppointmentBuilder().withAppointmentId(10002)
+            .withDateTime("2018-10-30 12:30").build();
+    private final Appointment twoPm = new AppointmentBuilder().withAppointmentId(10003)
+            .withDateTime("2018-10-30 14:00").build();
+
+    @Test
+    public void hasClash_matchesAppointmentHasClash() {
+        AppointmentSchedule schedule = new AppointmentSchedule(Arrays.asList(noon, twoPm));
+
+        for (String dateTime : Arrays.asList("2018-10-30 12:00", "2018-10-30 12:01", "2018-10-30 11:59",
+                "2018-10-30 11:30", "2018-10-30 12:30", "2018-10-31 12:00", "2018-10-30 13:45",
+                "2018-10-30 14:29", "2018-10-30 14:30")) {
+            Appointment toCheck = new AppointmentBuilder().withDateTime(dateTime).build();
+            boolean expected = noon.hasClashAppointment(toCheck) || twoPm.hasClashAppointment(toCheck);
+            assertEquals(dateTime, expected, schedule.hasClash(toCheck));
+        }
+    }
+
+    @Test
+    public void hasClash_emptySchedule_returnsFalse() {
+        assertFalse(new AppointmentSchedule().hasClash(noon));
+    }
+
+    @Test
+    public void remove_appointmentNoLongerClashes() {
+        AppointmentSchedule schedule = new AppointmentSchedule(Arrays.asList(noon, halfPastTwelve));
+        schedule.remove(noon);
+        assertFalse(schedule.hasClash(noon));
+        assertTrue(schedule.hasClash(halfPastTwelve));
+        assertEquals(1, schedule.size());
+    }
+
+    @Test
+    public void remove_sameStartDifferentId_keepsOther() {
+        Appointment otherAtNoon = new AppointmentBuilder(noon).withAppointmentId(10004).build();
+        AppointmentSchedule schedule = new AppointmentSchedule(Arrays.asList(noon, otherAtNoon));
+        schedule.remove(noon);
+        assertTrue(schedule.hasClash(noon));
+        assertEquals(1, schedule.size());
+    }
+
+    @Test
+    public void findNextFreeSlot_freeAtRequestedTime_returnsRequestedTime() {
+        AppointmentSchedule schedule = new AppointmentSchedule(Arrays.asList(noon, twoPm));
+        LocalDateTime from = LocalDateTime.of(2018, 10, 30, 12, 30);
+        assertEquals(from, schedule.findNextFreeSlot(from));
+    }
+
+    @Test
+    public void findNextFreeSlot_backToBackAppointments_skipsPastAll() {
+        AppointmentSchedule schedule = new AppointmentSchedule(Arrays.asList(noon, halfPastTwelve, twoPm));
+        assertEquals(LocalDateTime.of(2018, 10, 30, 13, 0),
+                schedule.findNextFreeSlot(LocalDateTime.of(2018, 10, 30, 11, 45)));
+    }
+
+    @Test
+    public void findNextFreeSlot_gapTooShort_skipsGap() {
+        Appointment oneTwenty = new AppointmentBuilder().withAppointmentId(10005)
+                .withDateTime("2018-10-30 13:20").build();
+        AppointmentSchedule schedule = new AppointmentSchedule(Arrays.asList(noon, halfPastTwelve, oneTwenty));
+        // the 13:00 - 13:20 gap cannot fit a 30 minute appointment
+        assertEquals(LocalDateTime.of(2018, 10, 30, 13, 50),
+                schedule.findNextFreeSlot(LocalDateTime.of(2018, 10, 30, 12, 0)));
+    }
+}
@@ -2,11 +2,13 @@ package seedu.address.model.appointment;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 import org.junit.Rule;
 import org.junit.Test;
@@ -50,6 +52,21 @@ public class UniqueAppointmentListTest {
         assertTrue(uniqueAppointmentList.contains(editedAppointmentOne));
     }
 
+    @Test
+    public void findById_appointmentInList_returnsAppointment() {
+        Appointment otherAppointment = new AppointmentBuilder().withAppointmentId(10001).build();
+        uniqueAppointmentList.add(APPOINTMENT_ONE);
+        uniqueAppointmentList.add(otherAppointment);
+        assertEquals(Optional.of(otherAppointment), uniqueAppointmentList.findById(10001));
+    }
+
+    @Test
+    public void findById_removedAppointment_returnsEmpty() {
+        uniqueAppointmentList.add(APPOINTMENT_THREE);
+        uniqueAppointmentList.remove(APPOINTMENT_THREE);
+        assertEquals(Optional.empty(), uniqueAppointmentList.findById(12345));
+    }
+
     @Test
     public void add_nullAppointment_throwsNullPointerException() {
         thrown.expect(NullPointerException.class);
@@ -110,6 +127,22 @@ public class UniqueAppointmentListTest {
         assertEquals(expectedUniqueAppointmentList, uniqueAppointmentList);
     }
 
+    @Test
+    public void setAppointment_afterEarlierAppointmentRemoved_editsAppointmentInPlace() {
+        Appointment appointmentTwo = new AppointmentBuilder().withAppointmentId(23456).build();
+        Appointment appointmentThree = new AppointmentBuilder().withAppointmentId(34567).build();
+        uniqueAppointmentList.add(APPOINTMENT_ONE);
+        uniqueAppointmentList.add(appointmentTwo);
+        uniqueAppointmentList.add(appointmentThree);
+        uniqueAppointmentList.remove(APPOINTMENT_ONE);
+        Appointment editedAppointmentThree = new AppointmentBuilder(appointmentThree).withComments("Edited").build();
+        uniqueAppointmentList.setAppointment(appointmentThree, editedAppointmentThree);
+        List<Appointment> appointments = uniqueAppointmentList.asUnmodifiableObservableList();
+        assertEquals(2, appointments.size());
+        assertSame(appointmentTwo, appointments.get(0));
+        assertSame(editedAppointmentThree, appointments.get(1));
+    }
+
     @Test
     public void setAppointments_nullUniqueAppointmentList_throwsNullPointerException() {
         thrown.expect(NullPointerException.class);
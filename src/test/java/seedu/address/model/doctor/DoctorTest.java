@@ -1,10 +1,13 @@
 package seedu.address.model.doctor;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.time.LocalDateTime;
+
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
@@ -117,4 +120,63 @@ public class DoctorTest {
         assertTrue(doctor.hasClashForAppointment(appointmentEndTimeClash));
         assertFalse(doctor.hasClashForAppointment(appointmentRightAfter));
     }
+
+    @Test
+    public void hasClashForAppointment_afterDeleteAndComplete() {
+        Doctor doctor = new DoctorBuilder().build();
+        Appointment first = new AppointmentBuilder().withAppointmentId(10001).withDateTime("2018-10-30 12:00").build();
+        Appointment second = new AppointmentBuilder().withAppointmentId(10002).withDateTime("2018-10-30 14:00").build();
+        doctor.addUpcomingAppointment(first);
+        doctor.addUpcomingAppointment(second);
+
+        doctor.deleteAppointment(first);
+        assertFalse(doctor.hasClashForAppointment(first));
+
+        doctor.completeUpcomingAppointment(second);
+        assertFalse(doctor.hasClashForAppointment(second));
+    }
+
+    @Test
+    public void hasClashForAppointment_appointmentRescheduled() {
+        Doctor doctor = new DoctorBuilder().build();
+        Appointment appointment = new AppointmentBuilder().withDateTime("2018-10-30 12:00").build();
+        doctor.addUpcomingAppointment(appointment);
+        assertTrue(doctor.hasClashForAppointment(appointment));
+
+        Appointment rescheduled = new AppointmentBuilder(appointment).withDateTime("2018-10-30 15:00").build();
+        doctor.setAppointment(appointment, rescheduled);
+
+        assertFalse(doctor.hasClashForAppointment(appointment));
+        assertTrue(doctor.hasClashForAppointment(rescheduled));
+    }
+
+    @Test
+    public void hasClashForAppointment_appointmentDeletedFromEditedCopy_originalUnchanged() {
+        Doctor doctor = new DoctorBuilder().build();
+        Appointment appointment = new AppointmentBuilder().withDateTime("2018-10-30 12:00").build();
+        doctor.addUpcomingAppointment(appointment);
+        assertTrue(doctor.hasClashForAppointment(appointment));
+
+        Doctor editedDoctor = new Doctor(doctor.getName(), doctor.getPhone(), doctor.getEmail(),
+                doctor.getAddress(), doctor.getRemark(), doctor.getTags(), doctor.getUpcomingAppointments());
+        editedDoctor.deleteAppointment(appointment);
+
+        assertFalse(editedDoctor.hasClashForAppointment(appointment));
+        assertTrue(doctor.hasClashForAppointment(appointment));
+        assertEquals(1, doctor.getUpcomingAppointments().size());
+    }
+
+    @Test
+    public void findNextFreeSlot() {
+        Doctor doctor = new DoctorBuilder().build();
+        doctor.addUpcomingAppointment(new AppointmentBuilder().withAppointmentId(10001)
+                .withDateTime("2018-10-30 12:00").build());
+        doctor.addUpcomingAppointment(new AppointmentBuilder().withAppointmentId(10002)
+                .withDateTime("2018-10-30 12:30").build());
+
+        assertEquals(LocalDateTime.of(2018, 10, 30, 13, 0),
+                doctor.findNextFreeSlot(LocalDateTime.of(2018, 10, 30, 12, 10)));
+        assertEquals(LocalDateTime.of(2018, 10, 30, 11, 0),
+                doctor.findNextFreeSlot(LocalDateTime.of(2018, 10, 30, 11, 0)));
+    }
 }
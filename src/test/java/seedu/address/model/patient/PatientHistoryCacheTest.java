@@ -0,0 +1,77 @@
+package seedu.address.model.patient;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import seedu.address.testutil.PatientBuilder;
+
+public class PatientHistoryCacheTest {
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    private final PatientHistoryCache cache = new PatientHistoryCache(2);
+
+    @Test
+    public void constructor_nonPositiveCapacity_throwsIllegalArgumentException() {
+        thrown.expect(IllegalArgumentException.class);
+        new PatientHistoryCache(0);
+    }
+
+    @Test
+    public void recordLoaded_overCapacity_leastRecentlyLoadedUnloaded() {
+        Patient first = buildCachedPatient("Alice Pauline");
+        Patient second = buildCachedPatient("Benson Meier");
+        Patient third = buildCachedPatient("Carl Kurz");
+
+        first.getMedicalHistory();
+        second.getMedicalHistory();
+        assertEquals(2, cache.size());
+
+        third.getMedicalHistory();
+        assertEquals(2, cache.size());
+        assertFalse(first.isHistoryLoaded());
+        assertTrue(second.isHistoryLoaded());
+        assertTrue(third.isHistoryLoaded());
+
+        // loading again makes the patient the most recent one
+        first.getMedicalHistory();
+        assertFalse(second.isHistoryLoaded());
+        assertTrue(third.isHistoryLoaded());
+    }
+
+    @Test
+    public void recordLoaded_changedHistoryEvicted_historyKept() {
+        Patient changed = buildCachedPatient("Alice Pauline");
+        changed.addAllergy("Nuts");
+        buildCachedPatient("Benson Meier").getMedicalHistory();
+        buildCachedPatient("Carl Kurz").getMedicalHistory();
+
+        assertEquals(2, cache.size());
+        assertTrue(changed.isHistoryLoaded());
+        assertTrue(changed.getMedicalHistory().getAllergies().contains(new Allergy("Nuts")));
+    }
+
+    /**
+     * Returns a patient named {@code name} whose history is recorded in {@code cache} when it is loaded.
+     */
+    private Patient buildCachedPatient(String name) {
+        return new PatientBuilder().withName(name).withHistoryLoader(new PatientHistoryLoader() {
+            @Override
+            public PatientHistory load() {
+                return new PatientHistory(new ArrayList<>(), new MedicalHistory());
+            }
+
+            @Override
+            public void historyLoaded(Patient patient) {
+                cache.recordLoaded(this, patient);
+            }
+        }).build();
+    }
+}
@@ -1,10 +1,15 @@
 package seedu.address.model.patient;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Optional;
+
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
@@ -143,4 +148,73 @@ public class PatientTest {
         assertTrue(patient.hasClashForAppointment(appointmentEndTimeClash));
         assertFalse(patient.hasClashForAppointment(appointmentRightAfter));
     }
+
+    @Test
+    public void getMedicalHistory_historyLoader_loadedOnFirstAccessOnly() {
+        CountingHistoryLoader loader = new CountingHistoryLoader(new AppointmentBuilder().build());
+        Patient patient = new PatientBuilder().withHistoryLoader(loader).build();
+        assertFalse(patient.isHistoryLoaded());
+        assertEquals(0, loader.loads);
+
+        assertTrue(patient.getMedicalHistory().getAllergies().contains(new Allergy("Nuts")));
+        assertTrue(patient.isHistoryLoaded());
+        assertSame(loader.pastAppointment, patient.getPastAppointments().get(0));
+        assertEquals(1, loader.loads);
+    }
+
+    @Test
+    public void unloadHistory_unchangedHistory_loadedAgain() {
+        CountingHistoryLoader loader = new CountingHistoryLoader(new AppointmentBuilder().build());
+        Patient patient = new PatientBuilder().withHistoryLoader(loader).build();
+        patient.getPastAppointments();
+
+        assertTrue(patient.unloadHistory());
+        assertFalse(patient.isHistoryLoaded());
+        assertEquals(1, loader.loads);
+        assertEquals(Optional.of(loader), patient.getHistoryLoader());
+        assertTrue(patient.hasAppointment(loader.pastAppointment.getAppointmentId()));
+        assertTrue(patient.isHistoryLoaded());
+    }
+
+    @Test
+    public void unloadHistory_changedHistory_kept() {
+        CountingHistoryLoader loader = new CountingHistoryLoader(new AppointmentBuilder().build());
+        Patient patient = new PatientBuilder().withHistoryLoader(loader).build();
+        patient.addCondition("Asthma");
+
+        assertFalse(patient.unloadHistory());
+        assertTrue(patient.getMedicalHistory().getConditions().contains(new Condition("Asthma")));
+
+        // the changed history can no longer be dropped at all
+        patient.getMedicalHistory().getConditions().clear();
+        assertFalse(patient.unloadHistory());
+        assertEquals(Optional.empty(), patient.getHistoryLoader());
+    }
+
+    @Test
+    public void unloadHistory_noHistoryLoader_kept() {
+        Patient patient = new PatientBuilder().build();
+        assertFalse(patient.unloadHistory());
+        assertTrue(patient.isHistoryLoaded());
+    }
+
+    /**
+     * Loads a history with a single past appointment and allergy, counting the loads.
+     */
+    private static class CountingHistoryLoader implements PatientHistoryLoader {
+        private final Appointment pastAppointment;
+        private int loads = 0;
+
+        CountingHistoryLoader(Appointment pastAppointment) {
+            this.pastAppointment = pastAppointment;
+        }
+
+        @Override
+        public PatientHistory load() {
+            loads++;
+            MedicalHistory medicalHistory = new MedicalHistory();
+            medicalHistory.addAllergy("Nuts");
+            return new PatientHistory(new ArrayList<>(Collections.singletonList(pastAppointment)), medicalHistory);
+        }
+    }
 }
@@ -0,0 +1,140 @@
+package seedu.address.model.person;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static seedu.address.testutil.TypicalPersons.ALICE;
+import static seedu.address.testutil.TypicalPersons.BENSON;
+import static seedu.address.testutil.TypicalPersons.CARL;
+import static seedu.address.testutil.TypicalPersons.DANIEL;
+import static seedu.address.testutil.TypicalPersons.ELLE;
+import static seedu.address.testutil.TypicalPersons.FIONA;
+import static seedu.address.testutil.TypicalPersons.IDA;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Test;
+
+import seedu.address.testutil.PersonBuilder;
+
+public class PersonSearchIndexTest {
+
+    private final UniquePersonList persons = new UniquePersonList();
+
+    @Test
+    public void findByName_wholeWordsIgnoringCase_matchingPersonsFound() {
+        persons.setPersons(Arrays.asList(ALICE, BENSON, CARL, DANIEL));
+        PersonSearchIndex index = persons.getSearchIndex();
+
+        assertFound(index.findByName(Arrays.asList("meier")), BENSON, DANIEL);
+        assertFound(index.findByName(Arrays.asList("ALICE", "Kurz")), ALICE, CARL);
+
+        // part of a word -> not found
+        assertFound(index.findByName(Arrays.asList("Mei")));
+
+        // word in another field -> not found
+        assertFound(index.findByName(Arrays.asList("street")));
+        assertFound(index.findByName(Arrays.asList("95352563")));
+
+        // no keywords -> nothing found
+        assertFound(index.findByName(Collections.emptyList()));
+    }
+
+    @Test
+    public void findByName_listChangedAfterIndexBuilt_indexUpToDate() {
+        persons.add(ALICE);
+        persons.add(BENSON);
+        PersonSearchIndex index = persons.getSearchIndex();
+
+        persons.add(DANIEL);
+        assertFound(index.findByName(Arrays.asList("Meier")), BENSON, DANIEL);
+
+        Person editedBenson = new PersonBuilder(BENSON).withName("Benson Kurz").build();
+        persons.setPerson(BENSON, editedBenson);
+        assertFound(index.findByName(Arrays.asList("Meier")), DANIEL);
+        assertFound(index.findByName(Arrays.asList("Kurz")), editedBenson);
+
+        persons.remove(DANIEL);
+        assertFound(index.findByName(Arrays.asList("Meier")));
+
+        persons.replaceRange(0, 1, Arrays.asList(CARL, DANIEL));
+        assertFound(index.findByName(Arrays.asList("alice")));
+        assertFound(index.findByName(Arrays.asList("kurz")), CARL, editedBenson);
+        assertFound(index.findByName(Arrays.asList("meier")), DANIEL);
+    }
+
+    @Test
+    public void findByName_listReplaced_indexRebuilt() {
+        persons.add(ALICE);
+        persons.getSearchIndex();
+        persons.setPersons(Arrays.asList(BENSON));
+        assertFound(persons.getSearchIndex().findByName(Arrays.asList("Alice")));
+        assertFound(persons.getSearchIndex().findByName(Arrays.asList("Benson")), BENSON);
+    }
+
+    @Test
+    public void searchNames_exactPrefixAndFuzzyMatches_rankedInThatOrder() {
+        persons.setPersons(Arrays.asList(ALICE, BENSON, CARL, DANIEL, ELLE, FIONA, IDA));
+        PersonSearchIndex index = persons.getSearchIndex();
+
+        // exact matches sorted by name, then the fuzzy match one edit away
+        assertEquals(Arrays.asList(BENSON, DANIEL, ELLE), index.searchNames(Arrays.asList("MEIER")));
+
+        // prefix matches
+        assertEquals(Arrays.asList(BENSON, DANIEL), index.searchNames(Arrays.asList("mei")));
+
+        // exact match before prefix match before fuzzy match
+        assertEquals(Arrays.asList(CARL, ALICE, FIONA), index.searchNames(Arrays.asList("kurz", "ali", "kunt")));
+
+        // two edits away from a long keyword
+        assertEquals(Arrays.asList(IDA), index.searchNames(Arrays.asList("muellre")));
+
+        // one edit away from a short keyword -> not found
+        assertEquals(Collections.emptyList(), index.searchNames(Arrays.asList("kuz")));
+
+        // blank keyword -> nothing found
+        assertEquals(Collections.emptyList(), index.searchNames(Arrays.asList(" ")));
+    }
+
+    @Test
+    public void suggestNames_partialWord_bestMatchesUpToLimit() {
+        persons.setPersons(Arrays.asList(ALICE, BENSON, CARL, DANIEL, ELLE, FIONA, IDA));
+        PersonSearchIndex index = persons.getSearchIndex();
+
+        assertEquals(Arrays.asList(BENSON, DANIEL), index.suggestNames("meie", 5));
+        assertEquals(Arrays.asList(BENSON), index.suggestNames("meie", 1));
+        assertEquals(Arrays.asList(ELLE, BENSON, DANIEL), index.suggestNames("Meyer", 5));
+        assertEquals(Collections.emptyList(), index.suggestNames("meie", 0));
+        assertEquals(Collections.emptyList(), index.suggestNames("", 5));
+    }
+
+    @Test
+    public void searchNames_nameEdited_fuzzyMatchesUpToDate() {
+        persons.add(ELLE);
+        PersonSearchIndex index = persons.getSearchIndex();
+
+        Person editedElle = new PersonBuilder(ELLE).withName("Elle Kunz").build();
+        persons.setPerson(ELLE, editedElle);
+        assertEquals(Collections.emptyList(), index.searchNames(Arrays.asList("meier")));
+        assertEquals(Arrays.asList(editedElle), index.searchNames(Arrays.asList("kunze")));
+    }
+
+    @Test
+    public void distanceWithin() {
+        assertEquals(0, FuzzyWordIndex.distanceWithin("meier", "meier", 2));
+        assertEquals(1, FuzzyWordIndex.distanceWithin("meier", "meyer", 2));
+        assertEquals(1, FuzzyWordIndex.distanceWithin("meier", "meie", 2));
+        assertEquals(2, FuzzyWordIndex.distanceWithin("mueller", "mieler", 2));
+
+        // further than the maximum distance -> one more than the maximum
+        assertEquals(2, FuzzyWordIndex.distanceWithin("kurz", "kunze", 1));
+        assertEquals(3, FuzzyWordIndex.distanceWithin("alice", "benson", 2));
+    }
+
+    private static void assertFound(Set<Person> found, Person... expected) {
+        assertEquals(expected.length, found.size());
+        assertTrue(found.containsAll(new HashSet<>(Arrays.asList(expected))));
+    }
+}
@@ -1,5 +1,6 @@
 package seedu.address.model.person;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static seedu.address.logic.commands.CommandTestUtil.VALID_ADDRESS_BOB;
@@ -14,6 +15,8 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import seedu.address.testutil.DoctorBuilder;
+import seedu.address.testutil.PatientBuilder;
 import seedu.address.testutil.PersonBuilder;
 
 public class PersonTest {
@@ -27,6 +30,13 @@ public class PersonTest {
         person.getTags().remove(0);
     }
 
+    @Test
+    public void getRole() {
+        assertEquals(Role.PERSON, ALICE.getRole());
+        assertEquals(Role.PATIENT, new PatientBuilder().build().getRole());
+        assertEquals(Role.DOCTOR, new DoctorBuilder().build().getRole());
+    }
+
     @Test
     public void isSamePerson() {
         // same object -> returns true
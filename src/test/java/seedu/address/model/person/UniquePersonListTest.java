@@ -2,11 +2,15 @@ package seedu.address.model.person;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static seedu.address.logic.commands.CommandTestUtil.VALID_ADDRESS_BOB;
 import static seedu.address.logic.commands.CommandTestUtil.VALID_TAG_HUSBAND;
+import static seedu.address.testutil.TypicalPatientsAndDoctors.ALICE_PATIENT;
+import static seedu.address.testutil.TypicalPatientsAndDoctors.BENSON_DOCTOR;
 import static seedu.address.testutil.TypicalPersons.ALICE;
 import static seedu.address.testutil.TypicalPersons.BOB;
+import static seedu.address.testutil.TypicalPersons.CARL;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -51,6 +55,20 @@ public class UniquePersonListTest {
         assertTrue(uniquePersonList.contains(editedAlice));
     }
 
+    @Test
+    public void contains_personWithDifferentNameCase_returnsTrue() {
+        uniquePersonList.add(ALICE);
+        Person upperCaseAlice = new PersonBuilder(ALICE).withName(ALICE.getName().fullName.toUpperCase()).build();
+        assertTrue(uniquePersonList.contains(upperCaseAlice));
+    }
+
+    @Test
+    public void contains_removedPerson_returnsFalse() {
+        uniquePersonList.add(ALICE);
+        uniquePersonList.remove(ALICE);
+        assertFalse(uniquePersonList.contains(ALICE));
+    }
+
     @Test
     public void add_nullPerson_throwsNullPointerException() {
         thrown.expect(NullPointerException.class);
@@ -119,6 +137,14 @@ public class UniquePersonListTest {
         uniquePersonList.setPerson(ALICE, BOB);
     }
 
+    @Test
+    public void setPerson_editedPersonHasDifferentIdentity_oldIdentityRemoved() {
+        uniquePersonList.add(ALICE);
+        uniquePersonList.setPerson(ALICE, BOB);
+        assertFalse(uniquePersonList.contains(ALICE));
+        assertTrue(uniquePersonList.contains(BOB));
+    }
+
     @Test
     public void remove_nullPerson_throwsNullPointerException() {
         thrown.expect(NullPointerException.class);
@@ -139,6 +165,32 @@ public class UniquePersonListTest {
         assertEquals(expectedUniquePersonList, uniquePersonList);
     }
 
+    @Test
+    public void setPerson_afterEarlierPersonRemoved_editsPersonInPlace() {
+        uniquePersonList.add(ALICE);
+        uniquePersonList.add(BOB);
+        uniquePersonList.add(CARL);
+        uniquePersonList.remove(ALICE);
+        Person editedCarl = new PersonBuilder(CARL).withAddress(VALID_ADDRESS_BOB).build();
+        uniquePersonList.setPerson(CARL, editedCarl);
+        UniquePersonList expectedUniquePersonList = new UniquePersonList();
+        expectedUniquePersonList.add(BOB);
+        expectedUniquePersonList.add(editedCarl);
+        assertEquals(expectedUniquePersonList, uniquePersonList);
+    }
+
+    @Test
+    public void remove_afterPersonsInsertedBefore_removesPerson() {
+        uniquePersonList.add(ALICE);
+        uniquePersonList.add(BOB);
+        uniquePersonList.replaceRange(0, 0, Collections.singletonList(CARL));
+        uniquePersonList.remove(BOB);
+        UniquePersonList expectedUniquePersonList = new UniquePersonList();
+        expectedUniquePersonList.add(CARL);
+        expectedUniquePersonList.add(ALICE);
+        assertEquals(expectedUniquePersonList, uniquePersonList);
+    }
+
     @Test
     public void setPersons_nullUniquePersonList_throwsNullPointerException() {
         thrown.expect(NullPointerException.class);
@@ -170,6 +222,21 @@ public class UniquePersonListTest {
         assertEquals(expectedUniquePersonList, uniquePersonList);
     }
 
+    @Test
+    public void replaceRange_restoresPersonsAndIdentities() {
+        uniquePersonList.add(ALICE);
+        uniquePersonList.add(BOB);
+        uniquePersonList.replaceRange(0, 1, Collections.emptyList());
+        assertFalse(uniquePersonList.contains(ALICE));
+
+        uniquePersonList.replaceRange(0, 0, Collections.singletonList(ALICE));
+        UniquePersonList expectedUniquePersonList = new UniquePersonList();
+        expectedUniquePersonList.add(ALICE);
+        expectedUniquePersonList.add(BOB);
+        assertEquals(expectedUniquePersonList, uniquePersonList);
+        assertTrue(uniquePersonList.contains(ALICE));
+    }
+
     @Test
     public void setPersons_listWithDuplicatePersons_throwsDuplicatePersonException() {
         List<Person> listWithDuplicatePersons = Arrays.asList(ALICE, ALICE);
@@ -177,6 +244,46 @@ public class UniquePersonListTest {
         uniquePersonList.setPersons(listWithDuplicatePersons);
     }
 
+    @Test
+    public void setPersons_listWithDuplicatePersons_listUnchanged() {
+        uniquePersonList.add(BOB);
+        try {
+            uniquePersonList.setPersons(Arrays.asList(ALICE, ALICE));
+        } catch (DuplicatePersonException e) {
+            // expected
+        }
+        assertTrue(uniquePersonList.contains(BOB));
+        assertFalse(uniquePersonList.contains(ALICE));
+    }
+
+    @Test
+    public void findPatient_patientInList_returnsPatient() {
+        uniquePersonList.add(ALICE_PATIENT);
+        uniquePersonList.add(BENSON_DOCTOR);
+        assertSame(ALICE_PATIENT, uniquePersonList.findPatient(ALICE_PATIENT));
+    }
+
+    @Test
+    public void findPatient_patientNotInList_throwsPersonNotFoundException() {
+        uniquePersonList.add(BENSON_DOCTOR);
+        thrown.expect(PersonNotFoundException.class);
+        uniquePersonList.findPatient(ALICE_PATIENT);
+    }
+
+    @Test
+    public void findDoctor_doctorInList_returnsDoctor() {
+        uniquePersonList.add(ALICE_PATIENT);
+        uniquePersonList.add(BENSON_DOCTOR);
+        assertSame(BENSON_DOCTOR, uniquePersonList.findDoctor(BENSON_DOCTOR));
+    }
+
+    @Test
+    public void findDoctor_doctorNotInList_throwsPersonNotFoundException() {
+        uniquePersonList.add(ALICE_PATIENT);
+        thrown.expect(PersonNotFoundException.class);
+        uniquePersonList.findDoctor(BENSON_DOCTOR);
+    }
+
     @Test
     public void asUnmodifiableObservableList_modifyList_throwsUnsupportedOperationException() {
         thrown.expect(UnsupportedOperationException.class);
@@ -1,5 +1,8 @@
 package seedu.address.model.tag;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
 import org.junit.Test;
 
 import seedu.address.testutil.Assert;
@@ -23,4 +26,17 @@ public class TagTest {
         Assert.assertThrows(NullPointerException.class, () -> Tag.isValidTagName(null));
     }
 
+    @Test
+    public void of_sameTagName_sameTag() {
+        assertSame(Tag.of("friends"), Tag.of(new String("friends")));
+        assertEquals(new Tag("friends"), Tag.of("friends"));
+        assertSame(Tag.PATIENT, Tag.of("Patient"));
+        assertSame(Tag.DOCTOR, Tag.of("Doctor"));
+    }
+
+    @Test
+    public void of_invalidTagName_throwsIllegalArgumentException() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> Tag.of(""));
+    }
+
 }
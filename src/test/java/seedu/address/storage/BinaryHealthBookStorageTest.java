@@ -0,0 +1,157 @@
+package seedu.address.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static seedu.address.testutil.TypicalPersons.getTypicalAddressBook;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import seedu.address.commons.exceptions.DataConversionException;
+import seedu.address.model.HealthBook;
+import seedu.address.model.ReadOnlyHealthBook;
+import seedu.address.model.appointment.Appointment;
+import seedu.address.model.doctor.Doctor;
+import seedu.address.model.patient.Allergy;
+import seedu.address.model.patient.Condition;
+import seedu.address.model.patient.Patient;
+import seedu.address.testutil.AppointmentBuilder;
+import seedu.address.testutil.PatientBuilder;
+import seedu.address.testutil.TypicalPatientsAndDoctorsWithAppt;
+
+public class BinaryHealthBookStorageTest {
+    private static final Path NOT_BINARY_FILE =
+            Paths.get("src", "test", "data", "XmlHealthBookStorageTest", "NotXmlFormatHealthBook.xml");
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    private Path getTempFilePath(String fileName) {
+        return testFolder.getRoot().toPath().resolve(fileName);
+    }
+
+    @Test
+    public void readAddressBook_nullFilePath_throwsNullPointerException() throws Exception {
+        thrown.expect(NullPointerException.class);
+        new BinaryHealthBookStorage(getTempFilePath("hb")).readAddressBook(null);
+    }
+
+    @Test
+    public void read_missingFile_emptyResult() throws Exception {
+        assertFalse(new BinaryHealthBookStorage(getTempFilePath("NonExistentFile")).readAddressBook().isPresent());
+    }
+
+    @Test
+    public void read_notBinaryFormat_exceptionThrown() throws Exception {
+        thrown.expect(DataConversionException.class);
+        new BinaryHealthBookStorage(NOT_BINARY_FILE).readAddressBook();
+    }
+
+    @Test
+    public void read_laterFormatVersion_exceptionThrown() throws Exception {
+        Path filePath = getTempFilePath("hb");
+        try (OutputStream out = Files.newOutputStream(filePath)) {
+            DataOutputStream data = new DataOutputStream(out);
+            data.writeInt(BinaryHealthBookCodec.MAGIC);
+            data.writeInt(BinaryHealthBookCodec.FORMAT_VERSION + 1);
+        }
+
+        thrown.expect(DataConversionException.class);
+        new BinaryHealthBookStorage(filePath).readAddressBook();
+    }
+
+    @Test
+    public void read_truncatedFile_exceptionThrown() throws Exception {
+        Path filePath = getTempFilePath("hb");
+        new BinaryHealthBookStorage(filePath).saveAddressBook(getTypicalAddressBook());
+        byte[] data = Files.readAllBytes(filePath);
+        Files.write(filePath, Arrays.copyOf(data, data.length / 2));
+
+        thrown.expect(DataConversionException.class);
+        new BinaryHealthBookStorage(filePath).readAddressBook();
+    }
+
+    @Test
+    public void readAndSaveAddressBook_allInOrder_success() throws Exception {
+        Path filePath = getTempFilePath("hb");
+        BinaryHealthBookStorage storage = new BinaryHealthBookStorage(filePath);
+
+        HealthBook original = getTypicalAddressBook();
+        storage.saveAddressBook(original);
+        assertEquals(original, new HealthBook(storage.readAddressBook().get()));
+
+        original = TypicalPatientsAndDoctorsWithAppt.getTypicalAddressBookWithPatientAndDoctorWithAppt();
+        storage.saveAddressBook(original);
+        assertEquals(original, new HealthBook(storage.readAddressBook().get()));
+    }
+
+    @Test
+    public void readAddressBook_sharedAppointment_stillShared() throws Exception {
+        Path filePath = getTempFilePath("hb");
+        BinaryHealthBookStorage storage = new BinaryHealthBookStorage(filePath);
+        storage.saveAddressBook(TypicalPatientsAndDoctorsWithAppt.getSmallerAddressBookWithPatientAndDoctorWithAppt());
+
+        ReadOnlyHealthBook read = storage.readAddressBook().get();
+        Patient patient = (Patient) read.getPersonList().get(0);
+        Doctor doctor = (Doctor) read.getPersonList().get(1);
+        assertSame(read.getAppointmentList().get(0), patient.getUpcomingAppointments().get(0));
+        assertSame(read.getAppointmentList().get(0), doctor.getUpcomingAppointments().get(0));
+    }
+
+    @Test
+    public void readAddressBook_patientHistory_loadedWhenNeeded() throws Exception {
+        Path filePath = getTempFilePath("hb");
+        BinaryHealthBookStorage storage = new BinaryHealthBookStorage(filePath);
+        HealthBook original = new HealthBook();
+        Appointment pastAppointment = new AppointmentBuilder().build();
+        original.addPatient(new PatientBuilder().withPastAppointment(pastAppointment)
+                .withMedicalHistory("Nuts", "Asthma").build());
+        original.addAppointment(pastAppointment);
+        storage.saveAddressBook(original);
+
+        ReadOnlyHealthBook read = storage.readAddressBook().get();
+        Patient patient = (Patient) read.getPersonList().get(0);
+        assertFalse(patient.isHistoryLoaded());
+
+        assertEquals(original.getPersonList().get(0), patient);
+        assertSame(read.getAppointmentList().get(0), patient.getPastAppointments().get(0));
+        assertEquals(new Allergy("Nuts"), patient.getMedicalHistory().getAllergies().get(0));
+        assertEquals(new Condition("Asthma"), patient.getMedicalHistory().getConditions().get(0));
+    }
+
+    @Test
+    public void readAddressBook_invalidPatientHistory_exceptionThrown() throws Exception {
+        Path filePath = getTempFilePath("hb");
+        HealthBook original = new HealthBook();
+        original.addPatient(new PatientBuilder().withMedicalHistory("Nuts", "").build());
+        new BinaryHealthBookStorage(filePath).saveAddressBook(original);
+        byte[] data = Files.readAllBytes(filePath);
+        String content = new String(data, StandardCharsets.ISO_8859_1).replace("Nuts", "N#ts");
+        Files.write(filePath, content.getBytes(StandardCharsets.ISO_8859_1));
+
+        thrown.expect(DataConversionException.class);
+        new BinaryHealthBookStorage(filePath).readAddressBook();
+    }
+
+    @Test
+    public void saveAddressBook_missingParentFolder_created() throws IOException {
+        Path filePath = getTempFilePath("folder").resolve("hb");
+        new BinaryHealthBookStorage(filePath).saveAddressBook(new HealthBook());
+        assertEquals(1, Files.list(filePath.getParent()).count());
+    }
+}
@@ -0,0 +1,72 @@
+package seedu.address.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import seedu.address.commons.util.FileUtil;
+
+public class CommandJournalTest {
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    private Path dataFile;
+    private CommandJournal journal;
+
+    @Before
+    public void setUp() throws Exception {
+        dataFile = testFolder.getRoot().toPath().resolve("data.xml");
+        FileUtil.writeToFile(dataFile, "data");
+        journal = new CommandJournal(dataFile);
+    }
+
+    @Test
+    public void readCommands_noJournal_returnsEmptyList() throws Exception {
+        assertTrue(journal.readCommands().isEmpty());
+    }
+
+    @Test
+    public void readCommands_appendedCommands_returnedInOrder() throws Exception {
+        journal.start();
+        journal.append("clear");
+        journal.append("delete 1");
+        assertEquals(Arrays.asList("clear", "delete 1"), journal.readCommands());
+    }
+
+    @Test
+    public void start_existingJournal_emptied() throws Exception {
+        journal.start();
+        journal.append("clear");
+        journal.start();
+        assertEquals(Collections.emptyList(), journal.readCommands());
+    }
+
+    @Test
+    public void readCommands_dataFileChangedAfterStart_returnsEmptyList() throws Exception {
+        journal.start();
+        journal.append("clear");
+        FileUtil.writeToFile(dataFile, "newer data");
+        assertTrue(journal.readCommands().isEmpty());
+    }
+
+    @Test
+    public void readCommands_partiallyWrittenLastCommand_leftOut() throws Exception {
+        journal.start();
+        journal.append("clear");
+        Files.write(journal.getJournalFilePath(), "delete".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+        assertEquals(Collections.singletonList("clear"), journal.readCommands());
+    }
+}
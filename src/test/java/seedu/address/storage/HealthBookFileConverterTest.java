@@ -0,0 +1,45 @@
+package seedu.address.storage;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.FileNotFoundException;
+import java.nio.file.Path;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import seedu.address.model.HealthBook;
+import seedu.address.testutil.TypicalPatientsAndDoctorsWithAppt;
+
+public class HealthBookFileConverterTest {
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    @Test
+    public void convert_xmlToBinaryAndBack_sameHealthBook() throws Exception {
+        Path xmlFile = testFolder.getRoot().toPath().resolve("healthbook.xml");
+        Path binaryFile = testFolder.getRoot().toPath().resolve("healthbook.bin");
+        Path convertedXmlFile = testFolder.getRoot().toPath().resolve("converted.xml");
+        HealthBook original = TypicalPatientsAndDoctorsWithAppt.getTypicalAddressBookWithPatientAndDoctorWithAppt();
+        new XmlHealthBookStorage(xmlFile).saveAddressBook(original);
+
+        HealthBookFileConverter.xmlToBinary(xmlFile, binaryFile);
+        assertEquals(original, new HealthBook(new BinaryHealthBookStorage(binaryFile).readAddressBook().get()));
+
+        HealthBookFileConverter.binaryToXml(binaryFile, convertedXmlFile);
+        assertEquals(original, new HealthBook(new XmlHealthBookStorage(convertedXmlFile).readAddressBook().get()));
+    }
+
+    @Test
+    public void convert_missingSource_throwsFileNotFoundException() throws Exception {
+        thrown.expect(FileNotFoundException.class);
+        HealthBookFileConverter.binaryToXml(testFolder.getRoot().toPath().resolve("missing.bin"),
+                testFolder.getRoot().toPath().resolve("healthbook.xml"));
+    }
+}
@@ -0,0 +1,214 @@
+package seedu.address.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static seedu.address.testutil.TypicalPatientsAndDoctorsWithAppt.ALICE_PATIENT_APPT;
+import static seedu.address.testutil.TypicalPatientsAndDoctorsWithAppt.FIRST;
+import static seedu.address.testutil.TypicalPatientsAndDoctorsWithAppt
+        .getTypicalAddressBookWithPatientAndDoctorWithAppt;
+import static seedu.address.testutil.TypicalPersons.ALICE;
+import static seedu.address.testutil.TypicalPersons.AMY;
+import static seedu.address.testutil.TypicalPersons.BOB;
+import static seedu.address.testutil.TypicalPersons.getTypicalAddressBook;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import seedu.address.commons.exceptions.DataConversionException;
+import seedu.address.model.HealthBook;
+import seedu.address.model.VersionedHealthBook;
+import seedu.address.model.appointment.Appointment;
+import seedu.address.model.doctor.Doctor;
+import seedu.address.model.patient.Patient;
+import seedu.address.model.person.Person;
+import seedu.address.testutil.AppointmentBuilder;
+import seedu.address.testutil.DoctorBuilder;
+import seedu.address.testutil.PatientBuilder;
+import seedu.address.testutil.PersonBuilder;
+
+public class IncrementalHealthBookStorageTest {
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    private Path dataFile;
+    private IncrementalHealthBookStorage storage;
+
+    @Before
+    public void setUp() {
+        dataFile = testFolder.getRoot().toPath().resolve("data.bin");
+        storage = new IncrementalHealthBookStorage(new BinaryHealthBookStorage(dataFile));
+    }
+
+    @Test
+    public void constructor_nullStorage_throwsNullPointerException() {
+        thrown.expect(NullPointerException.class);
+        new IncrementalHealthBookStorage(null);
+    }
+
+    @Test
+    public void saveChanges_notSavedWhole_throwsIllegalStateException() throws Exception {
+        assertFalse(storage.canSaveChanges());
+        VersionedHealthBook healthBook = new VersionedHealthBook(getTypicalAddressBook());
+        List<String> changes = storage.encodeChanges(healthBook.takeChanges());
+        thrown.expect(IllegalStateException.class);
+        storage.saveChanges(changes);
+    }
+
+    @Test
+    public void saveChanges_remarkChanged_onlyChangedPersonJournaled() throws Exception {
+        VersionedHealthBook healthBook = new VersionedHealthBook(getTypicalAddressBook());
+        storage.saveAddressBook(healthBook);
+        assertTrue(storage.canSaveChanges());
+        healthBook.takeChanges();
+
+        healthBook.updatePerson(ALICE, new PersonBuilder(ALICE).withRemark("Allergic to penicillin").build());
+        List<String> changes = storage.encodeChanges(healthBook.takeChanges());
+        storage.saveChanges(changes);
+
+        // one line for the edited person and one for the appointment counter
+        List<String> journaled = journalOf(dataFile).readEntries();
+        assertEquals(2, journaled.size());
+        assertTrue(journaled.get(0).startsWith("persons 0 1 "));
+        assertEquals(new HealthBook(healthBook), storage.readAddressBook().get());
+    }
+
+    @Test
+    public void readAddressBook_changesJournaled_changesApplied() throws Exception {
+        VersionedHealthBook healthBook = new VersionedHealthBook(getTypicalAddressBookWithPatientAndDoctorWithAppt());
+        healthBook.addPerson(AMY);
+        storage.saveAddressBook(healthBook);
+        healthBook.takeChanges();
+
+        healthBook.removePerson(AMY);
+        healthBook.addPerson(BOB);
+        healthBook.setAppointment(FIRST, new AppointmentBuilder(FIRST).withDoctor("Someone Else").build());
+        healthBook.setAppointmentCounter(healthBook.getAppointmentCounter() + 1);
+        storage.saveChanges(storage.encodeChanges(healthBook.takeChanges()));
+
+        healthBook.commit();
+        healthBook.undo();
+        storage.saveChanges(storage.encodeChanges(healthBook.takeChanges()));
+
+        assertEquals(new HealthBook(healthBook), storage.readAddressBook().get());
+    }
+
+    @Test
+    public void readAddressBook_personEditsJournaled_appointmentsSharedWithAppointmentList() throws Exception {
+        VersionedHealthBook healthBook = new VersionedHealthBook(getTypicalAddressBookWithPatientAndDoctorWithAppt());
+        storage.saveAddressBook(healthBook);
+        healthBook.takeChanges();
+
+        int aliceIndex = healthBook.getPersonList().indexOf(ALICE_PATIENT_APPT);
+        healthBook.updatePerson(ALICE_PATIENT_APPT,
+                new PatientBuilder(ALICE_PATIENT_APPT).withRemark("Allergic to penicillin").build());
+        storage.saveChanges(storage.encodeChanges(healthBook.takeChanges()));
+
+        HealthBook readBack = (HealthBook) storage.readAddressBook().get();
+        Patient alice = (Patient) readBack.getPersonList().get(aliceIndex);
+        assertEquals("Allergic to penicillin", alice.getRemark().value);
+        assertSame(alice.getUpcomingAppointments().get(0),
+                readBack.getAppointmentList().get(healthBook.getAppointmentList().indexOf(FIRST)));
+    }
+
+    @Test
+    public void readAddressBook_appointmentAddedAndDeletedInJournal_appointmentsSharedWithAppointmentList()
+            throws Exception {
+        // the patient and doctor are changed in place, so they are not the shared typical ones
+        Patient patient = new PatientBuilder().withName("Zack Patient").withAppointment(FIRST).build();
+        Doctor doctor = new DoctorBuilder().withName("Zoe Doctor").build();
+        VersionedHealthBook healthBook = new VersionedHealthBook(getTypicalAddressBookWithPatientAndDoctorWithAppt());
+        healthBook.addPatient(patient);
+        healthBook.addDoctor(doctor);
+        storage.saveAddressBook(healthBook);
+        healthBook.takeChanges();
+
+        Appointment added = new AppointmentBuilder().withAppointmentId(20000).withPatient("Zack Patient")
+                .withDoctor("Zoe Doctor").build();
+        Appointment deleted = new AppointmentBuilder().withAppointmentId(20001).withPatient("Zack Patient")
+                .withDoctor("Zoe Doctor").withDateTime("2019-10-23 16:00").build();
+        healthBook.addAppointment(added, patient, doctor);
+        healthBook.addAppointment(deleted, patient, doctor);
+        healthBook.deleteAppointment(deleted, patient, doctor);
+        storage.saveChanges(storage.encodeChanges(healthBook.takeChanges()));
+
+        HealthBook readBack = (HealthBook) storage.readAddressBook().get();
+        assertEquals(new HealthBook(healthBook), readBack);
+        Patient readPatient = (Patient) readBack.getPersonList().get(healthBook.getPersonList().indexOf(patient));
+        List<Appointment> upcomingAppointments = readPatient.getUpcomingAppointments();
+        assertEquals(2, upcomingAppointments.size());
+        assertSame(upcomingAppointments.get(0),
+                readBack.getAppointmentList().get(healthBook.getAppointmentList().indexOf(FIRST)));
+        assertSame(upcomingAppointments.get(1),
+                readBack.getAppointmentList().get(healthBook.getAppointmentList().indexOf(added)));
+    }
+
+    @Test
+    public void saveAddressBook_changesJournaled_journalEmptied() throws Exception {
+        VersionedHealthBook healthBook = new VersionedHealthBook(getTypicalAddressBook());
+        storage.saveAddressBook(healthBook);
+        healthBook.takeChanges();
+        healthBook.removePerson(ALICE);
+        storage.saveChanges(storage.encodeChanges(healthBook.takeChanges()));
+
+        storage.saveAddressBook(healthBook);
+        assertTrue(journalOf(dataFile).readEntries().isEmpty());
+        assertEquals(new HealthBook(healthBook), storage.readAddressBook().get());
+    }
+
+    @Test
+    public void saveChanges_manyEdits_dataFileRewritten() throws Exception {
+        VersionedHealthBook healthBook = new VersionedHealthBook(getTypicalAddressBook());
+        storage.saveAddressBook(healthBook);
+        healthBook.takeChanges();
+
+        Person person = ALICE;
+        for (int i = 0; i < IncrementalHealthBookStorage.EDITS_PER_COMPACTION / 2; i++) {
+            Person editedPerson = new PersonBuilder(person).withRemark("Remark " + i).build();
+            healthBook.updatePerson(person, editedPerson);
+            person = editedPerson;
+            storage.saveChanges(storage.encodeChanges(healthBook.takeChanges()));
+        }
+
+        assertTrue(journalOf(dataFile).readEntries().isEmpty());
+        assertEquals(new HealthBook(healthBook), storage.readAddressBook().get());
+    }
+
+    @Test
+    public void readAddressBook_corruptedJournal_throwsDataConversionException() throws Exception {
+        storage.saveAddressBook(getTypicalAddressBook());
+        journalOf(dataFile).append("persons 0 1 not-base64!");
+        thrown.expect(DataConversionException.class);
+        storage.readAddressBook();
+    }
+
+    @Test
+    public void readAddressBook_journalOfOtherDataFile_journalIgnored() throws Exception {
+        VersionedHealthBook healthBook = new VersionedHealthBook(getTypicalAddressBook());
+        storage.saveAddressBook(healthBook);
+        healthBook.takeChanges();
+        healthBook.removePerson(ALICE);
+        storage.saveChanges(storage.encodeChanges(healthBook.takeChanges()));
+
+        // the data file was replaced without going through this storage
+        HealthBook otherHealthBook = new HealthBook();
+        otherHealthBook.addPerson(AMY);
+        new BinaryHealthBookStorage(dataFile).saveAddressBook(otherHealthBook);
+        assertEquals(otherHealthBook, storage.readAddressBook().get());
+    }
+
+    private static DataFileJournal journalOf(Path dataFile) {
+        return new DataFileJournal(dataFile, IncrementalHealthBookStorage.JOURNAL_FILE_SUFFIX);
+    }
+}
@@ -0,0 +1,285 @@
+package seedu.address.storage;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static seedu.address.testutil.TypicalPersons.ALICE;
+import static seedu.address.testutil.TypicalPersons.AMY;
+import static seedu.address.testutil.TypicalPersons.BENSON;
+import static seedu.address.testutil.TypicalPersons.getTypicalAddressBook;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import seedu.address.commons.exceptions.DataConversionException;
+import seedu.address.model.HealthBook;
+import seedu.address.model.HealthBookChanges;
+import seedu.address.model.ReadOnlyHealthBook;
+import seedu.address.model.VersionedHealthBook;
+import seedu.address.model.appointment.Appointment;
+import seedu.address.model.doctor.Doctor;
+import seedu.address.model.patient.Allergy;
+import seedu.address.model.patient.Patient;
+import seedu.address.model.person.Person;
+import seedu.address.testutil.AppointmentBuilder;
+import seedu.address.testutil.DoctorBuilder;
+import seedu.address.testutil.PatientBuilder;
+import seedu.address.testutil.PersonBuilder;
+import seedu.address.testutil.TypicalPatientsAndDoctorsWithAppt;
+
+public class IndexedHealthBookStorageTest {
+    private static final Path NOT_INDEXED_FILE =
+            Paths.get("src", "test", "data", "XmlHealthBookStorageTest", "NotXmlFormatHealthBook.xml");
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    private Path getTempFilePath(String fileName) {
+        return testFolder.getRoot().toPath().resolve(fileName);
+    }
+
+    @Test
+    public void readAddressBook_nullFilePath_throwsNullPointerException() throws Exception {
+        thrown.expect(NullPointerException.class);
+        new IndexedHealthBookStorage(getTempFilePath("hb")).readAddressBook(null);
+    }
+
+    @Test
+    public void read_missingFile_emptyResult() throws Exception {
+        assertFalse(new IndexedHealthBookStorage(getTempFilePath("NonExistentFile")).readAddressBook().isPresent());
+    }
+
+    @Test
+    public void read_notIndexedFormat_exceptionThrown() throws Exception {
+        thrown.expect(DataConversionException.class);
+        new IndexedHealthBookStorage(NOT_INDEXED_FILE).readAddressBook();
+    }
+
+    @Test
+    public void readAndSaveAddressBook_allInOrder_success() throws Exception {
+        Path filePath = getTempFilePath("hb");
+        IndexedHealthBookStorage storage = new IndexedHealthBookStorage(filePath);
+
+        HealthBook original = getTypicalAddressBook();
+        storage.saveAddressBook(original);
+        assertEquals(original, new HealthBook(new IndexedHealthBookStorage(filePath).readAddressBook().get()));
+
+        // persons replaced in place keep their position
+        original.updatePerson(BENSON, AMY);
+        original.removePerson(ALICE);
+        original.addPerson(ALICE);
+        storage.saveAddressBook(original);
+        assertEquals(original, new HealthBook(new IndexedHealthBookStorage(filePath).readAddressBook().get()));
+
+        original = TypicalPatientsAndDoctorsWithAppt.getTypicalAddressBookWithPatientAndDoctorWithAppt();
+        storage.saveAddressBook(original);
+        assertEquals(original, new HealthBook(new IndexedHealthBookStorage(filePath).readAddressBook().get()));
+    }
+
+    @Test
+    public void readAddressBook_sharedAppointment_stillShared() throws Exception {
+        Path filePath = getTempFilePath("hb");
+        IndexedHealthBookStorage storage = new IndexedHealthBookStorage(filePath);
+        storage.saveAddressBook(TypicalPatientsAndDoctorsWithAppt.getSmallerAddressBookWithPatientAndDoctorWithAppt());
+
+        ReadOnlyHealthBook read = storage.readAddressBook().get();
+        Patient patient = (Patient) read.getPersonList().get(0);
+        assertSame(read.getAppointmentList().get(0), patient.getUpcomingAppointments().get(0));
+    }
+
+    @Test
+    public void readAddressBook_patientHistory_loadedWhenNeeded() throws Exception {
+        Path filePath = getTempFilePath("hb");
+        IndexedHealthBookStorage storage = new IndexedHealthBookStorage(filePath);
+        HealthBook original = createHealthBookWithHistory();
+        storage.saveAddressBook(original);
+
+        ReadOnlyHealthBook read = storage.readAddressBook().get();
+        Patient patient = (Patient) read.getPersonList().get(0);
+        assertFalse(patient.isHistoryLoaded());
+
+        assertEquals(original.getPersonList().get(0), patient);
+        assertSame(read.getAppointmentList().get(0), patient.getPastAppointments().get(0));
+        assertEquals(new Allergy("Nuts"), patient.getMedicalHistory().getAllergies().get(0));
+    }
+
+    @Test
+    public void saveAddressBook_historyNotLoaded_historyKeptWithoutLoading() throws Exception {
+        Path filePath = getTempFilePath("hb");
+        IndexedHealthBookStorage storage = new IndexedHealthBookStorage(filePath);
+        HealthBook original = createHealthBookWithHistory();
+        storage.saveAddressBook(original);
+
+        HealthBook read = new HealthBook(storage.readAddressBook().get());
+        Patient patient = (Patient) read.getPersonList().get(0);
+        read.removePerson(read.getPersonList().get(1));
+        storage.saveAddressBook(read);
+        assertFalse(patient.isHistoryLoaded());
+
+        Patient editedPatient = new PatientBuilder(patient).withRemark("Prefers mornings").build();
+        original.updatePerson(original.getPersonList().get(0), editedPatient);
+        original.removePerson(original.getPersonList().get(1));
+        read.updatePerson(patient, editedPatient);
+        storage.saveAddressBook(read);
+        assertEquals(original, new HealthBook(new IndexedHealthBookStorage(filePath).readAddressBook().get()));
+    }
+
+    @Test
+    public void saveAddressBook_remarkChanged_onlyChangedRecordsAppended() throws Exception {
+        Path filePath = getTempFilePath("hb");
+        IndexedHealthBookStorage storage = new IndexedHealthBookStorage(filePath);
+        HealthBook original = getTypicalAddressBook();
+        storage.saveAddressBook(original);
+        long wholeBookSize = Files.size(filePath);
+
+        // saving the same health book again writes nothing
+        storage.saveAddressBook(original);
+        assertEquals(wholeBookSize, Files.size(filePath));
+
+        Person person = original.getPersonList().get(0);
+        original.updatePerson(person, new PersonBuilder(person).withRemark("Prefers mornings").build());
+        storage.saveAddressBook(original);
+        assertTrue(Files.size(filePath) - wholeBookSize < wholeBookSize / 5);
+        assertEquals(original, new HealthBook(new IndexedHealthBookStorage(filePath).readAddressBook().get()));
+    }
+
+    @Test
+    public void saveChanges_personsEdited_sameRecordsAppendedAsSavingWholeHealthBook() throws Exception {
+        Path filePath = getTempFilePath("hb");
+        Path wholeFilePath = getTempFilePath("whole");
+        IndexedHealthBookStorage storage = new IndexedHealthBookStorage(filePath);
+        IndexedHealthBookStorage wholeStorage = new IndexedHealthBookStorage(wholeFilePath);
+        VersionedHealthBook versioned = new VersionedHealthBook(getTypicalAddressBook());
+        versioned.takeChanges();
+
+        // the first save compares the whole health book
+        storage.saveChanges(HealthBook.snapshotOf(versioned), versioned.takeChanges());
+        wholeStorage.saveAddressBook(versioned);
+        assertEquals(Files.size(wholeFilePath), Files.size(filePath));
+
+        Person person = versioned.getPersonList().get(0);
+        versioned.updatePerson(person, new PersonBuilder(person).withRemark("Prefers mornings").build());
+        versioned.removePerson(versioned.getPersonList().get(1));
+        versioned.addPerson(AMY);
+        storage.saveChanges(HealthBook.snapshotOf(versioned), versioned.takeChanges());
+        wholeStorage.saveAddressBook(versioned);
+        assertEquals(Files.size(wholeFilePath), Files.size(filePath));
+        assertEquals(new HealthBook(versioned),
+                new HealthBook(new IndexedHealthBookStorage(filePath).readAddressBook().get()));
+    }
+
+    @Test
+    public void saveChanges_appointmentsAddedAndDeleted_savedAsWholeHealthBook() throws Exception {
+        Path filePath = getTempFilePath("hb");
+        IndexedHealthBookStorage storage = new IndexedHealthBookStorage(filePath);
+        Patient patient = new PatientBuilder().withName("Mary Patient").build();
+        Doctor doctor = new DoctorBuilder().withName("Jacky Doctor").build();
+        Appointment firstAppointment = new AppointmentBuilder().withAppointmentId(1).build();
+        Appointment secondAppointment = new AppointmentBuilder().withAppointmentId(2).build();
+        VersionedHealthBook versioned = new VersionedHealthBook(new HealthBook());
+        versioned.addPatient(patient);
+        versioned.addDoctor(doctor);
+        versioned.addAppointment(firstAppointment, patient, doctor);
+        storage.saveChanges(HealthBook.snapshotOf(versioned), versioned.takeChanges());
+
+        versioned.addAppointment(secondAppointment, patient, doctor);
+        versioned.deleteAppointment(firstAppointment, patient, doctor);
+        storage.saveChanges(HealthBook.snapshotOf(versioned), versioned.takeChanges());
+        assertEquals(new HealthBook(versioned),
+                new HealthBook(new IndexedHealthBookStorage(filePath).readAddressBook().get()));
+    }
+
+    @Test
+    public void saveChanges_changesNotLeadingToHealthBook_wholeHealthBookSaved() throws Exception {
+        Path filePath = getTempFilePath("hb");
+        IndexedHealthBookStorage storage = new IndexedHealthBookStorage(filePath);
+        HealthBook original = getTypicalAddressBook();
+        storage.saveAddressBook(original);
+
+        original.removePerson(ALICE);
+        storage.saveChanges(original, new HealthBookChanges(Collections.emptyList(), Collections.emptyList(),
+                original.getAppointmentCounter()));
+        assertEquals(original, new HealthBook(new IndexedHealthBookStorage(filePath).readAddressBook().get()));
+    }
+
+    @Test
+    public void readAddressBook_mostlyReplacedRecords_fileCompacted() throws Exception {
+        Path filePath = getTempFilePath("hb");
+        IndexedHealthBookStorage storage = new IndexedHealthBookStorage(filePath);
+        HealthBook original = getTypicalAddressBook();
+        storage.saveAddressBook(original);
+        long wholeBookSize = Files.size(filePath);
+        for (int i = 0; i < 3; i++) {
+            HealthBook edited = new HealthBook();
+            for (Person person : original.getPersonList()) {
+                edited.addPerson(new PersonBuilder(person).withRemark("Remark " + i).build());
+            }
+            storage.saveAddressBook(edited);
+            original = edited;
+        }
+        assertTrue(Files.size(filePath) > 2 * wholeBookSize);
+
+        assertEquals(original, new HealthBook(new IndexedHealthBookStorage(filePath).readAddressBook().get()));
+        assertTrue(Files.size(filePath) < 2 * wholeBookSize);
+    }
+
+    @Test
+    public void saveAddressBook_notIndexedFile_fileReplaced() throws Exception {
+        Path filePath = getTempFilePath("hb");
+        Files.copy(NOT_INDEXED_FILE, filePath);
+        IndexedHealthBookStorage storage = new IndexedHealthBookStorage(filePath);
+        storage.saveAddressBook(getTypicalAddressBook());
+        assertEquals(getTypicalAddressBook(), new HealthBook(storage.readAddressBook().get()));
+    }
+
+    @Test
+    public void saveAddressBook_invalidFileStillHoldingUnloadedHistories_fileKept() throws Exception {
+        Path filePath = getTempFilePath("hb");
+        IndexedHealthBookStorage storage = new IndexedHealthBookStorage(filePath);
+        storage.saveAddressBook(createHealthBookWithHistory());
+        HealthBook read = new HealthBook(storage.readAddressBook().get());
+        Files.copy(NOT_INDEXED_FILE, filePath, StandardCopyOption.REPLACE_EXISTING);
+
+        try {
+            storage.saveAddressBook(read);
+            fail();
+        } catch (IOException e) {
+            assertArrayEquals(Files.readAllBytes(NOT_INDEXED_FILE), Files.readAllBytes(filePath));
+        }
+    }
+
+    @Test
+    public void saveAddressBook_missingParentFolder_created() throws IOException {
+        Path filePath = getTempFilePath("folder").resolve("hb");
+        new IndexedHealthBookStorage(filePath).saveAddressBook(new HealthBook());
+        assertEquals(1, Files.list(filePath.getParent()).count());
+    }
+
+    /**
+     * Returns a health book with a patient who has a past appointment and a medical history, and another person.
+     */
+    private static HealthBook createHealthBookWithHistory() {
+        HealthBook healthBook = new HealthBook();
+        Appointment pastAppointment = new AppointmentBuilder().build();
+        healthBook.addPatient(new PatientBuilder().withPastAppointment(pastAppointment)
+                .withMedicalHistory("Nuts", "Asthma").build());
+        healthBook.addAppointment(pastAppointment);
+        healthBook.addPerson(BENSON);
+        return healthBook;
+    }
+}
@@ -0,0 +1,176 @@
+package seedu.address.storage;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.DataOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import seedu.address.commons.exceptions.DataConversionException;
+import seedu.address.commons.util.FileUtil;
+
+public class RecordFileTest {
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    private Path file;
+    private RecordFile records;
+
+    @Before
+    public void setUp() {
+        file = testFolder.getRoot().toPath().resolve("records");
+        records = new RecordFile(file);
+    }
+
+    @Test
+    public void write_newRecords_readBackInOrder() throws Exception {
+        RecordFile.Batch batch = new RecordFile.Batch();
+        batch.put("a/second", 2, bytes("two"));
+        batch.put("a/first", 1, bytes("one"));
+        batch.put("b/other", 0, bytes("other"));
+        records.write(batch);
+
+        RecordFile reopened = new RecordFile(file);
+        assertEquals(Arrays.asList("a/first", "a/second"), reopened.keys("a/"));
+        assertArrayEquals(bytes("two"), reopened.read(reopened.locate("a/second").get()));
+        assertFalse(reopened.locate("a/third").isPresent());
+    }
+
+    @Test
+    public void write_unchangedRecords_nothingWritten() throws Exception {
+        RecordFile.Batch batch = new RecordFile.Batch();
+        batch.put("key", 0, bytes("value"));
+        records.write(batch);
+        long size = Files.size(file);
+
+        records.write(batch);
+        assertEquals(size, Files.size(file));
+
+        RecordFile.Batch deletion = new RecordFile.Batch();
+        deletion.delete("missing");
+        records.write(deletion);
+        assertEquals(size, Files.size(file));
+    }
+
+    @Test
+    public void write_replacedAndDeletedRecords_latestRecordsRead() throws Exception {
+        RecordFile.Batch batch = new RecordFile.Batch();
+        batch.put("kept", 0, bytes("old"));
+        batch.put("deleted", 0, bytes("value"));
+        records.write(batch);
+        RecordFile.Location oldLocation = records.locate("kept").get();
+
+        batch = new RecordFile.Batch();
+        batch.put("kept", 0, bytes("new"));
+        batch.delete("deleted");
+        records.write(batch);
+
+        RecordFile reopened = new RecordFile(file);
+        assertArrayEquals(bytes("new"), reopened.read(reopened.locate("kept").get()));
+        assertFalse(reopened.locate("deleted").isPresent());
+        // the replaced record can still be read where it was
+        assertArrayEquals(bytes("old"), records.read(oldLocation));
+    }
+
+    @Test
+    public void keys_partiallyWrittenBatch_batchLeftOut() throws Exception {
+        RecordFile.Batch batch = new RecordFile.Batch();
+        batch.put("key", 0, bytes("value"));
+        records.write(batch);
+        long committedSize = Files.size(file);
+
+        batch = new RecordFile.Batch();
+        batch.put("key", 0, bytes("changed"));
+        batch.put("other", 0, bytes("value"));
+        records.write(batch);
+        byte[] data = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(data, data.length - 1));
+
+        RecordFile reopened = new RecordFile(file);
+        assertEquals(Arrays.asList("key"), reopened.keys(""));
+        assertArrayEquals(bytes("value"), reopened.read(reopened.locate("key").get()));
+
+        // the next batch replaces what was partially written
+        batch = new RecordFile.Batch();
+        batch.put("other", 0, bytes("value"));
+        reopened.write(batch);
+        assertTrue(Files.size(file) > committedSize);
+        assertEquals(Arrays.asList("key", "other"), new RecordFile(file).keys(""));
+    }
+
+    @Test
+    public void compact_replacedRecords_fileShrinksAndLocationsInvalid() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            RecordFile.Batch batch = new RecordFile.Batch();
+            batch.put("key", 0, bytes("value " + i));
+            records.write(batch);
+        }
+        RecordFile.Location location = records.locate("key").get();
+        long size = Files.size(file);
+        assertTrue(records.getGarbageRatio() > 0.5);
+
+        records.compact();
+        assertTrue(Files.size(file) < size);
+        assertEquals(0, records.getGarbageRatio(), 0);
+        RecordFile reopened = new RecordFile(file);
+        assertArrayEquals(bytes("value 9"), reopened.read(reopened.locate("key").get()));
+
+        thrown.expect(DataConversionException.class);
+        records.read(location);
+    }
+
+    @Test
+    public void read_afterReplaceAndClose_currentFileRead() throws Exception {
+        RecordFile.Batch batch = new RecordFile.Batch();
+        batch.put("key", 0, bytes("old value"));
+        records.write(batch);
+        assertArrayEquals(bytes("old value"), records.read(records.locate("key").get()));
+
+        RecordFile newFile = new RecordFile(testFolder.getRoot().toPath().resolve("new records"));
+        batch.put("key", 0, bytes("new value"));
+        newFile.write(batch);
+        records.replaceWith(newFile);
+        assertArrayEquals(bytes("new value"), records.read(records.locate("key").get()));
+
+        records.close();
+        assertArrayEquals(bytes("new value"), records.read(records.locate("key").get()));
+    }
+
+    @Test
+    public void keys_notRecordFile_throwsDataConversionException() throws Exception {
+        FileUtil.writeToFile(file, "not a record file");
+        thrown.expect(DataConversionException.class);
+        records.keys("");
+    }
+
+    @Test
+    public void keys_laterFormatVersion_throwsDataConversionException() throws Exception {
+        try (OutputStream out = Files.newOutputStream(file)) {
+            DataOutputStream data = new DataOutputStream(out);
+            data.writeInt(RecordFile.MAGIC);
+            data.writeInt(RecordFile.FORMAT_VERSION + 1);
+        }
+        thrown.expect(DataConversionException.class);
+        records.keys("");
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,86 @@
+package seedu.address.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import seedu.address.commons.exceptions.DataConversionException;
+import seedu.address.model.HealthBook;
+import seedu.address.testutil.TypicalPatientsAndDoctorsWithAppt;
+
+public class StaxHealthBookStorageTest {
+    private static final Path TEST_DATA_FOLDER = Paths.get("src", "test", "data", "XmlHealthBookStorageTest");
+    private static final Path TYPICAL_PERSONS_FILE =
+            Paths.get("src", "test", "data", "XmlSerializableHealthBookTest", "typicalPersonsHealthBook.xml");
+    private static final Path DUPLICATE_PERSON_FILE =
+            Paths.get("src", "test", "data", "XmlSerializableHealthBookTest", "duplicatePersonHealthBook.xml");
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    @Test
+    public void readAddressBook_nullFilePath_throwsNullPointerException() throws Exception {
+        thrown.expect(NullPointerException.class);
+        new StaxHealthBookStorage(TYPICAL_PERSONS_FILE).readAddressBook(null);
+    }
+
+    @Test
+    public void read_missingFile_emptyResult() throws Exception {
+        assertFalse(new StaxHealthBookStorage(TEST_DATA_FOLDER.resolve("NonExistentFile.xml"))
+                .readAddressBook().isPresent());
+    }
+
+    @Test
+    public void read_notXmlFormat_exceptionThrown() throws Exception {
+        thrown.expect(DataConversionException.class);
+        new StaxHealthBookStorage(TEST_DATA_FOLDER.resolve("NotXmlFormatHealthBook.xml")).readAddressBook();
+    }
+
+    @Test
+    public void read_invalidPerson_exceptionThrown() throws Exception {
+        thrown.expect(DataConversionException.class);
+        new StaxHealthBookStorage(TEST_DATA_FOLDER.resolve("invalidPersonHealthBook.xml")).readAddressBook();
+    }
+
+    @Test
+    public void read_duplicatePersons_exceptionThrown() throws Exception {
+        thrown.expect(DataConversionException.class);
+        new StaxHealthBookStorage(DUPLICATE_PERSON_FILE).readAddressBook();
+    }
+
+    @Test
+    public void read_typicalPersonsFile_sameAsXmlHealthBookStorage() throws Exception {
+        assertEquals(new XmlHealthBookStorage(TYPICAL_PERSONS_FILE).readAddressBook().get(),
+                new StaxHealthBookStorage(TYPICAL_PERSONS_FILE).readAddressBook().get());
+    }
+
+    @Test
+    public void readAndSaveAddressBook_withAppointments_success() throws Exception {
+        Path filePath = testFolder.getRoot().toPath().resolve("TempAddressBook.xml");
+        HealthBook original = TypicalPatientsAndDoctorsWithAppt.getTypicalAddressBookWithPatientAndDoctorWithAppt();
+        List<Double> reportedProgress = new ArrayList<>();
+        StaxHealthBookStorage storage = new StaxHealthBookStorage(filePath, reportedProgress::add);
+
+        storage.saveAddressBook(original);
+        assertEquals(original, new HealthBook(storage.readAddressBook().get()));
+
+        assertFalse(reportedProgress.isEmpty());
+        for (int i = 1; i < reportedProgress.size(); i++) {
+            assertTrue(reportedProgress.get(i - 1) <= reportedProgress.get(i));
+        }
+        assertEquals(1, reportedProgress.get(reportedProgress.size() - 1), 0);
+    }
+}
@@ -3,22 +3,35 @@ package seedu.address.storage;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static seedu.address.testutil.TypicalPersons.ALICE;
 import static seedu.address.testutil.TypicalPersons.getTypicalAddressBook;
 
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
 
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
+import seedu.address.calendar.OfflineGoogleCalendar;
+import seedu.address.commons.core.EventsCenter;
+import seedu.address.commons.events.logic.CommandExecutedEvent;
 import seedu.address.commons.events.model.HealthBookChangedEvent;
 import seedu.address.commons.events.storage.DataSavingExceptionEvent;
+import seedu.address.commons.util.FileUtil;
+import seedu.address.logic.Logic;
+import seedu.address.logic.LogicManager;
 import seedu.address.model.HealthBook;
+import seedu.address.model.Model;
+import seedu.address.model.ModelManager;
 import seedu.address.model.ReadOnlyHealthBook;
 import seedu.address.model.UserPrefs;
+import seedu.address.model.VersionedHealthBook;
+import seedu.address.model.person.Person;
 import seedu.address.ui.testutil.EventsCollectorRule;
 
 public class StorageManagerTest {
@@ -84,6 +97,216 @@ public class StorageManagerTest {
     }
 
 
+    @Test
+    public void handleAddressBookChangedEvent_posted_savedInBackgroundByStop() {
+        SaveCountingStub addressBookStorage = new SaveCountingStub(getTempFilePath("ab"));
+        StorageManager backgroundStorage = new StorageManager(addressBookStorage,
+                new JsonUserPrefsStorage(getTempFilePath("prefs")));
+
+        EventsCenter.getInstance().post(new HealthBookChangedEvent(getTypicalAddressBook()));
+
+        // stopping waits for the events posted already
+        backgroundStorage.stop();
+        assertEquals(1, addressBookStorage.saveCount);
+        assertEquals(getTypicalAddressBook(), addressBookStorage.lastSaved);
+    }
+
+    @Test
+    public void handleAddressBookChangedEvent_debounced_burstSavedOnceWithLatestData() {
+        SaveCountingStub addressBookStorage = new SaveCountingStub(getTempFilePath("ab"));
+        StorageManager debouncedStorage = new StorageManager(addressBookStorage,
+                new JsonUserPrefsStorage(getTempFilePath("prefs")), 60000);
+
+        debouncedStorage.handleAddressBookChangedEvent(new HealthBookChangedEvent(new HealthBook()));
+        debouncedStorage.handleAddressBookChangedEvent(new HealthBookChangedEvent(getTypicalAddressBook()));
+        assertEquals(0, addressBookStorage.saveCount);
+
+        // stopping saves what is still pending
+        debouncedStorage.stop();
+        assertEquals(1, addressBookStorage.saveCount);
+        assertEquals(getTypicalAddressBook(), addressBookStorage.lastSaved);
+    }
+
+    @Test
+    public void handleAddressBookChangedEvent_debouncedExceptionThrown_eventRaised() {
+        StorageManager debouncedStorage = new StorageManager(
+                new XmlHealthBookStorageExceptionThrowingStub(Paths.get("dummy")),
+                new JsonUserPrefsStorage(Paths.get("dummy")), 1);
+        debouncedStorage.handleAddressBookChangedEvent(new HealthBookChangedEvent(new HealthBook()));
+        debouncedStorage.stop();
+        assertTrue(eventsCollectorRule.eventsCollector.getMostRecent() instanceof DataSavingExceptionEvent);
+    }
+
+    @Test
+    public void handleCommandExecutedEvent_journaling_commandsJournaledUntilStop() throws Exception {
+        SaveCountingStub addressBookStorage = new SaveCountingStub(getTempFilePath("ab"));
+        FileUtil.writeToFile(getTempFilePath("ab"), "saved data");
+        StorageManager journalingStorage = new StorageManager(addressBookStorage,
+                new JsonUserPrefsStorage(getTempFilePath("prefs")), 0, new CommandJournal(getTempFilePath("ab")));
+        journalingStorage.startCommandJournal(new HealthBook());
+        assertEquals(1, addressBookStorage.saveCount);
+
+        HealthBook addressBook = getTypicalAddressBook();
+        journalingStorage.handleAddressBookChangedEvent(new HealthBookChangedEvent(addressBook));
+        journalingStorage.handleCommandExecutedEvent(new CommandExecutedEvent("clear", true));
+        // commands that did not change the data are not journaled
+        journalingStorage.handleCommandExecutedEvent(new CommandExecutedEvent("list", true));
+        assertEquals(1, addressBookStorage.saveCount);
+        assertEquals(Collections.singletonList("clear"), journalingStorage.readCommandJournal());
+
+        // stopping saves the journaled data and empties the journal
+        journalingStorage.stop();
+        assertEquals(2, addressBookStorage.saveCount);
+        assertEquals(addressBook, addressBookStorage.lastSaved);
+        assertTrue(journalingStorage.readCommandJournal().isEmpty());
+    }
+
+    @Test
+    public void handleCommandExecutedEvent_notReplayable_savedImmediately() throws Exception {
+        SaveCountingStub addressBookStorage = new SaveCountingStub(getTempFilePath("ab"));
+        FileUtil.writeToFile(getTempFilePath("ab"), "saved data");
+        StorageManager journalingStorage = new StorageManager(addressBookStorage,
+                new JsonUserPrefsStorage(getTempFilePath("prefs")), 0, new CommandJournal(getTempFilePath("ab")));
+        journalingStorage.startCommandJournal(new HealthBook());
+
+        journalingStorage.handleAddressBookChangedEvent(new HealthBookChangedEvent(getTypicalAddressBook()));
+        journalingStorage.handleCommandExecutedEvent(new CommandExecutedEvent("undo", false));
+        assertEquals(2, addressBookStorage.saveCount);
+        assertTrue(journalingStorage.readCommandJournal().isEmpty());
+    }
+
+    @Test
+    public void handleCommandExecutedEvent_editOfFilteredList_replayedOnSamePerson() throws Exception {
+        // not the file of the storage made in setUp, which saves the model on every change
+        Path dataFile = getTempFilePath("journaled");
+        StorageManager journalingStorage = new StorageManager(new XmlHealthBookStorage(dataFile),
+                new JsonUserPrefsStorage(getTempFilePath("prefs")), 0, new CommandJournal(dataFile));
+        Model model = new ModelManager(getTypicalAddressBook(), new UserPrefs());
+        journalingStorage.startCommandJournal(model.getAddressBook());
+
+        Logic logic = new LogicManager(model, new OfflineGoogleCalendar(), Runnable::run);
+        logic.execute("find Carl");
+        logic.execute("edit 1 a/Edited after find");
+        logic.execute("list");
+        logic.execute("edit 2 a/Edited after list");
+        logic.stop();
+        journalingStorage.waitForQueuedEvents();
+        // the edit of the filtered list is saved to the data file, only the other edit is journaled
+        assertEquals(Collections.singletonList("edit 2 a/Edited after list"), journalingStorage.readCommandJournal());
+
+        // restarts without stopping the storage, as if the app had been killed
+        Model restartedModel = new ModelManager(journalingStorage.readAddressBook().get(), new UserPrefs());
+        LogicManager.replay(restartedModel, journalingStorage.readCommandJournal());
+        List<Person> persons = restartedModel.getAddressBook().getPersonList();
+        assertEquals(model.getAddressBook().getPersonList(), persons);
+        assertEquals(ALICE, persons.get(0));
+        assertEquals("Edited after list", persons.get(1).getAddress().value);
+        assertEquals("Edited after find", persons.get(2).getAddress().value);
+    }
+
+    @Test
+    public void handleAddressBookChangedEvent_incrementalStorage_onlyChangesSaved() throws Exception {
+        IncrementalHealthBookStorage addressBookStorage = new IncrementalHealthBookStorage(
+                new BinaryHealthBookStorage(getTempFilePath("ab")));
+        StorageManager incrementalStorage = new StorageManager(addressBookStorage,
+                new JsonUserPrefsStorage(getTempFilePath("prefs")));
+        VersionedHealthBook addressBook = new VersionedHealthBook(getTypicalAddressBook());
+
+        // the whole health book is saved until it has been saved once
+        incrementalStorage.handleAddressBookChangedEvent(
+                new HealthBookChangedEvent(addressBook, addressBook.takeChanges()));
+        assertTrue(addressBookStorage.canSaveChanges());
+
+        addressBook.removePerson(ALICE);
+        incrementalStorage.handleAddressBookChangedEvent(
+                new HealthBookChangedEvent(addressBook, addressBook.takeChanges()));
+        assertEquals(2, new DataFileJournal(getTempFilePath("ab"),
+                IncrementalHealthBookStorage.JOURNAL_FILE_SUFFIX).readEntries().size());
+        assertEquals(new HealthBook(addressBook), incrementalStorage.readAddressBook().get());
+    }
+
+    @Test
+    public void stop_changesAfterFailedSave_latestHealthBookSaved() throws Exception {
+        FailingOnceBinaryStorageStub dataFileStorage = new FailingOnceBinaryStorageStub(getTempFilePath("ab"));
+        IncrementalHealthBookStorage addressBookStorage = new IncrementalHealthBookStorage(dataFileStorage);
+        StorageManager debouncedStorage = new StorageManager(addressBookStorage,
+                new JsonUserPrefsStorage(getTempFilePath("prefs")), 60 * 60 * 1000);
+        VersionedHealthBook addressBook = new VersionedHealthBook(getTypicalAddressBook());
+        addressBookStorage.saveAddressBook(addressBook);
+
+        // both are only saved by stop(), the changes after the health book that fails to be saved
+        debouncedStorage.handleAddressBookChangedEvent(
+                new HealthBookChangedEvent(HealthBook.snapshotOf(addressBook)));
+        dataFileStorage.isNextSaveFailing = true;
+        addressBook.removePerson(ALICE);
+        debouncedStorage.handleAddressBookChangedEvent(
+                new HealthBookChangedEvent(HealthBook.snapshotOf(addressBook.takeChanges())));
+        debouncedStorage.stop();
+
+        assertTrue(eventsCollectorRule.eventsCollector.getMostRecent() instanceof DataSavingExceptionEvent);
+        assertEquals(new HealthBook(addressBook), debouncedStorage.readAddressBook().get());
+    }
+
+    @Test
+    public void handleAddressBookChangedEvent_eventsWithOnlyChanges_latestHealthBookSaved() throws Exception {
+        StorageManager binaryStorage = new StorageManager(new BinaryHealthBookStorage(getTempFilePath("ab")),
+                new JsonUserPrefsStorage(getTempFilePath("prefs")));
+        VersionedHealthBook addressBook = new VersionedHealthBook(getTypicalAddressBook());
+        binaryStorage.handleAddressBookChangedEvent(new HealthBookChangedEvent(HealthBook.snapshotOf(addressBook),
+                HealthBook.snapshotOf(addressBook.takeChanges())));
+
+        addressBook.removePerson(ALICE);
+        binaryStorage.handleAddressBookChangedEvent(
+                new HealthBookChangedEvent(HealthBook.snapshotOf(addressBook.takeChanges())));
+        addressBook.addPerson(ALICE);
+        binaryStorage.handleAddressBookChangedEvent(
+                new HealthBookChangedEvent(HealthBook.snapshotOf(addressBook.takeChanges())));
+        assertEquals(new HealthBook(addressBook), binaryStorage.readAddressBook().get());
+    }
+
+    @Test
+    public void readCommandJournal_notJournaling_returnsEmptyList() throws Exception {
+        assertTrue(storageManager.readCommandJournal().isEmpty());
+    }
+
+    /**
+     * A Stub class that records the health books it is asked to save instead of saving them
+     */
+    class SaveCountingStub extends XmlHealthBookStorage {
+        private int saveCount = 0;
+        private HealthBook lastSaved;
+
+        public SaveCountingStub(Path filePath) {
+            super(filePath);
+        }
+
+        @Override
+        public void saveAddressBook(ReadOnlyHealthBook addressBook, Path filePath) {
+            saveCount++;
+            lastSaved = new HealthBook(addressBook);
+        }
+    }
+
+    /**
+     * A Stub class that fails to save the health book once it is told to
+     */
+    class FailingOnceBinaryStorageStub extends BinaryHealthBookStorage {
+        private boolean isNextSaveFailing = false;
+
+        public FailingOnceBinaryStorageStub(Path filePath) {
+            super(filePath);
+        }
+
+        @Override
+        public void saveAddressBook(ReadOnlyHealthBook addressBook, Path filePath) throws IOException {
+            if (isNextSaveFailing) {
+                isNextSaveFailing = false;
+                throw new IOException("dummy exception");
+            }
+            super.saveAddressBook(addressBook, filePath);
+        }
+    }
+
     /**
      * A Stub class to throw an exception when the save method is called
      */
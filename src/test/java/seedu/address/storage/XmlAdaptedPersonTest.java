@@ -2,6 +2,7 @@ package seedu.address.storage;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 
 import static seedu.address.storage.XmlAdaptedPerson.MISSING_FIELD_MESSAGE_FORMAT;
 import static seedu.address.testutil.TypicalPatientsAndDoctors.ELLE_PATIENT;
@@ -9,19 +10,26 @@ import static seedu.address.testutil.TypicalPatientsAndDoctors.FIONA_DOCTOR;
 import static seedu.address.testutil.TypicalPersons.BENSON;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.junit.Test;
 
 import seedu.address.commons.exceptions.IllegalValueException;
+import seedu.address.model.appointment.Appointment;
 import seedu.address.model.doctor.Doctor;
 import seedu.address.model.patient.Patient;
 import seedu.address.model.person.Address;
 import seedu.address.model.person.Email;
 import seedu.address.model.person.Name;
 import seedu.address.model.person.Phone;
+import seedu.address.model.person.Role;
+import seedu.address.model.tag.Tag;
+import seedu.address.testutil.AppointmentBuilder;
 import seedu.address.testutil.Assert;
+import seedu.address.testutil.PatientBuilder;
 
 public class XmlAdaptedPersonTest {
     private static final String INVALID_NAME = "R@chel";
@@ -123,6 +131,15 @@ public class XmlAdaptedPersonTest {
         Assert.assertThrows(IllegalValueException.class, person::toModelType);
     }
 
+    @Test
+    public void toModelType_roleNotSavedAndExtraTags_roleFromTags() throws Exception {
+        List<XmlAdaptedTag> tags = new ArrayList<>(VALID_TAGS);
+        tags.add(new XmlAdaptedTag(Tag.DOCTOR));
+        XmlAdaptedPerson person = new XmlAdaptedPerson(VALID_NAME, VALID_PHONE, VALID_EMAIL, VALID_ADDRESS,
+                VALID_REMARK, tags, null, null);
+        assertEquals(Role.DOCTOR, person.toModelType().getRole());
+    }
+
     @Test
     public void toModelType_validDoctorDetails_returnsDoctor() throws Exception {
         XmlAdaptedPerson doctor = new XmlAdaptedPerson(FIONA_DOCTOR);
@@ -139,6 +156,7 @@ public class XmlAdaptedPersonTest {
     public void toModelType_validPatientDetails_returnsPatient() throws Exception {
         XmlAdaptedPerson patient = new XmlAdaptedPerson(ELLE_PATIENT);
         assertEquals(ELLE_PATIENT, patient.toModelType());
+        assertEquals(Role.PATIENT, patient.toModelType().getRole());
     }
 
     @Test
@@ -146,4 +164,32 @@ public class XmlAdaptedPersonTest {
         XmlAdaptedPerson notPatient = new XmlAdaptedPerson(BENSON);
         assertFalse(notPatient.toModelType() instanceof Patient);
     }
+
+    @Test
+    public void toModelType_listedAppointments_listedInstancesShared() throws Exception {
+        Appointment appointment = new AppointmentBuilder().build();
+        Patient patient = new PatientBuilder().withAppointment(appointment).build();
+        Map<Integer, Appointment> listedAppointments =
+                Collections.singletonMap(appointment.getAppointmentId(), appointment);
+
+        // referred to by id
+        Patient converted = (Patient) new XmlAdaptedPerson(patient, listedAppointments).toModelType(listedAppointments);
+        assertEquals(patient, converted);
+        assertSame(appointment, converted.getUpcomingAppointments().get(0));
+
+        // embedded, as in data files saved before appointments were referred to
+        converted = (Patient) new XmlAdaptedPerson(patient).toModelType(listedAppointments);
+        assertSame(appointment, converted.getUpcomingAppointments().get(0));
+    }
+
+    @Test
+    public void toModelType_unknownAppointmentId_throwsIllegalValueException() {
+        Appointment appointment = new AppointmentBuilder().build();
+        Patient patient = new PatientBuilder().withAppointment(appointment).build();
+        XmlAdaptedPerson person = new XmlAdaptedPerson(patient,
+                Collections.singletonMap(appointment.getAppointmentId(), appointment));
+        String expectedMessage = String.format(XmlAdaptedPerson.MESSAGE_UNKNOWN_APPOINTMENT,
+                appointment.getAppointmentId());
+        Assert.assertThrows(IllegalValueException.class, expectedMessage, person::toModelType);
+    }
 }
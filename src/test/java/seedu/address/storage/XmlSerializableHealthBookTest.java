@@ -1,6 +1,7 @@
 package seedu.address.storage;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -12,6 +13,8 @@ import org.junit.rules.ExpectedException;
 import seedu.address.commons.exceptions.IllegalValueException;
 import seedu.address.commons.util.XmlUtil;
 import seedu.address.model.HealthBook;
+import seedu.address.model.patient.Patient;
+import seedu.address.testutil.TypicalPatientsAndDoctorsWithAppt;
 import seedu.address.testutil.TypicalPersons;
 
 public class XmlSerializableHealthBookTest {
@@ -50,4 +53,13 @@ public class XmlSerializableHealthBookTest {
         dataFromFile.toModelType();
     }
 
+    @Test
+    public void toModelType_sharedAppointment_stillShared() throws Exception {
+        HealthBook original = TypicalPatientsAndDoctorsWithAppt.getSmallerAddressBookWithPatientAndDoctorWithAppt();
+        HealthBook converted = new XmlSerializableHealthBook(original).toModelType();
+        assertEquals(original, converted);
+
+        Patient patient = (Patient) converted.getPersonList().get(0);
+        assertSame(converted.getAppointmentList().get(0), patient.getUpcomingAppointments().get(0));
+    }
 }
@@ -10,6 +10,7 @@ import seedu.address.model.patient.Allergy;
 import seedu.address.model.patient.Condition;
 import seedu.address.model.patient.MedicalHistory;
 import seedu.address.model.patient.Patient;
+import seedu.address.model.patient.PatientHistoryLoader;
 import seedu.address.model.person.Address;
 import seedu.address.model.person.Email;
 import seedu.address.model.person.Name;
@@ -43,7 +44,7 @@ public class PatientBuilder {
     private MedicalHistory medicalHistory;
     private List<Appointment> upcomingAppointments;
     private List<Appointment> pastAppointments;
-
+    private PatientHistoryLoader historyLoader;
 
 
     public PatientBuilder() {
@@ -158,10 +159,33 @@ public class PatientBuilder {
         return this;
     }
 
+    /**
+     * Adds {@code allAppointments} to the past appointments of the {@code Patient} that we are building
+     */
+    public PatientBuilder withPastAppointment(Appointment ... allAppointments) {
+        for (Appointment appointment : allAppointments) {
+            pastAppointments.add(appointment);
+        }
+        return this;
+    }
+
+    /**
+     * Sets the loader of the past appointments and medical history of the {@code Patient} that we are building,
+     * instead of the past appointments and medical history themselves.
+     */
+    public PatientBuilder withHistoryLoader(PatientHistoryLoader historyLoader) {
+        this.historyLoader = historyLoader;
+        return this;
+    }
+
     /**
      * constructor
      */
     public Patient build() {
+        if (historyLoader != null) {
+            return new Patient(name, phone, email, address, remark, tags, telegramId, upcomingAppointments,
+                    historyLoader);
+        }
         return new Patient(name, phone, email, address, remark, tags, telegramId,
                 upcomingAppointments, pastAppointments, medicalHistory);
     }